@@ -5,9 +5,11 @@
 
 package io.opentelemetry.api.baggage.propagation;
 
+import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -19,6 +21,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
@@ -52,6 +55,8 @@ public class W3CBaggagePropagatorBenchmark {
     LARGE_BAGGAGE = Collections.singletonMap("baggage", String.join(",", baggages));
   }
 
+  private static final int FAN_OUT = 20;
+
   private static final TextMapGetter<Map<String, String>> getter =
       new TextMapGetter<Map<String, String>>() {
         @Override
@@ -66,6 +71,10 @@ public class W3CBaggagePropagatorBenchmark {
         }
       };
 
+  private final Context smallBaggageContext =
+      W3CBaggagePropagator.getInstance().extract(Context.root(), SMALL_BAGGAGE, getter);
+  private final Map<String, String> carrier = new HashMap<>();
+
   @Benchmark
   @BenchmarkMode({Mode.AverageTime})
   @Fork(3)
@@ -87,4 +96,48 @@ public class W3CBaggagePropagatorBenchmark {
     W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
     return propagator.extract(Context.root(), LARGE_BAGGAGE, getter);
   }
+
+  /** Injects the same baggage into every request of a fan-out. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(3)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(FAN_OUT)
+  public Map<String, String> injectFanOut() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    for (int i = 0; i < FAN_OUT; i++) {
+      propagator.inject(smallBaggageContext, carrier, Map::put);
+    }
+    return carrier;
+  }
+
+  /** Extracts baggage and forwards it unchanged, as a proxy that never reads baggage would. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(3)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  public Map<String, String> largeBaggagePassThrough() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context = propagator.extract(Context.root(), LARGE_BAGGAGE, getter);
+    propagator.inject(context, carrier, Map::put);
+    return carrier;
+  }
+
+  /** Extracts baggage and reads a single entry from it. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(3)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @Nullable
+  public String largeBaggageReadOneKey() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context = propagator.extract(Context.root(), LARGE_BAGGAGE, getter);
+    return Baggage.fromContext(context).getEntryValue("key50");
+  }
 }
@@ -8,6 +8,7 @@ package io.opentelemetry.api.trace.propagation;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -26,10 +27,16 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+/**
+ * Measures extraction of the W3C trace context. Run with the {@code gc} profiler, which the build
+ * enables by default, to compare {@code gc.alloc.rate.norm}: the bytes allocated per extraction.
+ */
 @State(Scope.Thread)
 public class W3CTraceContextPropagatorExtractBenchmark {
 
   private static final String TRACEPARENT = "traceparent";
+  private static final String TRACESTATE = "tracestate";
+  private static final String TRACESTATE_HEADER = "congo=t61rcWkgMzE, rojo=00f067aa0ba902b7";
   private static final int COUNT = 5;
   private static final List<String> traceparentsHeaders =
       Arrays.asList(
@@ -52,8 +59,32 @@ public class W3CTraceContextPropagatorExtractBenchmark {
           return carrier.get(key);
         }
       };
+  private final TextMapGetter<Map<String, CharSequence>> charSequenceGetter =
+      new TextMapGetter<Map<String, CharSequence>>() {
+        @Override
+        public Iterable<String> keys(Map<String, CharSequence> carrier) {
+          return carrier.keySet();
+        }
+
+        @Nullable
+        @Override
+        public String get(Map<String, CharSequence> carrier, String key) {
+          CharSequence value = carrier.get(key);
+          return value == null ? null : value.toString();
+        }
+
+        @Nullable
+        @Override
+        public CharSequence getCharSequence(Map<String, CharSequence> carrier, String key) {
+          return carrier.get(key);
+        }
+      };
   private static final List<Map<String, String>> carriers =
-      getCarrierForHeader(traceparentsHeaders);
+      getCarrierForHeader(traceparentsHeaders, null);
+  private static final List<Map<String, String>> carriersWithTraceState =
+      getCarrierForHeader(traceparentsHeaders, TRACESTATE_HEADER);
+  private static final List<Map<String, CharSequence>> charBufferCarriers =
+      getCharBufferCarrierForHeader(traceparentsHeaders);
 
   /** Benchmark for measuring HttpTraceContext extract. */
   @Benchmark
@@ -72,11 +103,67 @@ public class W3CTraceContextPropagatorExtractBenchmark {
     return result;
   }
 
-  private static List<Map<String, String>> getCarrierForHeader(List<String> headers) {
+  /** Benchmark for measuring extract with a tracestate header. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(COUNT)
+  @Nullable
+  public Context measureExtractWithTraceState() {
+    Context result = null;
+    for (int i = 0; i < COUNT; i++) {
+      result =
+          w3cTraceContextPropagator.extract(Context.root(), carriersWithTraceState.get(i), getter);
+    }
+    return result;
+  }
+
+  /**
+   * Benchmark for measuring extract from headers held as {@link CharBuffer}s, read through {@link
+   * TextMapGetter#getCharSequence(Object, String)} without copying them into Strings.
+   */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(COUNT)
+  @Nullable
+  public Context measureExtractCharSequence() {
+    Context result = null;
+    for (int i = 0; i < COUNT; i++) {
+      result =
+          w3cTraceContextPropagator.extract(
+              Context.root(), charBufferCarriers.get(i), charSequenceGetter);
+    }
+    return result;
+  }
+
+  private static List<Map<String, String>> getCarrierForHeader(
+      List<String> headers, @Nullable String traceState) {
     List<Map<String, String>> carriers = new ArrayList<>();
     for (String header : headers) {
       Map<String, String> carrier = new HashMap<>();
       carrier.put(TRACEPARENT, header);
+      if (traceState != null) {
+        carrier.put(TRACESTATE, traceState);
+      }
+      carriers.add(carrier);
+    }
+    return carriers;
+  }
+
+  private static List<Map<String, CharSequence>> getCharBufferCarrierForHeader(
+      List<String> headers) {
+    List<Map<String, CharSequence>> carriers = new ArrayList<>();
+    for (String header : headers) {
+      Map<String, CharSequence> carrier = new HashMap<>();
+      carrier.put(TRACEPARENT, CharBuffer.wrap(header.toCharArray()));
+      carrier.put(TRACESTATE, CharBuffer.wrap(TRACESTATE_HEADER.toCharArray()));
       carriers.add(carrier);
     }
     return carriers;
@@ -40,6 +40,7 @@ public class W3CTraceContextPropagatorInjectBenchmark {
           createTestSpanContext("905734c59b913b4a905734c59b913b4a", "776ff807b787538a"),
           createTestSpanContext("68ec932c33b3f2ee68ec932c33b3f2ee", "68ec932c33b3f2ee"));
   private static final int COUNT = 5; // spanContexts.size()
+  private static final int FAN_OUT = 20;
   private final TextMapPropagator w3cTraceContextPropagator =
       W3CTraceContextPropagator.getInstance();
   private final Map<String, String> carrier = new HashMap<>();
@@ -61,6 +62,22 @@ public class W3CTraceContextPropagatorInjectBenchmark {
     return carrier;
   }
 
+  /** Benchmark for measuring inject of the same context into every request of a fan-out. */
+  @Benchmark
+  @BenchmarkMode({Mode.AverageTime})
+  @Fork(1)
+  @Measurement(iterations = 15, time = 1)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Warmup(iterations = 5, time = 1)
+  @OperationsPerInvocation(FAN_OUT)
+  public Map<String, String> measureInjectFanOut() {
+    Context context = contexts.get(0);
+    for (int i = 0; i < FAN_OUT; i++) {
+      w3cTraceContextPropagator.inject(context, carrier, setter);
+    }
+    return carrier;
+  }
+
   private static SpanContext createTestSpanContext(String traceId, String spanId) {
     return SpanContext.create(traceId, spanId, TraceFlags.getSampled(), TraceState.getDefault());
   }
@@ -6,6 +6,7 @@
 package io.opentelemetry.api.baggage;
 
 import io.opentelemetry.api.internal.ImmutableKeyValuePairs;
+import io.opentelemetry.api.internal.InjectedHeaderHolder;
 import io.opentelemetry.api.internal.StringUtils;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,10 +15,13 @@ import javax.annotation.concurrent.Immutable;
 
 @Immutable
 final class ImmutableBaggage extends ImmutableKeyValuePairs<String, BaggageEntry>
-    implements Baggage {
+    implements Baggage, InjectedHeaderHolder {
 
   private static final Baggage EMPTY = new ImmutableBaggage.Builder().build();
 
+  // Rendered on first injection, not part of equals or hashCode.
+  @Nullable private Object injectedHeaders;
+
   private ImmutableBaggage(Object[] data) {
     super(data);
   }
@@ -42,6 +46,32 @@ final class ImmutableBaggage extends ImmutableKeyValuePairs<String, BaggageEntry
     return new Builder(new ArrayList<>(data()));
   }
 
+  @Nullable
+  @Override
+  public Object getInjectedHeaders() {
+    return injectedHeaders;
+  }
+
+  @Override
+  public void setInjectedHeaders(Object headers) {
+    injectedHeaders = headers;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    // Other implementations, like the lazily parsed baggage extracted by the W3C propagator, are
+    // compared by their entries.
+    if (o instanceof Baggage && !(o instanceof ImmutableKeyValuePairs)) {
+      return asMap().equals(((Baggage) o).asMap());
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
   private static Baggage sortAndFilterToBaggage(Object[] data) {
     return new ImmutableBaggage(data);
   }
@@ -0,0 +1,135 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.baggage.propagation;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.baggage.BaggageEntry;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * {@link Baggage} extracted from a {@code baggage} header, which keeps the raw header and only
+ * parses it when its entries are first read. Services that only forward baggage never parse it,
+ * and {@link W3CBaggagePropagator} re-injects the original header as is when all its members are
+ * valid.
+ */
+@Immutable
+final class LazyBaggage implements Baggage {
+
+  private final String header;
+
+  // Computed on first access. Like String.hashCode, racing threads may both parse the header, the
+  // parsed Baggage is immutable so either result is safe to publish without synchronization.
+  @Nullable private Baggage parsed;
+
+  // Computed on first injection, racily like parsed.
+  @Nullable private Boolean headerValid;
+
+  LazyBaggage(String header) {
+    this.header = header;
+  }
+
+  /**
+   * Returns the header this {@link Baggage} was extracted from if all its members are valid, or
+   * {@code null} if the header must be serialized again from the parsed entries, which drops the
+   * invalid members.
+   */
+  @Nullable
+  String getValidHeader() {
+    Boolean valid = headerValid;
+    if (valid == null) {
+      try {
+        valid = new Parser(header).isValid();
+      } catch (RuntimeException e) {
+        valid = false;
+      }
+      headerValid = valid;
+    }
+    return valid ? header : null;
+  }
+
+  @Override
+  public int size() {
+    return parsed().size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return parsed().isEmpty();
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
+    parsed().forEach(consumer);
+  }
+
+  @Override
+  public Map<String, BaggageEntry> asMap() {
+    return parsed().asMap();
+  }
+
+  @Nullable
+  @Override
+  public String getEntryValue(String entryKey) {
+    Baggage baggage = parsed;
+    if (baggage != null) {
+      return baggage.getEntryValue(entryKey);
+    }
+    if (entryKey == null) {
+      return null;
+    }
+    // Reading a single entry only scans the header, it does not materialize the other entries.
+    try {
+      return new Parser(header).findValue(entryKey);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public BaggageBuilder toBuilder() {
+    return parsed().toBuilder();
+  }
+
+  private Baggage parsed() {
+    Baggage baggage = parsed;
+    if (baggage == null) {
+      BaggageBuilder baggageBuilder = Baggage.builder();
+      try {
+        new Parser(header).parseInto(baggageBuilder);
+        baggage = baggageBuilder.build();
+      } catch (RuntimeException e) {
+        baggage = Baggage.empty();
+      }
+      parsed = baggage;
+    }
+    return baggage;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof LazyBaggage) {
+      return parsed().equals(((LazyBaggage) o).parsed());
+    }
+    return parsed().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return parsed().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return parsed().toString();
+  }
+}
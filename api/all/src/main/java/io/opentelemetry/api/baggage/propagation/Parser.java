@@ -7,137 +7,186 @@ package io.opentelemetry.api.baggage.propagation;
 
 import io.opentelemetry.api.baggage.BaggageBuilder;
 import io.opentelemetry.api.baggage.BaggageEntryMetadata;
+import java.util.BitSet;
+import javax.annotation.Nullable;
 
 /**
  * Implements single-pass Baggage parsing in accordance with https://w3c.github.io/baggage/ Key /
  * value are restricted in accordance with https://www.ietf.org/rfc/rfc2616.txt
  *
+ * <p>The parser only tracks indices into the header while scanning a list member, a {@link String}
+ * is only created for the parts of a valid member that are actually returned.
+ *
  * <p>Note: following aspects are not specified in RFC: - some invalid elements (key or value) -
  * parser will include valid ones, disregard invalid - empty "value" is regarded as invalid - meta -
  * anything besides element terminator (comma)
  */
-class Parser {
+final class Parser {
+
+  private static final BitSet EXCLUDED_KEY_CHARS = new BitSet(128);
+  private static final BitSet EXCLUDED_VALUE_CHARS = new BitSet(128);
 
-  private enum State {
-    KEY,
-    VALUE,
-    META
+  static {
+    for (char c :
+        new char[] {
+          '(', ')', '<', '>', '@', ',', ';', ':', '\\', '"', '/', '[', ']', '?', '=', '{', '}'
+        }) {
+      EXCLUDED_KEY_CHARS.set(c);
+    }
+    for (char c : new char[] {'"', ',', ';', '\\'}) {
+      EXCLUDED_VALUE_CHARS.set(c);
+    }
   }
 
   private final String baggageHeader;
 
-  private final Element key = Element.createKeyElement();
-  private final Element value = Element.createValueElement();
-  private String meta;
+  // Start of the next list member to scan.
+  private int position;
 
-  private State state;
+  // Bounds of the last valid list member returned by next(), metaStart is -1 without metadata.
+  private int keyStart;
+  private int keyEnd;
+  private int valueStart;
+  private int valueEnd;
   private int metaStart;
+  private int metaEnd;
 
-  private boolean skipToNext;
-
-  public Parser(String baggageHeader) {
+  Parser(String baggageHeader) {
     this.baggageHeader = baggageHeader;
-    reset(0);
   }
 
   void parseInto(BaggageBuilder baggageBuilder) {
-    for (int i = 0, n = baggageHeader.length(); i < n; i++) {
-      char current = baggageHeader.charAt(i);
-
-      if (skipToNext) {
-        if (current == ',') {
-          reset(i + 1);
-        }
-        continue;
-      }
+    while (next()) {
+      baggageBuilder.put(
+          baggageHeader.substring(keyStart, keyEnd),
+          baggageHeader.substring(valueStart, valueEnd),
+          metaStart < 0
+              ? BaggageEntryMetadata.empty()
+              : BaggageEntryMetadata.create(baggageHeader.substring(metaStart, metaEnd)));
+    }
+  }
 
-      switch (current) {
-        case '=':
-          {
-            if (state == State.KEY) {
-              if (key.tryTerminating(i, baggageHeader)) {
-                setState(State.VALUE, i + 1);
-              } else {
-                skipToNext = true;
-              }
-            }
-            break;
-          }
-        case ';':
-          {
-            if (state == State.VALUE) {
-              skipToNext = !value.tryTerminating(i, baggageHeader);
-              setState(State.META, i + 1);
-            }
-            break;
-          }
-        case ',':
-          {
-            switch (state) {
-              case VALUE:
-                value.tryTerminating(i, baggageHeader);
-                break;
-              case META:
-                meta = baggageHeader.substring(metaStart, i).trim();
-                break;
-              case KEY: // none
-            }
-            baggageBuilder.put(key.getValue(), value.getValue(), BaggageEntryMetadata.create(meta));
-            reset(i + 1);
-            break;
-          }
-        default:
-          {
-            switch (state) {
-              case KEY:
-                skipToNext = !key.tryNextChar(current, i);
-                break;
-              case VALUE:
-                skipToNext = !value.tryNextChar(current, i);
-                break;
-              case META: // none
-            }
-          }
+  /**
+   * Returns the value of the last valid member with the given key, the one {@link
+   * #parseInto(BaggageBuilder)} would keep, or {@code null} if there is none. Only the returned
+   * value is copied out of the header.
+   */
+  @Nullable
+  String findValue(String key) {
+    int foundStart = -1;
+    int foundEnd = -1;
+    while (next()) {
+      if (keyEnd - keyStart == key.length()
+          && baggageHeader.regionMatches(keyStart, key, 0, key.length())) {
+        foundStart = valueStart;
+        foundEnd = valueEnd;
       }
     }
-    // need to finish parsing if there was no list element termination comma
-    switch (state) {
-      case KEY:
-        break;
-      case META:
-        {
-          String rest = baggageHeader.substring(metaStart).trim();
-          baggageBuilder.put(key.getValue(), value.getValue(), BaggageEntryMetadata.create(rest));
-          break;
-        }
-      case VALUE:
-        {
-          if (!skipToNext) {
-            value.tryTerminating(baggageHeader.length(), baggageHeader);
-            baggageBuilder.put(key.getValue(), value.getValue());
-            break;
-          }
-        }
+    return foundStart < 0 ? null : baggageHeader.substring(foundStart, foundEnd);
+  }
+
+  /**
+   * Returns whether the header is a list of valid members, which {@link
+   * #parseInto(BaggageBuilder)} would keep entirely. No {@link String} is created.
+   */
+  boolean isValid() {
+    int length = baggageHeader.length();
+    int memberStart = 0;
+    while (true) {
+      int memberEnd = baggageHeader.indexOf(',', memberStart);
+      if (memberEnd < 0) {
+        memberEnd = length;
+      }
+      if (!scanMember(memberStart, memberEnd)) {
+        return false;
+      }
+      if (memberEnd == length) {
+        return true;
+      }
+      memberStart = memberEnd + 1;
     }
   }
 
   /**
-   * Resets parsing state, preparing to start a new list element (see spec).
+   * Advances to the next valid list member, skipping invalid ones.
    *
-   * @param index index where parser should start new element scan
+   * @return whether a valid member was found.
    */
-  private void reset(int index) {
-    this.skipToNext = false;
-    this.state = State.KEY;
-    this.key.reset(index);
-    this.value.reset(index);
-    this.meta = "";
-    this.metaStart = 0;
+  private boolean next() {
+    int length = baggageHeader.length();
+    while (position < length) {
+      int memberStart = position;
+      int memberEnd = baggageHeader.indexOf(',', memberStart);
+      if (memberEnd < 0) {
+        memberEnd = length;
+      }
+      position = memberEnd + 1;
+      if (scanMember(memberStart, memberEnd)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Records the bounds of the member in {@code [start, end)} and returns whether it is valid. */
+  private boolean scanMember(int start, int end) {
+    int equals = baggageHeader.indexOf('=', start);
+    if (equals < 0 || equals >= end) {
+      return false;
+    }
+    keyStart = skipWhitespace(start, equals);
+    keyEnd = trimWhitespace(keyStart, equals);
+    if (!isValid(keyStart, keyEnd, EXCLUDED_KEY_CHARS)) {
+      return false;
+    }
+
+    int semicolon = baggageHeader.indexOf(';', equals + 1);
+    int valueLimit = semicolon < 0 || semicolon >= end ? end : semicolon;
+    valueStart = skipWhitespace(equals + 1, valueLimit);
+    valueEnd = trimWhitespace(valueStart, valueLimit);
+    if (!isValid(valueStart, valueEnd, EXCLUDED_VALUE_CHARS)) {
+      return false;
+    }
+
+    if (valueLimit == end) {
+      metaStart = -1;
+      metaEnd = -1;
+    } else {
+      metaStart = skipWhitespace(valueLimit + 1, end);
+      metaEnd = trimWhitespace(metaStart, end);
+    }
+    return true;
+  }
+
+  /** Returns whether {@code [start, end)} is a non-empty run of allowed characters. */
+  private boolean isValid(int start, int end, BitSet excluded) {
+    if (start == end) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      char c = baggageHeader.charAt(i);
+      if (c <= 32 || c >= 127 || excluded.get(c)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int skipWhitespace(int start, int end) {
+    while (start < end && isWhitespace(baggageHeader.charAt(start))) {
+      start++;
+    }
+    return start;
+  }
+
+  private int trimWhitespace(int start, int end) {
+    while (end > start && isWhitespace(baggageHeader.charAt(end - 1))) {
+      end--;
+    }
+    return end;
   }
 
-  /** Switches parser state (element of a list member). */
-  private void setState(State state, int start) {
-    this.state = state;
-    this.metaStart = start;
+  private static boolean isWhitespace(char character) {
+    return character == ' ' || character == '\t';
   }
 }
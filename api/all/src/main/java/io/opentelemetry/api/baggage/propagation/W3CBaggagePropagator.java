@@ -8,7 +8,7 @@ package io.opentelemetry.api.baggage.propagation;
 import static java.util.Collections.singletonList;
 
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.BaggageBuilder;
+import io.opentelemetry.api.internal.InjectedHeaderHolder;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
@@ -44,9 +44,41 @@ public final class W3CBaggagePropagator implements TextMapPropagator {
       return;
     }
     Baggage baggage = Baggage.fromContext(context);
+    if (baggage instanceof LazyBaggage) {
+      // Baggage that was extracted and never modified is forwarded exactly as it was received,
+      // without parsing it, unless it has invalid members which are dropped by serializing it.
+      String validHeader = ((LazyBaggage) baggage).getValidHeader();
+      if (validHeader != null) {
+        setter.set(carrier, FIELD, validHeader);
+        return;
+      }
+    }
     if (baggage.isEmpty()) {
       return;
     }
+    String header = serializeOnce(baggage);
+    if (!header.isEmpty()) {
+      setter.set(carrier, FIELD, header);
+    }
+  }
+
+  // The same baggage is commonly injected into every outgoing request of a fan-out, so the header
+  // is kept on the baggage it was serialized from.
+  private static String serializeOnce(Baggage baggage) {
+    if (!(baggage instanceof InjectedHeaderHolder)) {
+      return serialize(baggage);
+    }
+    InjectedHeaderHolder holder = (InjectedHeaderHolder) baggage;
+    Object injected = holder.getInjectedHeaders();
+    if (injected instanceof String) {
+      return (String) injected;
+    }
+    String header = serialize(baggage);
+    holder.setInjectedHeaders(header);
+    return header;
+  }
+
+  private static String serialize(Baggage baggage) {
     StringBuilder headerContent = new StringBuilder();
     baggage.forEach(
         (key, baggageEntry) -> {
@@ -59,8 +91,8 @@ public final class W3CBaggagePropagator implements TextMapPropagator {
         });
     if (headerContent.length() > 0) {
       headerContent.setLength(headerContent.length() - 1);
-      setter.set(carrier, FIELD, headerContent.toString());
     }
+    return headerContent.toString();
   }
 
   @Override
@@ -80,16 +112,7 @@ public final class W3CBaggagePropagator implements TextMapPropagator {
       return context;
     }
 
-    BaggageBuilder baggageBuilder = Baggage.builder();
-    try {
-      extractEntries(baggageHeader, baggageBuilder);
-    } catch (RuntimeException e) {
-      return context;
-    }
-    return context.with(baggageBuilder.build());
-  }
-
-  private static void extractEntries(String baggageHeader, BaggageBuilder baggageBuilder) {
-    new Parser(baggageHeader).parseInto(baggageBuilder);
+    // The header is only parsed once the baggage is read.
+    return context.with(new LazyBaggage(baggageHeader));
   }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.api.internal;
+
+import javax.annotation.Nullable;
+
+/**
+ * Implemented by immutable values which a propagator renders into headers, such as {@code
+ * SpanContext} and {@code Baggage}, so the rendered headers can be kept next to the value they
+ * were rendered from. The same value is commonly injected into every outgoing request of a
+ * fan-out, and is then only rendered once.
+ *
+ * <p>Implementations keep the headers in a plain field. Like {@link String#hashCode()}, racing
+ * threads may both render them, the rendered headers are immutable so either result is safe to
+ * publish without synchronization.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface InjectedHeaderHolder {
+
+  /**
+   * Returns the headers last stored with {@link #setInjectedHeaders(Object)}, or {@code null}.
+   * Callers must check the type of the returned object, it may have been stored by another
+   * propagator.
+   */
+  @Nullable
+  Object getInjectedHeaders();
+
+  /** Stores the rendered headers of this value, which must be immutable. */
+  void setInjectedHeaders(Object headers);
+}
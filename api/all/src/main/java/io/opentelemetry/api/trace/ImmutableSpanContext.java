@@ -6,11 +6,13 @@
 package io.opentelemetry.api.trace;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.api.internal.InjectedHeaderHolder;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 @Immutable
 @AutoValue
-abstract class ImmutableSpanContext implements SpanContext {
+abstract class ImmutableSpanContext implements SpanContext, InjectedHeaderHolder {
 
   static final SpanContext INVALID =
       createInternal(
@@ -51,6 +53,20 @@ abstract class ImmutableSpanContext implements SpanContext {
         /* valid= */ false);
   }
 
+  // Rendered on first injection, not part of equals or hashCode.
+  @Nullable private Object injectedHeaders;
+
   @Override
   public abstract boolean isValid();
+
+  @Nullable
+  @Override
+  public Object getInjectedHeaders() {
+    return injectedHeaders;
+  }
+
+  @Override
+  public void setInjectedHeaders(Object headers) {
+    injectedHeaders = headers;
+  }
 }
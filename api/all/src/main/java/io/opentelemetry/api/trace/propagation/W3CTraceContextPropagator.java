@@ -7,6 +7,7 @@ package io.opentelemetry.api.trace.propagation;
 
 import static io.opentelemetry.api.internal.Utils.checkArgument;
 
+import io.opentelemetry.api.internal.InjectedHeaderHolder;
 import io.opentelemetry.api.internal.OtelEncodingUtils;
 import io.opentelemetry.api.internal.TemporaryBuffers;
 import io.opentelemetry.api.trace.Span;
@@ -23,11 +24,8 @@ import io.opentelemetry.context.propagation.TextMapSetter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -64,24 +62,8 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
   private static final int TRACESTATE_MAX_MEMBERS = 32;
   private static final char TRACESTATE_KEY_VALUE_DELIMITER = '=';
   private static final char TRACESTATE_ENTRY_DELIMITER = ',';
-  private static final Pattern TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN =
-      Pattern.compile("[ \t]*" + TRACESTATE_ENTRY_DELIMITER + "[ \t]*");
-  private static final Set<String> VALID_VERSIONS;
-  private static final String VERSION_00 = "00";
   private static final W3CTraceContextPropagator INSTANCE = new W3CTraceContextPropagator();
 
-  static {
-    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
-    VALID_VERSIONS = new HashSet<>();
-    for (int i = 0; i < 255; i++) {
-      String version = Long.toHexString(i);
-      if (version.length() < 2) {
-        version = '0' + version;
-      }
-      VALID_VERSIONS.add(version);
-    }
-  }
-
   private W3CTraceContextPropagator() {
     // singleton
   }
@@ -110,6 +92,34 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
       return;
     }
 
+    InjectedHeaders headers = renderOnce(spanContext);
+    setter.set(carrier, TRACE_PARENT, headers.traceParent);
+    if (headers.traceState != null) {
+      setter.set(carrier, TRACE_STATE, headers.traceState);
+    }
+  }
+
+  // The same context is commonly injected into every outgoing request of a fan-out, so the header
+  // values are kept on the span context they were rendered from.
+  private static InjectedHeaders renderOnce(SpanContext spanContext) {
+    if (!(spanContext instanceof InjectedHeaderHolder)) {
+      return render(spanContext);
+    }
+    InjectedHeaderHolder holder = (InjectedHeaderHolder) spanContext;
+    Object injected = holder.getInjectedHeaders();
+    if (injected instanceof InjectedHeaders) {
+      return (InjectedHeaders) injected;
+    }
+    InjectedHeaders headers = render(spanContext);
+    holder.setInjectedHeaders(headers);
+    return headers;
+  }
+
+  private static InjectedHeaders render(SpanContext spanContext) {
+    return new InjectedHeaders(renderTraceParent(spanContext), renderTraceState(spanContext));
+  }
+
+  private static String renderTraceParent(SpanContext spanContext) {
     char[] chars = TemporaryBuffers.chars(TRACEPARENT_HEADER_SIZE);
     chars[0] = VERSION.charAt(0);
     chars[1] = VERSION.charAt(1);
@@ -127,11 +137,15 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
     String traceFlagsHex = spanContext.getTraceFlags().asHex();
     chars[TRACE_OPTION_OFFSET] = traceFlagsHex.charAt(0);
     chars[TRACE_OPTION_OFFSET + 1] = traceFlagsHex.charAt(1);
-    setter.set(carrier, TRACE_PARENT, new String(chars, 0, TRACEPARENT_HEADER_SIZE));
+    return new String(chars, 0, TRACEPARENT_HEADER_SIZE);
+  }
+
+  @Nullable
+  private static String renderTraceState(SpanContext spanContext) {
     TraceState traceState = spanContext.getTraceState();
     if (traceState.isEmpty()) {
       // No need to add an empty "tracestate" header.
-      return;
+      return null;
     }
     StringBuilder stringBuilder = new StringBuilder(TRACESTATE_MAX_SIZE);
     traceState.forEach(
@@ -141,7 +155,7 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
           }
           stringBuilder.append(key).append(TRACESTATE_KEY_VALUE_DELIMITER).append(value);
         });
-    setter.set(carrier, TRACE_STATE, stringBuilder.toString());
+    return stringBuilder.toString();
   }
 
   @Override
@@ -162,91 +176,150 @@ public final class W3CTraceContextPropagator implements TextMapPropagator {
   }
 
   private static <C> SpanContext extractImpl(@Nullable C carrier, TextMapGetter<C> getter) {
-    String traceParent = getter.get(carrier, TRACE_PARENT);
+    CharSequence traceParent = getter.getCharSequence(carrier, TRACE_PARENT);
     if (traceParent == null) {
       return SpanContext.getInvalid();
     }
-
-    SpanContext contextFromParentHeader = extractContextFromTraceParent(traceParent);
-    if (!contextFromParentHeader.isValid()) {
-      return contextFromParentHeader;
+    if (!isValidTraceParent(traceParent)) {
+      return SpanContext.getInvalid();
     }
 
-    String traceStateHeader = getter.get(carrier, TRACE_STATE);
-    if (traceStateHeader == null || traceStateHeader.isEmpty()) {
-      return contextFromParentHeader;
-    }
+    // The IDs were validated above, these are the only copies made of the header.
+    String traceId =
+        traceParent.subSequence(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TRACE_ID_HEX_SIZE).toString();
+    String spanId =
+        traceParent.subSequence(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SPAN_ID_HEX_SIZE).toString();
+    TraceFlags traceFlags =
+        TraceFlags.fromByte(
+            OtelEncodingUtils.byteFromBase16(
+                traceParent.charAt(TRACE_OPTION_OFFSET),
+                traceParent.charAt(TRACE_OPTION_OFFSET + 1)));
 
-    try {
-      TraceState traceState = extractTraceState(traceStateHeader);
-      return SpanContext.createFromRemoteParent(
-          contextFromParentHeader.getTraceId(),
-          contextFromParentHeader.getSpanId(),
-          contextFromParentHeader.getTraceFlags(),
-          traceState);
-    } catch (IllegalArgumentException e) {
-      logger.fine("Unparseable tracestate header. Returning span context without state.");
-      return contextFromParentHeader;
+    TraceState traceState = TraceState.getDefault();
+    CharSequence traceStateHeader = getter.getCharSequence(carrier, TRACE_STATE);
+    if (traceStateHeader != null && traceStateHeader.length() != 0) {
+      try {
+        traceState = extractTraceState(traceStateHeader);
+      } catch (IllegalArgumentException e) {
+        logger.fine("Unparseable tracestate header. Returning span context without state.");
+      }
     }
+    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, traceState);
   }
 
-  private static SpanContext extractContextFromTraceParent(String traceparent) {
-    // TODO(bdrutu): Do we need to verify that version is hex and that
-    // for the version the length is the expected one?
+  /**
+   * Validates the whole traceparent header in a single pass, without copying it: the layout, the
+   * version, and that the trace ID, span ID and flags are lowercase hex with non-zero IDs.
+   */
+  private static boolean isValidTraceParent(CharSequence traceparent) {
+    int length = traceparent.length();
     boolean isValid =
-        (traceparent.length() == TRACEPARENT_HEADER_SIZE
-                || (traceparent.length() > TRACEPARENT_HEADER_SIZE
+        (length == TRACEPARENT_HEADER_SIZE
+                || (length > TRACEPARENT_HEADER_SIZE
                     && traceparent.charAt(TRACEPARENT_HEADER_SIZE) == TRACEPARENT_DELIMITER))
             && traceparent.charAt(TRACE_ID_OFFSET - 1) == TRACEPARENT_DELIMITER
             && traceparent.charAt(SPAN_ID_OFFSET - 1) == TRACEPARENT_DELIMITER
             && traceparent.charAt(TRACE_OPTION_OFFSET - 1) == TRACEPARENT_DELIMITER;
     if (!isValid) {
       logger.fine("Unparseable traceparent header. Returning INVALID span context.");
-      return SpanContext.getInvalid();
+      return false;
     }
 
-    String version = traceparent.substring(0, 2);
-    if (!VALID_VERSIONS.contains(version)) {
-      return SpanContext.getInvalid();
+    // A valid version is 1 byte representing an 8-bit unsigned integer, version ff is invalid.
+    char firstVersionChar = traceparent.charAt(0);
+    char secondVersionChar = traceparent.charAt(1);
+    if (!OtelEncodingUtils.isValidBase16Character(firstVersionChar)
+        || !OtelEncodingUtils.isValidBase16Character(secondVersionChar)
+        || (firstVersionChar == 'f' && secondVersionChar == 'f')) {
+      return false;
     }
-    if (version.equals(VERSION_00) && traceparent.length() > TRACEPARENT_HEADER_SIZE) {
-      return SpanContext.getInvalid();
+    // Version 00 does not allow any trailing fields.
+    if (firstVersionChar == '0' && secondVersionChar == '0' && length > TRACEPARENT_HEADER_SIZE) {
+      return false;
     }
 
-    String traceId = traceparent.substring(TRACE_ID_OFFSET, TRACE_ID_OFFSET + TraceId.getLength());
-    String spanId = traceparent.substring(SPAN_ID_OFFSET, SPAN_ID_OFFSET + SpanId.getLength());
-    char firstTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET);
-    char secondTraceFlagsChar = traceparent.charAt(TRACE_OPTION_OFFSET + 1);
+    return isValidNonZeroBase16(traceparent, TRACE_ID_OFFSET, TRACE_ID_HEX_SIZE)
+        && isValidNonZeroBase16(traceparent, SPAN_ID_OFFSET, SPAN_ID_HEX_SIZE)
+        && OtelEncodingUtils.isValidBase16Character(traceparent.charAt(TRACE_OPTION_OFFSET))
+        && OtelEncodingUtils.isValidBase16Character(traceparent.charAt(TRACE_OPTION_OFFSET + 1));
+  }
 
-    if (!OtelEncodingUtils.isValidBase16Character(firstTraceFlagsChar)
-        || !OtelEncodingUtils.isValidBase16Character(secondTraceFlagsChar)) {
-      return SpanContext.getInvalid();
+  private static boolean isValidNonZeroBase16(CharSequence chars, int offset, int length) {
+    boolean allZero = true;
+    for (int i = offset; i < offset + length; i++) {
+      char c = chars.charAt(i);
+      if (!OtelEncodingUtils.isValidBase16Character(c)) {
+        return false;
+      }
+      allZero &= c == '0';
     }
-
-    TraceFlags traceFlags =
-        TraceFlags.fromByte(
-            OtelEncodingUtils.byteFromBase16(firstTraceFlagsChar, secondTraceFlagsChar));
-    return SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, TraceState.getDefault());
+    return !allZero;
   }
 
-  private static TraceState extractTraceState(String traceStateHeader) {
+  /**
+   * Parses the tracestate list-members in a single backwards pass, without regular expressions.
+   * Optional whitespace around list-members and empty list-members are ignored, as the W3C
+   * specification allows.
+   */
+  private static TraceState extractTraceState(CharSequence traceStateHeader) {
     TraceStateBuilder traceStateBuilder = TraceState.builder();
-    String[] listMembers = TRACESTATE_ENTRY_DELIMITER_SPLIT_PATTERN.split(traceStateHeader);
-    checkArgument(
-        listMembers.length <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
+    int members = 0;
     // Iterate in reverse order because when call builder set the elements is added in the
     // front of the list.
-    for (int i = listMembers.length - 1; i >= 0; i--) {
-      String listMember = listMembers[i];
-      int index = listMember.indexOf(TRACESTATE_KEY_VALUE_DELIMITER);
-      checkArgument(index != -1, "Invalid TraceState list-member format.");
-      traceStateBuilder.put(listMember.substring(0, index), listMember.substring(index + 1));
+    int end = traceStateHeader.length();
+    while (end >= 0) {
+      int start = end - 1;
+      while (start >= 0 && traceStateHeader.charAt(start) != TRACESTATE_ENTRY_DELIMITER) {
+        start--;
+      }
+      int nextEnd = start;
+      start++;
+      while (start < end && isOptionalWhitespace(traceStateHeader.charAt(start))) {
+        start++;
+      }
+      while (end > start && isOptionalWhitespace(traceStateHeader.charAt(end - 1))) {
+        end--;
+      }
+      if (start < end) {
+        members++;
+        checkArgument(members <= TRACESTATE_MAX_MEMBERS, "TraceState has too many elements.");
+        int index = indexOf(traceStateHeader, TRACESTATE_KEY_VALUE_DELIMITER, start, end);
+        checkArgument(index != -1, "Invalid TraceState list-member format.");
+        traceStateBuilder.put(
+            traceStateHeader.subSequence(start, index).toString(),
+            traceStateHeader.subSequence(index + 1, end).toString());
+      }
+      end = nextEnd;
     }
     TraceState traceState = traceStateBuilder.build();
-    if (traceState.size() != listMembers.length) {
+    if (traceState.size() != members) {
       // Validation failure, drop the tracestate
       return TraceState.getDefault();
     }
     return traceState;
   }
+
+  private static boolean isOptionalWhitespace(char c) {
+    return c == ' ' || c == '\t';
+  }
+
+  private static int indexOf(CharSequence chars, char c, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (chars.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Immutable
+  private static final class InjectedHeaders {
+    private final String traceParent;
+    @Nullable private final String traceState;
+
+    private InjectedHeaders(String traceParent, @Nullable String traceState) {
+      this.traceParent = traceParent;
+      this.traceState = traceState;
+    }
+  }
 }
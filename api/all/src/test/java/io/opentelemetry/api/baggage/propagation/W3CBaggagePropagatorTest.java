@@ -7,6 +7,7 @@ package io.opentelemetry.api.baggage.propagation;
 
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.google.common.collect.ImmutableMap;
 import io.opentelemetry.api.baggage.Baggage;
@@ -397,6 +398,42 @@ class W3CBaggagePropagatorTest {
     assertThat(Baggage.fromContext(result)).isEqualTo(expectedBaggage);
   }
 
+  @Test
+  void extract_getEntryValue_beforeParsing() {
+    Baggage baggage =
+        Baggage.fromContext(
+            W3CBaggagePropagator.getInstance()
+                .extract(
+                    Context.root(),
+                    ImmutableMap.of("baggage", "key=value1, other=x;meta,ke y=v,key = value2 "),
+                    getter));
+
+    assertThat(baggage.getEntryValue("key")).isEqualTo("value2");
+    assertThat(baggage.getEntryValue("other")).isEqualTo("x");
+    assertThat(baggage.getEntryValue("ke y")).isNull();
+    assertThat(baggage.getEntryValue("missing")).isNull();
+    assertThat(baggage.size()).isEqualTo(2);
+    assertThat(baggage.getEntryValue("key")).isEqualTo("value2");
+  }
+
+  @Test
+  void extract_equalsBothWays() {
+    Baggage extracted =
+        Baggage.fromContext(
+            W3CBaggagePropagator.getInstance()
+                .extract(Context.root(), ImmutableMap.of("baggage", "key=value"), getter));
+    Baggage expected = Baggage.builder().put("key", "value").build();
+
+    assertThat(extracted).isEqualTo(expected);
+    assertThat(expected).isEqualTo(extracted);
+    assertThat(extracted.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(expected)
+        .isNotEqualTo(
+            Baggage.fromContext(
+                W3CBaggagePropagator.getInstance()
+                    .extract(Context.root(), ImmutableMap.of("baggage", "key=other"), getter)));
+  }
+
   @Test
   void extract_nullContext() {
     assertThat(W3CBaggagePropagator.getInstance().extract(null, Collections.emptyMap(), getter))
@@ -443,6 +480,64 @@ class W3CBaggagePropagatorTest {
                 "baggage", "meta=meta-value;somemetadata; someother=foo,nometa=nometa-value"));
   }
 
+  @Test
+  void inject_sameBaggageReusesHeader() {
+    Context context = Context.root().with(Baggage.builder().put("cat", "meow").build());
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Map<String, String> first = new HashMap<>();
+    Map<String, String> second = new HashMap<>();
+    propagator.inject(context, first, Map::put);
+    propagator.inject(context, second, Map::put);
+    assertThat(second).containsExactly(entry("baggage", "cat=meow"));
+    assertThat(second.get("baggage")).isSameAs(first.get("baggage"));
+  }
+
+  @Test
+  void inject_extractedBaggage_passesThrough() {
+    String header = "key1= value1;meta ,key2=value2";
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context =
+        propagator.extract(Context.root(), ImmutableMap.of("baggage", header), getter);
+    Map<String, String> carrier = new HashMap<>();
+    propagator.inject(context, carrier, Map::put);
+    assertThat(carrier.get("baggage")).isSameAs(header);
+  }
+
+  @Test
+  void inject_extractedBaggage_invalidMembersDropped() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context =
+        propagator.extract(
+            Context.root(),
+            ImmutableMap.of("baggage", "key1= value1;meta , invalid key=x,key2=value2,"),
+            getter);
+    Map<String, String> carrier = new HashMap<>();
+    propagator.inject(context, carrier, Map::put);
+    assertThat(carrier).containsExactly(entry("baggage", "key1=value1;meta,key2=value2"));
+  }
+
+  @Test
+  void inject_extractedBaggage_allMembersInvalid() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context =
+        propagator.extract(
+            Context.root(), ImmutableMap.of("baggage", "invalid key=x,novalue="), getter);
+    Map<String, String> carrier = new HashMap<>();
+    propagator.inject(context, carrier, Map::put);
+    assertThat(carrier).isEmpty();
+  }
+
+  @Test
+  void inject_modifiedExtractedBaggage() {
+    W3CBaggagePropagator propagator = W3CBaggagePropagator.getInstance();
+    Context context =
+        propagator.extract(Context.root(), ImmutableMap.of("baggage", "key1=value1"), getter);
+    Baggage modified = Baggage.fromContext(context).toBuilder().put("key2", "value2").build();
+    Map<String, String> carrier = new HashMap<>();
+    propagator.inject(context.with(modified), carrier, Map::put);
+    assertThat(carrier).containsExactly(entry("baggage", "key1=value1,key2=value2"));
+  }
+
   @Test
   void inject_nullContext() {
     Map<String, String> carrier = new LinkedHashMap<>();
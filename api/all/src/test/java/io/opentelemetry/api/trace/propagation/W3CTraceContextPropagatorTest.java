@@ -18,9 +18,13 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.context.propagation.TextMapSetter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
@@ -148,6 +152,50 @@ class W3CTraceContextPropagatorTest {
             entry(W3CTraceContextPropagator.TRACE_STATE, TRACESTATE_NOT_DEFAULT_ENCODING));
   }
 
+  @Test
+  void inject_SameContextReusesHeaders() {
+    Context context =
+        withSpanContext(
+            SpanContext.create(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getSampled(), TRACE_STATE),
+            Context.current());
+    Map<String, String> first = new LinkedHashMap<>();
+    Map<String, String> second = new LinkedHashMap<>();
+    w3cTraceContextPropagator.inject(context, first, setter);
+    w3cTraceContextPropagator.inject(context, second, setter);
+    assertThat(second).isEqualTo(first);
+    assertThat(second.get(W3CTraceContextPropagator.TRACE_PARENT))
+        .isSameAs(first.get(W3CTraceContextPropagator.TRACE_PARENT));
+    assertThat(second.get(W3CTraceContextPropagator.TRACE_STATE))
+        .isSameAs(first.get(W3CTraceContextPropagator.TRACE_STATE));
+  }
+
+  @Test
+  void inject_ManyContextsKeepTheirHeaders() {
+    List<Context> contexts = new ArrayList<>();
+    List<String> traceParents = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      Context context =
+          withSpanContext(
+              SpanContext.create(
+                  TRACE_ID_BASE16,
+                  String.format("%016x", i + 1),
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()),
+              Context.current());
+      Map<String, String> carrier = new LinkedHashMap<>();
+      w3cTraceContextPropagator.inject(context, carrier, setter);
+      contexts.add(context);
+      traceParents.add(carrier.get(W3CTraceContextPropagator.TRACE_PARENT));
+    }
+    for (int i = 0; i < contexts.size(); i++) {
+      Map<String, String> carrier = new LinkedHashMap<>();
+      w3cTraceContextPropagator.inject(contexts.get(i), carrier, setter);
+      assertThat(carrier.get(W3CTraceContextPropagator.TRACE_PARENT))
+          .isSameAs(traceParents.get(i));
+    }
+  }
+
   @Test
   void inject_NotSampledContext_WithTraceState() {
     Map<String, String> carrier = new LinkedHashMap<>();
@@ -294,6 +342,75 @@ class W3CTraceContextPropagatorTest {
                 TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
   }
 
+  @Test
+  void extract_NotSampledContext_TraceStateWithEmptyMembers() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_NOT_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, " ,bar=baz,\t, foo=bar ,");
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TRACE_STATE));
+  }
+
+  @Test
+  void extract_TraceStateDuplicateKey() {
+    Map<String, String> carrier = new LinkedHashMap<>();
+    carrier.put(W3CTraceContextPropagator.TRACE_PARENT, TRACEPARENT_HEADER_NOT_SAMPLED);
+    carrier.put(W3CTraceContextPropagator.TRACE_STATE, "foo=bar,foo=baz");
+    assertThat(
+            getSpanContext(w3cTraceContextPropagator.extract(Context.current(), carrier, getter)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getDefault(), TraceState.getDefault()));
+  }
+
+  @Test
+  void extract_CharSequenceGetter() {
+    Map<String, CharSequence> carrier = new LinkedHashMap<>();
+    carrier.put(
+        W3CTraceContextPropagator.TRACE_PARENT,
+        CharBuffer.wrap(("xx" + TRACEPARENT_HEADER_SAMPLED + "yy").toCharArray(), 2, 55).slice());
+    carrier.put(
+        W3CTraceContextPropagator.TRACE_STATE,
+        CharBuffer.wrap(TRACESTATE_NOT_DEFAULT_ENCODING_WITH_SPACES));
+    TextMapGetter<Map<String, CharSequence>> charSequenceGetter =
+        new TextMapGetter<Map<String, CharSequence>>() {
+          @Override
+          public Iterable<String> keys(Map<String, CharSequence> carrier) {
+            return carrier.keySet();
+          }
+
+          @Nullable
+          @Override
+          public String get(Map<String, CharSequence> carrier, String key) {
+            throw new AssertionError("Should read the CharSequence");
+          }
+
+          @Nullable
+          @Override
+          public CharSequence getCharSequence(Map<String, CharSequence> carrier, String key) {
+            return carrier.get(key);
+          }
+        };
+    assertThat(
+            getSpanContext(
+                w3cTraceContextPropagator.extract(Context.current(), carrier, charSequenceGetter)))
+        .isEqualTo(
+            SpanContext.createFromRemoteParent(
+                TRACE_ID_BASE16, SPAN_ID_BASE16, TraceFlags.getSampled(), TRACE_STATE));
+  }
+
+  @Test
+  void extract_InvalidTraceId_UpperCase() {
+    Map<String, String> invalidHeaders = new HashMap<>();
+    invalidHeaders.put(
+        W3CTraceContextPropagator.TRACE_PARENT,
+        "00-" + TRACE_ID_BASE16.toUpperCase(Locale.ROOT) + "-" + SPAN_ID_BASE16 + "-01");
+    verifyInvalidBehavior(invalidHeaders);
+  }
+
   @Test
   void extract_EmptyHeader() {
     Map<String, String> invalidHeaders = new LinkedHashMap<>();
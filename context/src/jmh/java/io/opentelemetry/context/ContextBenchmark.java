@@ -28,16 +28,25 @@ import org.openjdk.jmh.infra.Blackhole;
 @State(Scope.Benchmark)
 public class ContextBenchmark {
 
-  @Param({"2", "3", "4", "5", "10", "20", "40"})
+  @Param({"2", "3", "4", "5", "8", "10", "15", "20", "40"})
   private int size;
 
+  // Keys created by other libraries before ours, which pushes our keys to higher slots.
+  @Param({"0", "100"})
+  private int otherKeys;
+
   private int middle;
 
   private List<ContextKey<String>> keys;
+  private ContextKey<String> missing;
   private Context context = Context.root();
 
   @Setup
   public void setup() {
+    for (int i = 0; i < otherKeys; i++) {
+      ContextKey.named("other" + i);
+    }
+    missing = ContextKey.named("missing");
     keys = new ArrayList<>();
     for (int i = 0; i < size; i++) {
       ContextKey<String> key = ContextKey.named(Integer.toString(i));
@@ -62,6 +71,11 @@ public class ContextBenchmark {
     return context.get(keys.get(middle));
   }
 
+  @Benchmark
+  public String readMissing() {
+    return context.get(missing);
+  }
+
   @Benchmark
   public void readAll(Blackhole bh) {
     for (int i = 0; i < size; i++) {
@@ -74,6 +88,16 @@ public class ContextBenchmark {
     return Context.root().with(keys.get(0), "value");
   }
 
+  @Benchmark
+  public Context overwriteMiddle() {
+    return context.with(keys.get(middle), "other");
+  }
+
+  @Benchmark
+  public Context writeOneMore() {
+    return context.with(missing, "value");
+  }
+
   @Benchmark
   public Context writeAll() {
     Context context = Context.root();
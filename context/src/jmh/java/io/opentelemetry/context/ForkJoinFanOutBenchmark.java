@@ -0,0 +1,82 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Fans tiny tasks out to a {@link ForkJoinPool} through the context propagating executors. */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ForkJoinFanOutBenchmark {
+
+  private static final int TASKS = 1000;
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  public enum Wrapping {
+    // Tasks submitted to the pool directly, the baseline.
+    NONE,
+    // Every task wrapped with Context.wrap(Runnable) before it is submitted.
+    LAMBDA,
+    // The pool wrapped with Context.taskWrapping(ExecutorService).
+    TASK_WRAPPING
+  }
+
+  @Param({"NONE", "LAMBDA", "TASK_WRAPPING"})
+  private Wrapping wrapping;
+
+  private ForkJoinPool pool;
+  private ExecutorService executor;
+  private final Context context = Context.root().with(KEY, "value");
+  private final AtomicLong counter = new AtomicLong();
+
+  @Setup
+  public void setup() {
+    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    executor = wrapping == Wrapping.TASK_WRAPPING ? Context.taskWrapping(pool) : pool;
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void fanOut() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(TASKS);
+    Runnable task =
+        () -> {
+          counter.incrementAndGet();
+          done.countDown();
+        };
+    try (Scope ignored = context.makeCurrent()) {
+      for (int i = 0; i < TASKS; i++) {
+        executor.execute(wrapping == Wrapping.LAMBDA ? Context.current().wrap(task) : task);
+      }
+    }
+    done.await();
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs tasks wrapped with {@link Context#wrap(Runnable)}, which read the context of the code that
+ * submitted them, on a new thread each, as a thread-per-task executor does.
+ *
+ * <p>Virtual threads require Java 21, run with {@code -p threadKind=PLATFORM,VIRTUAL} on such a JVM
+ * to compare them with platform threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ThreadPerTaskContextBenchmark {
+
+  private static final int TASKS = 100;
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  public enum ThreadKind {
+    PLATFORM,
+    VIRTUAL
+  }
+
+  @Param({"PLATFORM"})
+  private ThreadKind threadKind;
+
+  private Executor executor;
+  private final Context context = Context.root().with(KEY, "value");
+
+  @Setup
+  public void setup() throws Exception {
+    if (threadKind == ThreadKind.VIRTUAL) {
+      executor = newVirtualThreadPerTaskExecutor();
+    } else {
+      executor =
+          runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.start();
+          };
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (executor instanceof ExecutorService) {
+      ((ExecutorService) executor).shutdownNow();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TASKS)
+  public void submitTasks() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(TASKS);
+    try (io.opentelemetry.context.Scope ignored = context.makeCurrent()) {
+      for (int i = 0; i < TASKS; i++) {
+        Runnable task =
+            () -> {
+              if (Context.current() != context) {
+                throw new AssertionError("Context was not propagated");
+              }
+              done.countDown();
+            };
+        executor.execute(Context.current().wrap(task));
+      }
+    }
+    done.await();
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+    // Compiled for Java 8, so Java 21 APIs are looked up reflectively.
+    Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    return (ExecutorService) method.invoke(null);
+  }
+}
@@ -25,9 +25,27 @@ package io.opentelemetry.context;
 import java.util.Arrays;
 import javax.annotation.Nullable;
 
+/**
+ * A {@link Context} which stores the values of {@link ContextKey#named(String)} keys in slots
+ * indexed by the key's {@link DefaultContextKey#index()}, so a lookup is two array reads instead
+ * of a scan. Slots are grouped in small chunks which are shared between a context and the contexts
+ * derived from it, {@link #with(ContextKey, Object)} only copies the chunk holding the changed slot
+ * and the array of chunks.
+ *
+ * <p>Other {@link ContextKey} implementations, and keys created after all slots are taken, are kept
+ * in a separate array of key/value pairs which is scanned by identity.
+ */
 final class ArrayBasedContext implements Context {
 
-  private static final Context ROOT = new ArrayBasedContext(new Object[0]);
+  // Each chunk holds the key and the value of CHUNK_SIZE slots.
+  private static final int CHUNK_SHIFT = 3;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private static final Object[][] EMPTY_CHUNKS = new Object[0][];
+  private static final Object[] EMPTY_ENTRIES = new Object[0];
+
+  private static final Context ROOT = new ArrayBasedContext(EMPTY_CHUNKS, EMPTY_ENTRIES);
 
   // Used by auto-instrumentation agent. Check with auto-instrumentation before making changes to
   // this method.
@@ -45,15 +63,33 @@ final class ArrayBasedContext implements Context {
     return ROOT;
   }
 
+  // Chunks of indexed slots, a chunk is null when none of its slots is set.
+  private final Object[][] chunks;
+  // Key/value pairs of keys without a slot.
   private final Object[] entries;
 
-  private ArrayBasedContext(Object[] entries) {
+  private ArrayBasedContext(Object[][] chunks, Object[] entries) {
+    this.chunks = chunks;
     this.entries = entries;
   }
 
   @Override
   @Nullable
   public <V> V get(ContextKey<V> key) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      int chunkIndex = index >>> CHUNK_SHIFT;
+      if (chunkIndex >= chunks.length) {
+        return null;
+      }
+      Object[] chunk = chunks[chunkIndex];
+      if (chunk == null) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      V result = (V) chunk[((index & CHUNK_MASK) << 1) + 1];
+      return result;
+    }
     for (int i = 0; i < entries.length; i += 2) {
       if (entries[i] == key) {
         @SuppressWarnings("unchecked")
@@ -66,6 +102,10 @@ final class ArrayBasedContext implements Context {
 
   @Override
   public <V> Context with(ContextKey<V> key, V value) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      return withIndexed(index, key, value);
+    }
     for (int i = 0; i < entries.length; i += 2) {
       if (entries[i] == key) {
         if (entries[i + 1] == value) {
@@ -73,18 +113,52 @@ final class ArrayBasedContext implements Context {
         }
         Object[] newEntries = entries.clone();
         newEntries[i + 1] = value;
-        return new ArrayBasedContext(newEntries);
+        return new ArrayBasedContext(chunks, newEntries);
       }
     }
     Object[] newEntries = Arrays.copyOf(entries, entries.length + 2);
     newEntries[newEntries.length - 2] = key;
     newEntries[newEntries.length - 1] = value;
-    return new ArrayBasedContext(newEntries);
+    return new ArrayBasedContext(chunks, newEntries);
+  }
+
+  private Context withIndexed(int index, ContextKey<?> key, @Nullable Object value) {
+    int chunkIndex = index >>> CHUNK_SHIFT;
+    int keyOffset = (index & CHUNK_MASK) << 1;
+    Object[] chunk = chunkIndex < chunks.length ? chunks[chunkIndex] : null;
+    Object[] newChunk;
+    if (chunk == null) {
+      newChunk = new Object[CHUNK_SIZE << 1];
+    } else {
+      if (chunk[keyOffset] == key && chunk[keyOffset + 1] == value) {
+        return this;
+      }
+      newChunk = chunk.clone();
+    }
+    newChunk[keyOffset] = key;
+    newChunk[keyOffset + 1] = value;
+    Object[][] newChunks = Arrays.copyOf(chunks, Math.max(chunks.length, chunkIndex + 1));
+    newChunks[chunkIndex] = newChunk;
+    return new ArrayBasedContext(newChunks, entries);
+  }
+
+  private static int indexOf(ContextKey<?> key) {
+    return key instanceof DefaultContextKey ? ((DefaultContextKey<?>) key).index() : -1;
   }
 
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder("{");
+    for (Object[] chunk : chunks) {
+      if (chunk == null) {
+        continue;
+      }
+      for (int i = 0; i < chunk.length; i += 2) {
+        if (chunk[i] != null) {
+          sb.append(chunk[i]).append('=').append(chunk[i + 1]).append(", ");
+        }
+      }
+    }
     for (int i = 0; i < entries.length; i += 2) {
       sb.append(entries[i]).append('=').append(entries[i + 1]).append(", ");
     }
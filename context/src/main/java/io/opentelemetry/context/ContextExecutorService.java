@@ -29,17 +29,17 @@ class ContextExecutorService extends ForwardingExecutorService {
 
   @Override
   public <T> Future<T> submit(Callable<T> task) {
-    return delegate().submit(context.wrap(task));
+    return delegate().submit(ContextTask.wrap(context, task));
   }
 
   @Override
   public <T> Future<T> submit(Runnable task, T result) {
-    return delegate().submit(context.wrap(task), result);
+    return delegate().submit(ContextTask.wrap(context, task), result);
   }
 
   @Override
   public Future<?> submit(Runnable task) {
-    return delegate().submit(context.wrap(task));
+    return delegate().submit(ContextTask.wrap(context, task));
   }
 
   @Override
@@ -69,6 +69,6 @@ class ContextExecutorService extends ForwardingExecutorService {
 
   @Override
   public void execute(Runnable command) {
-    delegate().execute(context.wrap(command));
+    delegate().execute(ContextTask.wrap(context, command));
   }
 }
@@ -24,23 +24,25 @@ class ContextScheduledExecutorService extends ContextExecutorService
 
   @Override
   public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
-    return delegate().schedule(context().wrap(command), delay, unit);
+    return delegate().schedule(ContextTask.wrap(context(), command), delay, unit);
   }
 
   @Override
   public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
-    return delegate().schedule(context().wrap(callable), delay, unit);
+    return delegate().schedule(ContextTask.wrap(context(), callable), delay, unit);
   }
 
   @Override
   public ScheduledFuture<?> scheduleAtFixedRate(
       Runnable command, long initialDelay, long period, TimeUnit unit) {
-    return delegate().scheduleAtFixedRate(context().wrap(command), initialDelay, period, unit);
+    return delegate()
+        .scheduleAtFixedRate(ContextTask.wrap(context(), command), initialDelay, period, unit);
   }
 
   @Override
   public ScheduledFuture<?> scheduleWithFixedDelay(
       Runnable command, long initialDelay, long delay, TimeUnit unit) {
-    return delegate().scheduleWithFixedDelay(context().wrap(command), initialDelay, delay, unit);
+    return delegate()
+        .scheduleWithFixedDelay(ContextTask.wrap(context(), command), initialDelay, delay, unit);
   }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.context;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Tasks which make a {@link Context} current while they run, used by the context propagating
+ * executors. When the context is already current on the thread running the task, the task is run
+ * directly without attaching it.
+ *
+ * <p>The wrappers are plain {@link Runnable} and {@link Callable} objects, so executors handle
+ * them, and their exceptions, exactly as they handle the tasks they wrap.
+ */
+final class ContextTask {
+
+  static Runnable wrap(Context context, Runnable runnable) {
+    return new RunnableTask(context, runnable);
+  }
+
+  static <T> Callable<T> wrap(Context context, Callable<T> callable) {
+    return new CallableTask<>(context, callable);
+  }
+
+  private static final class RunnableTask implements Runnable {
+    private final Context context;
+    private final Runnable runnable;
+
+    private RunnableTask(Context context, Runnable runnable) {
+      this.context = context;
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      if (Context.current() == context) {
+        runnable.run();
+        return;
+      }
+      try (Scope ignored = context.makeCurrent()) {
+        runnable.run();
+      }
+    }
+  }
+
+  private static final class CallableTask<T> implements Callable<T> {
+    private final Context context;
+    private final Callable<T> callable;
+
+    private CallableTask(Context context, Callable<T> callable) {
+      this.context = context;
+      this.callable = callable;
+    }
+
+    @Override
+    public T call() throws Exception {
+      if (Context.current() == context) {
+        return callable.call();
+      }
+      try (Scope ignored = context.makeCurrent()) {
+        return callable.call();
+      }
+    }
+  }
+
+  private ContextTask() {}
+}
@@ -22,17 +22,17 @@ final class CurrentContextExecutorService extends ForwardingExecutorService {
 
   @Override
   public <T> Future<T> submit(Callable<T> task) {
-    return delegate().submit(Context.current().wrap(task));
+    return delegate().submit(ContextTask.wrap(Context.current(), task));
   }
 
   @Override
   public <T> Future<T> submit(Runnable task, T result) {
-    return delegate().submit(Context.current().wrap(task), result);
+    return delegate().submit(ContextTask.wrap(Context.current(), task), result);
   }
 
   @Override
   public Future<?> submit(Runnable task) {
-    return delegate().submit(Context.current().wrap(task));
+    return delegate().submit(ContextTask.wrap(Context.current(), task));
   }
 
   @Override
@@ -62,6 +62,6 @@ final class CurrentContextExecutorService extends ForwardingExecutorService {
 
   @Override
   public void execute(Runnable command) {
-    delegate().execute(Context.current().wrap(command));
+    delegate().execute(ContextTask.wrap(Context.current(), command));
   }
 }
@@ -5,12 +5,40 @@
 
 package io.opentelemetry.context;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class DefaultContextKey<T> implements ContextKey<T> {
 
+  // Keys are expected to be created once and stored in constants, so only a small number of slots
+  // is needed. Keys created once they are all taken are stored without a slot.
+  // Visible for testing
+  static final int MAX_INDEXED_KEYS = 256;
+
+  private static final AtomicInteger nextIndex = new AtomicInteger();
+
   private final String name;
+  private final int index;
 
   DefaultContextKey(String name) {
     this.name = name;
+    this.index = allocateIndex();
+  }
+
+  /** Returns the slot of this key in {@link ArrayBasedContext}, or {@code -1} if it has none. */
+  int index() {
+    return index;
+  }
+
+  private static int allocateIndex() {
+    while (true) {
+      int index = nextIndex.get();
+      if (index >= MAX_INDEXED_KEYS) {
+        return -1;
+      }
+      if (nextIndex.compareAndSet(index, index + 1)) {
+        return index;
+      }
+    }
   }
 
   @Override
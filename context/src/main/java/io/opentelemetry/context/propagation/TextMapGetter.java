@@ -33,4 +33,21 @@ public interface TextMapGetter<C> {
    */
   @Nullable
   String get(@Nullable C carrier, String key);
+
+  /**
+   * Returns the first value of the given propagation {@code key} or returns {@code null}, without
+   * copying it into a {@link String} if the carrier already holds it in another form, such as a
+   * {@link java.nio.CharBuffer} over a request buffer. The returned sequence is only read during
+   * the extraction it was requested for and must not change until it completes.
+   *
+   * <p>The default implementation returns {@link #get(Object, String)}.
+   *
+   * @param carrier carrier of propagation fields, such as an http request.
+   * @param key the key of the field.
+   * @return the first value of the given propagation {@code key} or returns {@code null}.
+   */
+  @Nullable
+  default CharSequence getCharSequence(@Nullable C carrier, String key) {
+    return get(carrier, key);
+  }
 }
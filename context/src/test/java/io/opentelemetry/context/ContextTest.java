@@ -6,6 +6,7 @@
 package io.opentelemetry.context;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -16,12 +17,17 @@ import static org.mockito.Mockito.when;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.github.netmikey.logunit.api.LogCapturer;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -169,6 +175,43 @@ class ContextTest {
     assertThat(context6).isNotSameAs(context5);
   }
 
+  @Test
+  void withValues_manyKeys() {
+    List<ContextKey<Integer>> keys = new ArrayList<>();
+    Context context = Context.root();
+    for (int i = 0; i < 20; i++) {
+      ContextKey<Integer> key = ContextKey.named("key" + i);
+      keys.add(key);
+      context = context.with(key, i);
+    }
+    for (int i = 0; i < 20; i++) {
+      assertThat(context.get(keys.get(i))).isEqualTo(i);
+    }
+    assertThat(context.get(ContextKey.named("other"))).isNull();
+
+    Context updated = context.with(keys.get(10), 100);
+    assertThat(updated.get(keys.get(10))).isEqualTo(100);
+    assertThat(updated.get(keys.get(11))).isEqualTo(11);
+    // Old unaffected
+    assertThat(context.get(keys.get(10))).isEqualTo(10);
+    assertThat(context.with(keys.get(10), context.get(keys.get(10)))).isSameAs(context);
+  }
+
+  @Test
+  void withValues_customKey() {
+    ContextKey<String> custom = new ContextKey<String>() {};
+    Context context1 = Context.root().with(custom, "custom").with(ANIMAL, "cat");
+    assertThat(context1.get(custom)).isEqualTo("custom");
+    assertThat(context1.get(ANIMAL)).isEqualTo("cat");
+
+    Context context2 = context1.with(custom, "other");
+    assertThat(context2.get(custom)).isEqualTo("other");
+    assertThat(context2.get(ANIMAL)).isEqualTo("cat");
+    // Old unaffected
+    assertThat(context1.get(custom)).isEqualTo("custom");
+    assertThat(context2.with(custom, "other")).isSameAs(context2);
+  }
+
   @Test
   void wrapRunnable() {
     AtomicReference<String> value = new AtomicReference<>();
@@ -391,6 +434,104 @@ class ContextTest {
     }
   }
 
+  @Nested
+  @TestInstance(Lifecycle.PER_CLASS)
+  class WrapForkJoinPool {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterAll
+    void stopPool() {
+      pool.shutdown();
+    }
+
+    @Test
+    void submitCallable() throws Exception {
+      Future<String> future = CAT.wrap(pool).submit(() -> Context.current().get(ANIMAL));
+      assertThat(future.get()).isEqualTo("cat");
+    }
+
+    @Test
+    void submitRunnableResult() throws Exception {
+      AtomicReference<String> value = new AtomicReference<>();
+      Future<String> future =
+          CAT.wrap(pool).submit(() -> value.set(Context.current().get(ANIMAL)), "foo");
+      assertThat(future.get()).isEqualTo("foo");
+      assertThat(value).hasValue("cat");
+    }
+
+    @Test
+    void submitRunnable() throws Exception {
+      AtomicReference<String> value = new AtomicReference<>();
+      Future<?> future = CAT.wrap(pool).submit(() -> value.set(Context.current().get(ANIMAL)));
+      future.get();
+      assertThat(value).hasValue("cat");
+    }
+
+    @Test
+    void callableException() {
+      Future<String> future =
+          CAT.wrap(pool)
+              .submit(
+                  () -> {
+                    throw new IOException("failed");
+                  });
+      assertThatThrownBy(future::get)
+          .isInstanceOf(ExecutionException.class)
+          .hasRootCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void executeException_reachesUncaughtExceptionHandler() throws Exception {
+      AtomicReference<Throwable> uncaught = new AtomicReference<>();
+      ForkJoinPool handledPool =
+          new ForkJoinPool(
+              1,
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory,
+              (thread, e) -> uncaught.set(e),
+              /* asyncMode= */ false);
+      try {
+        CAT.wrap((Executor) handledPool)
+            .execute(
+                () -> {
+                  throw new IllegalStateException("failed");
+                });
+        await().untilAsserted(() -> assertThat(uncaught.get()).hasMessage("failed"));
+      } finally {
+        handledPool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  @SuppressWarnings("MustBeClosedChecker")
+  void taskWrapping_rootContextResetsStaleContext() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // Leak a context on the only thread of the executor.
+      executor.submit(CAT::makeCurrent).get();
+      assertThat(executor.submit(() -> Context.current().get(ANIMAL)).get()).isEqualTo("cat");
+
+      assertThat(Context.current()).isSameAs(Context.root());
+      AtomicReference<String> value = new AtomicReference<>("unset");
+      CountDownLatch executed = new CountDownLatch(1);
+      Context.taskWrapping((Executor) executor)
+          .execute(
+              () -> {
+                value.set(Context.current().get(ANIMAL));
+                executed.countDown();
+              });
+      executed.await();
+      assertThat(value).hasValue(null);
+
+      assertThat(
+              Context.taskWrapping(executor).submit(() -> Context.current().get(ANIMAL)).get())
+          .isNull();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test
   void keyToString() {
     assertThat(ANIMAL.toString()).isEqualTo("animal");
@@ -12,9 +12,7 @@ dependencies {
     compileOnly(project(":sdk:trace"))
     compileOnly(project(":sdk:metrics"))
 
-    implementation(project(":exporters:otlp:common"))
-
-    implementation("org.curioswitch.curiostack:protobuf-jackson")
+    implementation("com.fasterxml.jackson.core:jackson-core")
 
     testImplementation(project(":sdk:testing"))
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+
+/**
+ * Writes the OTLP JSON representation of the SDK data model directly to a {@link JsonGenerator},
+ * without building the intermediate protobuf messages.
+ *
+ * <p>The output follows the proto3 JSON mapping used by the OpenTelemetry Collector: field names
+ * are lowerCamelCase, 64-bit integers are written as strings, enums are written by name, IDs are
+ * written as lowercase hex and fields holding their default value are omitted.
+ */
+final class CommonJsonMarshaler {
+
+  // Root values are separated by the callers, which write one JSON document per line.
+  static final JsonFactory JSON_FACTORY =
+      new JsonFactory()
+          .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+          .setRootValueSeparator(null);
+
+  static JsonGenerator createGenerator(Writer writer) {
+    try {
+      return JSON_FACTORY.createGenerator(writer);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to create in-memory JsonGenerator, can't happen.", e);
+    }
+  }
+
+  static JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+    return JSON_FACTORY.createGenerator(outputStream);
+  }
+
+  static void writeResource(JsonGenerator gen, Resource resource) throws IOException {
+    gen.writeObjectFieldStart("resource");
+    writeAttributes(gen, "attributes", resource.getAttributes());
+    gen.writeEndObject();
+  }
+
+  static void writeInstrumentationLibrary(
+      JsonGenerator gen, InstrumentationLibraryInfo instrumentationLibraryInfo)
+      throws IOException {
+    gen.writeObjectFieldStart("instrumentationLibrary");
+    writeString(gen, "name", instrumentationLibraryInfo.getName());
+    writeString(gen, "version", instrumentationLibraryInfo.getVersion());
+    gen.writeEndObject();
+  }
+
+  static void writeAttributes(JsonGenerator gen, String fieldName, Attributes attributes)
+      throws IOException {
+    if (attributes.isEmpty()) {
+      return;
+    }
+    gen.writeArrayFieldStart(fieldName);
+    AttributeWriter attributeWriter = new AttributeWriter(gen, /* asLabels= */ false);
+    attributes.forEach(attributeWriter);
+    attributeWriter.rethrowIfFailed();
+    gen.writeEndArray();
+  }
+
+  // Fill labels too until Collector supports attributes and users have had a chance to update.
+  static void writeLabels(JsonGenerator gen, String fieldName, Attributes attributes)
+      throws IOException {
+    if (attributes.isEmpty()) {
+      return;
+    }
+    gen.writeArrayFieldStart(fieldName);
+    AttributeWriter attributeWriter = new AttributeWriter(gen, /* asLabels= */ true);
+    attributes.forEach(attributeWriter);
+    attributeWriter.rethrowIfFailed();
+    gen.writeEndArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeAnyValue(JsonGenerator gen, AttributeKey<?> key, Object value)
+      throws IOException {
+    gen.writeStartObject();
+    switch (key.getType()) {
+      case STRING:
+        gen.writeStringField("stringValue", (String) value);
+        break;
+      case BOOLEAN:
+        gen.writeBooleanField("boolValue", (Boolean) value);
+        break;
+      case LONG:
+        writeInt64Value(gen, "intValue", (Long) value);
+        break;
+      case DOUBLE:
+        writeDoubleValue(gen, "doubleValue", (Double) value);
+        break;
+      case STRING_ARRAY:
+        gen.writeObjectFieldStart("arrayValue");
+        gen.writeArrayFieldStart("values");
+        for (String element : (List<String>) value) {
+          gen.writeStartObject();
+          gen.writeStringField("stringValue", element);
+          gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        break;
+      case BOOLEAN_ARRAY:
+        gen.writeObjectFieldStart("arrayValue");
+        gen.writeArrayFieldStart("values");
+        for (Boolean element : (List<Boolean>) value) {
+          gen.writeStartObject();
+          gen.writeBooleanField("boolValue", element);
+          gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        break;
+      case LONG_ARRAY:
+        gen.writeObjectFieldStart("arrayValue");
+        gen.writeArrayFieldStart("values");
+        for (Long element : (List<Long>) value) {
+          gen.writeStartObject();
+          writeInt64Value(gen, "intValue", element);
+          gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        break;
+      case DOUBLE_ARRAY:
+        gen.writeObjectFieldStart("arrayValue");
+        gen.writeArrayFieldStart("values");
+        for (Double element : (List<Double>) value) {
+          gen.writeStartObject();
+          writeDoubleValue(gen, "doubleValue", element);
+          gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+        break;
+    }
+    gen.writeEndObject();
+  }
+
+  /** Writes a string field, omitting it when empty. */
+  static void writeString(JsonGenerator gen, String fieldName, @Nullable String value)
+      throws IOException {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    gen.writeStringField(fieldName, value);
+  }
+
+  /** Writes a 64-bit integer field as a JSON string, omitting it when zero. */
+  static void writeInt64(JsonGenerator gen, String fieldName, long value) throws IOException {
+    if (value == 0L) {
+      return;
+    }
+    writeInt64Value(gen, fieldName, value);
+  }
+
+  /** Writes a 64-bit integer field as a JSON string, even when zero. */
+  static void writeInt64Value(JsonGenerator gen, String fieldName, long value)
+      throws IOException {
+    gen.writeFieldName(fieldName);
+    gen.writeString(Long.toString(value));
+  }
+
+  /** Writes a 32-bit integer field as a JSON number, omitting it when zero. */
+  static void writeUInt32(JsonGenerator gen, String fieldName, int value) throws IOException {
+    if (value == 0) {
+      return;
+    }
+    gen.writeNumberField(fieldName, value);
+  }
+
+  /** Writes a double field, omitting it when zero. */
+  static void writeDouble(JsonGenerator gen, String fieldName, double value) throws IOException {
+    if (Double.doubleToRawLongBits(value) == 0L) {
+      return;
+    }
+    writeDoubleValue(gen, fieldName, value);
+  }
+
+  /** Writes a double field, even when zero. Non-finite values are written as strings. */
+  static void writeDoubleValue(JsonGenerator gen, String fieldName, double value)
+      throws IOException {
+    gen.writeFieldName(fieldName);
+    writeDoubleElement(gen, value);
+  }
+
+  static void writeDoubleElement(JsonGenerator gen, double value) throws IOException {
+    if (Double.isNaN(value)) {
+      gen.writeString("NaN");
+    } else if (Double.isInfinite(value)) {
+      gen.writeString(value > 0 ? "Infinity" : "-Infinity");
+    } else {
+      gen.writeNumber(value);
+    }
+  }
+
+  /**
+   * Writes each attribute as a {@code KeyValue} (or a {@code StringKeyValue} label). Because {@link
+   * Attributes#forEach(BiConsumer)} cannot propagate checked exceptions, the first failure is
+   * recorded and rethrown by {@link #rethrowIfFailed()}.
+   */
+  private static final class AttributeWriter implements BiConsumer<AttributeKey<?>, Object> {
+    private final JsonGenerator gen;
+    private final boolean asLabels;
+    @Nullable private IOException failure;
+
+    private AttributeWriter(JsonGenerator gen, boolean asLabels) {
+      this.gen = gen;
+      this.asLabels = asLabels;
+    }
+
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+      if (failure != null) {
+        return;
+      }
+      try {
+        gen.writeStartObject();
+        gen.writeStringField("key", key.getKey());
+        if (asLabels) {
+          gen.writeStringField("value", value.toString());
+        } else {
+          gen.writeFieldName("value");
+          writeAnyValue(gen, key, value);
+        }
+        gen.writeEndObject();
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+
+    private void rethrowIfFailed() throws IOException {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private CommonJsonMarshaler() {}
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleExemplar;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSumData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.Exemplar;
+import io.opentelemetry.sdk.metrics.data.LongExemplar;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.LongSumData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Writes {@link MetricData} as OTLP JSON {@code ResourceMetrics} objects. */
+final class MetricJsonMarshaler {
+
+  /**
+   * Groups the metrics by {@link Resource} and {@link InstrumentationLibraryInfo}, the same way the
+   * OTLP protobuf adapters do, skipping metrics without points.
+   */
+  static Map<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>>
+      groupByResourceAndLibrary(Collection<MetricData> metricDataList) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>> result = new HashMap<>();
+    for (MetricData metricData : metricDataList) {
+      if (metricData.isEmpty()) {
+        // If no points available then ignore.
+        continue;
+      }
+      Map<InstrumentationLibraryInfo, List<MetricData>> libraryInfoListMap =
+          result.computeIfAbsent(metricData.getResource(), unused -> new HashMap<>());
+      List<MetricData> metricList =
+          libraryInfoListMap.computeIfAbsent(
+              metricData.getInstrumentationLibraryInfo(), unused -> new ArrayList<>());
+      metricList.add(metricData);
+    }
+    return result;
+  }
+
+  /** Writes one {@code ResourceMetrics} JSON object. */
+  static void writeResourceMetrics(
+      JsonGenerator gen,
+      Resource resource,
+      Map<InstrumentationLibraryInfo, List<MetricData>> libraryMetrics)
+      throws IOException {
+    gen.writeStartObject();
+    CommonJsonMarshaler.writeResource(gen, resource);
+    gen.writeArrayFieldStart("instrumentationLibraryMetrics");
+    for (Map.Entry<InstrumentationLibraryInfo, List<MetricData>> entry :
+        libraryMetrics.entrySet()) {
+      InstrumentationLibraryInfo library = entry.getKey();
+      gen.writeStartObject();
+      CommonJsonMarshaler.writeInstrumentationLibrary(gen, library);
+      gen.writeArrayFieldStart("metrics");
+      for (MetricData metric : entry.getValue()) {
+        writeMetric(gen, metric);
+      }
+      gen.writeEndArray();
+      CommonJsonMarshaler.writeString(gen, "schemaUrl", library.getSchemaUrl());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+    CommonJsonMarshaler.writeString(gen, "schemaUrl", resource.getSchemaUrl());
+    gen.writeEndObject();
+  }
+
+  private static void writeMetric(JsonGenerator gen, MetricData metric) throws IOException {
+    gen.writeStartObject();
+    CommonJsonMarshaler.writeString(gen, "name", metric.getName());
+    CommonJsonMarshaler.writeString(gen, "description", metric.getDescription());
+    CommonJsonMarshaler.writeString(gen, "unit", metric.getUnit());
+    switch (metric.getType()) {
+      case LONG_GAUGE:
+        gen.writeObjectFieldStart("gauge");
+        writeLongPoints(gen, metric.getLongGaugeData().getPoints());
+        gen.writeEndObject();
+        break;
+      case DOUBLE_GAUGE:
+        gen.writeObjectFieldStart("gauge");
+        writeDoublePoints(gen, metric.getDoubleGaugeData().getPoints());
+        gen.writeEndObject();
+        break;
+      case LONG_SUM:
+        LongSumData longSumData = metric.getLongSumData();
+        gen.writeObjectFieldStart("sum");
+        writeLongPoints(gen, longSumData.getPoints());
+        writeTemporality(gen, longSumData.getAggregationTemporality());
+        writeMonotonic(gen, longSumData.isMonotonic());
+        gen.writeEndObject();
+        break;
+      case DOUBLE_SUM:
+        DoubleSumData doubleSumData = metric.getDoubleSumData();
+        gen.writeObjectFieldStart("sum");
+        writeDoublePoints(gen, doubleSumData.getPoints());
+        writeTemporality(gen, doubleSumData.getAggregationTemporality());
+        writeMonotonic(gen, doubleSumData.isMonotonic());
+        gen.writeEndObject();
+        break;
+      case SUMMARY:
+        gen.writeObjectFieldStart("summary");
+        writeSummaryPoints(gen, metric.getDoubleSummaryData().getPoints());
+        gen.writeEndObject();
+        break;
+      case HISTOGRAM:
+        DoubleHistogramData histogramData = metric.getDoubleHistogramData();
+        gen.writeObjectFieldStart("histogram");
+        writeHistogramPoints(gen, histogramData.getPoints());
+        writeTemporality(gen, histogramData.getAggregationTemporality());
+        gen.writeEndObject();
+        break;
+    }
+    gen.writeEndObject();
+  }
+
+  private static void writeLongPoints(JsonGenerator gen, Collection<LongPointData> points)
+      throws IOException {
+    gen.writeArrayFieldStart("dataPoints");
+    for (LongPointData point : points) {
+      gen.writeStartObject();
+      writePointCommon(gen, point);
+      CommonJsonMarshaler.writeInt64Value(gen, "asInt", point.getValue());
+      writeExemplars(gen, point.getExemplars());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  private static void writeDoublePoints(JsonGenerator gen, Collection<DoublePointData> points)
+      throws IOException {
+    gen.writeArrayFieldStart("dataPoints");
+    for (DoublePointData point : points) {
+      gen.writeStartObject();
+      writePointCommon(gen, point);
+      CommonJsonMarshaler.writeDoubleValue(gen, "asDouble", point.getValue());
+      writeExemplars(gen, point.getExemplars());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  private static void writeSummaryPoints(
+      JsonGenerator gen, Collection<DoubleSummaryPointData> points) throws IOException {
+    gen.writeArrayFieldStart("dataPoints");
+    for (DoubleSummaryPointData point : points) {
+      gen.writeStartObject();
+      writePointCommon(gen, point);
+      CommonJsonMarshaler.writeInt64(gen, "count", point.getCount());
+      CommonJsonMarshaler.writeDouble(gen, "sum", point.getSum());
+      List<ValueAtPercentile> percentileValues = point.getPercentileValues();
+      if (!percentileValues.isEmpty()) {
+        gen.writeArrayFieldStart("quantileValues");
+        for (ValueAtPercentile valueAtPercentile : percentileValues) {
+          gen.writeStartObject();
+          CommonJsonMarshaler.writeDouble(
+              gen, "quantile", valueAtPercentile.getPercentile() / 100.0);
+          CommonJsonMarshaler.writeDouble(gen, "value", valueAtPercentile.getValue());
+          gen.writeEndObject();
+        }
+        gen.writeEndArray();
+      }
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  private static void writeHistogramPoints(
+      JsonGenerator gen, Collection<DoubleHistogramPointData> points) throws IOException {
+    gen.writeArrayFieldStart("dataPoints");
+    for (DoubleHistogramPointData point : points) {
+      gen.writeStartObject();
+      writePointCommon(gen, point);
+      CommonJsonMarshaler.writeInt64(gen, "count", point.getCount());
+      CommonJsonMarshaler.writeDouble(gen, "sum", point.getSum());
+      List<Long> counts = point.getCounts();
+      if (!counts.isEmpty()) {
+        gen.writeArrayFieldStart("bucketCounts");
+        for (Long count : counts) {
+          gen.writeString(Long.toString(count));
+        }
+        gen.writeEndArray();
+      }
+      List<Double> boundaries = point.getBoundaries();
+      if (!boundaries.isEmpty()) {
+        gen.writeArrayFieldStart("explicitBounds");
+        for (Double boundary : boundaries) {
+          CommonJsonMarshaler.writeDoubleElement(gen, boundary);
+        }
+        gen.writeEndArray();
+      }
+      writeExemplars(gen, point.getExemplars());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  private static void writePointCommon(JsonGenerator gen, PointData point) throws IOException {
+    CommonJsonMarshaler.writeAttributes(gen, "attributes", point.getAttributes());
+    CommonJsonMarshaler.writeLabels(gen, "labels", point.getAttributes());
+    CommonJsonMarshaler.writeInt64(gen, "startTimeUnixNano", point.getStartEpochNanos());
+    CommonJsonMarshaler.writeInt64(gen, "timeUnixNano", point.getEpochNanos());
+  }
+
+  private static void writeExemplars(JsonGenerator gen, List<Exemplar> exemplars)
+      throws IOException {
+    if (exemplars.isEmpty()) {
+      return;
+    }
+    gen.writeArrayFieldStart("exemplars");
+    for (Exemplar exemplar : exemplars) {
+      gen.writeStartObject();
+      CommonJsonMarshaler.writeAttributes(
+          gen, "filteredAttributes", exemplar.getFilteredAttributes());
+      CommonJsonMarshaler.writeLabels(gen, "filteredLabels", exemplar.getFilteredAttributes());
+      CommonJsonMarshaler.writeInt64(gen, "timeUnixNano", exemplar.getEpochNanos());
+      if (exemplar instanceof LongExemplar) {
+        CommonJsonMarshaler.writeInt64Value(gen, "asInt", ((LongExemplar) exemplar).getValue());
+      } else if (exemplar instanceof DoubleExemplar) {
+        CommonJsonMarshaler.writeDoubleValue(
+            gen, "asDouble", ((DoubleExemplar) exemplar).getValue());
+      }
+      CommonJsonMarshaler.writeString(gen, "spanId", exemplar.getSpanId());
+      CommonJsonMarshaler.writeString(gen, "traceId", exemplar.getTraceId());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+  }
+
+  private static void writeTemporality(JsonGenerator gen, AggregationTemporality temporality)
+      throws IOException {
+    switch (temporality) {
+      case CUMULATIVE:
+        gen.writeStringField("aggregationTemporality", "AGGREGATION_TEMPORALITY_CUMULATIVE");
+        break;
+      case DELTA:
+        gen.writeStringField("aggregationTemporality", "AGGREGATION_TEMPORALITY_DELTA");
+        break;
+    }
+  }
+
+  private static void writeMonotonic(JsonGenerator gen, boolean monotonic) throws IOException {
+    if (monotonic) {
+      gen.writeBooleanField("isMonotonic", true);
+    }
+  }
+
+  private MetricJsonMarshaler() {}
+}
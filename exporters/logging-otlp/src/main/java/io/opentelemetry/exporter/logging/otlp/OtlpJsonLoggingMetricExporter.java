@@ -5,34 +5,27 @@
 
 package io.opentelemetry.exporter.logging.otlp;
 
-import static io.opentelemetry.exporter.logging.otlp.HexEncodingStringJsonGenerator.JSON_FACTORY;
-
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.io.SegmentedStringWriter;
-import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
-import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.curioswitch.common.protobuf.json.MessageMarshaller;
 
 /**
  * A {@link MetricExporter} which writes {@linkplain MetricData spans} to a {@link Logger} in OTLP
- * JSON format. Each log line will include a single {@link ResourceMetrics}.
+ * JSON format. Each log line will include a single {@code ResourceMetrics}. The JSON is written
+ * directly from the {@link MetricData} without building intermediate protobuf messages.
  */
 public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
 
-  private static final MessageMarshaller marshaller =
-      MessageMarshaller.builder()
-          .register(ResourceMetrics.class)
-          .omittingInsignificantWhitespace(true)
-          .build();
-
   private static final Logger logger =
       Logger.getLogger(OtlpJsonLoggingMetricExporter.class.getName());
 
@@ -45,11 +38,14 @@ public final class OtlpJsonLoggingMetricExporter implements MetricExporter {
 
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
-    List<ResourceMetrics> allResourceMetrics = MetricAdapter.toProtoResourceMetrics(metrics);
-    for (ResourceMetrics resourceMetrics : allResourceMetrics) {
-      SegmentedStringWriter sw = new SegmentedStringWriter(JSON_FACTORY._getBufferRecycler());
-      try (JsonGenerator gen = HexEncodingStringJsonGenerator.create(sw)) {
-        marshaller.writeValue(resourceMetrics, gen);
+    Map<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>> resourceAndLibraryMap =
+        MetricJsonMarshaler.groupByResourceAndLibrary(metrics);
+    for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>> entry :
+        resourceAndLibraryMap.entrySet()) {
+      SegmentedStringWriter sw =
+          new SegmentedStringWriter(CommonJsonMarshaler.JSON_FACTORY._getBufferRecycler());
+      try (JsonGenerator gen = CommonJsonMarshaler.createGenerator(sw)) {
+        MetricJsonMarshaler.writeResourceMetrics(gen, entry.getKey(), entry.getValue());
       } catch (IOException e) {
         // Shouldn't happen in practice, just skip it.
         continue;
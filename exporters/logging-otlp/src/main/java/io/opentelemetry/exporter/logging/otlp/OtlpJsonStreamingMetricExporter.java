@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link MetricExporter} which streams {@linkplain MetricData metrics} to an {@link
+ * OutputStream} in OTLP JSON format, one {@code ResourceMetrics} per line.
+ *
+ * <p>The JSON is encoded directly from the {@link MetricData} into a small, recycled buffer which
+ * is flushed to the stream as it fills up, so the memory used by an export does not depend on the
+ * size of the batch. The stream is not closed by this exporter.
+ */
+public final class OtlpJsonStreamingMetricExporter implements MetricExporter {
+
+  private static final Logger logger =
+      Logger.getLogger(OtlpJsonStreamingMetricExporter.class.getName());
+
+  private final OutputStream outputStream;
+
+  /** Returns a new {@link OtlpJsonStreamingMetricExporter} writing to {@code outputStream}. */
+  public static MetricExporter create(OutputStream outputStream) {
+    Objects.requireNonNull(outputStream, "outputStream");
+    return new OtlpJsonStreamingMetricExporter(outputStream);
+  }
+
+  private OtlpJsonStreamingMetricExporter(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>> resourceAndLibraryMap =
+        MetricJsonMarshaler.groupByResourceAndLibrary(metrics);
+    try (JsonGenerator gen = CommonJsonMarshaler.createGenerator(outputStream)) {
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<MetricData>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        MetricJsonMarshaler.writeResourceMetrics(gen, entry.getKey(), entry.getValue());
+        gen.writeRaw('\n');
+      }
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to export metrics", e);
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public synchronized CompletableResultCode flush() {
+    try {
+      outputStream.flush();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to flush metrics", e);
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return flush();
+  }
+}
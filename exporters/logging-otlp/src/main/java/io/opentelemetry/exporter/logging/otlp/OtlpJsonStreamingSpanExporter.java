@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link SpanExporter} which streams {@linkplain SpanData spans} to an {@link OutputStream} in
+ * OTLP JSON format, one {@code ResourceSpans} per line.
+ *
+ * <p>The JSON is encoded directly from the {@link SpanData} into a small, recycled buffer which is
+ * flushed to the stream as it fills up, so the memory used by an export does not depend on the size
+ * of the batch. The stream is not closed by this exporter.
+ */
+public final class OtlpJsonStreamingSpanExporter implements SpanExporter {
+
+  private static final Logger logger =
+      Logger.getLogger(OtlpJsonStreamingSpanExporter.class.getName());
+
+  private final OutputStream outputStream;
+
+  /** Returns a new {@link OtlpJsonStreamingSpanExporter} writing to {@code outputStream}. */
+  public static SpanExporter create(OutputStream outputStream) {
+    Objects.requireNonNull(outputStream, "outputStream");
+    return new OtlpJsonStreamingSpanExporter(outputStream);
+  }
+
+  private OtlpJsonStreamingSpanExporter(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> resourceAndLibraryMap =
+        SpanJsonMarshaler.groupByResourceAndLibrary(spans);
+    try (JsonGenerator gen = CommonJsonMarshaler.createGenerator(outputStream)) {
+      for (Map.Entry<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> entry :
+          resourceAndLibraryMap.entrySet()) {
+        SpanJsonMarshaler.writeResourceSpans(gen, entry.getKey(), entry.getValue());
+        gen.writeRaw('\n');
+      }
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to export spans", e);
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public synchronized CompletableResultCode flush() {
+    try {
+      outputStream.flush();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to flush spans", e);
+      return CompletableResultCode.ofFailure();
+    }
+    return CompletableResultCode.ofSuccess();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    return flush();
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Writes {@link SpanData} as OTLP JSON {@code ResourceSpans} objects. */
+final class SpanJsonMarshaler {
+
+  /**
+   * Groups the spans by {@link Resource} and {@link InstrumentationLibraryInfo}, the same way the
+   * OTLP protobuf adapters do, so that each resource can be written as one {@code ResourceSpans}.
+   */
+  static Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> groupByResourceAndLibrary(
+      Collection<SpanData> spanDataList) {
+    Map<Resource, Map<InstrumentationLibraryInfo, List<SpanData>>> result = new HashMap<>();
+    for (SpanData spanData : spanDataList) {
+      Map<InstrumentationLibraryInfo, List<SpanData>> libraryInfoListMap =
+          result.computeIfAbsent(spanData.getResource(), unused -> new HashMap<>());
+      List<SpanData> spanList =
+          libraryInfoListMap.computeIfAbsent(
+              spanData.getInstrumentationLibraryInfo(), unused -> new ArrayList<>());
+      spanList.add(spanData);
+    }
+    return result;
+  }
+
+  /** Writes one {@code ResourceSpans} JSON object. */
+  static void writeResourceSpans(
+      JsonGenerator gen,
+      Resource resource,
+      Map<InstrumentationLibraryInfo, List<SpanData>> librarySpans)
+      throws IOException {
+    gen.writeStartObject();
+    CommonJsonMarshaler.writeResource(gen, resource);
+    gen.writeArrayFieldStart("instrumentationLibrarySpans");
+    for (Map.Entry<InstrumentationLibraryInfo, List<SpanData>> entry : librarySpans.entrySet()) {
+      InstrumentationLibraryInfo library = entry.getKey();
+      gen.writeStartObject();
+      CommonJsonMarshaler.writeInstrumentationLibrary(gen, library);
+      gen.writeArrayFieldStart("spans");
+      for (SpanData span : entry.getValue()) {
+        writeSpan(gen, span);
+      }
+      gen.writeEndArray();
+      CommonJsonMarshaler.writeString(gen, "schemaUrl", library.getSchemaUrl());
+      gen.writeEndObject();
+    }
+    gen.writeEndArray();
+    CommonJsonMarshaler.writeString(gen, "schemaUrl", resource.getSchemaUrl());
+    gen.writeEndObject();
+  }
+
+  private static void writeSpan(JsonGenerator gen, SpanData span) throws IOException {
+    gen.writeStartObject();
+    SpanContext spanContext = span.getSpanContext();
+    gen.writeStringField("traceId", spanContext.getTraceId());
+    gen.writeStringField("spanId", spanContext.getSpanId());
+    // TODO: Set TraceState;
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    if (parentSpanContext.isValid()) {
+      gen.writeStringField("parentSpanId", parentSpanContext.getSpanId());
+    }
+    CommonJsonMarshaler.writeString(gen, "name", span.getName());
+    gen.writeStringField("kind", toSpanKind(span));
+    CommonJsonMarshaler.writeInt64(gen, "startTimeUnixNano", span.getStartEpochNanos());
+    CommonJsonMarshaler.writeInt64(gen, "endTimeUnixNano", span.getEndEpochNanos());
+    CommonJsonMarshaler.writeAttributes(gen, "attributes", span.getAttributes());
+    CommonJsonMarshaler.writeUInt32(
+        gen,
+        "droppedAttributesCount",
+        span.getTotalAttributeCount() - span.getAttributes().size());
+    List<EventData> events = span.getEvents();
+    if (!events.isEmpty()) {
+      gen.writeArrayFieldStart("events");
+      for (EventData event : events) {
+        writeEvent(gen, event);
+      }
+      gen.writeEndArray();
+    }
+    CommonJsonMarshaler.writeUInt32(
+        gen, "droppedEventsCount", span.getTotalRecordedEvents() - events.size());
+    List<LinkData> links = span.getLinks();
+    if (!links.isEmpty()) {
+      gen.writeArrayFieldStart("links");
+      for (LinkData link : links) {
+        writeLink(gen, link);
+      }
+      gen.writeEndArray();
+    }
+    CommonJsonMarshaler.writeUInt32(
+        gen, "droppedLinksCount", span.getTotalRecordedLinks() - links.size());
+    writeStatus(gen, span.getStatus());
+    gen.writeEndObject();
+  }
+
+  private static void writeEvent(JsonGenerator gen, EventData event) throws IOException {
+    gen.writeStartObject();
+    CommonJsonMarshaler.writeInt64(gen, "timeUnixNano", event.getEpochNanos());
+    CommonJsonMarshaler.writeString(gen, "name", event.getName());
+    CommonJsonMarshaler.writeAttributes(gen, "attributes", event.getAttributes());
+    CommonJsonMarshaler.writeUInt32(
+        gen,
+        "droppedAttributesCount",
+        event.getTotalAttributeCount() - event.getAttributes().size());
+    gen.writeEndObject();
+  }
+
+  private static void writeLink(JsonGenerator gen, LinkData link) throws IOException {
+    gen.writeStartObject();
+    gen.writeStringField("traceId", link.getSpanContext().getTraceId());
+    gen.writeStringField("spanId", link.getSpanContext().getSpanId());
+    // TODO: Set TraceState;
+    CommonJsonMarshaler.writeAttributes(gen, "attributes", link.getAttributes());
+    CommonJsonMarshaler.writeUInt32(
+        gen,
+        "droppedAttributesCount",
+        link.getTotalAttributeCount() - link.getAttributes().size());
+    gen.writeEndObject();
+  }
+
+  private static void writeStatus(JsonGenerator gen, StatusData status) throws IOException {
+    gen.writeObjectFieldStart("status");
+    switch (status.getStatusCode()) {
+      case OK:
+        CommonJsonMarshaler.writeString(gen, "message", status.getDescription());
+        gen.writeStringField("code", "STATUS_CODE_OK");
+        break;
+      case ERROR:
+        // Still set DeprecatedCode
+        gen.writeStringField("deprecatedCode", "DEPRECATED_STATUS_CODE_UNKNOWN_ERROR");
+        CommonJsonMarshaler.writeString(gen, "message", status.getDescription());
+        gen.writeStringField("code", "STATUS_CODE_ERROR");
+        break;
+      case UNSET:
+        CommonJsonMarshaler.writeString(gen, "message", status.getDescription());
+        break;
+    }
+    gen.writeEndObject();
+  }
+
+  private static String toSpanKind(SpanData span) {
+    switch (span.getKind()) {
+      case INTERNAL:
+        return "SPAN_KIND_INTERNAL";
+      case SERVER:
+        return "SPAN_KIND_SERVER";
+      case CLIENT:
+        return "SPAN_KIND_CLIENT";
+      case PRODUCER:
+        return "SPAN_KIND_PRODUCER";
+      case CONSUMER:
+        return "SPAN_KIND_CONSUMER";
+    }
+    return "SPAN_KIND_UNSPECIFIED";
+  }
+
+  private SpanJsonMarshaler() {}
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramData;
+import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryData;
+import io.opentelemetry.sdk.metrics.data.DoubleSummaryPointData;
+import io.opentelemetry.sdk.metrics.data.LongGaugeData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.ValueAtPercentile;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+class OtlpJsonStreamingMetricExporterTest {
+
+  private static final Resource RESOURCE =
+      Resource.create(Attributes.builder().put("key", "value").build());
+  private static final InstrumentationLibraryInfo LIBRARY =
+      InstrumentationLibraryInfo.create("instrumentation", "1");
+
+  private static final MetricData GAUGE =
+      MetricData.createLongGauge(
+          RESOURCE,
+          LIBRARY,
+          "gauge",
+          "",
+          "1",
+          LongGaugeData.create(
+              Collections.singletonList(LongPointData.create(1, 2, Attributes.empty(), 0))));
+
+  private static final MetricData SUMMARY =
+      MetricData.createDoubleSummary(
+          RESOURCE,
+          LIBRARY,
+          "summary",
+          "",
+          "ms",
+          DoubleSummaryData.create(
+              Collections.singletonList(
+                  DoubleSummaryPointData.create(
+                      1,
+                      2,
+                      Attributes.empty(),
+                      5,
+                      14.2,
+                      Arrays.asList(
+                          ValueAtPercentile.create(0.0, 1.1),
+                          ValueAtPercentile.create(100.0, 8.3))))));
+
+  private static final MetricData HISTOGRAM =
+      MetricData.createDoubleHistogram(
+          RESOURCE,
+          LIBRARY,
+          "histogram",
+          "",
+          "ms",
+          DoubleHistogramData.create(
+              AggregationTemporality.DELTA,
+              Collections.singletonList(
+                  DoubleHistogramPointData.create(
+                      1,
+                      2,
+                      Attributes.of(stringKey("cat"), "meow"),
+                      6.0,
+                      Collections.singletonList(1.0),
+                      Arrays.asList(1L, 2L)))));
+
+  @Test
+  void export() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MetricExporter exporter = OtlpJsonStreamingMetricExporter.create(out);
+
+    assertThat(exporter.export(Arrays.asList(GAUGE, SUMMARY, HISTOGRAM)).isSuccess()).isTrue();
+
+    String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(json).endsWith("\n");
+    JSONAssert.assertEquals(
+        "{"
+            + "  \"resource\": {"
+            + "    \"attributes\": [{"
+            + "      \"key\": \"key\","
+            + "      \"value\": {"
+            + "        \"stringValue\": \"value\""
+            + "      }"
+            + "    }]"
+            + "  },"
+            + "  \"instrumentationLibraryMetrics\": [{"
+            + "    \"instrumentationLibrary\": {"
+            + "      \"name\": \"instrumentation\","
+            + "      \"version\": \"1\""
+            + "    },"
+            + "    \"metrics\": [{"
+            + "      \"name\": \"gauge\","
+            + "      \"unit\": \"1\","
+            + "      \"gauge\": {"
+            + "        \"dataPoints\": [{"
+            + "          \"startTimeUnixNano\": \"1\","
+            + "          \"timeUnixNano\": \"2\","
+            + "          \"asInt\": \"0\""
+            + "        }]"
+            + "      }"
+            + "    }, {"
+            + "      \"name\": \"summary\","
+            + "      \"unit\": \"ms\","
+            + "      \"summary\": {"
+            + "        \"dataPoints\": [{"
+            + "          \"startTimeUnixNano\": \"1\","
+            + "          \"timeUnixNano\": \"2\","
+            + "          \"count\": \"5\","
+            + "          \"sum\": 14.2,"
+            + "          \"quantileValues\": [{"
+            + "            \"value\": 1.1"
+            + "          }, {"
+            + "            \"quantile\": 1.0,"
+            + "            \"value\": 8.3"
+            + "          }]"
+            + "        }]"
+            + "      }"
+            + "    }, {"
+            + "      \"name\": \"histogram\","
+            + "      \"unit\": \"ms\","
+            + "      \"histogram\": {"
+            + "        \"dataPoints\": [{"
+            + "          \"attributes\": [{"
+            + "            \"key\": \"cat\","
+            + "            \"value\": {\"stringValue\": \"meow\"}"
+            + "          }],"
+            + "          \"labels\": [{"
+            + "            \"key\": \"cat\","
+            + "            \"value\": \"meow\""
+            + "          }],"
+            + "          \"startTimeUnixNano\": \"1\","
+            + "          \"timeUnixNano\": \"2\","
+            + "          \"count\": \"3\","
+            + "          \"sum\": 6.0,"
+            + "          \"bucketCounts\": [\"1\", \"2\"],"
+            + "          \"explicitBounds\": [1.0]"
+            + "        }],"
+            + "        \"aggregationTemporality\": \"AGGREGATION_TEMPORALITY_DELTA\""
+            + "      }"
+            + "    }]"
+            + "  }]"
+            + "}",
+        json.trim(),
+        /* strict= */ true);
+  }
+
+  @Test
+  void shutdown() {
+    assertThat(
+            OtlpJsonStreamingMetricExporter.create(new ByteArrayOutputStream())
+                .shutdown()
+                .isSuccess())
+        .isTrue();
+  }
+}
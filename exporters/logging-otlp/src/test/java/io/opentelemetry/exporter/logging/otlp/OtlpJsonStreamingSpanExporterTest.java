@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.logging.otlp;
+
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+class OtlpJsonStreamingSpanExporterTest {
+
+  private static final SpanData SPAN =
+      TestSpanData.builder()
+          .setHasEnded(true)
+          .setSpanContext(
+              SpanContext.create(
+                  "12345678876543211234567887654321",
+                  "8765432112345678",
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()))
+          .setParentSpanContext(
+              SpanContext.create(
+                  "12345678876543211234567887654321",
+                  "1111111111111111",
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()))
+          .setStartEpochNanos(100)
+          .setEndEpochNanos(1100)
+          .setStatus(StatusData.create(StatusCode.UNSET, "unset"))
+          .setName("testSpan")
+          .setKind(SpanKind.SERVER)
+          .setAttributes(
+              Attributes.of(
+                  stringArrayKey("animals"), Arrays.asList("cat", "dog"), longKey("lives"), 9L))
+          .setLinks(
+              Collections.singletonList(
+                  LinkData.create(
+                      SpanContext.create(
+                          "00000000000000000000000000000001",
+                          "0000000000000002",
+                          TraceFlags.getDefault(),
+                          TraceState.getDefault()))))
+          .setTotalAttributeCount(3)
+          .setTotalRecordedEvents(0)
+          .setTotalRecordedLinks(1)
+          .setInstrumentationLibraryInfo(InstrumentationLibraryInfo.create("instrumentation", null))
+          .setResource(Resource.empty())
+          .build();
+
+  @Test
+  void export() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    SpanExporter exporter = OtlpJsonStreamingSpanExporter.create(out);
+
+    assertThat(exporter.export(Collections.singletonList(SPAN)).isSuccess()).isTrue();
+    assertThat(exporter.export(Collections.singletonList(SPAN)).isSuccess()).isTrue();
+
+    String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(2);
+    for (String line : lines) {
+      JSONAssert.assertEquals(
+          "{"
+              + "  \"resource\": {},"
+              + "  \"instrumentationLibrarySpans\": [{"
+              + "    \"instrumentationLibrary\": {"
+              + "      \"name\": \"instrumentation\""
+              + "    },"
+              + "    \"spans\": [{"
+              + "      \"traceId\": \"12345678876543211234567887654321\","
+              + "      \"spanId\": \"8765432112345678\","
+              + "      \"parentSpanId\": \"1111111111111111\","
+              + "      \"name\": \"testSpan\","
+              + "      \"kind\": \"SPAN_KIND_SERVER\","
+              + "      \"startTimeUnixNano\": \"100\","
+              + "      \"endTimeUnixNano\": \"1100\","
+              + "      \"attributes\": [{"
+              + "        \"key\": \"animals\","
+              + "        \"value\": {"
+              + "          \"arrayValue\": {"
+              + "            \"values\": [{\"stringValue\": \"cat\"}, {\"stringValue\": \"dog\"}]"
+              + "          }"
+              + "        }"
+              + "      }, {"
+              + "        \"key\": \"lives\","
+              + "        \"value\": {"
+              + "          \"intValue\": \"9\""
+              + "        }"
+              + "      }],"
+              + "      \"droppedAttributesCount\": 1,"
+              + "      \"links\": [{"
+              + "        \"traceId\": \"00000000000000000000000000000001\","
+              + "        \"spanId\": \"0000000000000002\""
+              + "      }],"
+              + "      \"status\": {"
+              + "        \"message\": \"unset\""
+              + "      }"
+              + "    }]"
+              + "  }]"
+              + "}",
+          line,
+          /* strict= */ true);
+    }
+  }
+
+  @Test
+  void exportFailure() {
+    OutputStream failing =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("broken");
+          }
+        };
+    SpanExporter exporter = OtlpJsonStreamingSpanExporter.create(failing);
+
+    assertThat(exporter.export(Collections.singletonList(SPAN)).isSuccess()).isFalse();
+  }
+
+  @Test
+  void flush() {
+    assertThat(
+            OtlpJsonStreamingSpanExporter.create(new ByteArrayOutputStream()).flush().isSuccess())
+        .isTrue();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/** Reads back the records written by {@link SegmentFileWriter}, in write order. */
+public final class SegmentFileReader {
+
+  /** Receives the serialized message of each record. */
+  public interface RecordConsumer {
+    /**
+     * Consumes one record. The buffer is only valid for the duration of the call.
+     *
+     * @param record the serialized message, positioned at its first byte.
+     */
+    void accept(ByteBuffer record) throws IOException;
+  }
+
+  /**
+   * Reads every record of every segment with the given prefix in {@code directory}, oldest first.
+   *
+   * @return the number of records read.
+   */
+  public static long readAll(File directory, String prefix, RecordConsumer consumer)
+      throws IOException {
+    long count = 0;
+    for (File segment : listSegments(directory, prefix)) {
+      count += readSegment(segment, consumer);
+    }
+    return count;
+  }
+
+  /**
+   * Reads every record of one segment. Reading stops at the first zero length, which marks the end
+   * of a segment that was not closed cleanly.
+   *
+   * @return the number of records read.
+   */
+  public static long readSegment(File segment, RecordConsumer consumer) throws IOException {
+    long count = 0;
+    try (RandomAccessFile file = new RandomAccessFile(segment, "r")) {
+      FileChannel channel = file.getChannel();
+      long size = channel.size();
+      if (size == 0) {
+        return 0;
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      while (buffer.hasRemaining()) {
+        int length = readLength(buffer);
+        if (length == 0) {
+          break;
+        }
+        if (length > buffer.remaining()) {
+          throw new IOException("Truncated record in segment " + segment);
+        }
+        ByteBuffer record = buffer.slice();
+        record.limit(length);
+        consumer.accept(record);
+        buffer.position(buffer.position() + length);
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int readLength(ByteBuffer buffer) throws IOException {
+    // A varint32 is at most 5 bytes long.
+    int headerSize = Math.min(5, buffer.remaining());
+    ByteBuffer header = buffer.slice();
+    header.limit(headerSize);
+    CodedInputStream input = CodedInputStream.newInstance(header);
+    int length = input.readRawVarint32();
+    buffer.position(buffer.position() + input.getTotalBytesRead());
+    return length;
+  }
+
+  /** Returns the segments with the given prefix in {@code directory}, oldest first. */
+  static File[] listSegments(File directory, String prefix) {
+    String segmentPrefix = prefix + "-";
+    int nameLength =
+        segmentPrefix.length()
+            + SegmentFileWriter.SEQUENCE_DIGITS
+            + SegmentFileWriter.SEGMENT_SUFFIX.length();
+    File[] segments =
+        directory.listFiles(
+            file ->
+                file.isFile()
+                    && file.getName().length() == nameLength
+                    && file.getName().startsWith(segmentPrefix)
+                    && file.getName().endsWith(SegmentFileWriter.SEGMENT_SUFFIX));
+    if (segments == null) {
+      return new File[0];
+    }
+    // Sequence numbers are zero padded, so the lexicographic order is the write order.
+    Arrays.sort(segments, (a, b) -> a.getName().compareTo(b.getName()));
+    return segments;
+  }
+
+  static long sequenceOf(File segment, String prefix) {
+    String name = segment.getName();
+    return Long.parseLong(
+        name.substring(
+            prefix.length() + 1, name.length() - SegmentFileWriter.SEGMENT_SUFFIX.length()));
+  }
+
+  private SegmentFileReader() {}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import com.google.protobuf.CodedOutputStream;
+import io.opentelemetry.sdk.common.Clock;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Appends length-delimited OTLP messages to memory-mapped segment files in a directory.
+ *
+ * <p>Each segment is named {@code <prefix>-<sequence>.otlp} and contains a sequence of records,
+ * each one a varint32 length followed by the serialized message. A segment is pre-allocated and
+ * mapped at its maximum size. Because the mapped region starts zeroed, a record length of zero
+ * marks the end of the written data, even if the process dies before the segment is closed. When a
+ * segment is closed it is truncated to the written data.
+ *
+ * <p>The active segment is rotated when the next record does not fit or when it is older than the
+ * configured maximum age. Messages are serialized straight into the mapping from their precomputed
+ * size, without an intermediate byte array.
+ */
+@ThreadSafe
+public final class SegmentFileWriter {
+
+  /** Controls when written data is forced to the storage device. */
+  public enum SyncPolicy {
+    /** Never force explicitly, leave it to the operating system. */
+    NEVER,
+    /** Force a segment when it is rotated or closed. */
+    ON_ROTATE,
+    /** Force the segment after every record. */
+    EVERY_WRITE,
+  }
+
+  /** Writes a message whose serialized size is known ahead of time. */
+  public interface RecordWriter {
+    /** Writes exactly the number of bytes passed to {@link #append(int, RecordWriter)}. */
+    void writeTo(CodedOutputStream output) throws IOException;
+  }
+
+  static final String SEGMENT_SUFFIX = ".otlp";
+  static final int SEQUENCE_DIGITS = 20;
+
+  private final File directory;
+  private final String prefix;
+  private final long maxSegmentBytes;
+  private final long maxSegmentAgeNanos;
+  private final SyncPolicy syncPolicy;
+  private final Clock clock;
+
+  @Nullable private Segment current;
+  private long nextSequence;
+  private boolean closed;
+
+  /**
+   * Creates a new writer. Sequence numbers continue after the highest existing segment in {@code
+   * directory}, so segments written by a previous process are never overwritten.
+   *
+   * @param directory the directory receiving the segments, created if missing.
+   * @param prefix the segment file name prefix.
+   * @param maxSegmentBytes the size at which a segment is rotated.
+   * @param maxSegmentAgeNanos the age at which a segment is rotated, or {@code 0} to disable.
+   * @param syncPolicy when to force written data to storage.
+   * @param clock the clock used to age segments.
+   */
+  public SegmentFileWriter(
+      File directory,
+      String prefix,
+      long maxSegmentBytes,
+      long maxSegmentAgeNanos,
+      SyncPolicy syncPolicy,
+      Clock clock)
+      throws IOException {
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Unable to create segment directory " + directory);
+    }
+    this.directory = directory;
+    this.prefix = prefix;
+    this.maxSegmentBytes = maxSegmentBytes;
+    this.maxSegmentAgeNanos = maxSegmentAgeNanos;
+    this.syncPolicy = syncPolicy;
+    this.clock = clock;
+    File[] existing = SegmentFileReader.listSegments(directory, prefix);
+    this.nextSequence =
+        existing.length == 0
+            ? 0
+            : SegmentFileReader.sequenceOf(existing[existing.length - 1], prefix) + 1;
+  }
+
+  /**
+   * Appends one record.
+   *
+   * @param serializedSize the exact number of bytes {@code writer} produces; must be positive.
+   * @param writer writes the message.
+   */
+  public synchronized void append(int serializedSize, RecordWriter writer) throws IOException {
+    if (closed) {
+      throw new IOException("Segment writer is closed");
+    }
+    if (serializedSize <= 0) {
+      throw new IllegalArgumentException("serializedSize must be positive");
+    }
+    int recordSize = CodedOutputStream.computeUInt32SizeNoTag(serializedSize) + serializedSize;
+    Segment segment = current;
+    if (segment != null
+        && (segment.buffer.remaining() < recordSize
+            || (maxSegmentAgeNanos > 0
+                && clock.nanoTime() - segment.openedNanos >= maxSegmentAgeNanos))) {
+      closeCurrent();
+      segment = null;
+    }
+    if (segment == null) {
+      segment = openSegment(Math.max(maxSegmentBytes, recordSize));
+      current = segment;
+    }
+
+    int start = segment.buffer.position();
+    CodedOutputStream output = CodedOutputStream.newInstance(segment.buffer);
+    output.writeUInt32NoTag(serializedSize);
+    writer.writeTo(output);
+    output.flush();
+    if (output.getTotalBytesWritten() != recordSize) {
+      throw new IllegalStateException(
+          "Record wrote " + output.getTotalBytesWritten() + " bytes, expected " + recordSize);
+    }
+    // Direct buffer encoders write through a duplicate, make sure the mapping itself has advanced.
+    segment.buffer.position(start + recordSize);
+    if (syncPolicy == SyncPolicy.EVERY_WRITE) {
+      segment.buffer.force();
+    }
+  }
+
+  /** Closes the active segment, if any, so that the next record starts a new one. */
+  public synchronized void rotate() throws IOException {
+    closeCurrent();
+  }
+
+  /** Forces the active segment to storage. */
+  public synchronized void flush() {
+    if (current != null && syncPolicy != SyncPolicy.NEVER) {
+      current.buffer.force();
+    }
+  }
+
+  /** Closes the active segment. Further appends fail. */
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    closeCurrent();
+  }
+
+  private Segment openSegment(long size) throws IOException {
+    File file = new File(directory, segmentName(prefix, nextSequence++));
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+      return new Segment(randomAccessFile, buffer, clock.nanoTime());
+    } catch (IOException | RuntimeException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  private void closeCurrent() throws IOException {
+    Segment segment = current;
+    if (segment == null) {
+      return;
+    }
+    current = null;
+    if (syncPolicy != SyncPolicy.NEVER) {
+      segment.buffer.force();
+    }
+    try {
+      // The mapping stays valid until it is garbage collected, but the file itself only keeps the
+      // written records.
+      segment.file.setLength(segment.buffer.position());
+      if (syncPolicy != SyncPolicy.NEVER) {
+        segment.file.getChannel().force(true);
+      }
+    } finally {
+      segment.file.close();
+    }
+  }
+
+  static String segmentName(String prefix, long sequence) {
+    return prefix + "-" + String.format(Locale.ROOT, "%020d", sequence) + SEGMENT_SUFFIX;
+  }
+
+  private static final class Segment {
+    private final RandomAccessFile file;
+    private final MappedByteBuffer buffer;
+    private final long openedNanos;
+
+    private Segment(RandomAccessFile file, MappedByteBuffer buffer, long openedNanos) {
+      this.file = file;
+      this.buffer = buffer;
+      this.openedNanos = openedNanos;
+    }
+  }
+}
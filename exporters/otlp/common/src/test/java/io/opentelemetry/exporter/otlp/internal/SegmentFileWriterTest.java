@@ -0,0 +1,139 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentFileWriterTest {
+
+  private final TestClock clock = TestClock.create();
+
+  @Test
+  void writeAndRead(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.ON_ROTATE);
+    append(writer, "one");
+    append(writer, "two");
+    writer.close();
+
+    File[] segments = SegmentFileReader.listSegments(directory, "test");
+    assertThat(segments).hasSize(1);
+    assertThat(segments[0].getName()).isEqualTo("test-00000000000000000000.otlp");
+    // Truncated to the two records, each a one byte length followed by three bytes.
+    assertThat(segments[0].length()).isEqualTo(8);
+    assertThat(readAll(directory)).containsExactly("one", "two");
+  }
+
+  @Test
+  void readsUnclosedSegment(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.EVERY_WRITE);
+    append(writer, "one");
+    append(writer, "two");
+
+    // The segment is still mapped at its full size, the zeroed tail marks the end of the data.
+    assertThat(SegmentFileReader.listSegments(directory, "test")[0].length()).isEqualTo(1024);
+    assertThat(readAll(directory)).containsExactly("one", "two");
+    writer.close();
+  }
+
+  @Test
+  void rotatesWhenFull(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 8, SegmentFileWriter.SyncPolicy.NEVER);
+    append(writer, "one");
+    append(writer, "two");
+    append(writer, "three");
+    // Larger than a whole segment, gets a segment of its own.
+    append(writer, "a much longer record");
+    writer.close();
+
+    assertThat(SegmentFileReader.listSegments(directory, "test")).hasSize(3);
+    assertThat(readAll(directory)).containsExactly("one", "two", "three", "a much longer record");
+  }
+
+  @Test
+  void rotatesWhenOld(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.ON_ROTATE);
+    append(writer, "one");
+    clock.advance(Duration.ofSeconds(30));
+    append(writer, "two");
+    clock.advance(Duration.ofSeconds(30));
+    append(writer, "three");
+    writer.close();
+
+    assertThat(SegmentFileReader.listSegments(directory, "test")).hasSize(2);
+    assertThat(readAll(directory)).containsExactly("one", "two", "three");
+  }
+
+  @Test
+  void ignoresOtherFiles(@TempDir File directory) throws IOException {
+    assertThat(new File(directory, "other-00000000000000000007.otlp").createNewFile()).isTrue();
+    assertThat(new File(directory, "test-7.otlp").createNewFile()).isTrue();
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.ON_ROTATE);
+    append(writer, "one");
+    writer.close();
+
+    assertThat(SegmentFileReader.listSegments(directory, "test")).hasSize(1);
+    assertThat(readAll(directory)).containsExactly("one");
+  }
+
+  @Test
+  void truncatedRecord(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.ON_ROTATE);
+    append(writer, "one");
+    writer.close();
+    File segment = SegmentFileReader.listSegments(directory, "test")[0];
+    try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+      file.setLength(2);
+    }
+
+    assertThatThrownBy(() -> readAll(directory)).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void appendAfterClose(@TempDir File directory) throws IOException {
+    SegmentFileWriter writer = newWriter(directory, 1024, SegmentFileWriter.SyncPolicy.ON_ROTATE);
+    writer.close();
+
+    assertThatThrownBy(() -> append(writer, "one")).isInstanceOf(IOException.class);
+  }
+
+  private SegmentFileWriter newWriter(
+      File directory, long maxSegmentBytes, SegmentFileWriter.SyncPolicy syncPolicy)
+      throws IOException {
+    return new SegmentFileWriter(
+        directory, "test", maxSegmentBytes, TimeUnit.MINUTES.toNanos(1), syncPolicy, clock);
+  }
+
+  private static void append(SegmentFileWriter writer, String record) throws IOException {
+    byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+    writer.append(bytes.length, output -> output.writeRawBytes(bytes));
+  }
+
+  private static List<String> readAll(File directory) throws IOException {
+    List<String> records = new ArrayList<>();
+    SegmentFileReader.readAll(
+        directory,
+        "test",
+        record -> {
+          byte[] bytes = new byte[record.remaining()];
+          record.get(bytes);
+          records.add(new String(bytes, StandardCharsets.UTF_8));
+        });
+    return records;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.metrics;
+
+import io.opentelemetry.exporter.otlp.internal.MetricAdapter;
+import io.opentelemetry.exporter.otlp.internal.SegmentFileWriter;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports metrics to local, memory-mapped segment files. Each export appends one length-delimited
+ * OTLP {@code ExportMetricsServiceRequest}, so the files can be shipped and replayed later.
+ */
+@ThreadSafe
+public final class OtlpFileMetricExporter implements MetricExporter {
+  private static final String COMPONENT_NAME = OtlpFileMetricExporter.class.getSimpleName();
+
+  private final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(OtlpFileMetricExporter.class.getName()));
+
+  private final SegmentFileWriter writer;
+
+  OtlpFileMetricExporter(SegmentFileWriter writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static OtlpFileMetricExporterBuilder builder() {
+    return new OtlpFileMetricExporterBuilder();
+  }
+
+  /**
+   * Appends all the given metrics to the active segment as a single request.
+   *
+   * @param metrics the list of Metrics to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<MetricData> metrics) {
+    PipelineEvents pipelineEvents = PipelineEvents.get();
+    boolean recordEvent = pipelineEvents.isEnabled();
+    long startNanos = recordEvent ? System.nanoTime() : 0;
+    ExportMetricsServiceRequest request =
+        ExportMetricsServiceRequest.newBuilder()
+            .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
+            .build();
+    int serializedSize = request.getSerializedSize();
+    if (serializedSize == 0) {
+      return CompletableResultCode.ofSuccess();
+    }
+    long marshaledNanos = recordEvent ? System.nanoTime() : 0;
+    try {
+      writer.append(serializedSize, request::writeTo);
+      if (recordEvent) {
+        pipelineEvents.requestMarshaled(
+            COMPONENT_NAME,
+            metrics.size(),
+            serializedSize,
+            marshaledNanos - startNanos,
+            System.nanoTime() - marshaledNanos);
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to write metrics to segment file: " + e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  /**
+   * Forces the active segment to storage, unless the exporter was configured to never sync.
+   *
+   * @return always Success
+   */
+  @Override
+  public CompletableResultCode flush() {
+    writer.flush();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /** Closes and truncates the active segment. */
+  @Override
+  public CompletableResultCode shutdown() {
+    try {
+      writer.close();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to close segment file: " + e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+}
@@ -16,6 +16,7 @@ import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
 import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
 import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc.MetricsServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
@@ -29,6 +30,7 @@ import javax.annotation.concurrent.ThreadSafe;
 /** Exports metrics using OTLP via gRPC, using OpenTelemetry's protobuf model. */
 @ThreadSafe
 public final class OtlpGrpcMetricExporter implements MetricExporter {
+  private static final String EXPORTER_NAME = OtlpGrpcMetricExporter.class.getSimpleName();
 
   private final ThrottlingLogger logger =
       new ThrottlingLogger(Logger.getLogger(OtlpGrpcMetricExporter.class.getName()));
@@ -58,10 +60,22 @@ public final class OtlpGrpcMetricExporter implements MetricExporter {
    */
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
+    PipelineEvents pipelineEvents = PipelineEvents.get();
+    boolean recordEvent = pipelineEvents.isEnabled();
+    long marshalStartNanos = recordEvent ? System.nanoTime() : 0;
     ExportMetricsServiceRequest exportMetricsServiceRequest =
         ExportMetricsServiceRequest.newBuilder()
             .addAllResourceMetrics(MetricAdapter.toProtoResourceMetrics(metrics))
             .build();
+    if (recordEvent) {
+      // The request is serialized by gRPC, which reuses the size memoized here.
+      pipelineEvents.requestMarshaled(
+          EXPORTER_NAME,
+          metrics.size(),
+          exportMetricsServiceRequest.getSerializedSize(),
+          System.nanoTime() - marshalStartNanos,
+          0);
+    }
 
     final CompletableResultCode result = new CompletableResultCode();
     MetricsServiceFutureStub exporter;
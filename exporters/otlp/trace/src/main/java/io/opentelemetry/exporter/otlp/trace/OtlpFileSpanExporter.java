@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import io.opentelemetry.exporter.otlp.internal.SegmentFileWriter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Exports spans to local, memory-mapped segment files. Each export appends one length-delimited
+ * OTLP {@code ExportTraceServiceRequest}, so the files can be shipped later and replayed into any
+ * {@link SpanExporter} with {@link OtlpFileSpanReader}.
+ */
+@ThreadSafe
+public final class OtlpFileSpanExporter implements SpanExporter {
+
+  private static final String COMPONENT_NAME = OtlpFileSpanExporter.class.getSimpleName();
+
+  private final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(OtlpFileSpanExporter.class.getName()));
+
+  private final SegmentFileWriter writer;
+
+  OtlpFileSpanExporter(SegmentFileWriter writer) {
+    this.writer = writer;
+  }
+
+  /**
+   * Returns a new builder instance for this exporter.
+   *
+   * @return a new builder instance for this exporter.
+   */
+  public static OtlpFileSpanExporterBuilder builder() {
+    return new OtlpFileSpanExporterBuilder();
+  }
+
+  /**
+   * Appends all the given spans to the active segment as a single request.
+   *
+   * @param spans the list of sampled Spans to be exported.
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (spans.isEmpty()) {
+      return CompletableResultCode.ofSuccess();
+    }
+    PipelineEvents pipelineEvents = PipelineEvents.get();
+    boolean recordEvent = pipelineEvents.isEnabled();
+    long startNanos = recordEvent ? System.nanoTime() : 0;
+    try {
+      TraceMarshaler.RequestMarshaler request = TraceMarshaler.RequestMarshaler.create(spans);
+      long marshaledNanos = recordEvent ? System.nanoTime() : 0;
+      writer.append(request.getSerializedSize(), request::writeTo);
+      if (recordEvent) {
+        pipelineEvents.requestMarshaled(
+            COMPONENT_NAME,
+            spans.size(),
+            request.getSerializedSize(),
+            marshaledNanos - startNanos,
+            System.nanoTime() - marshaledNanos);
+      }
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to write spans to segment file: " + e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+
+  /**
+   * Forces the active segment to storage, unless the exporter was configured to never sync.
+   *
+   * @return always Success
+   */
+  @Override
+  public CompletableResultCode flush() {
+    writer.flush();
+    return CompletableResultCode.ofSuccess();
+  }
+
+  /** Closes and truncates the active segment. */
+  @Override
+  public CompletableResultCode shutdown() {
+    try {
+      writer.close();
+      return CompletableResultCode.ofSuccess();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Failed to close segment file: " + e.getMessage());
+      return CompletableResultCode.ofFailure();
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.exporter.otlp.internal.SegmentFileWriter;
+import io.opentelemetry.sdk.common.Clock;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/** Builder utility for {@link OtlpFileSpanExporter}. */
+public final class OtlpFileSpanExporterBuilder {
+
+  static final String DEFAULT_FILE_PREFIX = "spans";
+  private static final long DEFAULT_MAX_SEGMENT_BYTES = 64 * 1024 * 1024;
+  private static final long DEFAULT_MAX_SEGMENT_AGE_MINUTES = 10;
+
+  @Nullable private File directory;
+  private String filePrefix = DEFAULT_FILE_PREFIX;
+  private long maxSegmentBytes = DEFAULT_MAX_SEGMENT_BYTES;
+  private long maxSegmentAgeNanos = TimeUnit.MINUTES.toNanos(DEFAULT_MAX_SEGMENT_AGE_MINUTES);
+  private SegmentFileWriter.SyncPolicy syncPolicy = SegmentFileWriter.SyncPolicy.ON_ROTATE;
+  private Clock clock = Clock.getDefault();
+
+  /** Sets the directory the segment files are written to. Required. */
+  public OtlpFileSpanExporterBuilder setDirectory(File directory) {
+    requireNonNull(directory, "directory");
+    this.directory = directory;
+    return this;
+  }
+
+  /**
+   * Sets the prefix of the segment file names. If unset, defaults to {@value
+   * DEFAULT_FILE_PREFIX}.
+   */
+  public OtlpFileSpanExporterBuilder setFilePrefix(String filePrefix) {
+    requireNonNull(filePrefix, "filePrefix");
+    checkArgument(!filePrefix.isEmpty(), "filePrefix must not be empty");
+    this.filePrefix = filePrefix;
+    return this;
+  }
+
+  /**
+   * Sets the size in bytes at which a segment is rotated. The segment is mapped at this size up
+   * front. If unset, defaults to 64 MiB.
+   */
+  public OtlpFileSpanExporterBuilder setMaxSegmentSize(long maxSegmentBytes) {
+    checkArgument(
+        maxSegmentBytes > 0 && maxSegmentBytes <= Integer.MAX_VALUE,
+        "maxSegmentBytes must be positive and fit a single mapping");
+    this.maxSegmentBytes = maxSegmentBytes;
+    return this;
+  }
+
+  /**
+   * Sets the age at which a segment is rotated, checked when spans are written. {@code 0} disables
+   * time based rotation. If unset, defaults to 10 minutes.
+   */
+  public OtlpFileSpanExporterBuilder setMaxSegmentAge(long maxSegmentAge, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(maxSegmentAge >= 0, "maxSegmentAge must be non-negative");
+    this.maxSegmentAgeNanos = unit.toNanos(maxSegmentAge);
+    return this;
+  }
+
+  /**
+   * Sets the age at which a segment is rotated, checked when spans are written. {@code 0} disables
+   * time based rotation. If unset, defaults to 10 minutes.
+   */
+  public OtlpFileSpanExporterBuilder setMaxSegmentAge(Duration maxSegmentAge) {
+    requireNonNull(maxSegmentAge, "maxSegmentAge");
+    return setMaxSegmentAge(maxSegmentAge.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets whether every export is forced to storage before returning. When disabled, segments are
+   * still forced when they are rotated, flushed or closed unless {@link #setSyncOnRotate(boolean)}
+   * is disabled too. Disabled by default.
+   */
+  public OtlpFileSpanExporterBuilder setSyncEveryWrite(boolean syncEveryWrite) {
+    if (syncEveryWrite) {
+      syncPolicy = SegmentFileWriter.SyncPolicy.EVERY_WRITE;
+    } else if (syncPolicy == SegmentFileWriter.SyncPolicy.EVERY_WRITE) {
+      syncPolicy = SegmentFileWriter.SyncPolicy.ON_ROTATE;
+    }
+    return this;
+  }
+
+  /**
+   * Sets whether segments are forced to storage when they are rotated, flushed or closed. When
+   * disabled, and {@link #setSyncEveryWrite(boolean)} is not enabled, syncing is left to the
+   * operating system. Enabled by default.
+   */
+  public OtlpFileSpanExporterBuilder setSyncOnRotate(boolean syncOnRotate) {
+    if (syncPolicy != SegmentFileWriter.SyncPolicy.EVERY_WRITE) {
+      syncPolicy =
+          syncOnRotate
+              ? SegmentFileWriter.SyncPolicy.ON_ROTATE
+              : SegmentFileWriter.SyncPolicy.NEVER;
+    }
+    return this;
+  }
+
+  // Visible for testing
+  OtlpFileSpanExporterBuilder setClock(Clock clock) {
+    requireNonNull(clock, "clock");
+    this.clock = clock;
+    return this;
+  }
+
+  /**
+   * Constructs a new instance of the exporter based on the builder's values.
+   *
+   * @return a new exporter's instance
+   * @throws IllegalStateException if the segment directory cannot be created.
+   */
+  public OtlpFileSpanExporter build() {
+    requireNonNull(directory, "directory");
+    try {
+      return new OtlpFileSpanExporter(
+          new SegmentFileWriter(
+              directory, filePrefix, maxSegmentBytes, maxSegmentAgeNanos, syncPolicy, clock));
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to open segment directory " + directory, e);
+    }
+  }
+
+  OtlpFileSpanExporterBuilder() {}
+}
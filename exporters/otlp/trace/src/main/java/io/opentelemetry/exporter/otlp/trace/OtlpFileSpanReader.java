@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import com.google.protobuf.CodedInputStream;
+import io.opentelemetry.exporter.otlp.internal.SegmentFileReader;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the segment files written by {@link OtlpFileSpanExporter} into any {@link SpanExporter}.
+ */
+public final class OtlpFileSpanReader {
+
+  /**
+   * Exports every request stored in the segments of {@code directory}, oldest first, waiting up to
+   * {@code timeout} for each export to complete. The segment files are left in place.
+   *
+   * @param directory the directory the exporter wrote to.
+   * @param filePrefix the file prefix the exporter was configured with.
+   * @param exporter the exporter receiving the spans.
+   * @param timeout the maximum time to wait for each export.
+   * @param unit the unit of {@code timeout}.
+   * @return the number of requests replayed.
+   * @throws IOException if a segment cannot be read, or an export does not succeed.
+   */
+  public static long replay(
+      File directory, String filePrefix, SpanExporter exporter, long timeout, TimeUnit unit)
+      throws IOException {
+    return SegmentFileReader.readAll(
+        directory,
+        filePrefix,
+        record -> {
+          ExportTraceServiceRequest request =
+              ExportTraceServiceRequest.parseFrom(CodedInputStream.newInstance(record));
+          CompletableResultCode result =
+              exporter.export(ProtoSpanData.fromRequest(request)).join(timeout, unit);
+          if (!result.isSuccess()) {
+            throw new IOException("Failed to export replayed spans");
+          }
+        });
+  }
+
+  /**
+   * Same as {@link #replay(File, String, SpanExporter, long, TimeUnit)} for the default file
+   * prefix.
+   */
+  public static long replay(File directory, SpanExporter exporter, long timeout, TimeUnit unit)
+      throws IOException {
+    return replay(
+        directory, OtlpFileSpanExporterBuilder.DEFAULT_FILE_PREFIX, exporter, timeout, unit);
+  }
+
+  private OtlpFileSpanReader() {}
+}
@@ -11,9 +11,13 @@ import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.ConnectivityState;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.AsynchronousInstrument;
 import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.BoundLongValueRecorder;
 import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongValueRecorder;
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.exporter.otlp.internal.SpanAdapter;
@@ -22,17 +26,33 @@ import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
 import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
 import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc.TraceServiceFutureStub;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.internal.ThrottlingLogger;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
-/** Exports spans using OTLP via gRPC, using OpenTelemetry's protobuf model. */
+/**
+ * Exports spans using OTLP via gRPC, using OpenTelemetry's protobuf model.
+ *
+ * <p>Exports can be spread round-robin over a pool of channels, each with its own connection, so
+ * that a single HTTP/2 connection and its flow-control window do not limit throughput. The number
+ * of concurrent in-flight exports can be capped, in which case exports over the cap fail
+ * immediately instead of queueing up.
+ */
 @ThreadSafe
 public final class OtlpGrpcSpanExporter implements SpanExporter {
 
@@ -43,12 +63,24 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   private static final Labels EXPORT_FAILURE_LABELS =
       Labels.of("exporter", EXPORTER_NAME, "success", "false");
 
+  // The exporters whose in-flight exports are observed, weakly referenced so that exporters which
+  // were not shut down can still be collected. A single observer per meter reports all of them,
+  // since observers registered later with the same name are ignored.
+  @GuardedBy("liveExporters")
+  private static final Set<OtlpGrpcSpanExporter> liveExporters =
+      Collections.newSetFromMap(new WeakHashMap<>());
+
+  @GuardedBy("liveExporters")
+  private static final Set<Meter> observedMeters = Collections.newSetFromMap(new WeakHashMap<>());
+
   private final ThrottlingLogger logger =
       new ThrottlingLogger(Logger.getLogger(OtlpGrpcSpanExporter.class.getName()));
 
-  private final TraceServiceFutureStub traceService;
+  private final PooledChannel[] channels;
+  private final AtomicInteger nextChannel = new AtomicInteger();
+  @Nullable private final Semaphore exportPermits;
+  private final int maxConcurrentExports;
 
-  private final ManagedChannel managedChannel;
   private final long timeoutNanos;
   private final BoundLongCounter spansSeen;
   private final BoundLongCounter spansExportedSuccess;
@@ -62,16 +94,75 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    *     0 or to a negative value, the exporter will wait indefinitely.
    */
   OtlpGrpcSpanExporter(ManagedChannel channel, long timeoutNanos) {
+    this(Collections.singletonList(channel), timeoutNanos, 0);
+  }
+
+  /**
+   * Creates a new OTLP gRPC Span Reporter spreading exports over the given channels.
+   *
+   * @param channels the channels to use when communicating with the OpenTelemetry Collector.
+   * @param timeoutNanos max waiting time for the collector to process each span batch. When set to
+   *     0 or to a negative value, the exporter will wait indefinitely.
+   * @param maxConcurrentExports the maximum number of in-flight exports across all channels, or 0
+   *     for no limit.
+   */
+  OtlpGrpcSpanExporter(List<ManagedChannel> channels, long timeoutNanos, int maxConcurrentExports) {
     Meter meter = GlobalMeterProvider.getMeter("io.opentelemetry.exporters.otlp");
     this.spansSeen =
         meter.longCounterBuilder("spansSeenByExporter").build().bind(EXPORTER_NAME_LABELS);
     LongCounter spansExportedCounter = meter.longCounterBuilder("spansExportedByExporter").build();
     this.spansExportedSuccess = spansExportedCounter.bind(EXPORT_SUCCESS_LABELS);
     this.spansExportedFailure = spansExportedCounter.bind(EXPORT_FAILURE_LABELS);
-    this.managedChannel = channel;
     this.timeoutNanos = timeoutNanos;
+    this.maxConcurrentExports = maxConcurrentExports;
+    this.exportPermits = maxConcurrentExports > 0 ? new Semaphore(maxConcurrentExports) : null;
+
+    LongValueRecorder exportLatency =
+        meter
+            .longValueRecorderBuilder("exporterChannelLatency")
+            .setDescription("The time taken by each export, by channel")
+            .setUnit("ms")
+            .build();
+    this.channels = new PooledChannel[channels.size()];
+    for (int i = 0; i < this.channels.length; i++) {
+      this.channels[i] = new PooledChannel(channels.get(i), exportLatency.bind(channelLabels(i)));
+    }
+    boolean registerObserver;
+    synchronized (liveExporters) {
+      liveExporters.add(this);
+      registerObserver = observedMeters.add(meter);
+    }
+    if (registerObserver) {
+      meter
+          .longUpDownSumObserverBuilder("exporterChannelInFlight")
+          .setDescription("The number of in-flight exports, by channel")
+          .setUnit("1")
+          .setUpdater(OtlpGrpcSpanExporter::observeInFlight)
+          .build();
+    }
+  }
 
-    this.traceService = TraceServiceGrpc.newFutureStub(channel);
+  // Observes the in-flight exports of all the live exporters, summed by channel index as their
+  // latencies are recorded.
+  private static void observeInFlight(AsynchronousInstrument.LongResult result) {
+    long[] inFlight = new long[0];
+    synchronized (liveExporters) {
+      for (OtlpGrpcSpanExporter exporter : liveExporters) {
+        if (exporter.channels.length > inFlight.length) {
+          inFlight = Arrays.copyOf(inFlight, exporter.channels.length);
+        }
+        for (int i = 0; i < exporter.channels.length; i++) {
+          inFlight[i] += exporter.channels[i].inFlight.get();
+        }
+      }
+    }
+    for (int i = 0; i < inFlight.length; i++) {
+      result.observe(inFlight[i], channelLabels(i));
+    }
+  }
+
+  private static Labels channelLabels(int channel) {
+    return Labels.of("exporter", EXPORTER_NAME, "channel", String.valueOf(channel));
   }
 
   /**
@@ -83,31 +174,69 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
   @Override
   public CompletableResultCode export(Collection<SpanData> spans) {
     spansSeen.add(spans.size());
-    ExportTraceServiceRequest exportTraceServiceRequest =
-        ExportTraceServiceRequest.newBuilder()
-            .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
-            .build();
+    // Checked before marshaling, so that rejected exports cost as little as possible.
+    if (exportPermits != null && !exportPermits.tryAcquire()) {
+      spansExportedFailure.add(spans.size());
+      logger.log(
+          Level.WARNING,
+          "Failed to export spans. The maximum of "
+              + maxConcurrentExports
+              + " concurrent exports has been reached.");
+      return CompletableResultCode.ofFailure();
+    }
+
+    PipelineEvents pipelineEvents = PipelineEvents.get();
+    boolean recordEvent = pipelineEvents.isEnabled();
+    long marshalStartNanos = recordEvent ? System.nanoTime() : 0;
+    ExportTraceServiceRequest exportTraceServiceRequest;
+    boolean marshaled = false;
+    try {
+      exportTraceServiceRequest =
+          ExportTraceServiceRequest.newBuilder()
+              .addAllResourceSpans(SpanAdapter.toProtoResourceSpans(spans))
+              .build();
+      if (recordEvent) {
+        // The request is serialized by gRPC, which reuses the size memoized here.
+        pipelineEvents.requestMarshaled(
+            EXPORTER_NAME,
+            spans.size(),
+            exportTraceServiceRequest.getSerializedSize(),
+            System.nanoTime() - marshalStartNanos,
+            0);
+      }
+      marshaled = true;
+    } finally {
+      if (!marshaled && exportPermits != null) {
+        // The request is never sent, so no callback will release the permit.
+        exportPermits.release();
+      }
+    }
 
     final CompletableResultCode result = new CompletableResultCode();
 
+    PooledChannel pooledChannel = nextChannel();
     TraceServiceFutureStub exporter;
     if (timeoutNanos > 0) {
-      exporter = traceService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
+      exporter = pooledChannel.traceService.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS);
     } else {
-      exporter = traceService;
+      exporter = pooledChannel.traceService;
     }
 
+    pooledChannel.inFlight.incrementAndGet();
+    long startNanos = System.nanoTime();
     Futures.addCallback(
         exporter.export(exportTraceServiceRequest),
         new FutureCallback<ExportTraceServiceResponse>() {
           @Override
           public void onSuccess(@Nullable ExportTraceServiceResponse response) {
+            exportFinished(pooledChannel, startNanos);
             spansExportedSuccess.add(spans.size());
             result.succeed();
           }
 
           @Override
           public void onFailure(Throwable t) {
+            exportFinished(pooledChannel, startNanos);
             spansExportedFailure.add(spans.size());
             Status status = Status.fromThrowable(t);
             switch (status.getCode()) {
@@ -143,6 +272,22 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
     return result;
   }
 
+  private PooledChannel nextChannel() {
+    if (channels.length == 1) {
+      return channels[0];
+    }
+    // Masking keeps the index non-negative once the counter overflows.
+    return channels[(nextChannel.getAndIncrement() & Integer.MAX_VALUE) % channels.length];
+  }
+
+  private void exportFinished(PooledChannel pooledChannel, long startNanos) {
+    pooledChannel.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    pooledChannel.inFlight.decrementAndGet();
+    if (exportPermits != null) {
+      exportPermits.release();
+    }
+  }
+
   /**
    * The OTLP exporter does not batch spans, so this method will immediately return with success.
    *
@@ -179,20 +324,58 @@ public final class OtlpGrpcSpanExporter implements SpanExporter {
    */
   @Override
   public CompletableResultCode shutdown() {
-    final CompletableResultCode result = new CompletableResultCode();
-    managedChannel.notifyWhenStateChanged(ConnectivityState.SHUTDOWN, result::succeed);
-    if (managedChannel.isShutdown()) {
-      return result.succeed();
+    List<CompletableResultCode> results = new ArrayList<>(channels.length);
+    boolean alreadyShutdown = true;
+    for (PooledChannel pooledChannel : channels) {
+      ManagedChannel managedChannel = pooledChannel.managedChannel;
+      final CompletableResultCode result = new CompletableResultCode();
+      managedChannel.notifyWhenStateChanged(ConnectivityState.SHUTDOWN, result::succeed);
+      if (managedChannel.isShutdown()) {
+        results.add(result.succeed());
+        continue;
+      }
+      alreadyShutdown = false;
+      managedChannel.shutdown();
+      pooledChannel.latency.unbind();
+      results.add(result);
+    }
+    synchronized (liveExporters) {
+      liveExporters.remove(this);
+    }
+    if (alreadyShutdown) {
+      return CompletableResultCode.ofSuccess();
     }
-    managedChannel.shutdown();
     this.spansSeen.unbind();
     this.spansExportedSuccess.unbind();
     this.spansExportedFailure.unbind();
-    return result;
+    return CompletableResultCode.ofAll(results);
   }
 
   // Visible for testing
   long getTimeoutNanos() {
     return timeoutNanos;
   }
+
+  // Visible for testing
+  int getChannelCount() {
+    return channels.length;
+  }
+
+  // Visible for testing
+  int getInFlight(int channel) {
+    return channels[channel].inFlight.get();
+  }
+
+  private static final class PooledChannel {
+    private final ManagedChannel managedChannel;
+    private final TraceServiceFutureStub traceService;
+    private final BoundLongValueRecorder latency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private PooledChannel(ManagedChannel managedChannel, BoundLongValueRecorder latency) {
+      this.managedChannel = managedChannel;
+      this.traceService = TraceServiceGrpc.newFutureStub(managedChannel);
+      this.latency = latency;
+    }
+  }
 }
@@ -19,6 +19,9 @@ import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLException;
@@ -31,6 +34,9 @@ public final class OtlpGrpcSpanExporterBuilder {
   private static final long DEFAULT_TIMEOUT_SECS = 10;
 
   private ManagedChannel channel;
+  @Nullable private List<ManagedChannel> channels;
+  private int channelPoolSize = 1;
+  private int maxConcurrentExports;
   private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
   private URI endpoint = DEFAULT_ENDPOINT;
   @Nullable private Metadata metadata;
@@ -48,6 +54,35 @@ public final class OtlpGrpcSpanExporterBuilder {
     return this;
   }
 
+  // Visible for testing
+  OtlpGrpcSpanExporterBuilder setChannels(List<ManagedChannel> channels) {
+    checkArgument(!channels.isEmpty(), "channels must not be empty");
+    this.channels = new ArrayList<>(channels);
+    return this;
+  }
+
+  /**
+   * Sets the number of channels, each with its own connection, that exports are spread over
+   * round-robin. Only applies when the exporter creates its channels from {@link
+   * #setEndpoint(String)}. If unset, defaults to 1.
+   */
+  public OtlpGrpcSpanExporterBuilder setChannelPoolSize(int channelPoolSize) {
+    checkArgument(channelPoolSize > 0, "channelPoolSize must be positive");
+    this.channelPoolSize = channelPoolSize;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of exports that may be in flight at the same time, across all
+   * channels. Exports over the limit fail immediately. If unset, the number of in-flight exports
+   * is not limited.
+   */
+  public OtlpGrpcSpanExporterBuilder setMaxConcurrentExports(int maxConcurrentExports) {
+    checkArgument(maxConcurrentExports > 0, "maxConcurrentExports must be positive");
+    this.maxConcurrentExports = maxConcurrentExports;
+    return this;
+  }
+
   /**
    * Sets the maximum time to wait for the collector to process an exported batch of spans. If
    * unset, defaults to {@value DEFAULT_TIMEOUT_SECS}s.
@@ -124,68 +159,77 @@ public final class OtlpGrpcSpanExporterBuilder {
    * @return a new exporter's instance
    */
   public OtlpGrpcSpanExporter build() {
-    if (channel == null) {
-      final ManagedChannelBuilder<?> managedChannelBuilder =
-          ManagedChannelBuilder.forTarget(endpoint.getAuthority());
-
-      if (endpoint.getScheme().equals("https")) {
-        managedChannelBuilder.useTransportSecurity();
-      } else {
-        managedChannelBuilder.usePlaintext();
+    List<ManagedChannel> exportChannels;
+    if (channels != null) {
+      exportChannels = channels;
+    } else if (channel != null) {
+      exportChannels = Collections.singletonList(channel);
+    } else {
+      exportChannels = new ArrayList<>(channelPoolSize);
+      for (int i = 0; i < channelPoolSize; i++) {
+        exportChannels.add(createChannel());
       }
+    }
+    return new OtlpGrpcSpanExporter(exportChannels, timeoutNanos, maxConcurrentExports);
+  }
 
-      if (metadata != null) {
-        managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
-      }
+  private ManagedChannel createChannel() {
+    final ManagedChannelBuilder<?> managedChannelBuilder =
+        ManagedChannelBuilder.forTarget(endpoint.getAuthority());
 
-      if (trustedCertificatesPem != null) {
-        // gRPC does not abstract TLS configuration so we need to check the implementation and act
-        // accordingly.
-        if (managedChannelBuilder
-            .getClass()
-            .getName()
-            .equals("io.grpc.netty.NettyChannelBuilder")) {
-          NettyChannelBuilder nettyBuilder = (NettyChannelBuilder) managedChannelBuilder;
-          try {
-            nettyBuilder.sslContext(
-                GrpcSslContexts.forClient()
-                    .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
-                    .build());
-          } catch (IllegalArgumentException | SSLException e) {
-            throw new IllegalStateException(
-                "Could not set trusted certificates for gRPC TLS connection, are they valid "
-                    + "X.509 in PEM format?",
-                e);
-          }
-        } else if (managedChannelBuilder
-            .getClass()
-            .getName()
-            .equals("io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder")) {
-          io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder nettyBuilder =
-              (io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder) managedChannelBuilder;
-          try {
-            nettyBuilder.sslContext(
-                io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts.forClient()
-                    .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
-                    .build());
-          } catch (IllegalArgumentException | SSLException e) {
-            throw new IllegalStateException(
-                "Could not set trusted certificates for gRPC TLS connection, are they valid "
-                    + "X.509 in PEM format?",
-                e);
-          }
-        } else {
+    if (endpoint.getScheme().equals("https")) {
+      managedChannelBuilder.useTransportSecurity();
+    } else {
+      managedChannelBuilder.usePlaintext();
+    }
+
+    if (metadata != null) {
+      managedChannelBuilder.intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
+    }
+
+    if (trustedCertificatesPem != null) {
+      // gRPC does not abstract TLS configuration so we need to check the implementation and act
+      // accordingly.
+      if (managedChannelBuilder.getClass().getName().equals("io.grpc.netty.NettyChannelBuilder")) {
+        NettyChannelBuilder nettyBuilder = (NettyChannelBuilder) managedChannelBuilder;
+        try {
+          nettyBuilder.sslContext(
+              GrpcSslContexts.forClient()
+                  .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
+                  .build());
+        } catch (IllegalArgumentException | SSLException e) {
+          throw new IllegalStateException(
+              "Could not set trusted certificates for gRPC TLS connection, are they valid "
+                  + "X.509 in PEM format?",
+              e);
+        }
+      } else if (managedChannelBuilder
+          .getClass()
+          .getName()
+          .equals("io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder")) {
+        io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder nettyBuilder =
+            (io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder) managedChannelBuilder;
+        try {
+          nettyBuilder.sslContext(
+              io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts.forClient()
+                  .trustManager(new ByteArrayInputStream(trustedCertificatesPem))
+                  .build());
+        } catch (IllegalArgumentException | SSLException e) {
           throw new IllegalStateException(
-              "TLS cerificate configuration only supported with Netty. "
-                  + "If you need to configure a certificate, switch to grpc-netty or "
-                  + "grpc-netty-shaded.");
+              "Could not set trusted certificates for gRPC TLS connection, are they valid "
+                  + "X.509 in PEM format?",
+              e);
         }
-        // TODO(anuraaga): Support okhttp.
+      } else {
+        throw new IllegalStateException(
+            "TLS cerificate configuration only supported with Netty. "
+                + "If you need to configure a certificate, switch to grpc-netty or "
+                + "grpc-netty-shaded.");
       }
-
-      channel = managedChannelBuilder.build();
+      // TODO(anuraaga): Support okhttp.
     }
-    return new OtlpGrpcSpanExporter(channel, timeoutNanos);
+
+    return managedChannelBuilder.build();
   }
 
   OtlpGrpcSpanExporterBuilder() {}
@@ -0,0 +1,352 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceId;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.InstrumentationLibrary;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.trace.v1.InstrumentationLibrarySpans;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+import io.opentelemetry.proto.trace.v1.Status;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link SpanData} decoded from an OTLP {@link Span}, used to replay spans written by {@link
+ * OtlpFileSpanExporter}. Only spans that were sampled are exported, so the decoded contexts are
+ * always sampled.
+ */
+@Immutable
+final class ProtoSpanData implements SpanData {
+
+  private final SpanContext spanContext;
+  private final SpanContext parentSpanContext;
+  private final Resource resource;
+  private final InstrumentationLibraryInfo instrumentationLibraryInfo;
+  private final String name;
+  private final SpanKind kind;
+  private final long startEpochNanos;
+  private final long endEpochNanos;
+  private final Attributes attributes;
+  private final int totalAttributeCount;
+  private final List<EventData> events;
+  private final int totalRecordedEvents;
+  private final List<LinkData> links;
+  private final int totalRecordedLinks;
+  private final StatusData status;
+
+  static List<SpanData> fromRequest(ExportTraceServiceRequest request) {
+    List<SpanData> result = new ArrayList<>();
+    for (ResourceSpans resourceSpans : request.getResourceSpansList()) {
+      Resource resource =
+          Resource.create(
+              toAttributes(resourceSpans.getResource().getAttributesList()),
+              emptyToNull(resourceSpans.getSchemaUrl()));
+      for (InstrumentationLibrarySpans librarySpans :
+          resourceSpans.getInstrumentationLibrarySpansList()) {
+        InstrumentationLibrary library = librarySpans.getInstrumentationLibrary();
+        InstrumentationLibraryInfo libraryInfo =
+            InstrumentationLibraryInfo.create(
+                library.getName(),
+                emptyToNull(library.getVersion()),
+                emptyToNull(librarySpans.getSchemaUrl()));
+        for (Span span : librarySpans.getSpansList()) {
+          result.add(new ProtoSpanData(span, resource, libraryInfo));
+        }
+      }
+    }
+    return result;
+  }
+
+  private ProtoSpanData(
+      Span span, Resource resource, InstrumentationLibraryInfo instrumentationLibraryInfo) {
+    String traceId = TraceId.fromBytes(span.getTraceId().toByteArray());
+    this.spanContext =
+        SpanContext.create(
+            traceId,
+            SpanId.fromBytes(span.getSpanId().toByteArray()),
+            TraceFlags.getSampled(),
+            TraceState.getDefault());
+    this.parentSpanContext =
+        span.getParentSpanId().isEmpty()
+            ? SpanContext.getInvalid()
+            : SpanContext.create(
+                traceId,
+                SpanId.fromBytes(span.getParentSpanId().toByteArray()),
+                TraceFlags.getSampled(),
+                TraceState.getDefault());
+    this.resource = resource;
+    this.instrumentationLibraryInfo = instrumentationLibraryInfo;
+    this.name = span.getName();
+    this.kind = toSpanKind(span.getKind());
+    this.startEpochNanos = span.getStartTimeUnixNano();
+    this.endEpochNanos = span.getEndTimeUnixNano();
+    this.attributes = toAttributes(span.getAttributesList());
+    this.totalAttributeCount = attributes.size() + span.getDroppedAttributesCount();
+    this.events = toEvents(span.getEventsList());
+    this.totalRecordedEvents = events.size() + span.getDroppedEventsCount();
+    this.links = toLinks(span.getLinksList());
+    this.totalRecordedLinks = links.size() + span.getDroppedLinksCount();
+    this.status = toStatus(span.getStatus());
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public SpanKind getKind() {
+    return kind;
+  }
+
+  @Override
+  public SpanContext getSpanContext() {
+    return spanContext;
+  }
+
+  @Override
+  public SpanContext getParentSpanContext() {
+    return parentSpanContext;
+  }
+
+  @Override
+  public StatusData getStatus() {
+    return status;
+  }
+
+  @Override
+  public long getStartEpochNanos() {
+    return startEpochNanos;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    return attributes;
+  }
+
+  @Override
+  public List<EventData> getEvents() {
+    return events;
+  }
+
+  @Override
+  public List<LinkData> getLinks() {
+    return links;
+  }
+
+  @Override
+  public long getEndEpochNanos() {
+    return endEpochNanos;
+  }
+
+  @Override
+  public boolean hasEnded() {
+    return true;
+  }
+
+  @Override
+  public int getTotalRecordedEvents() {
+    return totalRecordedEvents;
+  }
+
+  @Override
+  public int getTotalRecordedLinks() {
+    return totalRecordedLinks;
+  }
+
+  @Override
+  public int getTotalAttributeCount() {
+    return totalAttributeCount;
+  }
+
+  @Override
+  public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+    return instrumentationLibraryInfo;
+  }
+
+  @Override
+  public Resource getResource() {
+    return resource;
+  }
+
+  @Override
+  public String toString() {
+    return "ProtoSpanData{"
+        + "spanContext="
+        + spanContext
+        + ", name="
+        + name
+        + ", kind="
+        + kind
+        + ", startEpochNanos="
+        + startEpochNanos
+        + ", endEpochNanos="
+        + endEpochNanos
+        + ", status="
+        + status
+        + "}";
+  }
+
+  private static List<EventData> toEvents(List<Span.Event> protoEvents) {
+    if (protoEvents.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<EventData> events = new ArrayList<>(protoEvents.size());
+    for (Span.Event event : protoEvents) {
+      Attributes eventAttributes = toAttributes(event.getAttributesList());
+      events.add(
+          EventData.create(
+              event.getTimeUnixNano(),
+              event.getName(),
+              eventAttributes,
+              eventAttributes.size() + event.getDroppedAttributesCount()));
+    }
+    return Collections.unmodifiableList(events);
+  }
+
+  private static List<LinkData> toLinks(List<Span.Link> protoLinks) {
+    if (protoLinks.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<LinkData> links = new ArrayList<>(protoLinks.size());
+    for (Span.Link link : protoLinks) {
+      Attributes linkAttributes = toAttributes(link.getAttributesList());
+      links.add(
+          LinkData.create(
+              SpanContext.create(
+                  TraceId.fromBytes(link.getTraceId().toByteArray()),
+                  SpanId.fromBytes(link.getSpanId().toByteArray()),
+                  TraceFlags.getSampled(),
+                  TraceState.getDefault()),
+              linkAttributes,
+              linkAttributes.size() + link.getDroppedAttributesCount()));
+    }
+    return Collections.unmodifiableList(links);
+  }
+
+  private static StatusData toStatus(Status status) {
+    switch (status.getCode()) {
+      case STATUS_CODE_OK:
+        return StatusData.create(StatusCode.OK, status.getMessage());
+      case STATUS_CODE_ERROR:
+        return StatusData.create(StatusCode.ERROR, status.getMessage());
+      default:
+        return StatusData.create(StatusCode.UNSET, status.getMessage());
+    }
+  }
+
+  private static SpanKind toSpanKind(Span.SpanKind kind) {
+    switch (kind) {
+      case SPAN_KIND_SERVER:
+        return SpanKind.SERVER;
+      case SPAN_KIND_CLIENT:
+        return SpanKind.CLIENT;
+      case SPAN_KIND_PRODUCER:
+        return SpanKind.PRODUCER;
+      case SPAN_KIND_CONSUMER:
+        return SpanKind.CONSUMER;
+      default:
+        return SpanKind.INTERNAL;
+    }
+  }
+
+  private static Attributes toAttributes(List<KeyValue> keyValues) {
+    if (keyValues.isEmpty()) {
+      return Attributes.empty();
+    }
+    AttributesBuilder builder = Attributes.builder();
+    for (KeyValue keyValue : keyValues) {
+      putAttribute(builder, keyValue.getKey(), keyValue.getValue());
+    }
+    return builder.build();
+  }
+
+  private static void putAttribute(AttributesBuilder builder, String key, AnyValue value) {
+    switch (value.getValueCase()) {
+      case STRING_VALUE:
+        builder.put(AttributeKey.stringKey(key), value.getStringValue());
+        return;
+      case BOOL_VALUE:
+        builder.put(AttributeKey.booleanKey(key), value.getBoolValue());
+        return;
+      case INT_VALUE:
+        builder.put(AttributeKey.longKey(key), value.getIntValue());
+        return;
+      case DOUBLE_VALUE:
+        builder.put(AttributeKey.doubleKey(key), value.getDoubleValue());
+        return;
+      case ARRAY_VALUE:
+        putArrayAttribute(builder, key, value.getArrayValue().getValuesList());
+        return;
+      default:
+        // Nested key-value lists have no SDK representation.
+    }
+  }
+
+  private static void putArrayAttribute(
+      AttributesBuilder builder, String key, List<AnyValue> values) {
+    if (values.isEmpty()) {
+      builder.put(AttributeKey.stringArrayKey(key), Collections.emptyList());
+      return;
+    }
+    switch (values.get(0).getValueCase()) {
+      case BOOL_VALUE:
+        List<Boolean> booleans = new ArrayList<>(values.size());
+        for (AnyValue element : values) {
+          booleans.add(element.getBoolValue());
+        }
+        builder.put(AttributeKey.booleanArrayKey(key), booleans);
+        return;
+      case INT_VALUE:
+        List<Long> longs = new ArrayList<>(values.size());
+        for (AnyValue element : values) {
+          longs.add(element.getIntValue());
+        }
+        builder.put(AttributeKey.longArrayKey(key), longs);
+        return;
+      case DOUBLE_VALUE:
+        List<Double> doubles = new ArrayList<>(values.size());
+        for (AnyValue element : values) {
+          doubles.add(element.getDoubleValue());
+        }
+        builder.put(AttributeKey.doubleArrayKey(key), doubles);
+        return;
+      default:
+        List<String> strings = new ArrayList<>(values.size());
+        for (AnyValue element : values) {
+          strings.add(element.getStringValue());
+        }
+        builder.put(AttributeKey.stringArrayKey(key), strings);
+    }
+  }
+
+  @Nullable
+  private static String emptyToNull(String value) {
+    return value.isEmpty() ? null : value;
+  }
+}
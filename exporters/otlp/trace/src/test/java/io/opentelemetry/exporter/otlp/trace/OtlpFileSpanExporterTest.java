@@ -0,0 +1,190 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.exporter.otlp.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OtlpFileSpanExporterTest {
+
+  private static final Resource RESOURCE =
+      Resource.create(
+          Attributes.builder()
+              .put(AttributeKey.stringKey("service.name"), "file-test")
+              .put(AttributeKey.longArrayKey("ports"), Arrays.asList(80L, 443L))
+              .build());
+  private static final InstrumentationLibraryInfo LIBRARY =
+      InstrumentationLibraryInfo.create("io.opentelemetry.test", "1.0.0");
+
+  @Test
+  void roundTrip(@TempDir File directory) {
+    OtlpFileSpanExporter exporter = OtlpFileSpanExporter.builder().setDirectory(directory).build();
+    SpanData first = span("0000000000000001", "first");
+    SpanData second = span("0000000000000002", "second");
+
+    assertThat(exporter.export(Collections.singletonList(first)).isSuccess()).isTrue();
+    assertThat(exporter.export(Collections.singletonList(second)).isSuccess()).isTrue();
+    assertThat(exporter.shutdown().isSuccess()).isTrue();
+
+    InMemorySpanExporter replayed = InMemorySpanExporter.create();
+    assertThat(replay(directory, replayed)).isEqualTo(2);
+    List<SpanData> spans = replayed.getFinishedSpanItems();
+    assertThat(spans).hasSize(2);
+    assertSameSpan(spans.get(0), first);
+    assertSameSpan(spans.get(1), second);
+  }
+
+  @Test
+  void rotatesOnSize(@TempDir File directory) {
+    OtlpFileSpanExporter exporter =
+        OtlpFileSpanExporter.builder().setDirectory(directory).setMaxSegmentSize(64).build();
+
+    for (int i = 1; i <= 3; i++) {
+      exporter.export(Collections.singletonList(span("000000000000000" + i, "span-" + i)));
+    }
+    exporter.shutdown();
+
+    assertThat(directory.listFiles()).hasSize(3);
+    InMemorySpanExporter replayed = InMemorySpanExporter.create();
+    assertThat(replay(directory, replayed)).isEqualTo(3);
+    assertThat(replayed.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("span-1", "span-2", "span-3");
+  }
+
+  @Test
+  void rotatesOnAge(@TempDir File directory) {
+    TestClock clock = TestClock.create();
+    OtlpFileSpanExporter exporter =
+        OtlpFileSpanExporter.builder()
+            .setDirectory(directory)
+            .setMaxSegmentAge(1, TimeUnit.MINUTES)
+            .setClock(clock)
+            .build();
+
+    exporter.export(Collections.singletonList(span("0000000000000001", "first")));
+    exporter.export(Collections.singletonList(span("0000000000000002", "second")));
+    clock.advance(1, TimeUnit.MINUTES);
+    exporter.export(Collections.singletonList(span("0000000000000003", "third")));
+    exporter.shutdown();
+
+    assertThat(directory.listFiles()).hasSize(2);
+  }
+
+  @Test
+  void continuesAfterExistingSegments(@TempDir File directory) {
+    OtlpFileSpanExporter exporter = OtlpFileSpanExporter.builder().setDirectory(directory).build();
+    exporter.export(Collections.singletonList(span("0000000000000001", "first")));
+    exporter.shutdown();
+
+    exporter = OtlpFileSpanExporter.builder().setDirectory(directory).build();
+    exporter.export(Collections.singletonList(span("0000000000000002", "second")));
+    exporter.shutdown();
+
+    InMemorySpanExporter replayed = InMemorySpanExporter.create();
+    assertThat(replay(directory, replayed)).isEqualTo(2);
+    assertThat(replayed.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("first", "second");
+  }
+
+  @Test
+  void exportAfterShutdown_Fails(@TempDir File directory) {
+    OtlpFileSpanExporter exporter = OtlpFileSpanExporter.builder().setDirectory(directory).build();
+    exporter.shutdown();
+
+    SpanData span = span("0000000000000001", "late");
+    assertThat(exporter.export(Collections.singletonList(span)).isSuccess()).isFalse();
+  }
+
+  @Test
+  @SuppressWarnings("PreferJavaTimeOverload")
+  void invalidConfig() {
+    assertThatThrownBy(() -> OtlpFileSpanExporter.builder().setMaxSegmentSize(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> OtlpFileSpanExporter.builder().setMaxSegmentSize(1L << 32))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> OtlpFileSpanExporter.builder().setMaxSegmentAge(-1, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> OtlpFileSpanExporter.builder().setFilePrefix(""))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> OtlpFileSpanExporter.builder().build())
+        .isInstanceOf(NullPointerException.class);
+  }
+
+  private static long replay(File directory, InMemorySpanExporter exporter) {
+    try {
+      return OtlpFileSpanReader.replay(directory, exporter, 10, TimeUnit.SECONDS);
+    } catch (IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static SpanData span(String spanId, String name) {
+    return TestSpanData.builder()
+        .setSpanContext(
+            SpanContext.create(
+                "0123456789abcdef0123456789abcdef",
+                spanId,
+                TraceFlags.getSampled(),
+                TraceState.getDefault()))
+        .setResource(RESOURCE)
+        .setInstrumentationLibraryInfo(LIBRARY)
+        .setKind(SpanKind.SERVER)
+        .setName(name)
+        .setStartEpochNanos(12345)
+        .setEndEpochNanos(12349)
+        .setAttributes(Attributes.of(AttributeKey.stringKey("key"), "value"))
+        .setTotalAttributeCount(2)
+        .setEvents(
+            Collections.singletonList(
+                EventData.create(
+                    12347, "event", Attributes.of(AttributeKey.booleanKey("b"), true))))
+        .setTotalRecordedEvents(1)
+        .setHasEnded(true)
+        .setStatus(StatusData.error())
+        .build();
+  }
+
+  private static void assertSameSpan(SpanData actual, SpanData expected) {
+    assertThat(actual.getSpanContext()).isEqualTo(expected.getSpanContext());
+    assertThat(actual.getParentSpanContext().isValid()).isFalse();
+    assertThat(actual.getName()).isEqualTo(expected.getName());
+    assertThat(actual.getKind()).isEqualTo(expected.getKind());
+    assertThat(actual.getStartEpochNanos()).isEqualTo(expected.getStartEpochNanos());
+    assertThat(actual.getEndEpochNanos()).isEqualTo(expected.getEndEpochNanos());
+    assertThat(actual.getAttributes()).isEqualTo(expected.getAttributes());
+    assertThat(actual.getTotalAttributeCount()).isEqualTo(expected.getTotalAttributeCount());
+    assertThat(actual.getEvents()).isEqualTo(expected.getEvents());
+    assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+    assertThat(actual.getResource()).isEqualTo(expected.getResource());
+    assertThat(actual.getInstrumentationLibraryInfo())
+        .isEqualTo(expected.getInstrumentationLibraryInfo());
+  }
+}
@@ -11,7 +11,12 @@ import static org.awaitility.Awaitility.await;
 
 import com.google.common.io.Closer;
 import io.github.netmikey.logunit.api.LogCapturer;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
 import io.grpc.Server;
 import io.grpc.Status;
 import io.grpc.Status.Code;
@@ -38,6 +43,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -90,6 +96,13 @@ class OtlpGrpcSpanExporterTest {
         .isInstanceOf(NullPointerException.class)
         .hasMessage("timeout");
 
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setChannelPoolSize(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("channelPoolSize must be positive");
+    assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setMaxConcurrentExports(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentExports must be positive");
+
     assertThatThrownBy(() -> OtlpGrpcSpanExporter.builder().setEndpoint(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("endpoint");
@@ -118,6 +131,84 @@ class OtlpGrpcSpanExporterTest {
     }
   }
 
+  @Test
+  void testExport_ChannelPool() {
+    List<AtomicInteger> callCounts = new ArrayList<>();
+    List<ManagedChannel> channels = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      AtomicInteger callCount = new AtomicInteger();
+      callCounts.add(callCount);
+      ManagedChannel channel =
+          InProcessChannelBuilder.forName(serverName)
+              .directExecutor()
+              .intercept(
+                  new ClientInterceptor() {
+                    @Override
+                    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+                        MethodDescriptor<ReqT, RespT> method, CallOptions options, Channel next) {
+                      callCount.incrementAndGet();
+                      return next.newCall(method, options);
+                    }
+                  })
+              .build();
+      closer.register(channel::shutdownNow);
+      channels.add(channel);
+    }
+    OtlpGrpcSpanExporter exporter = OtlpGrpcSpanExporter.builder().setChannels(channels).build();
+    try {
+      assertThat(exporter.getChannelCount()).isEqualTo(3);
+      for (int i = 0; i < 6; i++) {
+        assertThat(exporter.export(Collections.singletonList(generateFakeSpan())).isSuccess())
+            .isTrue();
+      }
+      assertThat(callCounts).extracting(AtomicInteger::get).containsExactly(2, 2, 2);
+      assertThat(fakeCollector.getReceivedSpans()).hasSize(6);
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_MaxConcurrentExports() {
+    // The collector never completes the call, so it stays in flight.
+    fakeCollector.setReturnedStatus(Status.DEADLINE_EXCEEDED);
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannels(Collections.singletonList(inProcessChannel))
+            .setTimeout(0, TimeUnit.MILLISECONDS)
+            .setMaxConcurrentExports(1)
+            .build();
+    try {
+      CompletableResultCode first = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(first.isDone()).isFalse();
+      assertThat(exporter.getInFlight(0)).isEqualTo(1);
+
+      CompletableResultCode second = exporter.export(Collections.singletonList(generateFakeSpan()));
+      assertThat(second.isDone()).isTrue();
+      assertThat(second.isSuccess()).isFalse();
+      logs.assertContains("The maximum of 1 concurrent exports has been reached.");
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
+  @Test
+  void testExport_MarshalingFailureReleasesPermit() {
+    OtlpGrpcSpanExporter exporter =
+        OtlpGrpcSpanExporter.builder()
+            .setChannels(Collections.singletonList(inProcessChannel))
+            .setMaxConcurrentExports(1)
+            .build();
+    try {
+      assertThatThrownBy(() -> exporter.export(Collections.<SpanData>singletonList(null)))
+          .isInstanceOf(NullPointerException.class);
+      assertThat(exporter.export(Collections.singletonList(generateFakeSpan())).isSuccess())
+          .isTrue();
+    } finally {
+      exporter.shutdown();
+    }
+  }
+
   @Test
   void testExport_MultipleSpans() {
     List<SpanData> spans = new ArrayList<>();
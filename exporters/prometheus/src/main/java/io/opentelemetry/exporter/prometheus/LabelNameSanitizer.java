@@ -5,28 +5,188 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.common.Labels;
 import io.prometheus.client.Collector;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
-/** Used to convert a label keys to a label names. Sanitizes the label keys. Not thread safe. */
+/**
+ * Used to convert a label keys to a label names. Sanitizes the label keys.
+ *
+ * <p>Sanitized names are cached in a bounded cache. When the cache is full, entries are evicted
+ * using a CLOCK (second chance) approximation of LRU: every hit marks the entry as referenced, and
+ * the clock hand removes entries that were not referenced since it last passed them. This keeps
+ * lookups lock-free while preventing unbounded growth when attribute keys are dynamic.
+ */
 class LabelNameSanitizer implements Function<String, String> {
 
+  // visible for testing
+  static final int DEFAULT_MAX_CACHE_SIZE = 1024;
+
   private final Function<String, String> delegate;
-  private final Map<String, String> cache = new ConcurrentHashMap<>();
+  private final int maxCacheSize;
+  private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+  private final AtomicBoolean evicting = new AtomicBoolean();
+
+  // The clock hand, kept between evictions so each one resumes where the previous one stopped.
+  // Only used by the thread which set evicting, which orders the accesses of successive threads.
+  @Nullable private Iterator<Entry> hand;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
 
   public LabelNameSanitizer() {
-    this(Collector::sanitizeMetricName);
+    this(Collector::sanitizeMetricName, DEFAULT_MAX_CACHE_SIZE);
   }
 
   // visible for testing
   LabelNameSanitizer(Function<String, String> delegate) {
+    this(delegate, DEFAULT_MAX_CACHE_SIZE);
+  }
+
+  // visible for testing
+  LabelNameSanitizer(Function<String, String> delegate, int maxCacheSize) {
+    if (maxCacheSize <= 0) {
+      throw new IllegalArgumentException("maxCacheSize must be positive");
+    }
     this.delegate = delegate;
+    this.maxCacheSize = maxCacheSize;
   }
 
   @Override
   public String apply(String labelName) {
-    return cache.computeIfAbsent(labelName, delegate);
+    Entry entry = cache.get(labelName);
+    if (entry != null) {
+      hits.incrementAndGet();
+      if (!entry.referenced) {
+        entry.referenced = true;
+      }
+      return entry.sanitized;
+    }
+    misses.incrementAndGet();
+    String sanitized = delegate.apply(labelName);
+    if (cache.size() >= maxCacheSize) {
+      evict();
+    }
+    cache.putIfAbsent(labelName, new Entry(sanitized));
+    return sanitized;
+  }
+
+  /**
+   * Advances the CLOCK hand until an entry is evicted. Only one thread evicts at a time; concurrent
+   * callers simply insert, which may transiently overshoot the bound by the number of racing
+   * threads.
+   */
+  private void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      // Clears the referenced bit of the survivors along the way, so the hand evicts an entry
+      // within two turns unless concurrent hits keep setting them again.
+      Iterator<Entry> it = hand;
+      for (int steps = 2 * maxCacheSize; steps > 0 && cache.size() >= maxCacheSize; steps--) {
+        if (it == null || !it.hasNext()) {
+          // Wrap around. The iterator is weakly consistent, entries added since it was created may
+          // only be visited after the next wrap.
+          it = cache.values().iterator();
+          if (!it.hasNext()) {
+            break;
+          }
+        }
+        Entry entry = it.next();
+        if (entry.referenced) {
+          entry.referenced = false;
+        } else {
+          it.remove();
+          evictions.incrementAndGet();
+        }
+      }
+      hand = it;
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  /**
+   * Registers observers reporting the hit, miss and eviction counts and the size of the given
+   * caches. Each instrument is registered once and reports every cache under its {@code cache}
+   * label.
+   *
+   * @param meter the {@link Meter} used to create the observers.
+   * @param sanitizers the caches to report, by the value of their {@code cache} label.
+   */
+  static void registerMetrics(Meter meter, Map<String, LabelNameSanitizer> sanitizers) {
+    meter
+        .longSumObserverBuilder("sanitizerCacheRequests")
+        .setDescription("The number of name sanitizer cache lookups, by result")
+        .setUnit("1")
+        .setUpdater(
+            result ->
+                sanitizers.forEach(
+                    (cacheName, sanitizer) -> {
+                      result.observe(
+                          sanitizer.hits.get(), Labels.of("cache", cacheName, "result", "hit"));
+                      result.observe(
+                          sanitizer.misses.get(), Labels.of("cache", cacheName, "result", "miss"));
+                    }))
+        .build();
+    meter
+        .longSumObserverBuilder("sanitizerCacheEvictions")
+        .setDescription("The number of entries evicted from the name sanitizer cache")
+        .setUnit("1")
+        .setUpdater(
+            result ->
+                sanitizers.forEach(
+                    (cacheName, sanitizer) ->
+                        result.observe(sanitizer.evictions.get(), Labels.of("cache", cacheName))))
+        .build();
+    meter
+        .longUpDownSumObserverBuilder("sanitizerCacheSize")
+        .setDescription("The number of entries in the name sanitizer cache")
+        .setUnit("1")
+        .setUpdater(
+            result ->
+                sanitizers.forEach(
+                    (cacheName, sanitizer) ->
+                        result.observe(sanitizer.cache.size(), Labels.of("cache", cacheName))))
+        .build();
+  }
+
+  // visible for testing
+  long getHitCount() {
+    return hits.get();
+  }
+
+  // visible for testing
+  long getMissCount() {
+    return misses.get();
+  }
+
+  // visible for testing
+  long getEvictionCount() {
+    return evictions.get();
+  }
+
+  // visible for testing
+  int getCacheSize() {
+    return cache.size();
+  }
+
+  private static final class Entry {
+    private final String sanitized;
+    // Written racily on purpose: a lost update only affects which entry the next sweep evicts.
+    private volatile boolean referenced;
+
+    private Entry(String sanitized) {
+      this.sanitized = sanitized;
+    }
   }
 }
@@ -8,6 +8,8 @@ package io.opentelemetry.exporter.prometheus;
 import static io.prometheus.client.Collector.doubleToGoString;
 
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.DoubleHistogramPointData;
 import io.opentelemetry.sdk.metrics.data.DoublePointData;
@@ -26,9 +28,12 @@ import io.prometheus.client.Collector.MetricFamilySamples.Sample;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 import javax.annotation.Nullable;
 
 /**
@@ -66,7 +71,7 @@ final class MetricAdapter {
   }
 
   private static String cleanMetricName(String descriptorMetricName) {
-    return Collector.sanitizeMetricName(descriptorMetricName);
+    return METRIC_NAME_SANITIZER.apply(descriptorMetricName);
   }
 
   static Collector.Type toMetricFamilyType(MetricData metricData) {
@@ -96,7 +101,27 @@ final class MetricAdapter {
     return Collector.Type.UNKNOWN;
   }
 
-  private static final Function<String, String> sanitizer = new LabelNameSanitizer();
+  static final LabelNameSanitizer METRIC_NAME_SANITIZER = new LabelNameSanitizer();
+  static final LabelNameSanitizer LABEL_NAME_SANITIZER = new LabelNameSanitizer();
+
+  @GuardedBy("sanitizerMeterProviders")
+  private static final Set<MeterProvider> sanitizerMeterProviders =
+      Collections.newSetFromMap(new WeakHashMap<>());
+
+  // Registers the hit, miss and eviction observers of the name sanitizer caches with the given
+  // provider, only once per provider since the caches are shared by all collectors.
+  static void registerSanitizerMetrics(MeterProvider meterProvider) {
+    synchronized (sanitizerMeterProviders) {
+      if (!sanitizerMeterProviders.add(meterProvider)) {
+        return;
+      }
+    }
+    Map<String, LabelNameSanitizer> sanitizers = new LinkedHashMap<>();
+    sanitizers.put("metricName", METRIC_NAME_SANITIZER);
+    sanitizers.put("labelName", LABEL_NAME_SANITIZER);
+    LabelNameSanitizer.registerMetrics(
+        meterProvider.get("io.opentelemetry.exporters.prometheus"), sanitizers);
+  }
 
   // Converts a list of points from MetricData to a list of Prometheus Samples.
   static List<Sample> toSamples(
@@ -109,7 +134,7 @@ final class MetricAdapter {
       final List<String> labelValues = new ArrayList<>(attributes.size());
       attributes.forEach(
           (key, value) -> {
-            String sanitizedLabelName = sanitizer.apply(key.getKey());
+            String sanitizedLabelName = LABEL_NAME_SANITIZER.apply(key.getKey());
             labelNames.add(sanitizedLabelName);
             // TODO: We want to create an error-log if there is overlap in toString of attribute
             // values for the same key name.
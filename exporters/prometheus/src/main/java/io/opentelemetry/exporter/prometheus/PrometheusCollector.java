@@ -5,22 +5,34 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.export.MetricProducer;
 import io.prometheus.client.Collector;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 
 public final class PrometheusCollector extends Collector {
   private final MetricProducer metricProducer;
 
+  // The MeterProvider the sanitizer metrics were last registered with. The collector may be built
+  // before the global MeterProvider is set, so it is only resolved when metrics are collected.
+  @Nullable private volatile MeterProvider sanitizerMeterProvider;
+
   PrometheusCollector(MetricProducer metricProducer) {
     this.metricProducer = metricProducer;
   }
 
   @Override
   public List<MetricFamilySamples> collect() {
+    MeterProvider meterProvider = GlobalMeterProvider.get();
+    if (meterProvider != sanitizerMeterProvider) {
+      MetricAdapter.registerSanitizerMetrics(meterProvider);
+      sanitizerMeterProvider = meterProvider;
+    }
     Collection<MetricData> allMetrics = metricProducer.collectAllMetrics();
     List<MetricFamilySamples> allSamples = new ArrayList<>(allMetrics.size());
     for (MetricData metricData : allMetrics) {
@@ -5,10 +5,18 @@
 
 package io.opentelemetry.exporter.prometheus;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import com.google.common.collect.ImmutableMap;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class LabelNameSanitizerTest {
@@ -27,4 +35,69 @@ class LabelNameSanitizerTest {
     assertEquals("http.name1", sanitizer.apply(labelName));
     assertEquals(1, count.get());
   }
+
+  @Test
+  void testSanitizerCacheIsBounded() {
+    AtomicInteger count = new AtomicInteger();
+    Function<String, String> delegate = labelName -> labelName + count.incrementAndGet();
+    LabelNameSanitizer sanitizer = new LabelNameSanitizer(delegate, 4);
+
+    for (int i = 0; i < 100; i++) {
+      sanitizer.apply("http.header." + i);
+    }
+
+    assertThat(sanitizer.getCacheSize()).isLessThanOrEqualTo(4);
+    assertEquals(100, sanitizer.getMissCount());
+    assertEquals(0, sanitizer.getHitCount());
+    assertEquals(96, sanitizer.getEvictionCount());
+  }
+
+  @Test
+  void testSanitizerKeepsReferencedEntries() {
+    AtomicInteger count = new AtomicInteger();
+    Function<String, String> delegate = labelName -> labelName + count.incrementAndGet();
+    LabelNameSanitizer sanitizer = new LabelNameSanitizer(delegate, 2);
+
+    assertEquals("hot1", sanitizer.apply("hot"));
+    for (int i = 0; i < 10; i++) {
+      assertEquals("hot1", sanitizer.apply("hot"));
+      sanitizer.apply("cold." + i);
+    }
+
+    assertEquals("hot1", sanitizer.apply("hot"));
+    assertEquals(11, sanitizer.getHitCount());
+  }
+
+  @Test
+  void testInvalidCacheSize() {
+    assertThatThrownBy(() -> new LabelNameSanitizer(Function.identity(), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testMetricsReportEveryCache() {
+    LabelNameSanitizer metricNames = new LabelNameSanitizer(Function.identity());
+    LabelNameSanitizer labelNames = new LabelNameSanitizer(Function.identity());
+    metricNames.apply("metric");
+    labelNames.apply("label1");
+    labelNames.apply("label2");
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+
+    LabelNameSanitizer.registerMetrics(
+        meterProvider.get("LabelNameSanitizerTest"),
+        ImmutableMap.of("metricName", metricNames, "labelName", labelNames));
+
+    MetricData cacheSize =
+        meterProvider.collectAllMetrics().stream()
+            .filter(metric -> metric.getName().equals("sanitizerCacheSize"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+    assertThat(
+            cacheSize.getLongSumData().getPoints().stream()
+                .collect(
+                    Collectors.toMap(
+                        point -> point.getAttributes().get(AttributeKey.stringKey("cache")),
+                        LongPointData::getValue)))
+        .isEqualTo(ImmutableMap.of("metricName", 1L, "labelName", 2L));
+  }
 }
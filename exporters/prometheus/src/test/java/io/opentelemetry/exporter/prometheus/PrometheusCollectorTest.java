@@ -11,7 +11,9 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.DoublePointData;
 import io.opentelemetry.sdk.metrics.data.DoubleSumData;
@@ -57,6 +59,22 @@ class PrometheusCollectorTest {
                 + "http_name_total{kp=\"vp\",} 3.5\n");
   }
 
+  @Test
+  void sanitizerMetricsUseMeterProviderSetAfterBuild() {
+    PrometheusCollector collector =
+        PrometheusCollector.builder().setMetricProducer(metricProducer).build();
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+    GlobalMeterProvider.set(meterProvider);
+    try {
+      collector.collect();
+    } finally {
+      GlobalMeterProvider.set(null);
+    }
+    assertThat(meterProvider.collectAllMetrics())
+        .extracting(MetricData::getName)
+        .contains("sanitizerCacheRequests", "sanitizerCacheEvictions", "sanitizerCacheSize");
+  }
+
   private static ImmutableList<MetricData> generateTestData() {
     return ImmutableList.of(
         MetricData.createLongSum(
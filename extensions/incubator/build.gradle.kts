@@ -11,6 +11,7 @@ otelJava.moduleName.set("io.opentelemetry.extension.incubator")
 
 dependencies {
     api(project(":api:all"))
+    api(project(":api:metrics"))
 
     testImplementation(project(":sdk:testing"))
 }
@@ -0,0 +1,310 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.extension.incubator.context;
+
+import static java.lang.Thread.currentThread;
+
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ContextStorage} which detects {@link Scope}s that are garbage collected without being
+ * closed, cheap enough to leave enabled in production.
+ *
+ * <p>Unlike the strict storage enabled with {@code -Dio.opentelemetry.context.enableStrictContext},
+ * which captures a stack trace for every scope and throws an {@link AssertionError} on misuse, this
+ * storage only tracks a sampled fraction of scopes, never tracks more than a fixed number of scopes
+ * at once and reports leaks through metrics and logs without throwing. Stack traces can be captured
+ * for every tracked scope, or only once a first leak has been detected.
+ *
+ * <p>Install it as a wrapper of the {@link ContextStorage} before any context is used:
+ *
+ * <pre>{@code
+ * ContextStorage.addWrapper(
+ *     storage -> LeakDetectingContextStorage.builder(storage).setSampleRatio(0.001).build());
+ * }</pre>
+ */
+public final class LeakDetectingContextStorage implements ContextStorage {
+
+  private static final Logger logger =
+      Logger.getLogger(LeakDetectingContextStorage.class.getName());
+
+  /**
+   * Returns a new {@link LeakDetectingContextStorageBuilder} for a {@link
+   * LeakDetectingContextStorage} which delegates to the provided {@link ContextStorage}.
+   */
+  public static LeakDetectingContextStorageBuilder builder(ContextStorage delegate) {
+    return new LeakDetectingContextStorageBuilder(delegate);
+  }
+
+  // Shared by all the storages, so that a single thread dequeues collected scopes.
+  private static final ReferenceQueue<Scope> collectedScopes = new ReferenceQueue<>();
+
+  static {
+    Thread thread = new Thread(LeakDetectingContextStorage::expungeCollectedScopes);
+    thread.setName("opentelemetry-scope-leak-detector");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private final ContextStorage delegate;
+  private final double sampleRatio;
+  private final int maxTrackedScopes;
+  private final boolean captureStackTracesAfterFirstLeak;
+  private final Supplier<MeterProvider> meterProviderSupplier;
+  private final BiConsumer<String, Throwable> reporter;
+
+  // Tracked scopes are only reachable through their references, which this map keeps alive until
+  // the scope is closed or its reference is dequeued after it was garbage collected.
+  private final ConcurrentHashMap<TrackedReference, Boolean> trackedScopes =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger trackedCount = new AtomicInteger();
+  private volatile boolean leakDetected;
+
+  // Created when first needed, and again if the MeterProvider changed since.
+  @Nullable private volatile Instruments instruments;
+
+  LeakDetectingContextStorage(
+      ContextStorage delegate,
+      double sampleRatio,
+      int maxTrackedScopes,
+      boolean captureStackTracesAfterFirstLeak,
+      Supplier<MeterProvider> meterProviderSupplier) {
+    this(
+        delegate,
+        sampleRatio,
+        maxTrackedScopes,
+        captureStackTracesAfterFirstLeak,
+        meterProviderSupplier,
+        (message, callerStackTrace) -> logger.log(Level.SEVERE, message, callerStackTrace));
+  }
+
+  // Visible for testing
+  LeakDetectingContextStorage(
+      ContextStorage delegate,
+      double sampleRatio,
+      int maxTrackedScopes,
+      boolean captureStackTracesAfterFirstLeak,
+      Supplier<MeterProvider> meterProviderSupplier,
+      BiConsumer<String, Throwable> reporter) {
+    this.delegate = delegate;
+    this.sampleRatio = sampleRatio;
+    this.maxTrackedScopes = maxTrackedScopes;
+    this.captureStackTracesAfterFirstLeak = captureStackTracesAfterFirstLeak;
+    this.meterProviderSupplier = meterProviderSupplier;
+    this.reporter = reporter;
+  }
+
+  /**
+   * Returns the instruments of the current {@link MeterProvider}. The storage is usually installed
+   * before the global {@link MeterProvider} is set, so the provider is only resolved when a metric
+   * is recorded.
+   */
+  private Instruments instruments() {
+    MeterProvider meterProvider = meterProviderSupplier.get();
+    Instruments current = instruments;
+    if (current == null || current.meterProvider != meterProvider) {
+      current = new Instruments(meterProvider, trackedCount);
+      instruments = current;
+    }
+    return current;
+  }
+
+  @Override
+  public Scope attach(Context toAttach) {
+    Scope scope = delegate.attach(toAttach);
+    if (scope == Scope.noop() || !sample()) {
+      return scope;
+    }
+    // Also registers the trackedScopes observer with the MeterProvider once it is set.
+    Instruments instruments = instruments();
+    if (trackedCount.incrementAndGet() > maxTrackedScopes) {
+      trackedCount.decrementAndGet();
+      instruments.untrackedScopes.add(1);
+      return scope;
+    }
+    CallerStackTrace caller =
+        captureStackTracesAfterFirstLeak && !leakDetected ? null : new CallerStackTrace(toAttach);
+    return new LeakDetectingScope(scope, caller);
+  }
+
+  @Override
+  @Nullable
+  public Context current() {
+    return delegate.current();
+  }
+
+  private boolean sample() {
+    return sampleRatio >= 1.0
+        || (sampleRatio > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRatio);
+  }
+
+  private boolean untrack(TrackedReference reference) {
+    if (trackedScopes.remove(reference) == null) {
+      return false;
+    }
+    trackedCount.decrementAndGet();
+    return true;
+  }
+
+  // Visible for testing
+  int getTrackedScopes() {
+    return trackedCount.get();
+  }
+
+  // Run by the cleaner thread.
+  private static void expungeCollectedScopes() {
+    try {
+      while (!Thread.interrupted()) {
+        TrackedReference reference = (TrackedReference) collectedScopes.remove();
+        reference.storage.leaked(reference);
+      }
+    } catch (InterruptedException ignored) {
+      // do nothing
+    }
+  }
+
+  private void leaked(TrackedReference reference) {
+    if (!untrack(reference)) {
+      return;
+    }
+    boolean firstLeak = !leakDetected;
+    leakDetected = true;
+    instruments().leakedScopes.add(1);
+    if (reference.caller != null) {
+      reporter.accept("Scope garbage collected before being closed.", reference.caller);
+    } else if (firstLeak) {
+      reporter.accept(
+          "Scope opened by thread ["
+              + reference.threadName
+              + "] garbage collected before being closed. Stack traces will be captured "
+              + "for scopes tracked from now on.",
+          null);
+    }
+  }
+
+  private final class LeakDetectingScope implements Scope {
+    private final Scope delegate;
+    private final TrackedReference reference;
+
+    private LeakDetectingScope(Scope delegate, @Nullable CallerStackTrace caller) {
+      this.delegate = delegate;
+      this.reference =
+          new TrackedReference(this, collectedScopes, LeakDetectingContextStorage.this, caller);
+      trackedScopes.put(reference, Boolean.TRUE);
+    }
+
+    @Override
+    public void close() {
+      // Cleared references are never enqueued, a closed scope can't be reported as leaked.
+      reference.clear();
+      if (untrack(reference) && currentThread().getId() != reference.threadId) {
+        instruments().scopesClosedOnOtherThread.add(1);
+        reporter.accept(
+            String.format(
+                "Thread [%s] opened scope, but thread [%s] closed it",
+                reference.threadName, currentThread().getName()),
+            reference.caller);
+      }
+      delegate.close();
+    }
+  }
+
+  private static final class TrackedReference extends WeakReference<Scope> {
+    private final String threadName = currentThread().getName();
+    private final long threadId = currentThread().getId();
+    private final LeakDetectingContextStorage storage;
+    @Nullable private final CallerStackTrace caller;
+
+    private TrackedReference(
+        Scope scope,
+        ReferenceQueue<Scope> queue,
+        LeakDetectingContextStorage storage,
+        @Nullable CallerStackTrace caller) {
+      super(scope, queue);
+      this.storage = storage;
+      this.caller = caller;
+    }
+  }
+
+  private static final class Instruments {
+    private final MeterProvider meterProvider;
+    private final BoundLongCounter leakedScopes;
+    private final BoundLongCounter untrackedScopes;
+    private final BoundLongCounter scopesClosedOnOtherThread;
+
+    private Instruments(MeterProvider meterProvider, AtomicInteger trackedCount) {
+      this.meterProvider = meterProvider;
+      Meter meter = meterProvider.get("io.opentelemetry.extension.incubator");
+      meter
+          .longValueObserverBuilder("trackedScopes")
+          .setDescription("The number of open scopes tracked for leaks")
+          .setUnit("1")
+          .setUpdater(result -> result.observe(trackedCount.get(), Labels.empty()))
+          .build();
+      leakedScopes =
+          counter(
+              meter, "leakedScopes", "The number of tracked scopes garbage collected unclosed");
+      untrackedScopes =
+          counter(
+              meter,
+              "untrackedScopes",
+              "The number of sampled scopes not tracked because too many scopes were tracked");
+      scopesClosedOnOtherThread =
+          counter(
+              meter,
+              "scopesClosedOnOtherThread",
+              "The number of tracked scopes closed by another thread than the one which opened"
+                  + " them");
+    }
+
+    private static BoundLongCounter counter(Meter meter, String name, String description) {
+      LongCounter counter =
+          meter.longCounterBuilder(name).setDescription(description).setUnit("1").build();
+      return counter.bind(Labels.empty());
+    }
+  }
+
+  private static final class CallerStackTrace extends Throwable {
+
+    private static final long serialVersionUID = 2475911623404911237L;
+
+    private CallerStackTrace(Context context) {
+      super("Thread [" + currentThread().getName() + "] opened scope for " + context + " here:");
+      // Skip the OpenTelemetry frames above the business logic which opened the scope.
+      StackTraceElement[] stackTrace = getStackTrace();
+      int from = 0;
+      while (from < stackTrace.length) {
+        String className = stackTrace[from].getClassName();
+        if (className.startsWith("io.opentelemetry.api.")
+            || className.startsWith("io.opentelemetry.context.")
+            || className.startsWith(LeakDetectingContextStorage.class.getName())) {
+          from++;
+        } else {
+          break;
+        }
+      }
+      setStackTrace(Arrays.copyOfRange(stackTrace, from, stackTrace.length));
+    }
+  }
+}
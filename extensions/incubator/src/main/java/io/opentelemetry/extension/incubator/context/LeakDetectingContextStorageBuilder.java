@@ -0,0 +1,89 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.extension.incubator.context;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.ContextStorage;
+import javax.annotation.Nullable;
+
+/** Builder class for {@link LeakDetectingContextStorage}. */
+public final class LeakDetectingContextStorageBuilder {
+
+  // Visible for testing
+  static final double DEFAULT_SAMPLE_RATIO = 0.01;
+  // Visible for testing
+  static final int DEFAULT_MAX_TRACKED_SCOPES = 1024;
+
+  private final ContextStorage delegate;
+  private double sampleRatio = DEFAULT_SAMPLE_RATIO;
+  private int maxTrackedScopes = DEFAULT_MAX_TRACKED_SCOPES;
+  private boolean captureStackTracesAfterFirstLeak = false;
+  @Nullable private MeterProvider meterProvider;
+
+  LeakDetectingContextStorageBuilder(ContextStorage delegate) {
+    this.delegate = requireNonNull(delegate, "delegate");
+  }
+
+  /**
+   * Sets the fraction of scopes, between {@code 0.0} and {@code 1.0}, which are tracked for leaks.
+   * Scopes which are not sampled are returned as is by the delegate storage and cost nothing to
+   * track. If unset, defaults to {@value DEFAULT_SAMPLE_RATIO}.
+   */
+  public LeakDetectingContextStorageBuilder setSampleRatio(double sampleRatio) {
+    checkArgument(
+        sampleRatio >= 0.0 && sampleRatio <= 1.0, "sampleRatio must be between 0.0 and 1.0");
+    this.sampleRatio = sampleRatio;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of open scopes tracked at once, bounding the memory used for tracking.
+   * Sampled scopes opened while this many are tracked are not tracked, and counted by the {@code
+   * untrackedScopes} metric. If unset, defaults to {@value DEFAULT_MAX_TRACKED_SCOPES}.
+   */
+  public LeakDetectingContextStorageBuilder setMaxTrackedScopes(int maxTrackedScopes) {
+    checkArgument(maxTrackedScopes > 0, "maxTrackedScopes must be positive");
+    this.maxTrackedScopes = maxTrackedScopes;
+    return this;
+  }
+
+  /**
+   * Sets whether to only capture the stack trace of tracked scopes once a first leak has been
+   * detected. Until then, leaks are only counted and reported with the name of the thread which
+   * opened the scope. If unset, defaults to {@code false}, capturing the stack trace of every
+   * tracked scope.
+   */
+  public LeakDetectingContextStorageBuilder setCaptureStackTracesAfterFirstLeak(
+      boolean captureStackTracesAfterFirstLeak) {
+    this.captureStackTracesAfterFirstLeak = captureStackTracesAfterFirstLeak;
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to report leak metrics to. If unset, defaults to {@link
+   * GlobalMeterProvider#get()}, resolved when metrics are first recorded so that the storage can be
+   * installed before the global {@link MeterProvider} is set.
+   */
+  public LeakDetectingContextStorageBuilder setMeterProvider(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+    return this;
+  }
+
+  /** Returns a new {@link LeakDetectingContextStorage} with the settings of this builder. */
+  public LeakDetectingContextStorage build() {
+    MeterProvider meterProvider = this.meterProvider;
+    return new LeakDetectingContextStorage(
+        delegate,
+        sampleRatio,
+        maxTrackedScopes,
+        captureStackTracesAfterFirstLeak,
+        meterProvider != null ? () -> meterProvider : GlobalMeterProvider::get);
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.extension.incubator.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class LeakDetectingContextStorageTest {
+
+  private static final ContextKey<String> ANIMAL = ContextKey.named("animal");
+
+  private final List<Map.Entry<String, Throwable>> reports = new CopyOnWriteArrayList<>();
+
+  private LeakDetectingContextStorage storage(
+      double sampleRatio, int maxTrackedScopes, boolean captureStackTracesAfterFirstLeak) {
+    return new LeakDetectingContextStorage(
+        ContextStorage.defaultStorage(),
+        sampleRatio,
+        maxTrackedScopes,
+        captureStackTracesAfterFirstLeak,
+        MeterProvider::noop,
+        (message, callerStackTrace) -> reports.add(new SimpleEntry<>(message, callerStackTrace)));
+  }
+
+  @Test
+  void builder_invalidArguments() {
+    assertThatThrownBy(() -> LeakDetectingContextStorage.builder(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("delegate");
+    LeakDetectingContextStorageBuilder builder =
+        LeakDetectingContextStorage.builder(ContextStorage.defaultStorage());
+    assertThatThrownBy(() -> builder.setSampleRatio(-0.1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("sampleRatio must be between 0.0 and 1.0");
+    assertThatThrownBy(() -> builder.setSampleRatio(1.1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("sampleRatio must be between 0.0 and 1.0");
+    assertThatThrownBy(() -> builder.setMaxTrackedScopes(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxTrackedScopes must be positive");
+    assertThatThrownBy(() -> builder.setMeterProvider(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
+  }
+
+  @Test
+  void garbageCollectedUnclosedScope() throws Exception {
+    LeakDetectingContextStorage storage = storage(1.0, 10, false);
+
+    leakScope(storage);
+
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(reports)
+                  .singleElement()
+                  .satisfies(
+                      report -> {
+                        assertThat(report.getKey())
+                            .isEqualTo("Scope garbage collected before being closed.");
+                        assertThat(report.getValue())
+                            .hasMessageMatching(
+                                "Thread \\[leaker\\] opened scope for .*animal=cat.* here:");
+                      });
+            });
+    assertThat(storage.getTrackedScopes()).isZero();
+  }
+
+  @Test
+  void garbageCollectedClosedScope() {
+    LeakDetectingContextStorage storage = storage(1.0, 10, false);
+
+    Scope scope = storage.attach(Context.root().with(ANIMAL, "cat"));
+    assertThat(storage.getTrackedScopes()).isEqualTo(1);
+    scope.close();
+    assertThat(storage.getTrackedScopes()).isZero();
+
+    WeakReference<Scope> scopeRef = new WeakReference<>(scope);
+    scope = null;
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .until(
+            () -> {
+              System.gc();
+              return scopeRef.get() == null;
+            });
+
+    assertThat(reports).isEmpty();
+  }
+
+  @Test
+  void captureStackTracesAfterFirstLeak() throws Exception {
+    LeakDetectingContextStorage storage = storage(1.0, 10, true);
+
+    leakScope(storage);
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(reports)
+                  .singleElement()
+                  .satisfies(
+                      report -> {
+                        assertThat(report.getKey())
+                            .startsWith("Scope opened by thread [leaker] garbage collected");
+                        assertThat(report.getValue()).isNull();
+                      });
+            });
+
+    leakScope(storage);
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(reports).hasSize(2);
+              assertThat(reports.get(1).getValue()).isNotNull();
+            });
+  }
+
+  @Test
+  void notSampled() {
+    LeakDetectingContextStorage storage = storage(0.0, 10, false);
+
+    Context context = Context.root().with(ANIMAL, "cat");
+    try (Scope ignored = storage.attach(context)) {
+      assertThat(storage.current()).isSameAs(context);
+      assertThat(storage.getTrackedScopes()).isZero();
+    }
+  }
+
+  @Test
+  void maxTrackedScopes() {
+    LeakDetectingContextStorage storage = storage(1.0, 1, false);
+
+    try (Scope ignored = storage.attach(Context.root().with(ANIMAL, "cat"))) {
+      try (Scope ignored2 = storage.attach(Context.root().with(ANIMAL, "dog"))) {
+        assertThat(storage.getTrackedScopes()).isEqualTo(1);
+      }
+    }
+    assertThat(storage.getTrackedScopes()).isZero();
+  }
+
+  @Test
+  void closedOnOtherThread() throws Exception {
+    LeakDetectingContextStorage storage = storage(1.0, 10, false);
+
+    AtomicReference<Scope> scope = new AtomicReference<>();
+    Thread thread =
+        new Thread(() -> scope.set(storage.attach(Context.root().with(ANIMAL, "cat"))), "opener");
+    thread.start();
+    thread.join();
+    scope.get().close();
+
+    assertThat(reports)
+        .singleElement()
+        .satisfies(
+            report ->
+                assertThat(report.getKey())
+                    .matches("Thread \\[opener\\] opened scope, but thread \\[.*\\] closed it"));
+    assertThat(storage.getTrackedScopes()).isZero();
+  }
+
+  // Opens a scope on a thread which ends without closing it, so the scope becomes unreachable
+  // without leaving the test thread with a context attached.
+  private static void leakScope(LeakDetectingContextStorage storage) throws InterruptedException {
+    Thread thread = new Thread(() -> storage.attach(Context.root().with(ANIMAL, "cat")), "leaker");
+    thread.start();
+    thread.join();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
+
+import static io.opentelemetry.sdk.extension.trace.jaeger.sampler.RateLimitingSampler.SAMPLER_PARAM;
+import static io.opentelemetry.sdk.extension.trace.jaeger.sampler.RateLimitingSampler.SAMPLER_TYPE;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.RateLimiter;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * {@link GuaranteedThroughputSampler} samples an operation with a probability, and guarantees a
+ * lower bound of sampled traces per second with a rate limiter, so that rare operations still get
+ * sampled. Traces sampled by the lower bound are tagged with {@code sampler.type=lowerbound}.
+ *
+ * <p>The sampler can be updated with the parameters from a new sampling strategy, the rate limiter
+ * keeps its balance unless the lower bound changes.
+ */
+class GuaranteedThroughputSampler implements Sampler {
+  static final String TYPE = "lowerbound";
+
+  private final Clock clock;
+
+  private volatile double samplingRate;
+  private volatile Sampler probabilisticSampler;
+  @Nullable private volatile LowerBound lowerBound;
+
+  GuaranteedThroughputSampler(double samplingRate, double lowerBoundTracesPerSecond, Clock clock) {
+    this.clock = clock;
+    this.samplingRate = samplingRate;
+    this.probabilisticSampler = Sampler.traceIdRatioBased(samplingRate);
+    this.lowerBound = LowerBound.create(lowerBoundTracesPerSecond, clock);
+  }
+
+  /** Returns whether {@code result} was sampled because of the lower bound. */
+  static boolean isLowerBound(SamplingResult result) {
+    return TYPE.equals(result.getAttributes().get(SAMPLER_TYPE));
+  }
+
+  /**
+   * Updates the parameters of this sampler, only replacing the probabilistic sampler and the rate
+   * limiter if their parameter changed.
+   */
+  synchronized void update(double samplingRate, double lowerBoundTracesPerSecond) {
+    if (samplingRate != this.samplingRate) {
+      this.probabilisticSampler = Sampler.traceIdRatioBased(samplingRate);
+      this.samplingRate = samplingRate;
+    }
+    LowerBound lowerBound = this.lowerBound;
+    double currentTracesPerSecond = lowerBound != null ? lowerBound.tracesPerSecond : 0;
+    if (lowerBoundTracesPerSecond != currentTracesPerSecond) {
+      this.lowerBound = LowerBound.create(lowerBoundTracesPerSecond, clock);
+    }
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    SamplingResult result =
+        probabilisticSampler.shouldSample(
+            parentContext, traceId, name, spanKind, attributes, parentLinks);
+    LowerBound lowerBound = this.lowerBound;
+    if (lowerBound == null) {
+      return result;
+    }
+    // As in Jaeger clients, every span spends lower bound credit, so that the lower bound only
+    // adds samples when the probability doesn't sample enough.
+    boolean lowerBoundSampled = lowerBound.rateLimiter.trySpend(1.0);
+    if (result.getDecision() == SamplingDecision.RECORD_AND_SAMPLE || !lowerBoundSampled) {
+      return result;
+    }
+    return lowerBound.sampledResult;
+  }
+
+  @Override
+  public String getDescription() {
+    LowerBound lowerBound = this.lowerBound;
+    return String.format(
+        "GuaranteedThroughputSampler{probabilistic=%s, lowerBound=%.6f}",
+        probabilisticSampler, lowerBound != null ? lowerBound.tracesPerSecond : 0);
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+
+  private static final class LowerBound {
+    final double tracesPerSecond;
+    final RateLimiter rateLimiter;
+    final SamplingResult sampledResult;
+
+    @Nullable
+    static LowerBound create(double tracesPerSecond, Clock clock) {
+      if (tracesPerSecond <= 0) {
+        return null;
+      }
+      return new LowerBound(tracesPerSecond, clock);
+    }
+
+    private LowerBound(double tracesPerSecond, Clock clock) {
+      this.tracesPerSecond = tracesPerSecond;
+      this.rateLimiter = new RateLimiter(tracesPerSecond, Math.max(tracesPerSecond, 1.0), clock);
+      this.sampledResult =
+          SamplingResult.create(
+              SamplingDecision.RECORD_AND_SAMPLE,
+              Attributes.of(SAMPLER_TYPE, TYPE, SAMPLER_PARAM, tracesPerSecond));
+    }
+  }
+}
@@ -5,48 +5,91 @@
 
 package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
 
+import com.google.protobuf.util.JsonFormat;
 import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.PerOperationSamplingStrategies;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.SamplingStrategyParameters;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.SamplingStrategyResponse;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.SamplingManagerGrpc;
-import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.SamplingManagerGrpc.SamplingManagerBlockingStub;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.SamplingManagerGrpc.SamplingManagerStub;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
-/** Remote sampler that gets sampling configuration from remote Jaeger server. */
-public final class JaegerRemoteSampler implements Sampler {
+/**
+ * Remote sampler that gets sampling configuration from remote Jaeger server.
+ *
+ * <p>The strategy is polled asynchronously with a deadline, each poll being scheduled once the
+ * previous one completed, after the polling interval with a random jitter of up to {@code 10%} so
+ * that a fleet of services doesn't poll in lockstep. The sampler is only updated when the strategy
+ * changed, so that rate limiters keep their state.
+ *
+ * <p>The strategy can also be read from a local file, which is polled the same way. Polling stops
+ * when the sampler is {@linkplain #close() closed}, which keeps the last sampler.
+ */
+public final class JaegerRemoteSampler implements Sampler, Closeable {
   private static final Logger logger = Logger.getLogger(JaegerRemoteSampler.class.getName());
 
   private static final String WORKER_THREAD_NAME =
       JaegerRemoteSampler.class.getSimpleName() + "_WorkerThread";
 
-  private final String serviceName;
-  private final SamplingManagerBlockingStub stub;
+  private static final double POLLING_JITTER = 0.1;
+
+  private final SamplingStrategyParameters params;
+  @Nullable private final SamplingManagerStub stub;
+  @Nullable private final File strategyFile;
+  private final int pollingIntervalMs;
+  private final long timeoutNanos;
+  private final int maxOperations;
+  private final ScheduledExecutorService scheduledExecutorService;
 
   private volatile Sampler sampler;
 
-  @SuppressWarnings("FutureReturnValueIgnored")
+  // Only accessed by the current poll, which is started once the previous one completed.
+  @Nullable private SamplingStrategyResponse lastResponse;
+  // The per operation sampler wrapped by sampler, if any, updated in place on changes.
+  @Nullable private PerOperationSampler perOperationSampler;
+
   JaegerRemoteSampler(
-      String serviceName, ManagedChannel channel, int pollingIntervalMs, Sampler initialSampler) {
-    this.serviceName = serviceName;
-    this.stub = SamplingManagerGrpc.newBlockingStub(channel);
+      String serviceName,
+      @Nullable ManagedChannel channel,
+      @Nullable File strategyFile,
+      int pollingIntervalMs,
+      long timeoutNanos,
+      Sampler initialSampler,
+      int maxOperations) {
+    this.params = SamplingStrategyParameters.newBuilder().setServiceName(serviceName).build();
+    this.stub = channel != null ? SamplingManagerGrpc.newStub(channel) : null;
+    this.strategyFile = strategyFile;
+    this.pollingIntervalMs = pollingIntervalMs;
+    this.timeoutNanos = timeoutNanos;
     this.sampler = initialSampler;
-    ScheduledExecutorService scheduledExecutorService =
+    this.maxOperations = maxOperations;
+    this.scheduledExecutorService =
         Executors.newScheduledThreadPool(1, new DaemonThreadFactory(WORKER_THREAD_NAME));
-    scheduledExecutorService.scheduleAtFixedRate(
-        this::getAndUpdateSampler, 0, pollingIntervalMs, TimeUnit.MILLISECONDS);
+    scheduleNextPoll(0);
   }
 
   @Override
@@ -60,26 +103,99 @@ public final class JaegerRemoteSampler implements Sampler {
     return sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
   }
 
-  private void getAndUpdateSampler() {
+  @SuppressWarnings("FutureReturnValueIgnored")
+  private void scheduleNextPoll(long delayMs) {
+    try {
+      scheduledExecutorService.schedule(this::poll, delayMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // The sampler was closed.
+    }
+  }
+
+  private void scheduleNextPoll() {
+    double jitter = ThreadLocalRandom.current().nextDouble(-POLLING_JITTER, POLLING_JITTER);
+    scheduleNextPoll(Math.round(pollingIntervalMs * (1 + jitter)));
+  }
+
+  private void poll() {
+    File strategyFile = this.strategyFile;
+    if (strategyFile != null) {
+      try {
+        onResponse(readStrategyFile(strategyFile));
+      } catch (IOException | RuntimeException e) {
+        logger.log(Level.WARNING, "Failed to read sampling strategy file " + strategyFile, e);
+      }
+      scheduleNextPoll();
+      return;
+    }
+    SamplingManagerStub stub = this.stub;
+    if (stub == null) {
+      return;
+    }
+    try {
+      stub.withDeadlineAfter(timeoutNanos, TimeUnit.NANOSECONDS)
+          .getSamplingStrategy(
+              params,
+              new StreamObserver<SamplingStrategyResponse>() {
+                @Override
+                public void onNext(SamplingStrategyResponse response) {
+                  onResponse(response);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                  logger.log(Level.WARNING, "Failed to update sampler", t);
+                  scheduleNextPoll();
+                }
+
+                @Override
+                public void onCompleted() {
+                  scheduleNextPoll();
+                }
+              });
+    } catch (RuntimeException e) { // keep polling
+      logger.log(Level.WARNING, "Failed to update sampler", e);
+      scheduleNextPoll();
+    }
+  }
+
+  private static SamplingStrategyResponse readStrategyFile(File strategyFile) throws IOException {
+    SamplingStrategyResponse.Builder response = SamplingStrategyResponse.newBuilder();
+    try (Reader reader =
+        new InputStreamReader(new FileInputStream(strategyFile), StandardCharsets.UTF_8)) {
+      JsonFormat.parser().ignoringUnknownFields().merge(reader, response);
+    }
+    return response.build();
+  }
+
+  private void onResponse(SamplingStrategyResponse response) {
+    if (response.equals(lastResponse)) {
+      // Unchanged, keeps the current sampler and the state of its rate limiters.
+      return;
+    }
     try {
-      SamplingStrategyParameters params =
-          SamplingStrategyParameters.newBuilder().setServiceName(this.serviceName).build();
-      SamplingStrategyResponse response = stub.getSamplingStrategy(params);
       this.sampler = updateSampler(response);
-    } catch (RuntimeException e) { // keep the timer thread alive
+      lastResponse = response;
+    } catch (RuntimeException e) {
       logger.log(Level.WARNING, "Failed to update sampler", e);
     }
   }
 
-  private static Sampler updateSampler(SamplingStrategyResponse response) {
+  private Sampler updateSampler(SamplingStrategyResponse response) {
     PerOperationSamplingStrategies operationSampling = response.getOperationSampling();
     if (operationSampling.getPerOperationStrategiesList().size() > 0) {
-      Sampler defaultSampler =
-          Sampler.traceIdRatioBased(operationSampling.getDefaultSamplingProbability());
-      return Sampler.parentBased(
-          new PerOperationSampler(
-              defaultSampler, operationSampling.getPerOperationStrategiesList()));
+      PerOperationSampler perOperationSampler = this.perOperationSampler;
+      if (perOperationSampler != null) {
+        // Keeps the rate limiters of the operations, the wrapping sampler is unchanged.
+        perOperationSampler.update(operationSampling);
+        return this.sampler;
+      }
+      perOperationSampler =
+          new PerOperationSampler(operationSampling, maxOperations, Clock.getDefault());
+      this.perOperationSampler = perOperationSampler;
+      return Sampler.parentBased(perOperationSampler);
     }
+    this.perOperationSampler = null;
     switch (response.getStrategyType()) {
       case PROBABILISTIC:
         return Sampler.parentBased(
@@ -93,6 +209,12 @@ public final class JaegerRemoteSampler implements Sampler {
     throw new AssertionError("unrecognized sampler type");
   }
 
+  /** Stops polling the sampling strategy, the current sampler keeps being used. */
+  @Override
+  public void close() {
+    scheduledExecutorService.shutdownNow();
+  }
+
   @Override
   public String getDescription() {
     return String.format("JaegerRemoteSampler{%s}", this.sampler);
@@ -11,21 +11,28 @@ import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.opentelemetry.api.internal.Utils;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.io.File;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 
 /** A builder for {@link JaegerRemoteSampler}. */
 public final class JaegerRemoteSamplerBuilder {
   private static final String DEFAULT_ENDPOINT = "localhost:14250";
   private static final int DEFAULT_POLLING_INTERVAL_MILLIS = 60000;
+  private static final int DEFAULT_MAX_OPERATIONS = 2000;
+  private static final long DEFAULT_TIMEOUT_SECS = 10;
   private static final Sampler INITIAL_SAMPLER =
       Sampler.parentBased(Sampler.traceIdRatioBased(0.001));
 
   private String endpoint = DEFAULT_ENDPOINT;
   private ManagedChannel channel;
+  @Nullable private File strategyFile;
   private String serviceName;
   private Sampler initialSampler = INITIAL_SAMPLER;
   private int pollingIntervalMillis = DEFAULT_POLLING_INTERVAL_MILLIS;
+  private int maxOperations = DEFAULT_MAX_OPERATIONS;
+  private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECS);
 
   /**
    * Sets the service name to be used by this exporter. Required.
@@ -56,6 +63,40 @@ public final class JaegerRemoteSamplerBuilder {
     return this;
   }
 
+  /**
+   * Sets a local file to read the sampling strategy from instead of polling the backend, e.g. for
+   * testing without a Jaeger collector. The file contains the JSON encoding of the {@code
+   * SamplingStrategyResponse} of the Jaeger api_v2 sampling API, such as {@code
+   * {"strategyType":"PROBABILISTIC","probabilisticSampling":{"samplingRate":0.5}}}, and is read
+   * again at every polling interval. Takes precedence over {@link #setChannel(ManagedChannel)} and
+   * {@link #setEndpoint(String)}.
+   */
+  public JaegerRemoteSamplerBuilder setStrategyFile(File strategyFile) {
+    requireNonNull(strategyFile, "strategyFile");
+    this.strategyFile = strategyFile;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the backend to return the sampling strategy. If unset,
+   * defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public JaegerRemoteSamplerBuilder setTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    Utils.checkArgument(timeout > 0, "timeout must be positive");
+    timeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the backend to return the sampling strategy. If unset,
+   * defaults to {@value DEFAULT_TIMEOUT_SECS}s.
+   */
+  public JaegerRemoteSamplerBuilder setTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
   /**
    * Sets the polling interval for configuration updates. If unset, defaults to {@value
    * DEFAULT_POLLING_INTERVAL_MILLIS}ms. Must be positive.
@@ -86,16 +127,34 @@ public final class JaegerRemoteSamplerBuilder {
     return this;
   }
 
+  /**
+   * Sets the maximum number of operations sampled with their own probability and lower bound when
+   * the remote strategy is per operation. Further operations are sampled with the default
+   * probability only. If unset, defaults to {@value DEFAULT_MAX_OPERATIONS}. Must be positive.
+   */
+  public JaegerRemoteSamplerBuilder setMaxOperations(int maxOperations) {
+    Utils.checkArgument(maxOperations > 0, "max operations must be positive");
+    this.maxOperations = maxOperations;
+    return this;
+  }
+
   /**
    * Builds the {@link JaegerRemoteSampler}.
    *
    * @return the remote sampler instance.
    */
   public JaegerRemoteSampler build() {
-    if (channel == null) {
+    if (channel == null && strategyFile == null) {
       channel = ManagedChannelBuilder.forTarget(endpoint).usePlaintext().build();
     }
-    return new JaegerRemoteSampler(serviceName, channel, pollingIntervalMillis, initialSampler);
+    return new JaegerRemoteSampler(
+        serviceName,
+        strategyFile == null ? channel : null,
+        strategyFile,
+        pollingIntervalMillis,
+        timeoutNanos,
+        initialSampler,
+        maxOperations);
   }
 
   JaegerRemoteSamplerBuilder() {}
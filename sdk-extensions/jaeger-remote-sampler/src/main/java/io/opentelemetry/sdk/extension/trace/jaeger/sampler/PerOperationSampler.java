@@ -8,29 +8,104 @@ package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.OperationSamplingStrategy;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.PerOperationSamplingStrategies;
+import io.opentelemetry.sdk.internal.RateLimiter;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
 import io.opentelemetry.sdk.trace.samplers.SamplingResult;
-import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
-/** {@link PerOperationSampler} samples spans per operation. */
+/**
+ * {@link PerOperationSampler} samples spans per operation, following the guaranteed throughput
+ * semantics of Jaeger clients.
+ *
+ * <p>Each operation is sampled by a {@link GuaranteedThroughputSampler}, with the probability of
+ * its strategy or the default probability, and the default lower bound. Operations without a
+ * strategy get their own sampler with the defaults as they are first seen, until {@code
+ * maxOperations} operations are tracked. Further operations are sampled with the default
+ * probability only.
+ *
+ * <p>If the strategies have a default upper bound, spans sampled by probability are dropped once
+ * that many traces per second were sampled across all operations, the lower bound is still
+ * guaranteed.
+ *
+ * <p>The sampler is updated in place when new strategies are polled, so the samplers of the
+ * operations keep their rate limiter balance.
+ */
 class PerOperationSampler implements Sampler {
 
-  private final Sampler defaultSampler;
-  private final Map<String, Sampler> perOperationSampler;
-
-  PerOperationSampler(
-      Sampler defaultSampler, List<OperationSamplingStrategy> perOperationSampling) {
-    this.defaultSampler = defaultSampler;
-    this.perOperationSampler = new LinkedHashMap<>(perOperationSampling.size());
-    for (OperationSamplingStrategy opSamplingStrategy : perOperationSampling) {
-      this.perOperationSampler.put(
-          opSamplingStrategy.getOperation(),
-          Sampler.traceIdRatioBased(
-              opSamplingStrategy.getProbabilisticSampling().getSamplingRate()));
+  private static final SamplingResult NEGATIVE_SAMPLING_RESULT =
+      SamplingResult.create(SamplingDecision.DROP);
+
+  private final int maxOperations;
+  private final Clock clock;
+  private final ConcurrentMap<String, GuaranteedThroughputSampler> perOperationSampler =
+      new ConcurrentHashMap<>();
+
+  private volatile double defaultSamplingProbability;
+  private volatile double defaultLowerBoundTracesPerSecond;
+  private volatile Sampler defaultSampler;
+  private volatile double upperBoundTracesPerSecond;
+  @Nullable private volatile RateLimiter upperBound;
+
+  PerOperationSampler(PerOperationSamplingStrategies strategies, int maxOperations, Clock clock) {
+    this.maxOperations = maxOperations;
+    this.clock = clock;
+    this.defaultSamplingProbability = strategies.getDefaultSamplingProbability();
+    this.defaultSampler = Sampler.traceIdRatioBased(defaultSamplingProbability);
+    update(strategies);
+  }
+
+  /**
+   * Updates the sampler with newly polled strategies. The samplers of operations which are still
+   * tracked are updated rather than replaced, operations without a strategy anymore fall back to
+   * the defaults.
+   */
+  synchronized void update(PerOperationSamplingStrategies strategies) {
+    double defaultSamplingProbability = strategies.getDefaultSamplingProbability();
+    double defaultLowerBound = strategies.getDefaultLowerBoundTracesPerSecond();
+    if (defaultSamplingProbability != this.defaultSamplingProbability) {
+      this.defaultSampler = Sampler.traceIdRatioBased(defaultSamplingProbability);
+      this.defaultSamplingProbability = defaultSamplingProbability;
+    }
+    this.defaultLowerBoundTracesPerSecond = defaultLowerBound;
+
+    double upperBoundTracesPerSecond = strategies.getDefaultUpperBoundTracesPerSecond();
+    if (upperBoundTracesPerSecond != this.upperBoundTracesPerSecond) {
+      this.upperBound =
+          upperBoundTracesPerSecond > 0
+              ? new RateLimiter(
+                  upperBoundTracesPerSecond, Math.max(upperBoundTracesPerSecond, 1.0), clock)
+              : null;
+      this.upperBoundTracesPerSecond = upperBoundTracesPerSecond;
+    }
+
+    Set<String> updated = new HashSet<>();
+    for (OperationSamplingStrategy strategy : strategies.getPerOperationStrategiesList()) {
+      String operation = strategy.getOperation();
+      double samplingRate = strategy.getProbabilisticSampling().getSamplingRate();
+      GuaranteedThroughputSampler sampler = perOperationSampler.get(operation);
+      if (sampler != null) {
+        sampler.update(samplingRate, defaultLowerBound);
+      } else if (perOperationSampler.size() < maxOperations) {
+        perOperationSampler.put(
+            operation, new GuaranteedThroughputSampler(samplingRate, defaultLowerBound, clock));
+      }
+      updated.add(operation);
+    }
+    for (Map.Entry<String, GuaranteedThroughputSampler> entry : perOperationSampler.entrySet()) {
+      if (!updated.contains(entry.getKey())) {
+        entry.getValue().update(defaultSamplingProbability, defaultLowerBound);
+      }
     }
   }
 
@@ -42,11 +117,37 @@ class PerOperationSampler implements Sampler {
       SpanKind spanKind,
       Attributes attributes,
       List<LinkData> parentLinks) {
-    Sampler sampler = this.perOperationSampler.get(name);
-    if (sampler == null) {
-      sampler = this.defaultSampler;
+    Sampler sampler = getSampler(name);
+    SamplingResult result =
+        sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    RateLimiter upperBound = this.upperBound;
+    if (upperBound != null
+        && result.getDecision() == SamplingDecision.RECORD_AND_SAMPLE
+        && !GuaranteedThroughputSampler.isLowerBound(result)
+        && !upperBound.trySpend(1.0)) {
+      return NEGATIVE_SAMPLING_RESULT;
+    }
+    return result;
+  }
+
+  private Sampler getSampler(String name) {
+    GuaranteedThroughputSampler sampler = perOperationSampler.get(name);
+    if (sampler != null) {
+      return sampler;
+    }
+    if (perOperationSampler.size() >= maxOperations) {
+      return defaultSampler;
     }
-    return sampler.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+    GuaranteedThroughputSampler newSampler =
+        new GuaranteedThroughputSampler(
+            defaultSamplingProbability, defaultLowerBoundTracesPerSecond, clock);
+    sampler = perOperationSampler.putIfAbsent(name, newSampler);
+    return sampler != null ? sampler : newSampler;
+  }
+
+  // Visible for testing
+  int getOperationCount() {
+    return perOperationSampler.size();
   }
 
   @Override
@@ -13,7 +13,7 @@ import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.Clock;
-import io.opentelemetry.sdk.internal.RateLimiter;
+import io.opentelemetry.sdk.internal.StripedRateLimiter;
 import io.opentelemetry.sdk.trace.data.LinkData;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
@@ -30,7 +30,7 @@ class RateLimitingSampler implements Sampler {
   static final AttributeKey<Double> SAMPLER_PARAM = doubleKey("sampler.param");
 
   private final double maxTracesPerSecond;
-  private final RateLimiter rateLimiter;
+  private final StripedRateLimiter rateLimiter;
   private final SamplingResult onSamplingResult;
   private final SamplingResult offSamplingResult;
 
@@ -42,7 +42,7 @@ class RateLimitingSampler implements Sampler {
   RateLimitingSampler(int maxTracesPerSecond) {
     this.maxTracesPerSecond = maxTracesPerSecond;
     double maxBalance = maxTracesPerSecond < 1.0 ? 1.0 : maxTracesPerSecond;
-    this.rateLimiter = new RateLimiter(maxTracesPerSecond, maxBalance, Clock.getDefault());
+    this.rateLimiter = new StripedRateLimiter(maxTracesPerSecond, maxBalance, Clock.getDefault());
     Attributes attributes =
         Attributes.of(SAMPLER_TYPE, TYPE, SAMPLER_PARAM, (double) maxTracesPerSecond);
     this.onSamplingResult = SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE, attributes);
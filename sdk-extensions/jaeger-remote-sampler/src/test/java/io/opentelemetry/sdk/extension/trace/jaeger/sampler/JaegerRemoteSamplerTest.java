@@ -23,8 +23,12 @@ import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.RateLim
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.SamplingStrategyType;
 import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.SamplingManagerGrpc;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -32,6 +36,7 @@ import org.awaitility.core.ThrowingRunnable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 
@@ -182,6 +187,84 @@ class JaegerRemoteSamplerTest {
     assertThat(numPolls).hasValueGreaterThanOrEqualTo(2);
   }
 
+  @Test
+  void unchangedStrategyKeepsSampler() {
+    JaegerRemoteSampler sampler =
+        JaegerRemoteSampler.builder()
+            .setChannel(inProcessChannel)
+            .setServiceName(SERVICE_NAME)
+            .setPollingInterval(1, TimeUnit.MILLISECONDS)
+            .build();
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(samplerIsType(sampler, RateLimitingSampler.class));
+    Sampler rateLimitingSampler = sampler.getSampler();
+    await().atMost(Duration.ofSeconds(10)).until(() -> numPolls.get() >= 3);
+
+    assertThat(sampler.getSampler()).isSameAs(rateLimitingSampler);
+  }
+
+  @Test
+  void timeout() throws IOException {
+    AtomicInteger numCalls = new AtomicInteger();
+    String unresponsiveServerName = InProcessServerBuilder.generateName();
+    Server unresponsiveServer =
+        InProcessServerBuilder.forName(unresponsiveServerName)
+            .directExecutor()
+            .addService(
+                new SamplingManagerGrpc.SamplingManagerImplBase() {
+                  @Override
+                  public void getSamplingStrategy(
+                      Sampling.SamplingStrategyParameters request,
+                      StreamObserver<Sampling.SamplingStrategyResponse> responseObserver) {
+                    // Never responds.
+                    numCalls.incrementAndGet();
+                  }
+                })
+            .build()
+            .start();
+    closer.register(unresponsiveServer::shutdownNow);
+    ManagedChannel channel =
+        InProcessChannelBuilder.forName(unresponsiveServerName).directExecutor().build();
+    closer.register(channel::shutdownNow);
+
+    JaegerRemoteSampler sampler =
+        JaegerRemoteSampler.builder()
+            .setChannel(channel)
+            .setServiceName(SERVICE_NAME)
+            .setPollingInterval(1, TimeUnit.MILLISECONDS)
+            .setTimeout(Duration.ofMillis(10))
+            .build();
+
+    // Polls continue once previous ones timed out.
+    await().atMost(Duration.ofSeconds(10)).until(() -> numCalls.get() >= 2);
+    assertThat(sampler.getDescription()).contains("TraceIdRatioBased{0.001000}");
+  }
+
+  @Test
+  void strategyFile(@TempDir Path tempDir) throws IOException {
+    File strategyFile = tempDir.resolve("strategy.json").toFile();
+    Files.write(
+        strategyFile.toPath(),
+        ("{\"strategyType\":\"RATE_LIMITING\","
+                + "\"rateLimitingSampling\":{\"maxTracesPerSecond\":15}}")
+            .getBytes(StandardCharsets.UTF_8));
+
+    JaegerRemoteSampler sampler =
+        JaegerRemoteSampler.builder()
+            .setStrategyFile(strategyFile)
+            .setServiceName(SERVICE_NAME)
+            .setPollingInterval(1, TimeUnit.MILLISECONDS)
+            .build();
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(samplerIsType(sampler, RateLimitingSampler.class));
+    assertThat(sampler.getDescription()).contains("RateLimitingSampler{15.00}");
+    assertThat(numPolls).hasValue(0);
+  }
+
   @Test
   void invalidArguments() {
     assertThatThrownBy(() -> JaegerRemoteSampler.builder().setServiceName(null))
@@ -207,6 +290,18 @@ class JaegerRemoteSamplerTest {
     assertThatThrownBy(() -> JaegerRemoteSampler.builder().setPollingInterval(null))
         .isInstanceOf(NullPointerException.class)
         .hasMessage("interval");
+    assertThatThrownBy(() -> JaegerRemoteSampler.builder().setStrategyFile(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("strategyFile");
+    assertThatThrownBy(() -> JaegerRemoteSampler.builder().setTimeout(0, TimeUnit.MILLISECONDS))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("timeout must be positive");
+    assertThatThrownBy(() -> JaegerRemoteSampler.builder().setTimeout(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("timeout");
+    assertThatThrownBy(() -> JaegerRemoteSampler.builder().setMaxOperations(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("max operations must be positive");
   }
 
   static ThrowingRunnable samplerIsType(
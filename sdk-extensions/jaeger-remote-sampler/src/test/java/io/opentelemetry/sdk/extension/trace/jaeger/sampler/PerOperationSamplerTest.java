@@ -0,0 +1,204 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.trace.jaeger.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.google.common.io.Closer;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.OperationSamplingStrategy;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.PerOperationSamplingStrategies;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.Sampling.ProbabilisticSamplingStrategy;
+import io.opentelemetry.sdk.extension.trace.jaeger.proto.api_v2.SamplingManagerGrpc;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PerOperationSamplerTest {
+
+  private static final String SERVICE_NAME = "my-service";
+
+  private final TestClock clock = TestClock.create();
+  private final IdGenerator idGenerator = IdGenerator.random();
+
+  private final String serverName = InProcessServerBuilder.generateName();
+  private final ManagedChannel inProcessChannel =
+      InProcessChannelBuilder.forName(serverName).directExecutor().build();
+  private final AtomicReference<PerOperationSamplingStrategies> strategies =
+      new AtomicReference<>();
+  private final AtomicInteger numPolls = new AtomicInteger();
+  private final Closer closer = Closer.create();
+
+  @BeforeEach
+  void before() throws IOException {
+    Server server =
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(
+                new SamplingManagerGrpc.SamplingManagerImplBase() {
+                  @Override
+                  public void getSamplingStrategy(
+                      Sampling.SamplingStrategyParameters request,
+                      StreamObserver<Sampling.SamplingStrategyResponse> responseObserver) {
+                    responseObserver.onNext(
+                        Sampling.SamplingStrategyResponse.newBuilder()
+                            .setOperationSampling(strategies.get())
+                            .build());
+                    responseObserver.onCompleted();
+                    numPolls.incrementAndGet();
+                  }
+                })
+            .build()
+            .start();
+    closer.register(server::shutdownNow);
+    closer.register(inProcessChannel::shutdownNow);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    closer.close();
+  }
+
+  @Test
+  void lowerBoundSamplesRareOperations() {
+    PerOperationSampler sampler =
+        new PerOperationSampler(strategies(0.0, 1.0, 0.0, "op", 0.0), 10, clock);
+
+    assertThat(shouldSample(sampler, "op").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    SamplingResult result = shouldSample(sampler, "op");
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+
+    clock.advance(Duration.ofSeconds(1));
+    result = shouldSample(sampler, "op");
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(result.getAttributes().get(RateLimitingSampler.SAMPLER_TYPE))
+        .isEqualTo(GuaranteedThroughputSampler.TYPE);
+    assertThat(result.getAttributes().get(RateLimitingSampler.SAMPLER_PARAM)).isEqualTo(1.0);
+
+    // Operations without a strategy also get the lower bound.
+    assertThat(shouldSample(sampler, "other").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+  }
+
+  @Test
+  void upperBoundLimitsProbabilisticSampling() {
+    PerOperationSampler sampler =
+        new PerOperationSampler(strategies(1.0, 0.0, 2.0, "op", 1.0), 10, clock);
+
+    assertThat(shouldSample(sampler, "op").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(shouldSample(sampler, "other").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(shouldSample(sampler, "op").getDecision()).isEqualTo(SamplingDecision.DROP);
+
+    clock.advance(Duration.ofSeconds(1));
+    assertThat(shouldSample(sampler, "op").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+  }
+
+  @Test
+  void boundsOperations() {
+    PerOperationSampler sampler =
+        new PerOperationSampler(strategies(0.0, 1.0, 0.0, "op", 0.0), 2, clock);
+
+    shouldSample(sampler, "op1");
+    // Beyond maxOperations, only the default probability applies, without lower bound.
+    assertThat(shouldSample(sampler, "op2").getDecision()).isEqualTo(SamplingDecision.DROP);
+    assertThat(sampler.getOperationCount()).isEqualTo(2);
+  }
+
+  @Test
+  void updateKeepsRateLimiters() {
+    PerOperationSampler sampler =
+        new PerOperationSampler(strategies(0.0, 1.0, 0.0, "op", 0.0), 10, clock);
+    assertThat(shouldSample(sampler, "op").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+
+    sampler.update(strategies(0.0, 1.0, 0.0, "op", 0.0));
+    // The lower bound credit was spent before the update.
+    assertThat(shouldSample(sampler, "op").getDecision()).isEqualTo(SamplingDecision.DROP);
+
+    sampler.update(strategies(0.0, 1.0, 0.0, "op", 1.0));
+    assertThat(sampler.getDescription()).contains("TraceIdRatioBased{1.000000}");
+    assertThat(shouldSample(sampler, "op").getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+  }
+
+  @Test
+  void remoteSamplerUpdatesInPlace() {
+    strategies.set(strategies(0.5, 1.0, 0.0, "op", 0.1));
+    try (JaegerRemoteSampler remoteSampler =
+        JaegerRemoteSampler.builder()
+            .setChannel(inProcessChannel)
+            .setServiceName(SERVICE_NAME)
+            .setPollingInterval(Duration.ofMillis(10))
+            .build()) {
+      await()
+          .atMost(Duration.ofSeconds(10))
+          .untilAsserted(
+              JaegerRemoteSamplerTest.samplerIsType(remoteSampler, PerOperationSampler.class));
+      Sampler sampler = remoteSampler.getSampler();
+      assertThat(sampler.getDescription()).contains("TraceIdRatioBased{0.100000}");
+
+      strategies.set(strategies(0.5, 1.0, 0.0, "op", 0.3));
+      int polls = numPolls.get();
+      await().atMost(Duration.ofSeconds(10)).until(() -> numPolls.get() > polls + 1);
+
+      // The parent based sampler is immutable, it describes the new strategy as its root sampler
+      // was updated in place.
+      assertThat(remoteSampler.getSampler()).isSameAs(sampler);
+      assertThat(sampler.getDescription()).contains("TraceIdRatioBased{0.300000}");
+    }
+  }
+
+  private SamplingResult shouldSample(Sampler sampler, String name) {
+    return sampler.shouldSample(
+        Context.root(),
+        idGenerator.generateTraceId(),
+        name,
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+
+  private static PerOperationSamplingStrategies strategies(
+      double defaultProbability,
+      double lowerBound,
+      double upperBound,
+      String operation,
+      double probability) {
+    return PerOperationSamplingStrategies.newBuilder()
+        .setDefaultSamplingProbability(defaultProbability)
+        .setDefaultLowerBoundTracesPerSecond(lowerBound)
+        .setDefaultUpperBoundTracesPerSecond(upperBound)
+        .addPerOperationStrategies(
+            OperationSamplingStrategy.newBuilder()
+                .setOperation(operation)
+                .setProbabilisticSampling(
+                    ProbabilisticSamplingStrategy.newBuilder().setSamplingRate(probability)))
+        .build();
+  }
+}
@@ -9,6 +9,8 @@ otelJava.moduleName.set("io.opentelemetry.sdk.extension.jfr")
 dependencies {
     implementation(project(":api:all"))
     implementation(project(":sdk:all"))
+
+    testImplementation(project(":exporters:otlp:trace"))
 }
 
 tasks {
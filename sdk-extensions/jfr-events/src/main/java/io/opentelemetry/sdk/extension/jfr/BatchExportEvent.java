@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.opentelemetry.sdk.BatchExport")
+@Label("Batch Export")
+@Category("Open Telemetry SDK")
+@Description("A batch exported by a batching processor of the Open Telemetry SDK.")
+class BatchExportEvent extends Event {
+
+  @Label("Component")
+  String component;
+
+  @Label("Batch Size")
+  int batchSize;
+
+  @Label("Queue Size")
+  @Description("The number of items left in the queue, waiting for a later batch.")
+  int queueSize;
+
+  @Label("Export Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long exportDuration;
+
+  @Label("Result")
+  String result;
+}
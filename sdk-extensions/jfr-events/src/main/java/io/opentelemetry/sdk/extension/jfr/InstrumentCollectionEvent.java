@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.opentelemetry.sdk.metrics.InstrumentCollection")
+@Label("Instrument Collection")
+@Category("Open Telemetry SDK")
+@Description("The collection of the metrics of a single instrument.")
+class InstrumentCollectionEvent extends Event {
+
+  @Label("Instrument Name")
+  String instrumentName;
+
+  @Label("Metric Count")
+  int metricCount;
+
+  @Label("Collection Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long collectionDuration;
+}
@@ -9,9 +9,12 @@ import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
+import jdk.jfr.EventType;
 
 public final class JfrContextStorageWrapper implements ContextStorage {
 
+  private static final EventType SCOPE_EVENT_TYPE = EventType.getEventType(ScopeEvent.class);
+
   private final ContextStorage wrapped;
 
   public JfrContextStorageWrapper(ContextStorage wrapped) {
@@ -21,6 +24,9 @@ public final class JfrContextStorageWrapper implements ContextStorage {
   @Override
   public Scope attach(Context toAttach) {
     Scope scope = wrapped.attach(toAttach);
+    if (!SCOPE_EVENT_TYPE.isEnabled()) {
+      return scope;
+    }
     ScopeEvent event = new ScopeEvent(Span.fromContext(toAttach).getSpanContext());
     event.begin();
     return () -> {
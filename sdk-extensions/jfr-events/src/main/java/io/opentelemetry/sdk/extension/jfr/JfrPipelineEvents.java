@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import io.opentelemetry.sdk.internal.PipelineEvents;
+import jdk.jfr.EventType;
+
+/**
+ * Records events from the export pipelines of the SDK as JFR events: batches exported by the
+ * batching span and log processors with the depth of their queue, items they drop as their queue
+ * is full, metric collection and export cycles with the collection time of each instrument, and
+ * OTLP marshaling.
+ *
+ * <p>Once installed, the pipelines only measure anything while a recording has one of these events
+ * enabled.
+ */
+public final class JfrPipelineEvents {
+
+  /** Installs the recording of pipeline events for all the SDK components of the application. */
+  public static void install() {
+    PipelineEvents.set(new Recorder());
+  }
+
+  /** Stops recording pipeline events. */
+  public static void uninstall() {
+    PipelineEvents.reset();
+  }
+
+  private JfrPipelineEvents() {}
+
+  private static final class Recorder extends PipelineEvents {
+
+    private static final EventType BATCH_EXPORT = EventType.getEventType(BatchExportEvent.class);
+    private static final EventType QUEUE_FULL_DROP =
+        EventType.getEventType(QueueFullDropEvent.class);
+    private static final EventType INSTRUMENT_COLLECTION =
+        EventType.getEventType(InstrumentCollectionEvent.class);
+    private static final EventType METRIC_CYCLE = EventType.getEventType(MetricCycleEvent.class);
+    private static final EventType MARSHAL = EventType.getEventType(MarshalEvent.class);
+
+    @Override
+    public boolean isEnabled() {
+      return BATCH_EXPORT.isEnabled()
+          || QUEUE_FULL_DROP.isEnabled()
+          || INSTRUMENT_COLLECTION.isEnabled()
+          || METRIC_CYCLE.isEnabled()
+          || MARSHAL.isEnabled();
+    }
+
+    @Override
+    public void batchExported(
+        String component, int batchSize, int queueSize, long durationNanos, ExportResult result) {
+      if (!BATCH_EXPORT.isEnabled()) {
+        return;
+      }
+      BatchExportEvent event = new BatchExportEvent();
+      event.component = component;
+      event.batchSize = batchSize;
+      event.queueSize = queueSize;
+      event.exportDuration = durationNanos;
+      event.result = result.name();
+      event.commit();
+    }
+
+    @Override
+    public void queueFullDropped(String component, int count) {
+      if (!QUEUE_FULL_DROP.isEnabled()) {
+        return;
+      }
+      QueueFullDropEvent event = new QueueFullDropEvent();
+      event.component = component;
+      event.count = count;
+      event.commit();
+    }
+
+    @Override
+    public void instrumentCollected(String instrumentName, int metricCount, long durationNanos) {
+      if (!INSTRUMENT_COLLECTION.isEnabled()) {
+        return;
+      }
+      InstrumentCollectionEvent event = new InstrumentCollectionEvent();
+      event.instrumentName = instrumentName;
+      event.metricCount = metricCount;
+      event.collectionDuration = durationNanos;
+      event.commit();
+    }
+
+    @Override
+    public void metricCycle(
+        String component,
+        int metricCount,
+        long collectionNanos,
+        long exportNanos,
+        ExportResult result) {
+      if (!METRIC_CYCLE.isEnabled()) {
+        return;
+      }
+      MetricCycleEvent event = new MetricCycleEvent();
+      event.component = component;
+      event.metricCount = metricCount;
+      event.collectionDuration = collectionNanos;
+      event.exportDuration = exportNanos;
+      event.result = result.name();
+      event.commit();
+    }
+
+    @Override
+    public void requestMarshaled(
+        String component,
+        int itemCount,
+        int serializedSize,
+        long marshalNanos,
+        long serializeNanos) {
+      if (!MARSHAL.isEnabled()) {
+        return;
+      }
+      MarshalEvent event = new MarshalEvent();
+      event.component = component;
+      event.itemCount = itemCount;
+      event.serializedSize = serializedSize;
+      event.marshalDuration = marshalNanos;
+      event.serializeDuration = serializeNanos;
+      event.commit();
+    }
+  }
+}
@@ -5,37 +5,46 @@
 
 package io.opentelemetry.sdk.extension.jfr;
 
-import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import jdk.jfr.EventType;
 
 /**
  * Span processor to create new JFR events for the Span as they are started, and commit on end.
  *
+ * <p>Nothing is recorded for spans started while no recording has the span event enabled. The
+ * fields of the event are only filled in when it is committed, so spans shorter than the threshold
+ * of the recording only cost the event itself.
+ *
  * <p>NOTE: The JfrSpanProcessor measures the timing of spans, avoid if possible to wrap it with any
  * other SpanProcessor which may affect timings. When possible, register it first before any other
  * processors to allow the most accurate measurements.
  */
 public final class JfrSpanProcessor implements SpanProcessor {
 
-  private final WeakConcurrentMap<SpanContext, SpanEvent> spanEvents =
+  private static final EventType SPAN_EVENT_TYPE = EventType.getEventType(SpanEvent.class);
+
+  // Keyed by the span itself, which is compared by identity, not by its SpanContext.
+  private final WeakConcurrentMap<ReadableSpan, SpanEvent> spanEvents =
       new WeakConcurrentMap.WithInlinedExpunction<>();
 
   private volatile boolean closed;
 
   @Override
   public void onStart(Context parentContext, ReadWriteSpan span) {
-    if (closed) {
+    if (closed || !SPAN_EVENT_TYPE.isEnabled()) {
       return;
     }
     if (span.getSpanContext().isValid()) {
-      SpanEvent event = new SpanEvent(span.toSpanData());
+      SpanEvent event =
+          new SpanEvent(Span.fromContext(parentContext).getSpanContext().getSpanId());
       event.begin();
-      spanEvents.put(span.getSpanContext(), event);
+      spanEvents.put(span, event);
     }
   }
 
@@ -46,8 +55,14 @@ public final class JfrSpanProcessor implements SpanProcessor {
 
   @Override
   public void onEnd(ReadableSpan rs) {
-    SpanEvent event = spanEvents.remove(rs.getSpanContext());
+    // Spans started while the event was disabled were never tracked. Events of spans started
+    // before a recording was stopped can't be committed anymore, and are dropped with their span.
+    if (!SPAN_EVENT_TYPE.isEnabled()) {
+      return;
+    }
+    SpanEvent event = spanEvents.remove(rs);
     if (!closed && event != null && event.shouldCommit()) {
+      event.set(rs);
       event.commit();
     }
   }
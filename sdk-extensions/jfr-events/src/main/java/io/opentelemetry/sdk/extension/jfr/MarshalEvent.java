@@ -0,0 +1,39 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.opentelemetry.exporter.otlp.Marshal")
+@Label("OTLP Marshal")
+@Category("Open Telemetry SDK")
+@Description("The marshaling and serialization of an OTLP request by an exporter.")
+class MarshalEvent extends Event {
+
+  @Label("Component")
+  String component;
+
+  @Label("Item Count")
+  int itemCount;
+
+  @Label("Serialized Size")
+  @DataAmount
+  int serializedSize;
+
+  @Label("Marshal Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long marshalDuration;
+
+  @Label("Serialize Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long serializeDuration;
+}
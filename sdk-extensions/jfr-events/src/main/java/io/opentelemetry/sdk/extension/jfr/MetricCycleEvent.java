@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("io.opentelemetry.sdk.metrics.MetricCycle")
+@Label("Metric Cycle")
+@Category("Open Telemetry SDK")
+@Description("A collection and export cycle of a metric reader.")
+class MetricCycleEvent extends Event {
+
+  @Label("Component")
+  String component;
+
+  @Label("Metric Count")
+  int metricCount;
+
+  @Label("Collection Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long collectionDuration;
+
+  @Label("Export Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long exportDuration;
+
+  @Label("Result")
+  String result;
+}
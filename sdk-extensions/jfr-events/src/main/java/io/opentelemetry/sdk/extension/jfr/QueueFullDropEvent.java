@@ -0,0 +1,27 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("io.opentelemetry.sdk.QueueFullDrop")
+@Label("Queue Full Drop")
+@Category("Open Telemetry SDK")
+@Description(
+    "Items dropped by a batching processor of the Open Telemetry SDK "
+        + "as its queue was full.")
+class QueueFullDropEvent extends Event {
+
+  @Label("Component")
+  String component;
+
+  @Label("Count")
+  int count;
+}
@@ -5,7 +5,9 @@
 
 package io.opentelemetry.sdk.extension.jfr;
 
-import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import javax.annotation.Nullable;
 import jdk.jfr.Category;
 import jdk.jfr.Description;
 import jdk.jfr.Event;
@@ -18,29 +20,40 @@ import jdk.jfr.Name;
 @Description("Open Telemetry trace event corresponding to a span.")
 class SpanEvent extends Event {
 
-  private final String operationName;
-  private final String traceId;
-  private final String spanId;
   private final String parentId;
 
-  SpanEvent(SpanData spanData) {
-    this.operationName = spanData.getName();
-    this.traceId = spanData.getTraceId();
-    this.spanId = spanData.getSpanId();
-    this.parentId = spanData.getParentSpanId();
+  // Only set right before the event is committed, see set(ReadableSpan), since the span may be
+  // renamed until it ends.
+  @Nullable private String operationName;
+  @Nullable private String traceId;
+  @Nullable private String spanId;
+
+  SpanEvent(String parentId) {
+    this.parentId = parentId;
+  }
+
+  /** Copies the name and IDs of the ended span to this event. */
+  void set(ReadableSpan span) {
+    SpanContext spanContext = span.getSpanContext();
+    this.operationName = span.getName();
+    this.traceId = spanContext.getTraceId();
+    this.spanId = spanContext.getSpanId();
   }
 
   @Label("Operation Name")
+  @Nullable
   public String getOperationName() {
     return operationName;
   }
 
   @Label("Trace Id")
+  @Nullable
   public String getTraceId() {
     return traceId;
   }
 
   @Label("Span Id")
+  @Nullable
   public String getSpanId() {
     return spanId;
   }
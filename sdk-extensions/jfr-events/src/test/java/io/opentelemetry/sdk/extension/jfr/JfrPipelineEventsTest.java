@@ -0,0 +1,154 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.opentelemetry.exporter.otlp.trace.OtlpFileSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrPipelineEventsTest {
+
+  @BeforeEach
+  void setUp() {
+    JfrPipelineEvents.install();
+  }
+
+  @AfterEach
+  void tearDown() {
+    JfrPipelineEvents.uninstall();
+  }
+
+  @Test
+  void notEnabledWithoutRecording() {
+    assertFalse(PipelineEvents.get().isEnabled());
+  }
+
+  /**
+   * Test the export of a batch by the {@link BatchSpanProcessor}.
+   *
+   * @throws java.io.IOException on io error
+   */
+  @Test
+  void batchExport() throws IOException {
+    Path output = Files.createTempFile("test-batch-export", ".jfr");
+
+    try {
+      Recording recording = new Recording();
+      recording.enable(BatchExportEvent.class);
+      recording.start();
+
+      try (recording) {
+        assertTrue(PipelineEvents.get().isEnabled());
+        SdkTracerProvider sdkTracerProvider =
+            SdkTracerProvider.builder()
+                .addSpanProcessor(BatchSpanProcessor.builder(new NoopSpanExporter()).build())
+                .build();
+        sdkTracerProvider.get("JfrPipelineEventsTest").spanBuilder("span").startSpan().end();
+        sdkTracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        sdkTracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+
+        recording.dump(output);
+      }
+
+      List<RecordedEvent> events =
+          RecordingFile.readAllEvents(output).stream()
+              .filter(e -> e.getEventType().getName().equals("io.opentelemetry.sdk.BatchExport"))
+              .collect(Collectors.toList());
+      assertEquals(1, events.size());
+      RecordedEvent event = events.get(0);
+      assertEquals("BatchSpanProcessor", event.getValue("component"));
+      assertEquals(1, event.getInt("batchSize"));
+      assertEquals(0, event.getInt("queueSize"));
+      assertEquals("SUCCESS", event.getValue("result"));
+    } finally {
+      Files.delete(output);
+    }
+  }
+
+  /**
+   * Test the marshal event of a request written by the {@link OtlpFileSpanExporter}.
+   *
+   * @throws java.io.IOException on io error
+   */
+  @Test
+  void marshal(@TempDir Path segments) throws IOException {
+    Path output = Files.createTempFile("test-marshal", ".jfr");
+
+    try {
+      Recording recording = new Recording();
+      recording.enable(MarshalEvent.class);
+      recording.start();
+
+      try (recording) {
+        SdkTracerProvider sdkTracerProvider =
+            SdkTracerProvider.builder()
+                .addSpanProcessor(
+                    SimpleSpanProcessor.create(
+                        OtlpFileSpanExporter.builder().setDirectory(segments.toFile()).build()))
+                .build();
+        sdkTracerProvider.get("JfrPipelineEventsTest").spanBuilder("span").startSpan().end();
+        sdkTracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+
+        recording.dump(output);
+      }
+
+      List<RecordedEvent> events =
+          RecordingFile.readAllEvents(output).stream()
+              .filter(
+                  e -> e.getEventType().getName().equals("io.opentelemetry.exporter.otlp.Marshal"))
+              .collect(Collectors.toList());
+      assertEquals(1, events.size());
+      RecordedEvent event = events.get(0);
+      assertEquals("OtlpFileSpanExporter", event.getValue("component"));
+      assertEquals(1, event.getInt("itemCount"));
+      assertTrue(event.getInt("serializedSize") > 0);
+      assertFalse(event.getDuration("marshalDuration").isNegative());
+      assertFalse(event.getDuration("serializeDuration").isNegative());
+    } finally {
+      Files.delete(output);
+    }
+  }
+
+  private static final class NoopSpanExporter implements SpanExporter {
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}
@@ -15,6 +15,7 @@ import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import jdk.jfr.Recording;
 import jdk.jfr.consumer.RecordedEvent;
@@ -124,4 +125,77 @@ class JfrSpanProcessorTest {
       Files.delete(output);
     }
   }
+
+  /**
+   * Test a child span shorter than the threshold of the recording.
+   *
+   * @throws java.io.IOException on io error
+   */
+  @Test
+  public void spansBelowThreshold() throws IOException {
+    Path output = Files.createTempFile("test-spans-below-threshold", ".jfr");
+
+    try {
+      Recording recording = new Recording();
+      recording.enable(SpanEvent.class).withThreshold(Duration.ofHours(1));
+      recording.disable(ScopeEvent.class);
+      recording.start();
+
+      try (recording) {
+        Span parent = tracer.spanBuilder(OPERATION_NAME).setNoParent().startSpan();
+        try (Scope s = parent.makeCurrent()) {
+          tracer.spanBuilder("child").startSpan().end();
+        }
+        parent.end();
+
+        recording.dump(output);
+      }
+
+      assertEquals(0, RecordingFile.readAllEvents(output).size());
+    } finally {
+      Files.delete(output);
+    }
+  }
+
+  /**
+   * Test the parent id of a child span.
+   *
+   * @throws java.io.IOException on io error
+   */
+  @Test
+  public void childSpan() throws IOException {
+    Path output = Files.createTempFile("test-child-span", ".jfr");
+
+    try {
+      Recording recording = new Recording();
+      recording.enable(SpanEvent.class);
+      recording.disable(ScopeEvent.class);
+      recording.start();
+      Span parent;
+      Span child;
+
+      try (recording) {
+        parent = tracer.spanBuilder(OPERATION_NAME).setNoParent().startSpan();
+        try (Scope s = parent.makeCurrent()) {
+          child = tracer.spanBuilder("child").startSpan();
+          child.end();
+        }
+        parent.end();
+
+        recording.dump(output);
+      }
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(output);
+      assertEquals(2, events.size());
+      RecordedEvent childEvent =
+          events.stream()
+              .filter(e -> "child".equals(e.getValue("operationName")))
+              .findFirst()
+              .orElseThrow(AssertionError::new);
+      assertEquals(child.getSpanContext().getSpanId(), childEvent.getValue("spanId"));
+      assertEquals(parent.getSpanContext().getSpanId(), childEvent.getValue("parentId"));
+    } finally {
+      Files.delete(output);
+    }
+  }
 }
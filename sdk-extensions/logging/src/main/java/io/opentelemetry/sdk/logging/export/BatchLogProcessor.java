@@ -12,6 +12,7 @@ import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.logging.LogProcessor;
 import io.opentelemetry.sdk.logging.data.LogRecord;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 public final class BatchLogProcessor implements LogProcessor {
+  private static final String COMPONENT_NAME = BatchLogProcessor.class.getSimpleName();
   private static final String WORKER_THREAD_NAME =
       BatchLogProcessor.class.getSimpleName() + "_WorkerThread";
 
@@ -162,6 +164,10 @@ public final class BatchLogProcessor implements LogProcessor {
         return;
       }
 
+      PipelineEvents pipelineEvents = PipelineEvents.get();
+      boolean recordEvent = pipelineEvents.isEnabled();
+      int queueSize = recordEvent ? queue.size() : 0;
+      long startNanos = recordEvent ? System.nanoTime() : 0;
       try {
         final CompletableResultCode result = logExporter.export(batch);
         result.join(exporterTimeoutMillis, TimeUnit.MILLISECONDS);
@@ -170,8 +176,24 @@ public final class BatchLogProcessor implements LogProcessor {
         } else {
           exporterFailureCounter.add(1);
         }
+        if (recordEvent) {
+          pipelineEvents.batchExported(
+              COMPONENT_NAME,
+              batch.size(),
+              queueSize,
+              System.nanoTime() - startNanos,
+              PipelineEvents.ExportResult.of(result));
+        }
       } catch (RuntimeException t) {
         exporterFailureCounter.add(batch.size());
+        if (recordEvent) {
+          pipelineEvents.batchExported(
+              COMPONENT_NAME,
+              batch.size(),
+              queueSize,
+              System.nanoTime() - startNanos,
+              PipelineEvents.ExportResult.FAILURE);
+        }
       } finally {
         batch.clear();
       }
@@ -211,6 +233,10 @@ public final class BatchLogProcessor implements LogProcessor {
     public void addLogRecord(LogRecord record) {
       if (!queue.offer(record)) {
         queueFullRecordCounter.add(1);
+        PipelineEvents pipelineEvents = PipelineEvents.get();
+        if (pipelineEvents.isEnabled()) {
+          pipelineEvents.queueFullDropped(COMPONENT_NAME, 1);
+        }
       }
     }
   }
@@ -20,6 +20,7 @@ dependencies {
     implementation("org.jctools:jctools-core:3.3.0")
 
     annotationProcessor("com.google.auto.value:auto-value")
+    testImplementation(project(":sdk:metrics"))
     testImplementation(project(":sdk:testing"))
     testImplementation("com.google.guava:guava-testlib")
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link AdaptiveThroughputSampler#shouldSample} against a fixed ratio sampler when
+ * several threads sample spans with the same few names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AdaptiveThroughputSamplerBenchmark {
+
+  private static final int SPAN_NAMES = 16;
+
+  @Param({"TRACE_ID_RATIO_BASED", "ADAPTIVE_THROUGHPUT"})
+  private String samplerType;
+
+  private Sampler sampler;
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private final String[] traceIds = new String[1024];
+    private final String[] spanNames = new String[SPAN_NAMES];
+    private int index;
+
+    @Setup
+    public void setup() {
+      IdGenerator idGenerator = IdGenerator.random();
+      for (int i = 0; i < traceIds.length; i++) {
+        traceIds[i] = idGenerator.generateTraceId();
+      }
+      for (int i = 0; i < spanNames.length; i++) {
+        spanNames[i] = "span" + i;
+      }
+    }
+  }
+
+  @Setup
+  public void setup() {
+    switch (samplerType) {
+      case "TRACE_ID_RATIO_BASED":
+        sampler = Sampler.traceIdRatioBased(0.1);
+        break;
+      case "ADAPTIVE_THROUGHPUT":
+        // A short window so that adjustments happen during the measurement.
+        sampler =
+            AdaptiveThroughputSampler.builder(1000)
+                .setWindow(Duration.ofMillis(100))
+                .setMeterProvider(MeterProvider.noop())
+                .build();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown sampler type: " + samplerType);
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public SamplingResult shouldSample_01Thread(ThreadState state) {
+    return shouldSample(state);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public SamplingResult shouldSample_04Threads(ThreadState state) {
+    return shouldSample(state);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public SamplingResult shouldSample_08Threads(ThreadState state) {
+    return shouldSample(state);
+  }
+
+  private SamplingResult shouldSample(ThreadState state) {
+    int index = state.index++;
+    return sampler.shouldSample(
+        Context.root(),
+        state.traceIds[index & (state.traceIds.length - 1)],
+        state.spanNames[index & (SPAN_NAMES - 1)],
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+}
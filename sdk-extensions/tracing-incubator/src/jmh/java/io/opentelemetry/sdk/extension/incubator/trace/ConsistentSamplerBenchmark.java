@@ -0,0 +1,102 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ConsistentSampler} against the trace ID ratio based sampler, for root spans and
+ * for children of a sampled parent propagating its p-value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ConsistentSamplerBenchmark {
+
+  @Param({"TRACE_ID_RATIO_BASED", "CONSISTENT_PARENT_BASED"})
+  private String samplerType;
+
+  private Sampler sampler;
+  private final String[] traceIds = new String[1024];
+  private final Context[] parents = new Context[1024];
+  private int index;
+
+  @Setup
+  public void setup() {
+    switch (samplerType) {
+      case "TRACE_ID_RATIO_BASED":
+        sampler = Sampler.parentBased(Sampler.traceIdRatioBased(0.1));
+        break;
+      case "CONSISTENT_PARENT_BASED":
+        sampler = ConsistentSampler.parentBased(ConsistentSampler.probabilityBased(0.1));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown sampler type: " + samplerType);
+    }
+    IdGenerator idGenerator = IdGenerator.random();
+    for (int i = 0; i < traceIds.length; i++) {
+      traceIds[i] = idGenerator.generateTraceId();
+      parents[i] =
+          Context.root()
+              .with(
+                  Span.wrap(
+                      SpanContext.create(
+                          traceIds[i],
+                          idGenerator.generateSpanId(),
+                          TraceFlags.getSampled(),
+                          TraceState.builder().put("ot", "p:3;r:5").build())));
+    }
+  }
+
+  @Benchmark
+  public SamplingResult shouldSample_root() {
+    int i = index++ & (traceIds.length - 1);
+    return sampler.shouldSample(
+        Context.root(),
+        traceIds[i],
+        "span",
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+
+  @Benchmark
+  public SamplingResult shouldSample_child() {
+    int i = index++ & (traceIds.length - 1);
+    return sampler.shouldSample(
+        parents[i],
+        traceIds[i],
+        "span",
+        SpanKind.INTERNAL,
+        Attributes.empty(),
+        Collections.emptyList());
+  }
+}
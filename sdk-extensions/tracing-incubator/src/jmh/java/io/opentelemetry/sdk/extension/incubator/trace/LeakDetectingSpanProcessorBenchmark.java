@@ -0,0 +1,90 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the cost {@link LeakDetectingSpanProcessor} adds to starting and ending spans. */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LeakDetectingSpanProcessorBenchmark {
+
+  public enum Detection {
+    // No leak detection, the baseline.
+    NONE,
+    // Every span tracked with its stack trace, as returned by LeakDetectingSpanProcessor.create().
+    ALL,
+    // One in 100 spans tracked, each with its stack trace.
+    SAMPLED,
+    // Every span tracked, stack traces only captured once a span with the same name leaked.
+    AFTER_LEAK,
+    // One in 100 spans tracked, stack traces only captured once a span with the same name leaked.
+    SAMPLED_AFTER_LEAK
+  }
+
+  @Param({"NONE", "ALL", "SAMPLED", "AFTER_LEAK", "SAMPLED_AFTER_LEAK"})
+  private Detection detection;
+
+  private SdkTracerProvider tracerProvider;
+  private Tracer tracer;
+
+  @Setup
+  public void setup() {
+    SdkTracerProviderBuilder builder = SdkTracerProvider.builder();
+    if (detection != Detection.NONE) {
+      builder.addSpanProcessor(
+          LeakDetectingSpanProcessor.builder()
+              .setSampleInterval(
+                  detection == Detection.SAMPLED || detection == Detection.SAMPLED_AFTER_LEAK
+                      ? 100
+                      : 1)
+              .setCaptureStackTracesAfterLeak(
+                  detection == Detection.AFTER_LEAK || detection == Detection.SAMPLED_AFTER_LEAK)
+              .setMeterProvider(MeterProvider.noop())
+              .build());
+    }
+    tracerProvider = builder.build();
+    tracer = tracerProvider.get("benchmark");
+  }
+
+  @TearDown
+  public void tearDown() {
+    tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void startEndSpan_01Thread() {
+    tracer.spanBuilder("span").startSpan().end();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void startEndSpan_04Threads() {
+    tracer.spanBuilder("span").startSpan().end();
+  }
+}
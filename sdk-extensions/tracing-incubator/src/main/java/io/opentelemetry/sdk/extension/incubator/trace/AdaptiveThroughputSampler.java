@@ -0,0 +1,308 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.metrics.AsynchronousInstrument;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Sampler} which targets a number of sampled spans per second, shared between span names.
+ *
+ * <p>The arrival rate of each span name is measured over a sliding window, made of the intervals
+ * between adjustments as they actually elapsed. At every adjustment, the budget is split so that
+ * span names arriving at less than their fair share are sampled entirely, and the remaining budget
+ * is shared equally between the busier ones, which are sampled with the probability fitting their
+ * share. Low traffic span names are never starved by busy ones. Span names which are new since the
+ * last adjustment are sampled entirely.
+ *
+ * <p>Like {@link Sampler#traceIdRatioBased(double)}, the decision is derived from the trace ID.
+ * This sampler doesn't look at the parent span, it is usually wrapped with {@link
+ * Sampler#parentBased(Sampler)} to only decide for root spans.
+ *
+ * <p>Sampling only reads the state of the span name and increments its arrival counter, without
+ * locking. Adjustments run on the thread sampling a span once the adjustment interval elapsed. The
+ * number of span names tracked is bounded, the names seen once the table is full share a single
+ * entry, and names which didn't arrive during a whole window leave the table.
+ *
+ * <p>The probability of each span name is reported as the {@code adaptiveSamplerProbability}
+ * metric, labeled with {@code spanName} and with {@code sampler}, a number telling samplers apart.
+ */
+public final class AdaptiveThroughputSampler implements Sampler {
+
+  private static final SamplingResult POSITIVE_SAMPLING_RESULT =
+      SamplingResult.create(SamplingDecision.RECORD_AND_SAMPLE);
+
+  private static final SamplingResult NEGATIVE_SAMPLING_RESULT =
+      SamplingResult.create(SamplingDecision.DROP);
+
+  // The number of adjustment intervals in the sliding window.
+  // Visible for testing
+  static final int WINDOW_INTERVALS = 10;
+
+  // Visible for testing
+  static final String OTHER_SPAN_NAMES = "_other";
+
+  private static final String SPAN_NAME_LABEL = "spanName";
+  private static final String SAMPLER_LABEL = "sampler";
+
+  private static final AtomicInteger nextSamplerId = new AtomicInteger();
+  private static final LiveInstances<AdaptiveThroughputSampler> liveInstances =
+      new LiveInstances<>();
+
+  /**
+   * Returns a new {@link AdaptiveThroughputSamplerBuilder} to configure an {@link
+   * AdaptiveThroughputSampler} targeting {@code spansPerSecond} sampled spans per second.
+   */
+  public static AdaptiveThroughputSamplerBuilder builder(double spansPerSecond) {
+    return new AdaptiveThroughputSamplerBuilder(spansPerSecond);
+  }
+
+  private final double spansPerSecond;
+  private final int maxSpanNames;
+  private final long intervalNanos;
+  private final Clock clock;
+  private final Supplier<MeterProvider> meterProviderSupplier;
+
+  private final ConcurrentMap<String, SpanNameState> states = new ConcurrentHashMap<>();
+  private final SpanNameState otherState = new SpanNameState();
+  private final AtomicLong nextAdjustmentNanos;
+  private final AtomicBoolean adjusting = new AtomicBoolean();
+  private final String description;
+  private final String samplerId;
+
+  // Only accessed while adjusting, the compareAndSet on adjusting publishes them.
+  private int intervalIndex;
+  private long lastAdjustmentNanos;
+  @Nullable private MeterProvider registeredMeterProvider;
+
+  AdaptiveThroughputSampler(
+      double spansPerSecond,
+      int maxSpanNames,
+      long windowNanos,
+      Clock clock,
+      Supplier<MeterProvider> meterProviderSupplier) {
+    this.spansPerSecond = spansPerSecond;
+    this.maxSpanNames = maxSpanNames;
+    this.intervalNanos = Math.max(windowNanos / WINDOW_INTERVALS, 1);
+    this.clock = clock;
+    this.meterProviderSupplier = meterProviderSupplier;
+    this.lastAdjustmentNanos = clock.nanoTime();
+    this.nextAdjustmentNanos = new AtomicLong(lastAdjustmentNanos + intervalNanos);
+    this.description =
+        String.format(
+            "AdaptiveThroughputSampler{spansPerSecond=%.3f, windowMillis=%d}",
+            spansPerSecond, TimeUnit.NANOSECONDS.toMillis(windowNanos));
+
+    this.samplerId = String.valueOf(nextSamplerId.getAndIncrement());
+  }
+
+  /**
+   * Registers the {@code adaptiveSamplerProbability} observer with the current {@link
+   * MeterProvider}. The sampler may be built before the global {@link MeterProvider} is set, so the
+   * provider is only resolved when adjusting, which is also when the probabilities change.
+   */
+  private void registerObserver() {
+    MeterProvider meterProvider = meterProviderSupplier.get();
+    if (meterProvider == registeredMeterProvider) {
+      return;
+    }
+    registeredMeterProvider = meterProvider;
+    liveInstances.add(
+        meterProvider,
+        this,
+        samplers ->
+            meterProvider
+                .get("io.opentelemetry.sdk.trace")
+                .doubleValueObserverBuilder("adaptiveSamplerProbability")
+                .setDescription("The probability the AdaptiveThroughputSampler samples spans with")
+                .setUnit("1")
+                .setUpdater(
+                    result -> {
+                      for (AdaptiveThroughputSampler sampler : samplers.get()) {
+                        sampler.observeProbabilities(result);
+                      }
+                    })
+                .build());
+  }
+
+  private void observeProbabilities(AsynchronousInstrument.DoubleResult result) {
+    for (Map.Entry<String, SpanNameState> entry : states.entrySet()) {
+      result.observe(
+          entry.getValue().probability,
+          Labels.of(SAMPLER_LABEL, samplerId, SPAN_NAME_LABEL, entry.getKey()));
+    }
+    result.observe(
+        otherState.probability,
+        Labels.of(SAMPLER_LABEL, samplerId, SPAN_NAME_LABEL, OTHER_SPAN_NAMES));
+  }
+
+  @Override
+  public SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    SpanNameState state = states.get(name);
+    if (state == null) {
+      state = addState(name);
+    }
+    state.arrivals.incrementAndGet();
+
+    long nowNanos = clock.nanoTime();
+    long next = nextAdjustmentNanos.get();
+    if (nowNanos - next >= 0 && nextAdjustmentNanos.compareAndSet(next, nowNanos + intervalNanos)) {
+      if (adjusting.compareAndSet(false, true)) {
+        try {
+          adjust(nowNanos);
+        } finally {
+          adjusting.set(false);
+        }
+      }
+    }
+
+    return Math.abs(OtelEncodingUtils.longFromBase16String(traceId, 16)) < state.idUpperBound
+        ? POSITIVE_SAMPLING_RESULT
+        : NEGATIVE_SAMPLING_RESULT;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public String toString() {
+    return getDescription();
+  }
+
+  // Visible for testing
+  double getProbability(String name) {
+    SpanNameState state = states.get(name);
+    return state != null ? state.probability : otherState.probability;
+  }
+
+  // Visible for testing
+  int getSpanNameCount() {
+    return states.size();
+  }
+
+  private SpanNameState addState(String name) {
+    if (states.size() >= maxSpanNames) {
+      return otherState;
+    }
+    SpanNameState state = new SpanNameState();
+    SpanNameState existing = states.putIfAbsent(name, state);
+    return existing != null ? existing : state;
+  }
+
+  private void adjust(long nowNanos) {
+    registerObserver();
+    intervalIndex = (intervalIndex + 1) % WINDOW_INTERVALS;
+    // Adjustments only happen when spans are sampled, so the interval may have lasted longer than
+    // intervalNanos.
+    long elapsedNanos = Math.max(nowNanos - lastAdjustmentNanos, 1);
+    lastAdjustmentNanos = nowNanos;
+
+    List<SpanNameState> active = new ArrayList<>(states.size() + 1);
+    Iterator<SpanNameState> it = states.values().iterator();
+    while (it.hasNext()) {
+      SpanNameState state = it.next();
+      if (state.roll(intervalIndex, elapsedNanos)) {
+        active.add(state);
+      } else {
+        // Frees the table for other span names. Spans starting concurrently might still count
+        // their arrival in the removed state, which only loses that arrival.
+        it.remove();
+      }
+    }
+    if (otherState.roll(intervalIndex, elapsedNanos)) {
+      active.add(otherState);
+    } else {
+      otherState.setProbability(1.0);
+    }
+
+    // Max-min fair share: the least busy span names are sampled entirely as long as they fit in
+    // an equal share of the remaining budget, the others share what remains equally.
+    Collections.sort(active, (a, b) -> Double.compare(a.rate, b.rate));
+    double remainingBudget = spansPerSecond;
+    int remaining = active.size();
+    for (SpanNameState state : active) {
+      double share = remainingBudget / remaining--;
+      if (state.rate <= share) {
+        state.setProbability(1.0);
+        remainingBudget -= state.rate;
+      } else {
+        state.setProbability(share / state.rate);
+        remainingBudget -= share;
+      }
+    }
+  }
+
+  private static final class SpanNameState {
+    final AtomicLong arrivals = new AtomicLong();
+
+    volatile double probability = 1.0;
+    volatile long idUpperBound = Long.MAX_VALUE;
+
+    // Only accessed while adjusting.
+    final long[] intervalArrivals = new long[WINDOW_INTERVALS];
+    final long[] intervalDurationNanos = new long[WINDOW_INTERVALS];
+    long windowArrivals;
+    long windowDurationNanos;
+    double rate;
+
+    /**
+     * Moves the sliding window to the interval at {@code index}, which lasted {@code
+     * elapsedNanos}, returns whether the span name arrived during the window.
+     */
+    boolean roll(int index, long elapsedNanos) {
+      long count = arrivals.getAndSet(0);
+      windowArrivals += count - intervalArrivals[index];
+      intervalArrivals[index] = count;
+      windowDurationNanos += elapsedNanos - intervalDurationNanos[index];
+      intervalDurationNanos[index] = elapsedNanos;
+      rate = windowArrivals / (windowDurationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+      return windowArrivals > 0;
+    }
+
+    void setProbability(double probability) {
+      this.probability = probability;
+      // As in TraceIdRatioBasedSampler.
+      if (probability >= 1.0) {
+        idUpperBound = Long.MAX_VALUE;
+      } else if (probability <= 0.0) {
+        idUpperBound = Long.MIN_VALUE;
+      } else {
+        idUpperBound = (long) (probability * Long.MAX_VALUE);
+      }
+    }
+  }
+}
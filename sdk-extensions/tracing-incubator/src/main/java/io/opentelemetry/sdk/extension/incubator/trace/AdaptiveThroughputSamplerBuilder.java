@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Builder class for the {@link AdaptiveThroughputSampler}.
+ *
+ * @see AdaptiveThroughputSampler#builder(double)
+ */
+public final class AdaptiveThroughputSamplerBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_SPAN_NAMES = 1000;
+  // Visible for testing
+  static final long DEFAULT_WINDOW_MILLIS = 10_000;
+
+  private final double spansPerSecond;
+  private int maxSpanNames = DEFAULT_MAX_SPAN_NAMES;
+  private long windowNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_WINDOW_MILLIS);
+  private Clock clock = Clock.getDefault();
+  @Nullable private MeterProvider meterProvider;
+
+  AdaptiveThroughputSamplerBuilder(double spansPerSecond) {
+    checkArgument(spansPerSecond > 0, "spansPerSecond must be positive");
+    this.spansPerSecond = spansPerSecond;
+  }
+
+  /**
+   * Sets the maximum number of span names given their own sampling probability. Span names seen
+   * once that many are tracked share a single probability. If unset, defaults to {@value
+   * DEFAULT_MAX_SPAN_NAMES}.
+   */
+  public AdaptiveThroughputSamplerBuilder setMaxSpanNames(int maxSpanNames) {
+    checkArgument(maxSpanNames > 0, "maxSpanNames must be positive");
+    this.maxSpanNames = maxSpanNames;
+    return this;
+  }
+
+  /**
+   * Sets the sliding window over which the arrival rate of each span name is measured. Sampling
+   * probabilities are adjusted ten times per window. If unset, defaults to {@value
+   * DEFAULT_WINDOW_MILLIS}ms.
+   */
+  public AdaptiveThroughputSamplerBuilder setWindow(long window, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(window > 0, "window must be positive");
+    this.windowNanos = unit.toNanos(window);
+    return this;
+  }
+
+  /**
+   * Sets the sliding window over which the arrival rate of each span name is measured. Sampling
+   * probabilities are adjusted ten times per window. If unset, defaults to {@value
+   * DEFAULT_WINDOW_MILLIS}ms.
+   */
+  public AdaptiveThroughputSamplerBuilder setWindow(Duration window) {
+    requireNonNull(window, "window");
+    return setWindow(window.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Sets the {@link Clock} measuring arrival rates. If unset, defaults to {@link
+   * Clock#getDefault()}.
+   */
+  public AdaptiveThroughputSamplerBuilder setClock(Clock clock) {
+    this.clock = requireNonNull(clock, "clock");
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to report the {@code adaptiveSamplerProbability} metric to. If
+   * unset, defaults to {@link GlobalMeterProvider#get()}, resolved when probabilities are adjusted
+   * so that the sampler can be built before the global {@link MeterProvider} is set.
+   */
+  public AdaptiveThroughputSamplerBuilder setMeterProvider(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+    return this;
+  }
+
+  /** Returns a new {@link AdaptiveThroughputSampler} with the settings of this builder. */
+  public AdaptiveThroughputSampler build() {
+    MeterProvider meterProvider = this.meterProvider;
+    return new AdaptiveThroughputSampler(
+        spansPerSecond,
+        maxSpanNames,
+        windowNanos,
+        clock,
+        meterProvider != null ? () -> meterProvider : GlobalMeterProvider::get);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link ConsistentSampler} which follows the parent span, and delegates root spans to another
+ * {@link ConsistentSampler}.
+ */
+@Immutable
+final class ConsistentParentBasedSampler extends ConsistentSampler {
+
+  private final ConsistentSampler rootSampler;
+  private final String description;
+
+  ConsistentParentBasedSampler(ConsistentSampler rootSampler) {
+    this.rootSampler = requireNonNull(rootSampler, "rootSampler");
+    this.description =
+        "ConsistentParentBasedSampler{rootSampler=" + rootSampler.getDescription() + "}";
+  }
+
+  @Override
+  int getP(int parentP, boolean isRoot) {
+    return isRoot ? rootSampler.getP(parentP, true) : parentP;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A {@link ConsistentSampler} with a fixed probability. The probability is met by choosing, for
+ * every span, between the p-values of the two powers of two around it.
+ */
+@Immutable
+final class ConsistentProbabilityBasedSampler extends ConsistentSampler {
+
+  private final int lowerP; // p-value of the power of two at or above the probability
+  private final int upperP; // p-value of the power of two at or below the probability
+  private final double lowerPProbability; // probability of choosing lowerP
+  private final String description;
+
+  ConsistentProbabilityBasedSampler(double probability) {
+    if (probability < 0.0 || probability > 1.0) {
+      throw new IllegalArgumentException("probability must be in range [0.0, 1.0]");
+    }
+    if (probability == 0.0) {
+      lowerP = OtelTraceState.MAX_P;
+      upperP = OtelTraceState.MAX_P;
+      lowerPProbability = 1.0;
+    } else {
+      // 2^exponent <= probability < 2^(exponent + 1)
+      int exponent = Math.getExponent(probability);
+      if (-exponent > OtelTraceState.MAX_R) {
+        // Below the smallest probability which can be sampled, choose between it and 0.
+        lowerP = OtelTraceState.MAX_R;
+        upperP = OtelTraceState.MAX_P;
+      } else if (probability == Math.scalb(1.0, exponent)) {
+        lowerP = -exponent;
+        upperP = -exponent;
+      } else {
+        lowerP = -exponent - 1;
+        upperP = -exponent;
+      }
+      double lowerProbability = getProbability(lowerP);
+      double upperProbability = getProbability(upperP);
+      lowerPProbability =
+          lowerP == upperP
+              ? 1.0
+              : (probability - upperProbability) / (lowerProbability - upperProbability);
+    }
+    description = String.format("ConsistentProbabilityBasedSampler{%.6f}", probability);
+  }
+
+  @Override
+  int getP(int parentP, boolean isRoot) {
+    if (lowerP == upperP) {
+      return lowerP;
+    }
+    // The choice must be independent from the r-value, hence it doesn't use the trace ID.
+    return ThreadLocalRandom.current().nextDouble() < lowerPProbability ? lowerP : upperP;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  private static double getProbability(int p) {
+    return p == OtelTraceState.MAX_P ? 0.0 : Math.scalb(1.0, -p);
+  }
+}
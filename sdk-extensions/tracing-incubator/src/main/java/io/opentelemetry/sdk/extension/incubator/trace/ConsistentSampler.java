@@ -0,0 +1,128 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.internal.OtelEncodingUtils;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.List;
+
+/**
+ * A {@link Sampler} making consistent probability sampling decisions, which records the sampling
+ * probability of sampled spans in the {@code ot} entry of the trace state.
+ *
+ * <p>Sampling probabilities are powers of two, recorded as the p-value {@code p:<n>} for a
+ * probability of {@code 2^-n}. Every span of a trace is compared against the same r-value {@code
+ * r:<n>}, the number of leading zeros of the random part of the trace ID, which is {@code n} with
+ * probability {@code 2^-(n+1)}. A span is sampled when its p-value is at most the r-value, so that
+ * services sampling the same trace with different probabilities keep consistent, complete sub
+ * traces, and each sampled span represents {@code 2^p} spans. Backends can hence count spans from
+ * sampled spans only.
+ *
+ * <p>The r-value is read from the trace state when the parent propagated one, and derived from the
+ * trace ID otherwise, directly from its characters.
+ */
+public abstract class ConsistentSampler implements Sampler {
+
+  /**
+   * Returns a {@link ConsistentSampler} which samples all spans, with a p-value of {@code 0}.
+   */
+  public static ConsistentSampler alwaysOn() {
+    return probabilityBased(1.0);
+  }
+
+  /** Returns a {@link ConsistentSampler} which samples no span. */
+  public static ConsistentSampler alwaysOff() {
+    return probabilityBased(0.0);
+  }
+
+  /**
+   * Returns a {@link ConsistentSampler} which samples spans with the given {@code probability},
+   * regardless of the parent span. Probabilities which are not powers of two are sampled with
+   * either of the two nearest powers of two, chosen at random so that the given probability is met
+   * on average.
+   *
+   * @param probability the sampling probability, in range [0.0, 1.0].
+   */
+  public static ConsistentSampler probabilityBased(double probability) {
+    return new ConsistentProbabilityBasedSampler(probability);
+  }
+
+  /**
+   * Returns a {@link ConsistentSampler} which follows the decision of the parent span and
+   * propagates its p-value, and delegates root spans to {@code rootSampler}. Children of sampled
+   * parents without a valid p-value are sampled without p-value, as their probability is unknown.
+   */
+  public static ConsistentSampler parentBased(ConsistentSampler rootSampler) {
+    return new ConsistentParentBasedSampler(rootSampler);
+  }
+
+  ConsistentSampler() {}
+
+  @Override
+  public final SamplingResult shouldSample(
+      Context parentContext,
+      String traceId,
+      String name,
+      SpanKind spanKind,
+      Attributes attributes,
+      List<LinkData> parentLinks) {
+    SpanContext parentSpanContext = Span.fromContext(parentContext).getSpanContext();
+    boolean isRoot = !parentSpanContext.isValid();
+    String otelTraceState =
+        parentSpanContext.getTraceState().get(OtelTraceState.TRACE_STATE_KEY);
+
+    int r = OtelTraceState.getR(otelTraceState);
+    if (r == OtelTraceState.INVALID) {
+      r = getRandomValue(traceId);
+    }
+    int parentP = OtelTraceState.INVALID;
+    if (!isRoot) {
+      if (parentSpanContext.isSampled()) {
+        parentP = OtelTraceState.getP(otelTraceState);
+        // A p-value above the r-value of a sampled parent is inconsistent, so its probability is
+        // unknown.
+        if (parentP > r) {
+          parentP = OtelTraceState.INVALID;
+        }
+      } else {
+        parentP = OtelTraceState.MAX_P;
+      }
+    }
+
+    int p = getP(parentP, isRoot);
+    boolean sampled = p == OtelTraceState.INVALID || p <= r;
+    return ConsistentSamplingResult.get(sampled, sampled ? p : OtelTraceState.INVALID, r);
+  }
+
+  /**
+   * Returns the p-value to sample the span with, {@value OtelTraceState#MAX_P} to drop it, or
+   * {@link OtelTraceState#INVALID} to sample it with an unknown probability.
+   *
+   * @param parentP the p-value of the parent span, {@value OtelTraceState#MAX_P} if the parent is
+   *     not sampled, or {@link OtelTraceState#INVALID} for root spans and sampled parents without
+   *     a valid p-value.
+   * @param isRoot whether the span is a root span.
+   */
+  abstract int getP(int parentP, boolean isRoot);
+
+  @Override
+  public final String toString() {
+    return getDescription();
+  }
+
+  // Visible for testing
+  static int getRandomValue(String traceId) {
+    long randomPart = OtelEncodingUtils.longFromBase16String(traceId, 16);
+    return Math.min(Long.numberOfLeadingZeros(randomPart), OtelTraceState.MAX_R);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The {@link SamplingResult} of a {@link ConsistentSampler}, which writes its p-value and r-value
+ * to the {@code ot} trace state entry. There are few distinct results, so they are cached rather
+ * than allocated for every span.
+ */
+@Immutable
+final class ConsistentSamplingResult implements SamplingResult {
+
+  private static final int R_VALUES = OtelTraceState.MAX_R + 1;
+
+  // Sampled results for p in [INVALID, MAX_R] and every r, then dropped results for every r.
+  // Results are immutable, racing threads may at worst create duplicates.
+  private static final ConsistentSamplingResult[] cache =
+      new ConsistentSamplingResult[(R_VALUES + 2) * R_VALUES];
+
+  static ConsistentSamplingResult get(boolean sampled, int p, int r) {
+    int index = sampled ? (p + 1) * R_VALUES + r : (R_VALUES + 1) * R_VALUES + r;
+    ConsistentSamplingResult result = cache[index];
+    if (result == null) {
+      result = new ConsistentSamplingResult(sampled, p, r);
+      cache[index] = result;
+    }
+    return result;
+  }
+
+  private final SamplingDecision decision;
+  private final int p;
+  private final int r;
+
+  private ConsistentSamplingResult(boolean sampled, int p, int r) {
+    this.decision = sampled ? SamplingDecision.RECORD_AND_SAMPLE : SamplingDecision.DROP;
+    this.p = p;
+    this.r = r;
+  }
+
+  @Override
+  public SamplingDecision getDecision() {
+    return decision;
+  }
+
+  @Override
+  public Attributes getAttributes() {
+    return Attributes.empty();
+  }
+
+  @Override
+  public TraceState getUpdatedTraceState(TraceState parentTraceState) {
+    String value = parentTraceState.get(OtelTraceState.TRACE_STATE_KEY);
+    if (OtelTraceState.getP(value) == p && OtelTraceState.getR(value) == r) {
+      return parentTraceState;
+    }
+    return parentTraceState.toBuilder()
+        .put(OtelTraceState.TRACE_STATE_KEY, OtelTraceState.serialize(p, r, value))
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return "ConsistentSamplingResult{decision=" + decision + ", p=" + p + ", r=" + r + "}";
+  }
+}
@@ -7,56 +7,119 @@ package io.opentelemetry.sdk.extension.incubator.trace;
 
 import static java.lang.Thread.currentThread;
 
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.internal.shaded.WeakConcurrentMap;
+import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import java.lang.ref.Reference;
 import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * A {@link SpanProcessor} which will detect spans that are never ended. It will detect spans that
  * are garbage collected without ever having `end()` called on them.
  *
- * <p>Note: using this SpanProcessor will definitely impact the performance of your application. It
- * is not recommended for production use, as it uses additional memory for each span to track where
- * a leaked span was created.
+ * <p>Leaked spans are counted per span name by the {@code leakedSpans} metric, and reported to the
+ * logs. Beyond the first 1024 leaked span names, leaks of new names are counted with the {@code
+ * spanName} label set to {@code other} to bound the number of label sets.
+ *
+ * <p>Note: the processor returned by {@link #create()} tracks every span and captures where it was
+ * started, which will definitely impact the performance of your application and is not recommended
+ * for production use. Use {@link #builder()} to only track a sample of spans, and to only capture
+ * stack traces for span names which have already leaked.
  */
 public final class LeakDetectingSpanProcessor implements SpanProcessor {
   private static final Logger logger = Logger.getLogger(LeakDetectingSpanProcessor.class.getName());
 
-  private final PendingSpans pendingSpans;
+  // Span names remembered as leaked to label the metric with and capture stack traces for, beyond
+  // which leaks of new names are counted as other spans and their stack traces are never captured.
+  private static final int MAX_LEAKED_SPAN_NAMES = 1024;
+  private static final Labels OTHER_SPAN_NAME_LABELS = Labels.of("spanName", "other");
 
   /**
    * Create a new {@link LeakDetectingSpanProcessor} that will report any un-ended spans that get
    * garbage collected.
    */
   public static LeakDetectingSpanProcessor create() {
-    return new LeakDetectingSpanProcessor(
-        (message, throwable) ->
-            logger.log(Level.WARNING, "Span garbage collected before being ended.", throwable));
+    return builder().build();
+  }
+
+  /**
+   * Returns a new {@link LeakDetectingSpanProcessorBuilder} to configure a {@link
+   * LeakDetectingSpanProcessor}.
+   */
+  public static LeakDetectingSpanProcessorBuilder builder() {
+    return new LeakDetectingSpanProcessorBuilder();
+  }
+
+  private final int sampleInterval;
+  private final boolean captureStackTracesAfterLeak;
+  private final BiConsumer<String, Throwable> reporter;
+  private final Supplier<MeterProvider> meterProviderSupplier;
+  private final ConcurrentHashMap<String, Boolean> leakedSpanNames = new ConcurrentHashMap<>();
+  // Each processor tracks the spans it saw start, which other processors may track too.
+  private final PendingSpans pendingSpans;
+
+  // Created when the first leak is reported, and again if the MeterProvider changed since.
+  @Nullable private volatile LeakedSpansCounter leakedSpans;
+
+  LeakDetectingSpanProcessor(
+      int sampleInterval,
+      boolean captureStackTracesAfterLeak,
+      Supplier<MeterProvider> meterProviderSupplier) {
+    this(
+        sampleInterval,
+        captureStackTracesAfterLeak,
+        meterProviderSupplier,
+        (message, throwable) -> logger.log(Level.WARNING, message, throwable));
   }
 
   // Visible for testing
   LeakDetectingSpanProcessor(BiConsumer<String, Throwable> reporter) {
-    pendingSpans = PendingSpans.create(reporter);
+    this(1, false, MeterProvider::noop, reporter);
+  }
+
+  // Visible for testing
+  LeakDetectingSpanProcessor(
+      int sampleInterval,
+      boolean captureStackTracesAfterLeak,
+      Supplier<MeterProvider> meterProviderSupplier,
+      BiConsumer<String, Throwable> reporter) {
+    this.sampleInterval = sampleInterval;
+    this.captureStackTracesAfterLeak = captureStackTracesAfterLeak;
+    this.meterProviderSupplier = meterProviderSupplier;
+    this.reporter = reporter;
+    this.pendingSpans = PendingSpans.create(this);
   }
 
   @Override
   public void onStart(Context parentContext, ReadWriteSpan span) {
-    CallerStackTrace caller = new CallerStackTrace(span);
-    StackTraceElement[] stackTrace = caller.getStackTrace();
-
-    // take off the first 3 stack frames, as they are from the SDK itself.
-    caller.setStackTrace(
-        Arrays.copyOfRange(stackTrace, Math.min(3, stackTrace.length), stackTrace.length));
+    if (sampleInterval > 1 && ThreadLocalRandom.current().nextInt(sampleInterval) != 0) {
+      return;
+    }
+    String spanName = span.getName();
+    CallerStackTrace caller = null;
+    if (!captureStackTracesAfterLeak || leakedSpanNames.containsKey(spanName)) {
+      caller = new CallerStackTrace();
+      StackTraceElement[] stackTrace = caller.getStackTrace();
 
-    pendingSpans.put(span, caller);
+      // take off the first 3 stack frames, as they are from the SDK itself.
+      caller.setStackTrace(
+          Arrays.copyOfRange(stackTrace, Math.min(3, stackTrace.length), stackTrace.length));
+    }
+    pendingSpans.put(span, new PendingSpan(spanName, span.getSpanContext(), caller));
   }
 
   @Override
@@ -66,7 +129,7 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
 
   @Override
   public void onEnd(ReadableSpan span) {
-    pendingSpans.remove(span).ended = true;
+    pendingSpans.remove(span);
   }
 
   @Override
@@ -74,29 +137,98 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
     return true;
   }
 
-  private static class PendingSpans extends WeakConcurrentMap<ReadableSpan, CallerStackTrace> {
+  /** Stops the thread reporting the leaks of the spans this processor tracks. */
+  @Override
+  public CompletableResultCode shutdown() {
+    pendingSpans.thread.interrupt();
+    return CompletableResultCode.ofSuccess();
+  }
 
-    private final ConcurrentHashMap<WeakKey<ReadableSpan>, CallerStackTrace> map;
-    private final BiConsumer<String, Throwable> reporter;
+  // Called by the cleaner thread.
+  private void reportLeak(PendingSpan pendingSpan) {
+    String spanName = pendingSpan.spanName;
+    boolean firstLeak =
+        !leakedSpanNames.containsKey(spanName)
+            && leakedSpanNames.size() < MAX_LEAKED_SPAN_NAMES
+            && leakedSpanNames.putIfAbsent(spanName, Boolean.TRUE) == null;
+    leakedSpans()
+        .counter
+        .add(
+            1,
+            leakedSpanNames.containsKey(spanName)
+                ? Labels.of("spanName", spanName)
+                : OTHER_SPAN_NAME_LABELS);
+    if (pendingSpan.caller != null) {
+      reporter.accept("Span garbage collected before being ended.", callerError(pendingSpan));
+    } else if (firstLeak && captureStackTracesAfterLeak) {
+      reporter.accept(
+          "Span garbage collected before being ended. Thread: ["
+              + pendingSpan.threadName
+              + "] started span : "
+              + pendingSpan.spanInformation()
+              + ". Stack traces will be captured for spans named "
+              + spanName
+              + " from now on.",
+          null);
+    }
+  }
 
-    @SuppressWarnings("ThreadPriorityCheck")
-    private static PendingSpans create(BiConsumer<String, Throwable> reporter) {
-      PendingSpans pendingSpans = new PendingSpans(new ConcurrentHashMap<>(), reporter);
+  /**
+   * Returns the {@code leakedSpans} counter of the current {@link MeterProvider}. The processor may
+   * be built before the global {@link MeterProvider} is set, so the provider is only resolved when
+   * a leak is reported.
+   */
+  private LeakedSpansCounter leakedSpans() {
+    MeterProvider meterProvider = meterProviderSupplier.get();
+    LeakedSpansCounter current = leakedSpans;
+    if (current == null || current.meterProvider != meterProvider) {
+      current = new LeakedSpansCounter(meterProvider);
+      leakedSpans = current;
+    }
+    return current;
+  }
+
+  private static final class LeakedSpansCounter {
+    private final MeterProvider meterProvider;
+    private final LongCounter counter;
+
+    private LeakedSpansCounter(MeterProvider meterProvider) {
+      this.meterProvider = meterProvider;
+      counter =
+          meterProvider
+              .get("io.opentelemetry.sdk.trace")
+              .longCounterBuilder("leakedSpans")
+              .setUnit("1")
+              .setDescription("The number of spans garbage collected before being ended")
+              .build();
+    }
+  }
+
+  private static class PendingSpans extends WeakConcurrentMap<ReadableSpan, PendingSpan> {
+
+    private final ConcurrentHashMap<WeakKey<ReadableSpan>, PendingSpan> map;
+    private final LeakDetectingSpanProcessor processor;
+    private final Thread thread;
+
+    private static PendingSpans create(LeakDetectingSpanProcessor processor) {
+      PendingSpans pendingSpans = new PendingSpans(new ConcurrentHashMap<>(), processor);
       // Start cleaner thread ourselves to make sure it runs after initializing our fields.
-      Thread thread = new Thread(pendingSpans);
-      thread.setName("weak-ref-cleaner-leakingspandetector");
-      thread.setPriority(Thread.MIN_PRIORITY);
-      thread.setDaemon(true);
-      thread.start();
+      pendingSpans.thread.start();
       return pendingSpans;
     }
 
+    @SuppressWarnings("ThreadPriorityCheck")
     private PendingSpans(
-        ConcurrentHashMap<WeakKey<ReadableSpan>, CallerStackTrace> map,
-        BiConsumer<String, Throwable> reporter) {
+        ConcurrentHashMap<WeakKey<ReadableSpan>, PendingSpan> map,
+        LeakDetectingSpanProcessor processor) {
+      // Keys are not reused through a thread local, which would leak class loaders that unload.
       super(/* cleanerThread= */ false, /* reuseKeys= */ false, map);
       this.map = map;
-      this.reporter = reporter;
+      this.processor = processor;
+      thread = new Thread(this);
+      thread.setName("weak-ref-cleaner-leakingspandetector");
+      thread.setPriority(Thread.MIN_PRIORITY);
+      thread.setDaemon(true);
     }
 
     // Called by cleaner thread.
@@ -106,9 +238,9 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
         while (!Thread.interrupted()) {
           // call blocks until something is GC'd.
           Reference<? extends ReadableSpan> gcdReference = remove();
-          CallerStackTrace caller = map.remove(gcdReference);
-          if (caller != null && !caller.ended) {
-            reporter.accept("Span garbage collected before being ended.", callerError(caller));
+          PendingSpan pendingSpan = map.remove(gcdReference);
+          if (pendingSpan != null) {
+            processor.reportLeak(pendingSpan);
           }
         }
       } catch (InterruptedException ignored) {
@@ -117,30 +249,40 @@ public final class LeakDetectingSpanProcessor implements SpanProcessor {
     }
   }
 
-  private static class CallerStackTrace extends Throwable {
-
-    private static final long serialVersionUID = 1234567896L;
-
+  private static final class PendingSpan {
+    final String spanName;
+    final SpanContext spanContext;
     final String threadName = currentThread().getName();
-    final String spanInformation;
+    @Nullable final CallerStackTrace caller;
 
-    volatile boolean ended;
+    private PendingSpan(
+        String spanName, SpanContext spanContext, @Nullable CallerStackTrace caller) {
+      this.spanName = spanName;
+      this.spanContext = spanContext;
+      this.caller = caller;
+    }
 
-    CallerStackTrace(ReadableSpan span) {
-      super("Thread [" + currentThread().getName() + "] started span : " + span + " here:");
-      this.spanInformation = span.getName() + " [" + span.getSpanContext() + "]";
+    private String spanInformation() {
+      return spanName + " [" + spanContext + "]";
     }
   }
 
-  private static AssertionError callerError(CallerStackTrace caller) {
+  // Only used for its stack trace, the message is built when a leak is reported.
+  private static class CallerStackTrace extends Throwable {
+    private static final long serialVersionUID = 1234567896L;
+  }
+
+  private static AssertionError callerError(PendingSpan pendingSpan) {
     AssertionError toThrow =
         new AssertionError(
             "Span garbage collected before being ended. Thread: ["
-                + caller.threadName
+                + pendingSpan.threadName
                 + "] started span : "
-                + caller.spanInformation
+                + pendingSpan.spanInformation()
                 + " here:");
-    toThrow.setStackTrace(caller.getStackTrace());
+    if (pendingSpan.caller != null) {
+      toThrow.setStackTrace(pendingSpan.caller.getStackTrace());
+    }
     return toThrow;
   }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import javax.annotation.Nullable;
+
+/**
+ * Builder class for the {@link LeakDetectingSpanProcessor}.
+ *
+ * @see LeakDetectingSpanProcessor#builder()
+ */
+public final class LeakDetectingSpanProcessorBuilder {
+
+  private int sampleInterval = 1;
+  private boolean captureStackTracesAfterLeak = false;
+  @Nullable private MeterProvider meterProvider;
+
+  LeakDetectingSpanProcessorBuilder() {}
+
+  /**
+   * Sets the processor to only track one in {@code sampleInterval} randomly chosen spans for
+   * leaks. Spans which are not tracked cost nothing to start. If unset, defaults to {@code 1},
+   * tracking every span.
+   */
+  public LeakDetectingSpanProcessorBuilder setSampleInterval(int sampleInterval) {
+    checkArgument(sampleInterval > 0, "sampleInterval must be positive");
+    this.sampleInterval = sampleInterval;
+    return this;
+  }
+
+  /**
+   * Sets whether to only capture where tracked spans were started once a span with the same name
+   * has leaked. Until then, leaks are only counted and reported with the span name and context.
+   * If unset, defaults to {@code false}, capturing the stack trace of every tracked span.
+   */
+  public LeakDetectingSpanProcessorBuilder setCaptureStackTracesAfterLeak(
+      boolean captureStackTracesAfterLeak) {
+    this.captureStackTracesAfterLeak = captureStackTracesAfterLeak;
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to report the {@code leakedSpans} metric to. If unset, defaults
+   * to {@link GlobalMeterProvider#get()}, resolved when the first leak is reported so that the
+   * processor can be built before the global {@link MeterProvider} is set.
+   */
+  public LeakDetectingSpanProcessorBuilder setMeterProvider(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+    return this;
+  }
+
+  /** Returns a new {@link LeakDetectingSpanProcessor} with the settings of this builder. */
+  public LeakDetectingSpanProcessor build() {
+    MeterProvider meterProvider = this.meterProvider;
+    return new LeakDetectingSpanProcessor(
+        sampleInterval,
+        captureStackTracesAfterLeak,
+        meterProvider != null ? () -> meterProvider : GlobalMeterProvider::get);
+  }
+}
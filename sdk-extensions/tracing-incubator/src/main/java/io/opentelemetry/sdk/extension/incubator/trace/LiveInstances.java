@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.MeterProvider;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The reachable instances of a class, by the {@link MeterProvider} they report to. Asynchronous
+ * instruments are deduplicated by name, so only the observer registered first would ever be called
+ * if every instance registered its own: instead, the first instance reporting to a {@link
+ * MeterProvider} registers observers reporting all of them.
+ */
+final class LiveInstances<T> {
+
+  @GuardedBy("this")
+  private final Map<MeterProvider, Set<T>> instancesByProvider = new WeakHashMap<>();
+
+  /**
+   * Adds an instance reporting to {@code meterProvider}. When it is the first one, {@code
+   * registerObservers} is called with a supplier of the reachable instances reporting to {@code
+   * meterProvider}.
+   */
+  void add(MeterProvider meterProvider, T instance, Consumer<Supplier<List<T>>> registerObservers) {
+    Set<T> instances;
+    boolean first = false;
+    synchronized (this) {
+      instances = instancesByProvider.get(meterProvider);
+      if (instances == null) {
+        instances = Collections.newSetFromMap(new WeakHashMap<>());
+        instancesByProvider.put(meterProvider, instances);
+        first = true;
+      }
+      instances.add(instance);
+    }
+    if (first) {
+      Set<T> registered = instances;
+      registerObservers.accept(() -> snapshot(registered));
+    }
+  }
+
+  private synchronized List<T> snapshot(Set<T> instances) {
+    return new ArrayList<>(instances);
+  }
+}
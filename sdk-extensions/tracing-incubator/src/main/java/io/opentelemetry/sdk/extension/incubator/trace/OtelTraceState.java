@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes the p-value and r-value of the {@code ot} trace state entry, which holds
+ * {@code ;} separated {@code key:value} pairs such as {@code p:2;r:5}. Values are read in place,
+ * without allocating, and other pairs are preserved when writing.
+ */
+final class OtelTraceState {
+
+  static final String TRACE_STATE_KEY = "ot";
+
+  static final int INVALID = -1;
+
+  // The p-value of a zero probability.
+  static final int MAX_P = 63;
+
+  static final int MAX_R = 62;
+
+  private OtelTraceState() {}
+
+  /** Returns the valid p-value of {@code value}, or {@link #INVALID}. */
+  static int getP(@Nullable String value) {
+    return getValue(value, 'p', MAX_P);
+  }
+
+  /** Returns the valid r-value of {@code value}, or {@link #INVALID}. */
+  static int getR(@Nullable String value) {
+    return getValue(value, 'r', MAX_R);
+  }
+
+  /**
+   * Returns the {@code ot} trace state value with the given p-value and r-value, which are omitted
+   * when {@link #INVALID}, followed by the other pairs of {@code value}.
+   */
+  static String serialize(int p, int r, @Nullable String value) {
+    StringBuilder sb = new StringBuilder();
+    if (p != INVALID) {
+      sb.append("p:").append(p);
+    }
+    if (r != INVALID) {
+      if (sb.length() > 0) {
+        sb.append(';');
+      }
+      sb.append("r:").append(r);
+    }
+    if (value != null) {
+      int start = 0;
+      while (start < value.length()) {
+        int end = getEnd(value, start);
+        if (end > start && !isPair(value, start, 'p') && !isPair(value, start, 'r')) {
+          if (sb.length() > 0) {
+            sb.append(';');
+          }
+          sb.append(value, start, end);
+        }
+        start = end + 1;
+      }
+    }
+    return sb.toString();
+  }
+
+  private static int getValue(@Nullable String value, char key, int max) {
+    if (value == null) {
+      return INVALID;
+    }
+    int start = 0;
+    while (start < value.length()) {
+      int end = getEnd(value, start);
+      if (isPair(value, start, key)) {
+        return parseInt(value, start + 2, end, max);
+      }
+      start = end + 1;
+    }
+    return INVALID;
+  }
+
+  private static int getEnd(String value, int start) {
+    int end = value.indexOf(';', start);
+    return end < 0 ? value.length() : end;
+  }
+
+  private static boolean isPair(String value, int start, char key) {
+    return start + 1 < value.length()
+        && value.charAt(start) == key
+        && value.charAt(start + 1) == ':';
+  }
+
+  private static int parseInt(String value, int start, int end, int max) {
+    // Valid values have at most two digits.
+    if (start == end || end - start > 2) {
+      return INVALID;
+    }
+    int result = 0;
+    for (int i = start; i < end; i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return INVALID;
+      }
+      result = result * 10 + (c - '0');
+    }
+    return result <= max ? result : INVALID;
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.internal.RateLimiter;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import java.util.List;
+
+/** A {@link TailSamplingPolicy} which keeps up to a number of traces per second. */
+final class RateLimitingPolicy implements TailSamplingPolicy {
+
+  private final RateLimiter rateLimiter;
+
+  RateLimitingPolicy(double tracesPerSecond, Clock clock) {
+    checkArgument(tracesPerSecond > 0, "tracesPerSecond must be positive");
+    rateLimiter = new RateLimiter(tracesPerSecond, Math.max(tracesPerSecond, 1.0), clock);
+  }
+
+  @Override
+  public boolean shouldKeep(List<ReadableSpan> spans) {
+    return rateLimiter.trySpend(1.0);
+  }
+}
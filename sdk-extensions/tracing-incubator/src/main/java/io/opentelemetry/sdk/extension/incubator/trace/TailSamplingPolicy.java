@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Decides whether to keep a trace buffered by a {@link TailSamplingSpanProcessor}, once its local
+ * root span has ended or it waited for longer than the decision wait.
+ */
+@FunctionalInterface
+public interface TailSamplingPolicy {
+
+  /**
+   * Returns a {@link TailSamplingPolicy} which keeps traces with a span which took at least {@code
+   * threshold}.
+   */
+  static TailSamplingPolicy latencyAtLeast(Duration threshold) {
+    requireNonNull(threshold, "threshold");
+    long thresholdNanos = threshold.toNanos();
+    return spans -> {
+      for (ReadableSpan span : spans) {
+        if (span.getLatencyNanos() >= thresholdNanos) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /** Returns a {@link TailSamplingPolicy} which keeps traces with a span with an error status. */
+  static TailSamplingPolicy errorStatus() {
+    return spans -> {
+      for (ReadableSpan span : spans) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} which keeps traces with a span which has the attribute
+   * {@code key} set to {@code value}.
+   */
+  static <T> TailSamplingPolicy attributeEquals(AttributeKey<T> key, T value) {
+    requireNonNull(key, "key");
+    requireNonNull(value, "value");
+    return spans -> {
+      for (ReadableSpan span : spans) {
+        if (value.equals(span.getAttribute(key))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Returns a {@link TailSamplingPolicy} which keeps up to {@code tracesPerSecond} of the traces it
+   * evaluates. Placed after the other policies of a {@link TailSamplingSpanProcessor}, it keeps a
+   * baseline of the traces none of them kept.
+   */
+  static TailSamplingPolicy rateLimiting(double tracesPerSecond) {
+    return new RateLimitingPolicy(tracesPerSecond, Clock.getDefault());
+  }
+
+  /**
+   * Returns whether to keep the trace made of the given ended spans, in the order they ended. The
+   * local root span is the last one, unless the trace is decided because it waited for too long.
+   */
+  boolean shouldKeep(List<ReadableSpan> spans);
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.metrics.BoundLongCounter;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link SpanProcessor} which buffers the ended spans of each trace and only forwards the traces
+ * kept by its {@link TailSamplingPolicy}s to a downstream {@link SpanProcessor}, usually the one
+ * exporting spans.
+ *
+ * <p>A trace is decided once its local root span ends, or once it has been buffered for longer than
+ * the decision wait. It is kept if any of the policies keeps it, the policies are evaluated in the
+ * order they were added. Spans of a decided trace which end later follow the decision made for the
+ * trace.
+ *
+ * <p>The buffer holds a bounded number of spans, split in shards by trace ID so that spans of
+ * different traces rarely contend when they end. When a shard is full, its oldest traces are
+ * evicted and dropped without being decided, and counted by the {@code tailSampledTraces} metric
+ * with {@code decision=evicted}. Spans of evicted traces which end later are dropped too.
+ *
+ * <p>The downstream processor only sees the end of the spans of kept traces, processors which need
+ * to see spans start should not be used downstream. For the policies to see every trace, spans
+ * must be sampled at their start, e.g. with {@code Sampler.alwaysOn()}.
+ */
+public final class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger logger = Logger.getLogger(TailSamplingSpanProcessor.class.getName());
+
+  // The number of decided traces remembered, so their spans which end late follow the decision.
+  private static final int MAX_DECIDED_TRACES = 10_000;
+
+  // The maximum interval between two checks for traces which waited for the decision wait.
+  private static final long MAX_EXPIRY_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static final String DECISION_LABEL = "decision";
+
+  private static final LiveInstances<TailSamplingSpanProcessor> liveInstances =
+      new LiveInstances<>();
+
+  /**
+   * Returns a new {@link TailSamplingSpanProcessorBuilder} to configure a {@link
+   * TailSamplingSpanProcessor} forwarding kept traces to {@code downstream}.
+   */
+  public static TailSamplingSpanProcessorBuilder builder(SpanProcessor downstream) {
+    return new TailSamplingSpanProcessorBuilder(downstream);
+  }
+
+  private final SpanProcessor downstream;
+  private final List<TailSamplingPolicy> policies;
+  private final int maxBufferedSpans;
+  private final long decisionWaitNanos;
+  private final Clock clock;
+  private final Shard[] shards;
+  private final long expiryCheckIntervalNanos;
+  private final AtomicLong nextExpiryCheckNanos;
+  private final Supplier<MeterProvider> meterProviderSupplier;
+
+  // Created when the first span ends, and again if the MeterProvider changed since.
+  @Nullable private volatile Instruments instruments;
+
+  TailSamplingSpanProcessor(
+      SpanProcessor downstream,
+      List<TailSamplingPolicy> policies,
+      int maxBufferedSpans,
+      long decisionWaitNanos,
+      int shardCount,
+      Clock clock,
+      Supplier<MeterProvider> meterProviderSupplier) {
+    this.downstream = downstream;
+    this.policies = policies;
+    this.maxBufferedSpans = maxBufferedSpans;
+    this.decisionWaitNanos = decisionWaitNanos;
+    this.clock = clock;
+    int shardsLength = Math.min(shardCount, maxBufferedSpans);
+    this.shards = new Shard[shardsLength];
+    for (int i = 0; i < shardsLength; i++) {
+      shards[i] =
+          new Shard(
+              maxBufferedSpans / shardsLength, Math.max(MAX_DECIDED_TRACES / shardsLength, 1));
+    }
+    this.expiryCheckIntervalNanos = Math.min(decisionWaitNanos, MAX_EXPIRY_CHECK_INTERVAL_NANOS);
+    this.nextExpiryCheckNanos = new AtomicLong(clock.nanoTime() + expiryCheckIntervalNanos);
+    this.meterProviderSupplier = meterProviderSupplier;
+  }
+
+  /**
+   * Returns the instruments of the current {@link MeterProvider}. The processor may be built before
+   * the global {@link MeterProvider} is set, so the provider is only resolved when spans end.
+   */
+  private Instruments instruments() {
+    MeterProvider meterProvider = meterProviderSupplier.get();
+    Instruments current = instruments;
+    if (current == null || current.meterProvider != meterProvider) {
+      current = new Instruments(meterProvider, this);
+      instruments = current;
+    }
+    return current;
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {}
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    SpanContext spanContext = span.getSpanContext();
+    if (!spanContext.isSampled()) {
+      return;
+    }
+    // Registers the tailSamplingBufferedSpans observer with the MeterProvider once it is set.
+    instruments();
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    boolean localRoot = !parentSpanContext.isValid() || parentSpanContext.isRemote();
+    String traceId = spanContext.getTraceId();
+    long nowNanos = clock.nanoTime();
+
+    Shard shard = shards[Math.floorMod(traceId.hashCode(), shards.length)];
+    List<PendingTrace> toDecide = new ArrayList<>();
+    boolean kept = false;
+    synchronized (shard.lock) {
+      Boolean decision = shard.decidedTraces.get(traceId);
+      if (decision != null) {
+        kept = decision;
+      } else {
+        List<ReadableSpan> lateSpans = shard.decidingTraces.get(traceId);
+        if (lateSpans != null) {
+          // Forwarded once the policies have decided the trace.
+          lateSpans.add(span);
+          return;
+        }
+        PendingTrace trace = shard.pendingTraces.get(traceId);
+        if (trace == null) {
+          trace = new PendingTrace(traceId, nowNanos);
+          shard.pendingTraces.put(traceId, trace);
+        }
+        trace.spans.add(span);
+        shard.bufferedSpans++;
+        if (localRoot) {
+          shard.pendingTraces.remove(traceId);
+          shard.startDeciding(trace, toDecide);
+        }
+        shard.evictOldestTraces();
+      }
+    }
+    if (kept) {
+      forward(Collections.singletonList(span));
+    }
+    decide(shard, toDecide);
+    decideExpiredTraces(nowNanos);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    decideAll();
+    return downstream.shutdown();
+  }
+
+  /**
+   * Decides all the buffered traces, forwards the kept ones and flushes the downstream processor.
+   */
+  @Override
+  public CompletableResultCode forceFlush() {
+    decideAll();
+    return downstream.forceFlush();
+  }
+
+  // Visible for testing
+  int getBufferedSpans() {
+    int bufferedSpans = 0;
+    for (Shard shard : shards) {
+      synchronized (shard.lock) {
+        bufferedSpans += shard.bufferedSpans;
+      }
+    }
+    return bufferedSpans;
+  }
+
+  private void decideAll() {
+    for (Shard shard : shards) {
+      List<PendingTrace> toDecide = new ArrayList<>();
+      synchronized (shard.lock) {
+        Iterator<PendingTrace> it = shard.pendingTraces.values().iterator();
+        while (it.hasNext()) {
+          PendingTrace trace = it.next();
+          it.remove();
+          shard.startDeciding(trace, toDecide);
+        }
+      }
+      decide(shard, toDecide);
+    }
+  }
+
+  /**
+   * Decides the traces which waited for longer than the decision wait in all shards. Only one
+   * thread checks them at a time, at most every {@link #expiryCheckIntervalNanos}.
+   */
+  private void decideExpiredTraces(long nowNanos) {
+    long nextCheckNanos = nextExpiryCheckNanos.get();
+    if (nowNanos - nextCheckNanos < 0
+        || !nextExpiryCheckNanos.compareAndSet(
+            nextCheckNanos, nowNanos + expiryCheckIntervalNanos)) {
+      return;
+    }
+    for (Shard shard : shards) {
+      List<PendingTrace> toDecide = new ArrayList<>();
+      synchronized (shard.lock) {
+        Iterator<PendingTrace> it = shard.pendingTraces.values().iterator();
+        while (it.hasNext()) {
+          PendingTrace trace = it.next();
+          if (nowNanos - trace.firstEndNanos < decisionWaitNanos) {
+            // Traces are ordered by their first span, the following ones are more recent.
+            break;
+          }
+          it.remove();
+          shard.startDeciding(trace, toDecide);
+        }
+      }
+      decide(shard, toDecide);
+    }
+  }
+
+  /**
+   * Evaluates the policies of traces removed from the buffer of {@code shard}, without holding its
+   * lock, then records the decisions and forwards the spans of the kept traces, including those
+   * which ended in the meantime.
+   */
+  private void decide(Shard shard, List<PendingTrace> traces) {
+    for (PendingTrace trace : traces) {
+      boolean keep = shouldKeep(trace.spans);
+      List<ReadableSpan> lateSpans;
+      synchronized (shard.lock) {
+        lateSpans = shard.decidingTraces.remove(trace.traceId);
+        shard.decidedTraces.put(trace.traceId, keep);
+      }
+      if (keep) {
+        instruments().keptTraces.add(1);
+        forward(trace.spans);
+        if (lateSpans != null) {
+          forward(lateSpans);
+        }
+      } else {
+        instruments().droppedTraces.add(1);
+      }
+    }
+  }
+
+  private boolean shouldKeep(List<ReadableSpan> spans) {
+    for (TailSamplingPolicy policy : policies) {
+      try {
+        if (policy.shouldKeep(spans)) {
+          return true;
+        }
+      } catch (RuntimeException e) {
+        logger.log(Level.WARNING, "TailSamplingPolicy threw an Exception", e);
+      }
+    }
+    return false;
+  }
+
+  private void forward(List<ReadableSpan> spans) {
+    if (!downstream.isEndRequired()) {
+      return;
+    }
+    for (ReadableSpan span : spans) {
+      downstream.onEnd(span);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TailSamplingSpanProcessor{"
+        + "downstream="
+        + downstream
+        + ", policies="
+        + policies
+        + ", maxBufferedSpans="
+        + maxBufferedSpans
+        + ", decisionWaitMillis="
+        + TimeUnit.NANOSECONDS.toMillis(decisionWaitNanos)
+        + '}';
+  }
+
+  /** The buffered and decided traces whose trace ID hashes to the same shard. */
+  private final class Shard {
+    private final Object lock = new Object();
+    private final int maxBufferedSpans;
+
+    // Ordered by the time the first span of each trace ended, which is the eviction order.
+    @GuardedBy("lock")
+    private final LinkedHashMap<String, PendingTrace> pendingTraces = new LinkedHashMap<>();
+
+    // The traces whose policies are being evaluated, with their spans which ended meanwhile.
+    @GuardedBy("lock")
+    private final Map<String, List<ReadableSpan>> decidingTraces = new HashMap<>();
+
+    @GuardedBy("lock")
+    private final LinkedHashMap<String, Boolean> decidedTraces;
+
+    @GuardedBy("lock")
+    private int bufferedSpans;
+
+    private Shard(int maxBufferedSpans, int maxDecidedTraces) {
+      this.maxBufferedSpans = maxBufferedSpans;
+      this.decidedTraces =
+          new LinkedHashMap<String, Boolean>() {
+            private static final long serialVersionUID = 0L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+              return size() > maxDecidedTraces;
+            }
+          };
+    }
+
+    /** Moves a trace removed from the buffer to the traces being decided. */
+    @GuardedBy("lock")
+    private void startDeciding(PendingTrace trace, List<PendingTrace> toDecide) {
+      bufferedSpans -= trace.spans.size();
+      decidingTraces.put(trace.traceId, new ArrayList<>());
+      toDecide.add(trace);
+    }
+
+    @GuardedBy("lock")
+    private void evictOldestTraces() {
+      Iterator<PendingTrace> it = pendingTraces.values().iterator();
+      while (bufferedSpans > maxBufferedSpans && it.hasNext()) {
+        PendingTrace trace = it.next();
+        it.remove();
+        bufferedSpans -= trace.spans.size();
+        // So that spans of the trace which end later are dropped, instead of starting a new trace
+        // which could be kept without its evicted spans.
+        decidedTraces.put(trace.traceId, false);
+        instruments().evictedTraces.add(1);
+      }
+    }
+  }
+
+  private static final class Instruments {
+    private final MeterProvider meterProvider;
+    private final BoundLongCounter keptTraces;
+    private final BoundLongCounter droppedTraces;
+    private final BoundLongCounter evictedTraces;
+
+    private Instruments(MeterProvider meterProvider, TailSamplingSpanProcessor processor) {
+      this.meterProvider = meterProvider;
+      Meter meter = meterProvider.get("io.opentelemetry.sdk.trace");
+      liveInstances.add(
+          meterProvider,
+          processor,
+          processors ->
+              meter
+                  .longValueObserverBuilder("tailSamplingBufferedSpans")
+                  .setDescription("The number of spans buffered until their trace is decided")
+                  .setUnit("1")
+                  .setUpdater(
+                      result -> {
+                        long bufferedSpans = 0;
+                        for (TailSamplingSpanProcessor live : processors.get()) {
+                          bufferedSpans += live.getBufferedSpans();
+                        }
+                        result.observe(bufferedSpans, Labels.empty());
+                      })
+                  .build());
+      LongCounter tracesCounter =
+          meter
+              .longCounterBuilder("tailSampledTraces")
+              .setUnit("1")
+              .setDescription(
+                  "The number of traces decided by the TailSamplingSpanProcessor. "
+                      + "[decision=evicted if they were dropped as the buffer was full]")
+              .build();
+      keptTraces = tracesCounter.bind(Labels.of(DECISION_LABEL, "kept"));
+      droppedTraces = tracesCounter.bind(Labels.of(DECISION_LABEL, "dropped"));
+      evictedTraces = tracesCounter.bind(Labels.of(DECISION_LABEL, "evicted"));
+    }
+  }
+
+  private static final class PendingTrace {
+    final String traceId;
+    final long firstEndNanos;
+    final List<ReadableSpan> spans = new ArrayList<>();
+
+    PendingTrace(String traceId, long firstEndNanos) {
+      this.traceId = traceId;
+      this.firstEndNanos = firstEndNanos;
+    }
+  }
+}
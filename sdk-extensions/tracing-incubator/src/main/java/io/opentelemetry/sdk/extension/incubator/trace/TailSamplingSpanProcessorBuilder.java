@@ -0,0 +1,129 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Builder class for the {@link TailSamplingSpanProcessor}.
+ *
+ * @see TailSamplingSpanProcessor#builder(SpanProcessor)
+ */
+public final class TailSamplingSpanProcessorBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_MAX_BUFFERED_SPANS = 10_000;
+  // Visible for testing
+  static final long DEFAULT_DECISION_WAIT_MILLIS = 30_000;
+  // The number of shards the buffer is split in, each holding an equal part of the spans.
+  private static final int DEFAULT_SHARD_COUNT = 16;
+
+  private final SpanProcessor downstream;
+  private final List<TailSamplingPolicy> policies = new ArrayList<>();
+  private int maxBufferedSpans = DEFAULT_MAX_BUFFERED_SPANS;
+  private long decisionWaitNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECISION_WAIT_MILLIS);
+  private int shardCount = DEFAULT_SHARD_COUNT;
+  private Clock clock = Clock.getDefault();
+  @Nullable private MeterProvider meterProvider;
+
+  TailSamplingSpanProcessorBuilder(SpanProcessor downstream) {
+    this.downstream = requireNonNull(downstream, "downstream");
+  }
+
+  /**
+   * Adds a {@link TailSamplingPolicy} keeping traces. A trace is kept if any policy keeps it, the
+   * policies being evaluated in the order they are added. If no policy is added, no trace is kept.
+   */
+  public TailSamplingSpanProcessorBuilder addPolicy(TailSamplingPolicy policy) {
+    policies.add(requireNonNull(policy, "policy"));
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of ended spans buffered until their trace is decided. The buffer is
+   * split in shards by trace ID, when a shard is full its oldest traces are dropped. If unset,
+   * defaults to {@value DEFAULT_MAX_BUFFERED_SPANS}.
+   */
+  public TailSamplingSpanProcessorBuilder setMaxBufferedSpans(int maxBufferedSpans) {
+    checkArgument(maxBufferedSpans > 0, "maxBufferedSpans must be positive");
+    this.maxBufferedSpans = maxBufferedSpans;
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the local root span of a trace to end, from the end of its
+   * first span. Traces which waited for longer are decided with the spans which ended so far. If
+   * unset, defaults to {@value DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(long decisionWait, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(decisionWait >= 0, "decisionWait must be non-negative");
+    this.decisionWaitNanos = unit.toNanos(decisionWait);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time to wait for the local root span of a trace to end, from the end of its
+   * first span. Traces which waited for longer are decided with the spans which ended so far. If
+   * unset, defaults to {@value DEFAULT_DECISION_WAIT_MILLIS}ms.
+   */
+  public TailSamplingSpanProcessorBuilder setDecisionWait(Duration decisionWait) {
+    requireNonNull(decisionWait, "decisionWait");
+    return setDecisionWait(decisionWait.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  TailSamplingSpanProcessorBuilder setShardCount(int shardCount) {
+    checkArgument(shardCount > 0, "shardCount must be positive");
+    this.shardCount = shardCount;
+    return this;
+  }
+
+  /**
+   * Sets the {@link Clock} measuring how long traces waited to be decided. If unset, defaults to
+   * {@link Clock#getDefault()}.
+   */
+  public TailSamplingSpanProcessorBuilder setClock(Clock clock) {
+    this.clock = requireNonNull(clock, "clock");
+    return this;
+  }
+
+  /**
+   * Sets the {@link MeterProvider} to report the {@code tailSampledTraces} and {@code
+   * tailSamplingBufferedSpans} metrics to. If unset, defaults to {@link GlobalMeterProvider#get()},
+   * resolved when the first span ends so that the processor can be built before the global {@link
+   * MeterProvider} is set.
+   */
+  public TailSamplingSpanProcessorBuilder setMeterProvider(MeterProvider meterProvider) {
+    this.meterProvider = requireNonNull(meterProvider, "meterProvider");
+    return this;
+  }
+
+  /** Returns a new {@link TailSamplingSpanProcessor} with the settings of this builder. */
+  public TailSamplingSpanProcessor build() {
+    MeterProvider meterProvider = this.meterProvider;
+    return new TailSamplingSpanProcessor(
+        downstream,
+        Collections.unmodifiableList(new ArrayList<>(policies)),
+        maxBufferedSpans,
+        decisionWaitNanos,
+        shardCount,
+        clock,
+        meterProvider != null ? () -> meterProvider : GlobalMeterProvider::get);
+  }
+}
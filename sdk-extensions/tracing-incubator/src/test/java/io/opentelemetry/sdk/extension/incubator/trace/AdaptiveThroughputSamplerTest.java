@@ -0,0 +1,206 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveThroughputSamplerTest {
+
+  private final TestClock clock = TestClock.create();
+  private final IdGenerator idGenerator = IdGenerator.random();
+
+  private final AdaptiveThroughputSampler sampler =
+      AdaptiveThroughputSampler.builder(100)
+          .setWindow(Duration.ofSeconds(10))
+          .setMaxSpanNames(3)
+          .setClock(clock)
+          .setMeterProvider(MeterProvider.noop())
+          .build();
+
+  @Test
+  void invalidArguments() {
+    assertThatThrownBy(() -> AdaptiveThroughputSampler.builder(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> AdaptiveThroughputSampler.builder(1).setMaxSpanNames(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> AdaptiveThroughputSampler.builder(1).setWindow(Duration.ZERO))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void newSpanNamesSampledEntirely() {
+    for (int i = 0; i < 1000; i++) {
+      assertThat(shouldSample("span")).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    }
+    assertThat(sampler.getProbability("span")).isEqualTo(1.0);
+  }
+
+  @Test
+  void sharesBudgetFairly() {
+    for (int interval = 0; interval < 2 * AdaptiveThroughputSampler.WINDOW_INTERVALS; interval++) {
+      for (int i = 0; i < 1000; i++) {
+        shouldSample("busy");
+      }
+      for (int i = 0; i < 10; i++) {
+        shouldSample("quiet");
+      }
+      clock.advance(Duration.ofSeconds(1));
+    }
+    shouldSample("quiet");
+
+    // The quiet span name fits in half of the budget, the busy one gets what's left.
+    assertThat(sampler.getProbability("quiet")).isEqualTo(1.0);
+    assertThat(sampler.getProbability("busy")).isCloseTo(0.09, within(0.001));
+
+    int sampled = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (shouldSample("busy") == SamplingDecision.RECORD_AND_SAMPLE) {
+        sampled++;
+      }
+    }
+    assertThat(sampled).isBetween(800, 1000);
+  }
+
+  @Test
+  void overflowingSpanNamesShareProbability() {
+    for (int interval = 0; interval < AdaptiveThroughputSampler.WINDOW_INTERVALS; interval++) {
+      for (int i = 0; i < 10; i++) {
+        shouldSample("a");
+        shouldSample("b");
+        shouldSample("c");
+      }
+      for (int i = 0; i < 1000; i++) {
+        shouldSample("name" + (i % 100));
+      }
+      clock.advance(Duration.ofSeconds(1));
+    }
+    shouldSample("a");
+
+    assertThat(sampler.getSpanNameCount()).isEqualTo(3);
+    assertThat(sampler.getProbability("a")).isEqualTo(1.0);
+    assertThat(sampler.getProbability("name0")).isCloseTo(0.07, within(0.002));
+    assertThat(sampler.getProbability(AdaptiveThroughputSampler.OTHER_SPAN_NAMES))
+        .isCloseTo(0.07, within(0.002));
+  }
+
+  @Test
+  void ratesUseElapsedTime() {
+    for (int i = 0; i < 1000; i++) {
+      shouldSample("busy");
+    }
+    // No span starts during the next two intervals, the adjustment covers all three of them.
+    clock.advance(Duration.ofSeconds(3));
+    shouldSample("busy");
+
+    assertThat(sampler.getProbability("busy")).isCloseTo(0.3, within(0.001));
+  }
+
+  @Test
+  void idleSpanNamesLeaveTable() {
+    shouldSample("idle1");
+    shouldSample("idle2");
+    for (int interval = 0; interval <= AdaptiveThroughputSampler.WINDOW_INTERVALS; interval++) {
+      shouldSample("active");
+      clock.advance(Duration.ofSeconds(1));
+    }
+    shouldSample("active");
+
+    assertThat(sampler.getSpanNameCount()).isEqualTo(1);
+    assertThat(sampler.getProbability("active")).isEqualTo(1.0);
+  }
+
+  @Test
+  void description() {
+    assertThat(sampler.getDescription())
+        .isEqualTo("AdaptiveThroughputSampler{spansPerSecond=100.000, windowMillis=10000}");
+  }
+
+  @Test
+  void probabilityReportedForEverySampler() {
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+    AdaptiveThroughputSampler first =
+        AdaptiveThroughputSampler.builder(100)
+            .setClock(clock)
+            .setMeterProvider(meterProvider)
+            .build();
+    AdaptiveThroughputSampler second =
+        AdaptiveThroughputSampler.builder(100)
+            .setClock(clock)
+            .setMeterProvider(meterProvider)
+            .build();
+    // The observer is registered by the first adjustment.
+    clock.advance(Duration.ofSeconds(1));
+    shouldSample(first, "span");
+    shouldSample(second, "span");
+
+    MetricData probability =
+        meterProvider.collectAllMetrics().stream()
+            .filter(metric -> metric.getName().equals("adaptiveSamplerProbability"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+
+    // Each sampler reports the probability of the span names it didn't track.
+    assertThat(
+            probability.getDoubleGaugeData().getPoints().stream()
+                .map(point -> point.getAttributes().get(AttributeKey.stringKey("sampler")))
+                .distinct()
+                .count())
+        .isEqualTo(2);
+    // The observer only references the samplers weakly, keep them reachable until collected.
+    assertThat(first).isNotSameAs(second);
+  }
+
+  @Test
+  void probabilityReportedToMeterProviderSetAfterBuild() {
+    AdaptiveThroughputSampler globalSampler =
+        AdaptiveThroughputSampler.builder(100).setClock(clock).build();
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+    GlobalMeterProvider.set(meterProvider);
+    try {
+      clock.advance(Duration.ofSeconds(1));
+      shouldSample(globalSampler, "span");
+    } finally {
+      GlobalMeterProvider.set(null);
+    }
+
+    assertThat(meterProvider.collectAllMetrics())
+        .extracting(MetricData::getName)
+        .contains("adaptiveSamplerProbability");
+  }
+
+  private SamplingDecision shouldSample(String name) {
+    return shouldSample(sampler, name);
+  }
+
+  private SamplingDecision shouldSample(AdaptiveThroughputSampler sampler, String name) {
+    return sampler
+        .shouldSample(
+            Context.root(),
+            idGenerator.generateTraceId(),
+            name,
+            SpanKind.INTERNAL,
+            Attributes.empty(),
+            Collections.emptyList())
+        .getDecision();
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import java.util.Collections;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ConsistentSamplerTest {
+
+  // The random part of the trace ID has 5 leading zeros.
+  private static final String TRACE_ID = "5b8aa5a2d2c872e80400000000000000";
+  private static final int R = 5;
+
+  private final IdGenerator idGenerator = IdGenerator.random();
+
+  @Test
+  void invalidArguments() {
+    assertThatThrownBy(() -> ConsistentSampler.probabilityBased(-0.1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ConsistentSampler.probabilityBased(1.1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ConsistentSampler.parentBased(null))
+        .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  void randomValueFromTraceId() {
+    assertThat(ConsistentSampler.getRandomValue(TRACE_ID)).isEqualTo(R);
+    assertThat(ConsistentSampler.getRandomValue("0000000000000000ffffffffffffffff")).isEqualTo(0);
+    assertThat(ConsistentSampler.getRandomValue("0000000000000000000000000000000f"))
+        .isEqualTo(60);
+    assertThat(ConsistentSampler.getRandomValue("ffffffffffffffff0000000000000000"))
+        .isEqualTo(OtelTraceState.MAX_R);
+  }
+
+  @Test
+  void parseOtelTraceState() {
+    assertThat(OtelTraceState.getP("p:2;r:5")).isEqualTo(2);
+    assertThat(OtelTraceState.getR("p:2;r:5")).isEqualTo(5);
+    assertThat(OtelTraceState.getP("x:1;p:63")).isEqualTo(63);
+    assertThat(OtelTraceState.getP("p:64")).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.getR("r:63")).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.getR("r:")).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.getR("r:1x")).isEqualTo(OtelTraceState.INVALID);
+    assertThat(OtelTraceState.getP(null)).isEqualTo(OtelTraceState.INVALID);
+
+    assertThat(OtelTraceState.serialize(3, 7, "x:1;p:2;r:5;y:z")).isEqualTo("p:3;r:7;x:1;y:z");
+    assertThat(OtelTraceState.serialize(OtelTraceState.INVALID, 7, "p:2;;k:v"))
+        .isEqualTo("r:7;k:v");
+  }
+
+  @Test
+  void probabilityBased() {
+    SamplingResult result = shouldSample(ConsistentSampler.probabilityBased(0.25), Context.root());
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(result.getUpdatedTraceState(TraceState.getDefault()).get("ot"))
+        .isEqualTo("p:2;r:5");
+
+    result = shouldSample(ConsistentSampler.probabilityBased(1.0 / 64), Context.root());
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+    assertThat(result.getUpdatedTraceState(TraceState.getDefault()).get("ot")).isEqualTo("r:5");
+
+    assertThat(shouldSample(ConsistentSampler.alwaysOn(), Context.root()).getDecision())
+        .isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(shouldSample(ConsistentSampler.alwaysOff(), Context.root()).getDecision())
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void probabilityBasedMeetsProbability() {
+    ConsistentSampler sampler = ConsistentSampler.probabilityBased(0.3);
+    int sampled = 0;
+    int numSpans = 100_000;
+    for (int i = 0; i < numSpans; i++) {
+      SamplingResult result =
+          sampler.shouldSample(
+              Context.root(),
+              idGenerator.generateTraceId(),
+              "span",
+              SpanKind.INTERNAL,
+              Attributes.empty(),
+              Collections.emptyList());
+      if (result.getDecision() == SamplingDecision.RECORD_AND_SAMPLE) {
+        sampled++;
+        // 0.3 is sampled with the p-values of 0.5 and 0.25.
+        String otelTraceState = result.getUpdatedTraceState(TraceState.getDefault()).get("ot");
+        assertThat(OtelTraceState.getP(otelTraceState)).isBetween(1, 2);
+      }
+    }
+    assertThat((double) sampled / numSpans).isCloseTo(0.3, within(0.01));
+  }
+
+  @Test
+  void usesPropagatedRandomValue() {
+    Context parent = parent(true, "r:1");
+    SamplingResult result = shouldSample(ConsistentSampler.probabilityBased(0.25), parent);
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.DROP);
+    assertThat(result.getUpdatedTraceState(traceState("r:1"))).isEqualTo(traceState("r:1"));
+  }
+
+  @Test
+  void parentBasedPropagatesP() {
+    ConsistentSampler sampler =
+        ConsistentSampler.parentBased(ConsistentSampler.probabilityBased(1.0 / 64));
+
+    SamplingResult result = shouldSample(sampler, parent(true, "p:3;r:5;x:1"));
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    TraceState parentTraceState = traceState("p:3;r:5;x:1");
+    assertThat(result.getUpdatedTraceState(parentTraceState)).isSameAs(parentTraceState);
+
+    // The root sampler decides for root spans.
+    assertThat(shouldSample(sampler, Context.root()).getDecision())
+        .isEqualTo(SamplingDecision.DROP);
+    assertThat(shouldSample(sampler, parent(false, "r:5")).getDecision())
+        .isEqualTo(SamplingDecision.DROP);
+  }
+
+  @Test
+  void parentBasedErasesUnknownP() {
+    ConsistentSampler sampler = ConsistentSampler.parentBased(ConsistentSampler.alwaysOff());
+
+    // A p-value above the r-value is inconsistent.
+    SamplingResult result = shouldSample(sampler, parent(true, "p:6;r:5;x:1"));
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(result.getUpdatedTraceState(traceState("p:6;r:5;x:1")).get("ot"))
+        .isEqualTo("r:5;x:1");
+
+    result = shouldSample(sampler, parent(true, null));
+    assertThat(result.getDecision()).isEqualTo(SamplingDecision.RECORD_AND_SAMPLE);
+    assertThat(result.getUpdatedTraceState(TraceState.getDefault()).get("ot")).isEqualTo("r:5");
+  }
+
+  @Test
+  void description() {
+    assertThat(ConsistentSampler.parentBased(ConsistentSampler.probabilityBased(0.5)))
+        .hasToString(
+            "ConsistentParentBasedSampler{"
+                + "rootSampler=ConsistentProbabilityBasedSampler{0.500000}}");
+  }
+
+  private static SamplingResult shouldSample(ConsistentSampler sampler, Context parent) {
+    return sampler.shouldSample(
+        parent, TRACE_ID, "span", SpanKind.INTERNAL, Attributes.empty(), Collections.emptyList());
+  }
+
+  private Context parent(boolean sampled, @Nullable String otelTraceState) {
+    SpanContext spanContext =
+        SpanContext.create(
+            TRACE_ID,
+            idGenerator.generateSpanId(),
+            sampled ? TraceFlags.getSampled() : TraceFlags.getDefault(),
+            otelTraceState == null ? TraceState.getDefault() : traceState(otelTraceState));
+    return Context.root().with(Span.wrap(spanContext));
+  }
+
+  private static TraceState traceState(String otelTraceState) {
+    return TraceState.builder().put("ot", otelTraceState).build();
+  }
+}
@@ -6,9 +6,11 @@
 package io.opentelemetry.sdk.extension.incubator.trace;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 import com.google.common.testing.GcFinalization;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
@@ -16,6 +18,7 @@ import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.Test;
 
 public class LeakDetectingSpanProcessorTest {
@@ -55,6 +58,31 @@ public class LeakDetectingSpanProcessorTest {
             });
   }
 
+  @Test
+  void everyProcessorReportsLeak() {
+    List<String> firstLogs = new CopyOnWriteArrayList<>();
+    List<String> secondLogs = new CopyOnWriteArrayList<>();
+    LeakDetectingSpanProcessor first =
+        new LeakDetectingSpanProcessor((message, callerStackTrace) -> firstLogs.add(message));
+    LeakDetectingSpanProcessor second =
+        new LeakDetectingSpanProcessor((message, callerStackTrace) -> secondLogs.add(message));
+
+    SdkTracerProvider tracerProvider =
+        SdkTracerProvider.builder().addSpanProcessor(first).addSpanProcessor(second).build();
+
+    tracerProvider.get("test").spanBuilder("testSpan").startSpan();
+
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(firstLogs).hasSize(1);
+              assertThat(secondLogs).hasSize(1);
+            });
+    tracerProvider.shutdown();
+  }
+
   @Test
   void garbageCollectedEndedSpan() {
     List<Throwable> logs = new ArrayList<>();
@@ -76,4 +104,94 @@ public class LeakDetectingSpanProcessorTest {
 
     assertThat(logs).isEmpty();
   }
+
+  @Test
+  void builder_invalidArguments() {
+    assertThatThrownBy(() -> LeakDetectingSpanProcessor.builder().setSampleInterval(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("sampleInterval must be positive");
+    assertThatThrownBy(() -> LeakDetectingSpanProcessor.builder().setMeterProvider(null))
+        .isInstanceOf(NullPointerException.class)
+        .hasMessage("meterProvider");
+  }
+
+  @Test
+  void captureStackTracesAfterLeak() {
+    List<String> messages = new CopyOnWriteArrayList<>();
+    List<Throwable> logs = new CopyOnWriteArrayList<>();
+    LeakDetectingSpanProcessor spanProcessor =
+        new LeakDetectingSpanProcessor(
+            1,
+            /* captureStackTracesAfterLeak= */ true,
+            MeterProvider::noop,
+            (message, callerStackTrace) -> {
+              messages.add(message);
+              logs.add(callerStackTrace == null ? new Throwable("none") : callerStackTrace);
+            });
+
+    Tracer tracer =
+        SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build().get("test");
+
+    tracer.spanBuilder("testSpan").startSpan();
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(messages)
+                  .singleElement()
+                  .satisfies(
+                      message ->
+                          assertThat(message)
+                              .matches(
+                                  "Span garbage collected before being ended\\. "
+                                      + "Thread: \\[.*\\] started span : testSpan .*"
+                                      + "Stack traces will be captured for spans named "
+                                      + "testSpan from now on\\."));
+              assertThat(logs.get(0)).hasMessage("none");
+            });
+
+    // Spans with other names still don't capture a stack trace.
+    Span otherSpan = tracer.spanBuilder("otherSpan").startSpan();
+    WeakReference<Span> otherSpanRef = new WeakReference<>(otherSpan);
+    otherSpan.end();
+    otherSpan = null;
+    GcFinalization.awaitClear(otherSpanRef);
+
+    tracer.spanBuilder("testSpan").startSpan();
+    await()
+        .atMost(Duration.ofSeconds(30))
+        .untilAsserted(
+            () -> {
+              System.gc();
+              assertThat(logs).hasSize(2);
+              assertThat(logs.get(1).getMessage())
+                  .matches(
+                      "Span garbage collected before being ended\\. "
+                          + "Thread: \\[.*\\] started span : testSpan .* here:");
+              assertThat(logs.get(1).getStackTrace()).isNotEmpty();
+            });
+  }
+
+  @Test
+  void unsampledSpanNotTracked() {
+    List<Throwable> logs = new ArrayList<>();
+    LeakDetectingSpanProcessor spanProcessor =
+        new LeakDetectingSpanProcessor(
+            Integer.MAX_VALUE,
+            /* captureStackTracesAfterLeak= */ false,
+            MeterProvider::noop,
+            (message, callerStackTrace) -> logs.add(callerStackTrace));
+
+    Tracer tracer =
+        SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build().get("test");
+
+    Span testSpan = tracer.spanBuilder("testSpan").startSpan();
+    WeakReference<Span> spanRef = new WeakReference<>(testSpan);
+    testSpan = null;
+
+    GcFinalization.awaitClear(spanRef);
+
+    assertThat(logs).isEmpty();
+  }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.incubator.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TailSamplingSpanProcessorTest {
+
+  private final TestClock clock = TestClock.create();
+  private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+
+  private TailSamplingSpanProcessorBuilder builder;
+
+  @BeforeEach
+  void setUp() {
+    builder =
+        TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter))
+            .setClock(clock)
+            .setMeterProvider(MeterProvider.noop());
+  }
+
+  @Test
+  void builder_invalidArguments() {
+    assertThatThrownBy(() -> TailSamplingSpanProcessor.builder(null))
+        .isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> builder.addPolicy(null)).isInstanceOf(NullPointerException.class);
+    assertThatThrownBy(() -> builder.setMaxBufferedSpans(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.setDecisionWait(-1, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> TailSamplingPolicy.rateLimiting(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void keepsSlowTraces() {
+    Tracer tracer =
+        tracer(builder.addPolicy(TailSamplingPolicy.latencyAtLeast(Duration.ofSeconds(1))));
+
+    Span slowRoot = tracer.spanBuilder("slowRoot").startSpan();
+    Span slowChild =
+        tracer.spanBuilder("slowChild").setParent(Context.root().with(slowRoot)).startSpan();
+    clock.advance(Duration.ofSeconds(2));
+    slowChild.end();
+    slowRoot.end();
+
+    Span fastRoot = tracer.spanBuilder("fastRoot").startSpan();
+    tracer.spanBuilder("fastChild").setParent(Context.root().with(fastRoot)).startSpan().end();
+    fastRoot.end();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("slowChild", "slowRoot");
+  }
+
+  @Test
+  void keepsErrorAndAttributeTraces() {
+    AttributeKey<String> tenant = AttributeKey.stringKey("tenant");
+    Tracer tracer =
+        tracer(
+            builder
+                .addPolicy(TailSamplingPolicy.errorStatus())
+                .addPolicy(TailSamplingPolicy.attributeEquals(tenant, "vip")));
+
+    Span errorRoot = tracer.spanBuilder("errorRoot").startSpan();
+    tracer
+        .spanBuilder("errorChild")
+        .setParent(Context.root().with(errorRoot))
+        .startSpan()
+        .setStatus(StatusCode.ERROR)
+        .end();
+    errorRoot.end();
+    tracer.spanBuilder("vip").setAttribute(tenant, "vip").startSpan().end();
+    tracer.spanBuilder("other").setAttribute(tenant, "other").startSpan().end();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("errorChild", "errorRoot", "vip");
+  }
+
+  @Test
+  void rateLimitsTraces() {
+    Tracer tracer = tracer(builder.addPolicy(new RateLimitingPolicy(1, clock)));
+
+    tracer.spanBuilder("first").startSpan().end();
+    tracer.spanBuilder("second").startSpan().end();
+    clock.advance(Duration.ofSeconds(1));
+    tracer.spanBuilder("third").startSpan().end();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("first", "third");
+  }
+
+  @Test
+  void lateSpansFollowDecision() {
+    Tracer tracer =
+        tracer(
+            builder.addPolicy(
+                TailSamplingPolicy.attributeEquals(AttributeKey.booleanKey("keep"), true)));
+
+    Span keptRoot = tracer.spanBuilder("keptRoot").setAttribute("keep", true).startSpan();
+    Span keptChild =
+        tracer.spanBuilder("keptChild").setParent(Context.root().with(keptRoot)).startSpan();
+    Span droppedRoot = tracer.spanBuilder("droppedRoot").startSpan();
+    Span droppedChild =
+        tracer.spanBuilder("droppedChild").setParent(Context.root().with(droppedRoot)).startSpan();
+    keptRoot.end();
+    droppedRoot.end();
+    keptChild.end();
+    droppedChild.end();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("keptRoot", "keptChild");
+  }
+
+  @Test
+  void decidesTracesAfterDecisionWait() {
+    TailSamplingSpanProcessor processor =
+        builder.addPolicy(spans -> true).setDecisionWait(Duration.ofSeconds(10)).build();
+    Tracer tracer = tracer(processor);
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+    assertThat(processor.getBufferedSpans()).isEqualTo(1);
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+    clock.advance(Duration.ofSeconds(10));
+    tracer.spanBuilder("other").startSpan().end();
+
+    assertThat(processor.getBufferedSpans()).isZero();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("other", "child");
+  }
+
+  @Test
+  void evictsOldestTraces() {
+    TailSamplingSpanProcessor processor =
+        builder.addPolicy(spans -> true).setMaxBufferedSpans(2).setShardCount(1).build();
+    Tracer tracer = tracer(processor);
+
+    Span[] roots = new Span[3];
+    for (int i = 0; i < 3; i++) {
+      roots[i] = tracer.spanBuilder("root" + i).startSpan();
+      tracer.spanBuilder("child" + i).setParent(Context.root().with(roots[i])).startSpan().end();
+    }
+    assertThat(processor.getBufferedSpans()).isEqualTo(2);
+
+    // The evicted trace is dropped, its late spans don't start a new trace.
+    roots[0].end();
+    assertThat(processor.getBufferedSpans()).isEqualTo(2);
+    assertThat(exporter.getFinishedSpanItems()).isEmpty();
+
+    processor.forceFlush().join(10, TimeUnit.SECONDS);
+
+    assertThat(processor.getBufferedSpans()).isZero();
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("child1", "child2");
+  }
+
+  @Test
+  void spansEndingWhileDecidingFollowDecision() throws Exception {
+    CountDownLatch deciding = new CountDownLatch(1);
+    CountDownLatch lateSpanEnded = new CountDownLatch(1);
+    TailSamplingSpanProcessor processor =
+        builder
+            .addPolicy(
+                spans -> {
+                  if (deciding.getCount() > 0) {
+                    deciding.countDown();
+                    try {
+                      lateSpanEnded.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                  }
+                  return true;
+                })
+            .build();
+    Tracer tracer = tracer(processor);
+
+    Span root = tracer.spanBuilder("root").startSpan();
+    Span child = tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan();
+    Thread rootEnd = new Thread(root::end);
+    rootEnd.start();
+    // The policies are evaluated without holding a lock, spans of other traces end meanwhile.
+    assertThat(deciding.await(10, TimeUnit.SECONDS)).isTrue();
+    tracer.spanBuilder("other").startSpan().end();
+    child.end();
+    lateSpanEnded.countDown();
+    rootEnd.join();
+
+    assertThat(exporter.getFinishedSpanItems())
+        .extracting(SpanData::getName)
+        .containsExactly("other", "root", "child");
+  }
+
+  @Test
+  void reportsToMeterProviderSetAfterBuild() {
+    Tracer tracer =
+        tracer(
+            TailSamplingSpanProcessor.builder(SimpleSpanProcessor.create(exporter))
+                .setClock(clock)
+                .build());
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+    GlobalMeterProvider.set(meterProvider);
+    try {
+      tracer.spanBuilder("root").startSpan().end();
+    } finally {
+      GlobalMeterProvider.set(null);
+    }
+
+    assertThat(meterProvider.collectAllMetrics())
+        .extracting(MetricData::getName)
+        .contains("tailSampledTraces", "tailSamplingBufferedSpans");
+  }
+
+  private Tracer tracer(TailSamplingSpanProcessorBuilder processorBuilder) {
+    return tracer(processorBuilder.build());
+  }
+
+  private Tracer tracer(TailSamplingSpanProcessor processor) {
+    return SdkTracerProvider.builder()
+        .setClock(clock)
+        .addSpanProcessor(processor)
+        .build()
+        .get("test");
+  }
+}
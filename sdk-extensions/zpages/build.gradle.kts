@@ -11,6 +11,8 @@ otelJava.moduleName.set("io.opentelemetry.sdk.extension.zpages")
 dependencies {
     implementation(project(":api:all"))
     implementation(project(":sdk:all"))
+    implementation(project(":api:metrics"))
+    implementation(project(":sdk:metrics"))
 
     testImplementation(project(":sdk:testing"))
 
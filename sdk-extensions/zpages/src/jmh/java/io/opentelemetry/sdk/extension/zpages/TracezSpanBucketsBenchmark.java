@@ -21,17 +21,22 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
-/** Benchmark class for {@link TracezSpanBuckets}. */
+/**
+ * Benchmark class for {@link TracezSpanBuckets}, and for {@link TracezSpanProcessor#onEnd} which
+ * adds ended spans to them.
+ */
 @State(Scope.Benchmark)
 public class TracezSpanBucketsBenchmark {
 
   private static final String spanName = "BENCHMARK_SPAN";
   private static ReadableSpan readableSpan;
   private TracezSpanBuckets bucket;
+  private TracezSpanProcessor spanProcessor;
 
   @Setup(Level.Trial)
   public final void setup() {
     bucket = new TracezSpanBuckets();
+    spanProcessor = TracezSpanProcessor.builder().build();
     Tracer tracer = SdkTracerProvider.builder().build().get("TracezZPageBenchmark");
     Span span = tracer.spanBuilder(spanName).startSpan();
     span.end();
@@ -77,4 +82,44 @@ public class TracezSpanBucketsBenchmark {
   public void addToBucket_20Threads() {
     bucket.addToBucket(readableSpan);
   }
+
+  @Benchmark
+  @Threads(value = 1)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void onEnd_01Thread() {
+    spanProcessor.onEnd(readableSpan);
+  }
+
+  @Benchmark
+  @Threads(value = 5)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void onEnd_05Threads() {
+    spanProcessor.onEnd(readableSpan);
+  }
+
+  @Benchmark
+  @Threads(value = 10)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void onEnd_10Threads() {
+    spanProcessor.onEnd(readableSpan);
+  }
+
+  @Benchmark
+  @Threads(value = 20)
+  @Fork(1)
+  @Warmup(iterations = 5, time = 1)
+  @Measurement(iterations = 10, time = 1)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void onEnd_20Threads() {
+    spanProcessor.onEnd(readableSpan);
+  }
 }
@@ -40,6 +40,9 @@ enum LatencyBoundary {
   /** Stores finished successful requests of duration greater than or equal to 100sec. */
   SECONDx100_MAX(TimeUnit.SECONDS.toNanos(100), Long.MAX_VALUE);
 
+  // values() copies the array on every call.
+  private static final LatencyBoundary[] VALUES = values();
+
   private final long latencyLowerBound;
   private final long latencyUpperBound;
 
@@ -79,7 +82,7 @@ enum LatencyBoundary {
    * @return the LatencyBoundary that latencyNanos falls into.
    */
   static LatencyBoundary getBoundary(long latencyNanos) {
-    for (LatencyBoundary bucket : LatencyBoundary.values()) {
+    for (LatencyBoundary bucket : VALUES) {
       if (latencyNanos >= bucket.getLatencyLowerBound()
           && latencyNanos < bucket.getLatencyUpperBound()) {
         return bucket;
@@ -0,0 +1,330 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.InstrumentStats;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * The zPage displaying, for each instrument of the {@link SdkMeterProvider}, its number of label
+ * sets, its recording rate, its collection time and an estimate of the memory used by its label
+ * sets. The data is read from counters kept by the SDK, instruments are not collected.
+ */
+final class MetriczZPageHandler extends ZPageHandler {
+  /** The columns the instruments can be sorted by. */
+  enum SortColumn {
+    NAME("name"),
+    SERIES("series"),
+    RATE("rate"),
+    COLLECTION("collection");
+
+    private final String value;
+
+    SortColumn(String value) {
+      this.value = value;
+    }
+
+    String getValue() {
+      return value;
+    }
+
+    static SortColumn fromString(@Nullable String str) {
+      for (SortColumn column : values()) {
+        if (column.value.equals(str)) {
+          return column;
+        }
+      }
+      return SERIES;
+    }
+  }
+
+  private static final String METRICZ_URL = "/metricz";
+  private static final String METRICZ_NAME = "MetricZ";
+  private static final String METRICZ_DESCRIPTION =
+      "MetricZ displays the number of label sets, the recording rate and the collection time"
+          + " of each instrument";
+  // Query string parameter name for the column to sort instruments by
+  private static final String PARAM_SORT = "zsort";
+  // Background color used for zebra striping rows of the table
+  private static final String ZEBRA_STRIPE_COLOR = "#e6e6e6";
+  // Rough size of a label set held by an instrument: the map entry, the labels and the aggregator
+  // handle with its accumulated value.
+  // Visible for testing
+  static final long ESTIMATED_BYTES_PER_SERIES = 256;
+  // Minimum interval over which recording rates are computed.
+  private static final long MIN_RATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+  private static final Logger logger = Logger.getLogger(MetriczZPageHandler.class.getName());
+
+  private final Supplier<MeterProvider> meterProviderSupplier;
+  private final Clock clock;
+  private final long startNanos;
+
+  @GuardedBy("this")
+  private final Map<String, RecordingSnapshots> recordingSnapshots = new HashMap<>();
+
+  MetriczZPageHandler(Supplier<MeterProvider> meterProviderSupplier) {
+    this(meterProviderSupplier, Clock.getDefault());
+  }
+
+  // Visible for testing
+  MetriczZPageHandler(Supplier<MeterProvider> meterProviderSupplier, Clock clock) {
+    this.meterProviderSupplier = meterProviderSupplier;
+    this.clock = clock;
+    this.startNanos = clock.nanoTime();
+  }
+
+  @Override
+  public String getUrlPath() {
+    return METRICZ_URL;
+  }
+
+  @Override
+  public String getPageName() {
+    return METRICZ_NAME;
+  }
+
+  @Override
+  public String getPageDescription() {
+    return METRICZ_DESCRIPTION;
+  }
+
+  @Override
+  public void emitHtml(Map<String, String> queryMap, OutputStream outputStream) {
+    // PrintStream for emiting HTML contents
+    try (PrintStream out = new PrintStream(outputStream, /* autoFlush= */ false, "UTF-8")) {
+      out.print("<!DOCTYPE html>");
+      out.print("<html lang=\"en\">");
+      out.print("<head>");
+      out.print("<meta charset=\"UTF-8\">");
+      out.print(
+          "<link rel=\"shortcut icon\" href=\"data:image/png;base64,"
+              + ZPageLogo.getFaviconBase64()
+              + "\" type=\"image/png\">");
+      out.print(
+          "<link href=\"https://fonts.googleapis.com/css?family=Open+Sans:300\""
+              + "rel=\"stylesheet\">");
+      out.print(
+          "<link href=\"https://fonts.googleapis.com/css?family=Roboto\" rel=\"stylesheet\">");
+      out.print("<title>" + METRICZ_NAME + "</title>");
+      out.print("<style>");
+      out.print(ZPageStyle.style);
+      out.print("</style>");
+      out.print("</head>");
+      out.print("<body>");
+      try {
+        emitHtmlBody(queryMap, out);
+      } catch (Throwable t) {
+        out.print("Error while generating HTML: " + t.toString());
+        logger.log(Level.WARNING, "error while generating HTML", t);
+      }
+      out.print("</body>");
+      out.print("</html>");
+    } catch (Throwable t) {
+      logger.log(Level.WARNING, "error while generating HTML", t);
+    }
+  }
+
+  private void emitHtmlBody(Map<String, String> queryMap, PrintStream out) {
+    out.print(
+        "<a href=\"/\"><img style=\"height: 90px;\" src=\"data:image/png;base64,"
+            + ZPageLogo.getLogoBase64()
+            + "\" /></a>");
+    out.print("<h1>MetricZ Summary</h1>");
+    MeterProvider meterProvider = meterProviderSupplier.get();
+    if (!(meterProvider instanceof SdkMeterProvider)) {
+      out.print(
+          "<p class=\"align-center\">No SdkMeterProvider is registered with the"
+              + " GlobalMeterProvider.</p>");
+      return;
+    }
+    out.print(
+        "<p>Recording rates are computed since a previous view of this page, collection times are"
+            + " those of the last collection, memory is estimated from the number of label sets."
+            + "</p>");
+    emitInstrumentTable(
+        out,
+        ((SdkMeterProvider) meterProvider).getInstrumentStats(),
+        SortColumn.fromString(queryMap.get(PARAM_SORT)));
+  }
+
+  private void emitInstrumentTable(
+      PrintStream out, Iterable<InstrumentStats> instrumentStats, SortColumn sortColumn) {
+    long nowNanos = clock.nanoTime();
+    List<InstrumentRow> rows = new ArrayList<>();
+    for (InstrumentStats stats : instrumentStats) {
+      rows.add(new InstrumentRow(stats, getRecordingsPerSecond(stats, nowNanos)));
+    }
+    rows.sort(getComparator(sortColumn));
+
+    out.print("<table style=\"border-spacing: 0; border: 1px solid #363636;\">");
+    out.print("<tr class=\"bg-color\">");
+    out.print("<th class=\"header-text\"><b>Instrumentation Library</b></th>");
+    emitSortableHeader(out, "Instrument", SortColumn.NAME, sortColumn);
+    out.print("<th class=\"header-text border-left-white\"><b>Type</b></th>");
+    emitSortableHeader(out, "Label Sets", SortColumn.SERIES, sortColumn);
+    emitSortableHeader(out, "Recordings/s", SortColumn.RATE, sortColumn);
+    emitSortableHeader(out, "Last Collection", SortColumn.COLLECTION, sortColumn);
+    out.print("<th class=\"header-text border-left-white\"><b>Collections</b></th>");
+    out.print("<th class=\"header-text border-left-white\"><b>Estimated Memory</b></th>");
+    out.print("</tr>");
+
+    boolean zebraStripe = false;
+    for (InstrumentRow row : rows) {
+      InstrumentStats stats = row.stats;
+      if (zebraStripe) {
+        out.print("<tr style=\"background-color: " + ZEBRA_STRIPE_COLOR + "\">");
+      } else {
+        out.print("<tr>");
+      }
+      zebraStripe = !zebraStripe;
+      out.print(
+          "<td>"
+              + TracezZPageHandler.escapeHtml(stats.getInstrumentationLibraryInfo().getName())
+              + "</td>");
+      emitTableCell(
+          out, TracezZPageHandler.escapeHtml(stats.getInstrumentDescriptor().getName()));
+      emitTableCell(out, stats.getInstrumentDescriptor().getType().toString());
+      emitTableCell(out, Long.toString(stats.getSeriesCount()));
+      emitTableCell(out, String.format(Locale.US, "%.2f", row.recordingsPerSecond));
+      emitTableCell(
+          out, String.format(Locale.US, "%.3fms", stats.getLastCollectionNanos() / 1e6));
+      emitTableCell(out, Long.toString(stats.getCollectionCount()));
+      emitTableCell(out, formatBytes(stats.getSeriesCount() * ESTIMATED_BYTES_PER_SERIES));
+      out.print("</tr>");
+    }
+    out.print("</table>");
+  }
+
+  private static void emitSortableHeader(
+      PrintStream out, String title, SortColumn column, SortColumn sortColumn) {
+    out.print("<th class=\"header-text border-left-white\">");
+    if (column == sortColumn) {
+      out.print("<b>" + title + " &#9660;</b>");
+    } else {
+      out.print(
+          "<a style=\"color: #fff;\" href=\"?"
+              + PARAM_SORT
+              + "="
+              + column.getValue()
+              + "\"><b>"
+              + title
+              + "</b></a>");
+    }
+    out.print("</th>");
+  }
+
+  private static void emitTableCell(PrintStream out, String value) {
+    out.print("<td class=\"align-center border-left-dark\">" + value + "</td>");
+  }
+
+  private static Comparator<InstrumentRow> getComparator(SortColumn sortColumn) {
+    Comparator<InstrumentRow> byName =
+        Comparator.comparing((InstrumentRow row) -> row.stats.getInstrumentDescriptor().getName())
+            .thenComparing(row -> row.stats.getInstrumentationLibraryInfo().getName());
+    switch (sortColumn) {
+      case NAME:
+        return byName;
+      case RATE:
+        return Comparator.comparingDouble((InstrumentRow row) -> row.recordingsPerSecond)
+            .reversed()
+            .thenComparing(byName);
+      case COLLECTION:
+        return Comparator.comparingLong(
+                (InstrumentRow row) -> row.stats.getLastCollectionNanos())
+            .reversed()
+            .thenComparing(byName);
+      case SERIES:
+        break;
+    }
+    return Comparator.comparingLong((InstrumentRow row) -> row.stats.getSeriesCount())
+        .reversed()
+        .thenComparing(byName);
+  }
+
+  /**
+   * Returns the recording rate of the instrument since a previous view of the page, at least
+   * {@link #MIN_RATE_INTERVAL_NANOS} ago when possible, or since the creation of this page.
+   */
+  private synchronized double getRecordingsPerSecond(InstrumentStats stats, long nowNanos) {
+    InstrumentationLibraryInfo library = stats.getInstrumentationLibraryInfo();
+    String key =
+        library.getName()
+            + '/'
+            + library.getVersion()
+            + '/'
+            + stats.getInstrumentDescriptor().getName();
+    RecordingSnapshots snapshots = recordingSnapshots.get(key);
+    if (snapshots == null) {
+      snapshots = new RecordingSnapshots(startNanos);
+      recordingSnapshots.put(key, snapshots);
+    }
+    return snapshots.update(stats.getRecordingCount(), nowNanos);
+  }
+
+  private static String formatBytes(long bytes) {
+    if (bytes < 1024) {
+      return bytes + " B";
+    }
+    if (bytes < 1024 * 1024) {
+      return String.format(Locale.US, "%.1f KiB", bytes / 1024.0);
+    }
+    return String.format(Locale.US, "%.1f MiB", bytes / (1024.0 * 1024));
+  }
+
+  private static final class InstrumentRow {
+    private final InstrumentStats stats;
+    private final double recordingsPerSecond;
+
+    private InstrumentRow(InstrumentStats stats, double recordingsPerSecond) {
+      this.stats = stats;
+      this.recordingsPerSecond = recordingsPerSecond;
+    }
+  }
+
+  /** The recording counts of an instrument at the two last views of the page, far enough apart. */
+  private static final class RecordingSnapshots {
+    private long previousCount;
+    private long previousNanos;
+    private long lastCount;
+    private long lastNanos;
+
+    private RecordingSnapshots(long startNanos) {
+      previousNanos = startNanos;
+      lastNanos = startNanos;
+    }
+
+    private double update(long count, long nowNanos) {
+      if (nowNanos - lastNanos >= MIN_RATE_INTERVAL_NANOS) {
+        previousCount = lastCount;
+        previousNanos = lastNanos;
+        lastCount = count;
+        lastNanos = nowNanos;
+      }
+      long elapsedNanos = nowNanos - previousNanos;
+      if (elapsedNanos <= 0) {
+        return 0;
+      }
+      return (count - previousCount) * 1e9 / elapsedNanos;
+    }
+  }
+}
@@ -11,8 +11,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 final class SpanBucket {
-  // A power of 2 means Integer.MAX_VALUE % bucketSize = bucketSize - 1, so the index will always
-  // loop back to 0.
+  // Sizes are powers of 2, so that masking the index loops back to 0 when it overflows.
   private static final int LATENCY_BUCKET_SIZE = 16;
   private static final int ERROR_BUCKET_SIZE = 8;
 
@@ -27,7 +26,7 @@ final class SpanBucket {
   }
 
   void add(ReadableSpan span) {
-    spans.set(remainder(index.getAndIncrement(), bucketSize), span);
+    spans.set(index.getAndIncrement() & (bucketSize - 1), span);
   }
 
   int size() {
@@ -49,8 +48,4 @@ final class SpanBucket {
       }
     }
   }
-
-  private static int remainder(int dividend, int divisor) {
-    return (int) (Integer.toUnsignedLong(dividend) % Integer.toUnsignedLong(divisor));
-  }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Rolling statistics of the completed spans of a span name, over each {@link StatsWindow}.
+ *
+ * <p>Each window is a ring of time slots, holding the number of spans and errors, and a latency
+ * histogram with two buckets per power of two microseconds. Slots are allocated when a first span
+ * ends in them, so span names which rarely end spans only hold a few of them. Recording a span
+ * increments the slot of its end time in each window, without locking. Slots are reset when they
+ * are reused for a new time slot, spans recorded concurrently with the reset may be lost. Reading a
+ * window sums the slots which are still within the window, latency percentiles are interpolated
+ * within histogram buckets.
+ */
+@ThreadSafe
+final class SpanNameStats {
+
+  /** The windows over which statistics are kept. */
+  enum StatsWindow {
+    ONE_MINUTE("1m", TimeUnit.SECONDS.toNanos(10), 6),
+    TEN_MINUTES("10m", TimeUnit.MINUTES.toNanos(2), 5),
+    ONE_HOUR("1h", TimeUnit.MINUTES.toNanos(10), 6);
+
+    private final String label;
+    private final long slotNanos;
+    private final int slots;
+
+    StatsWindow(String label, long slotNanos, int slots) {
+      this.label = label;
+      this.slotNanos = slotNanos;
+      this.slots = slots;
+    }
+
+    String getLabel() {
+      return label;
+    }
+  }
+
+  private static final StatsWindow[] WINDOWS = StatsWindow.values();
+
+  // Buckets of latencies in microseconds, [0, 1), [1, 2), [2, 3), [3, 4), [4, 6), [6, 8), ...
+  private static final int LATENCY_BUCKETS = 64;
+
+  private static final int COUNT = 0;
+  private static final int ERROR_COUNT = 1;
+  private static final int FIRST_LATENCY_BUCKET = 2;
+  private static final int SLOT_LENGTH = FIRST_LATENCY_BUCKET + LATENCY_BUCKETS;
+
+  // Values of each slot of every window, one window after the other, null until first used.
+  private final AtomicReferenceArray<AtomicLongArray> slotValues;
+  // The time slot, in slots since the epoch, held by each slot of every window.
+  private final AtomicLongArray slotEpochs;
+
+  SpanNameStats() {
+    int slots = 0;
+    for (StatsWindow window : WINDOWS) {
+      slots += window.slots;
+    }
+    slotValues = new AtomicReferenceArray<>(slots);
+    slotEpochs = new AtomicLongArray(slots);
+  }
+
+  /** Records a completed span, ended at {@code endEpochNanos}. */
+  void record(long endEpochNanos, long latencyNanos, boolean error) {
+    int latencyBucket = FIRST_LATENCY_BUCKET + getLatencyBucket(latencyNanos);
+    int firstSlot = 0;
+    for (StatsWindow window : WINDOWS) {
+      long slotEpoch = endEpochNanos / window.slotNanos;
+      int slot = firstSlot + (int) (slotEpoch % window.slots);
+      if (acquireSlot(slot, slotEpoch)) {
+        AtomicLongArray values = getOrCreateSlotValues(slot);
+        values.incrementAndGet(COUNT);
+        if (error) {
+          values.incrementAndGet(ERROR_COUNT);
+        }
+        values.incrementAndGet(latencyBucket);
+      }
+      firstSlot += window.slots;
+    }
+  }
+
+  /** Returns the statistics of the spans which ended within {@code window} before {@code now}. */
+  WindowStats getStats(StatsWindow window, long nowEpochNanos) {
+    int firstSlot = 0;
+    for (StatsWindow w : WINDOWS) {
+      if (w == window) {
+        break;
+      }
+      firstSlot += w.slots;
+    }
+    long nowSlotEpoch = nowEpochNanos / window.slotNanos;
+    long count = 0;
+    long errorCount = 0;
+    long[] histogram = new long[LATENCY_BUCKETS];
+    for (int slot = firstSlot; slot < firstSlot + window.slots; slot++) {
+      long slotEpoch = slotEpochs.get(slot);
+      AtomicLongArray values = slotValues.get(slot);
+      if (values == null || slotEpoch <= nowSlotEpoch - window.slots || slotEpoch > nowSlotEpoch) {
+        continue;
+      }
+      count += values.get(COUNT);
+      errorCount += values.get(ERROR_COUNT);
+      for (int i = 0; i < LATENCY_BUCKETS; i++) {
+        histogram[i] += values.get(FIRST_LATENCY_BUCKET + i);
+      }
+    }
+    // The current slot is only partially elapsed.
+    long elapsedNanos =
+        (window.slots - 1) * window.slotNanos + nowEpochNanos % window.slotNanos + 1;
+    return new WindowStats(
+        count,
+        errorCount,
+        count * 1e9 / elapsedNanos,
+        getPercentile(histogram, count, 0.50),
+        getPercentile(histogram, count, 0.90),
+        getPercentile(histogram, count, 0.99));
+  }
+
+  private boolean acquireSlot(int slot, long slotEpoch) {
+    long currentSlotEpoch = slotEpochs.get(slot);
+    while (currentSlotEpoch != slotEpoch) {
+      if (currentSlotEpoch > slotEpoch) {
+        // The span ended before the time slot was reused, it is too late to record it.
+        return false;
+      }
+      if (slotEpochs.compareAndSet(slot, currentSlotEpoch, slotEpoch)) {
+        AtomicLongArray values = slotValues.get(slot);
+        if (values != null) {
+          for (int i = 0; i < SLOT_LENGTH; i++) {
+            values.set(i, 0);
+          }
+        }
+        return true;
+      }
+      currentSlotEpoch = slotEpochs.get(slot);
+    }
+    return true;
+  }
+
+  private AtomicLongArray getOrCreateSlotValues(int slot) {
+    AtomicLongArray values = slotValues.get(slot);
+    if (values != null) {
+      return values;
+    }
+    AtomicLongArray newValues = new AtomicLongArray(SLOT_LENGTH);
+    if (slotValues.compareAndSet(slot, null, newValues)) {
+      return newValues;
+    }
+    // Another thread created the values first.
+    values = slotValues.get(slot);
+    return values != null ? values : newValues;
+  }
+
+  // Visible for testing
+  static int getLatencyBucket(long latencyNanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+    if (micros < 2) {
+      return micros < 0 ? 0 : (int) micros;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int bucket = 2 * exponent + (int) ((micros >> (exponent - 1)) & 1);
+    return Math.min(bucket, LATENCY_BUCKETS - 1);
+  }
+
+  // Visible for testing
+  static long getBucketLowerBoundMicros(int bucket) {
+    if (bucket < 2) {
+      return bucket;
+    }
+    return (2L + (bucket & 1)) << ((bucket >> 1) - 1);
+  }
+
+  private static long getPercentile(long[] histogram, long count, double quantile) {
+    if (count == 0) {
+      return 0;
+    }
+    double rank = quantile * count;
+    long seen = 0;
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      long inBucket = histogram[i];
+      if (inBucket > 0 && seen + inBucket >= rank) {
+        long lowerBound = getBucketLowerBoundMicros(i);
+        // The last bucket is unbounded, its lower bound is the best estimate.
+        long upperBound =
+            i == LATENCY_BUCKETS - 1 ? lowerBound : getBucketLowerBoundMicros(i + 1);
+        double micros = lowerBound + (upperBound - lowerBound) * (rank - seen) / inBucket;
+        return (long) (micros * TimeUnit.MICROSECONDS.toNanos(1));
+      }
+      seen += inBucket;
+    }
+    return TimeUnit.MICROSECONDS.toNanos(getBucketLowerBoundMicros(LATENCY_BUCKETS - 1));
+  }
+
+  /** The statistics of the spans of a span name over a {@link StatsWindow}. */
+  @Immutable
+  static final class WindowStats {
+    private final long count;
+    private final long errorCount;
+    private final double ratePerSecond;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+
+    WindowStats(
+        long count,
+        long errorCount,
+        double ratePerSecond,
+        long p50Nanos,
+        long p90Nanos,
+        long p99Nanos) {
+      this.count = count;
+      this.errorCount = errorCount;
+      this.ratePerSecond = ratePerSecond;
+      this.p50Nanos = p50Nanos;
+      this.p90Nanos = p90Nanos;
+      this.p99Nanos = p99Nanos;
+    }
+
+    long getCount() {
+      return count;
+    }
+
+    long getErrorCount() {
+      return errorCount;
+    }
+
+    double getRatePerSecond() {
+      return ratePerSecond;
+    }
+
+    /** Returns the fraction of the spans which ended with an error, {@code 0} without spans. */
+    double getErrorRate() {
+      return count == 0 ? 0 : (double) errorCount / count;
+    }
+
+    long getP50Nanos() {
+      return p50Nanos;
+    }
+
+    long getP90Nanos() {
+      return p90Nanos;
+    }
+
+    long getP99Nanos() {
+      return p99Nanos;
+    }
+  }
+}
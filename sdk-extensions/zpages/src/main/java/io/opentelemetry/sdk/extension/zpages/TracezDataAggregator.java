@@ -6,15 +6,19 @@
 package io.opentelemetry.sdk.extension.zpages;
 
 import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.StatsWindow;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.WindowStats;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -159,4 +163,26 @@ final class TracezDataAggregator {
     }
     return Collections.unmodifiableList(errorSpans);
   }
+
+  /**
+   * Returns the rolling statistics of the completed spans of each span name, over each {@link
+   * StatsWindow}, from the statistics kept as spans end. The windows end at the current time of the
+   * clock which stamps the spans.
+   *
+   * @return a Map of span names to their statistics for each window, sorted by span name.
+   */
+  Map<String, Map<StatsWindow, WindowStats>> getSpanNameStats() {
+    long nowEpochNanos = spanProcessor.getClock().now();
+    Map<String, TracezSpanBuckets> completedSpanCache = spanProcessor.getCompletedSpanCache();
+    Map<String, Map<StatsWindow, WindowStats>> statsPerName = new TreeMap<>();
+    for (Map.Entry<String, TracezSpanBuckets> cacheEntry : completedSpanCache.entrySet()) {
+      SpanNameStats stats = cacheEntry.getValue().getStats();
+      Map<StatsWindow, WindowStats> statsPerWindow = new EnumMap<>(StatsWindow.class);
+      for (StatsWindow window : StatsWindow.values()) {
+        statsPerWindow.put(window, stats.getStats(window, nowEpochNanos));
+      }
+      statsPerName.put(cacheEntry.getKey(), statsPerWindow);
+    }
+    return statsPerName;
+  }
 }
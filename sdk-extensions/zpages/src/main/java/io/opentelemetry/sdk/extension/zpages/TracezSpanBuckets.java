@@ -7,58 +7,77 @@ package io.opentelemetry.sdk.extension.zpages;
 
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.sdk.trace.ReadableSpan;
-import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import java.util.ArrayList;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
 
+/**
+ * The completed spans of a span name, in a {@link SpanBucket} per {@link LatencyBoundary} and a
+ * {@link SpanBucket} for errors. Buckets are created as the first span falls in them, most span
+ * names only ever use a few of them. The {@link SpanNameStats} of the span name are updated with
+ * every completed span.
+ */
 final class TracezSpanBuckets {
-  private final Map<LatencyBoundary, SpanBucket> latencyBuckets = new HashMap<>();
-  private final Map<StatusCode, SpanBucket> errorBuckets = new HashMap<>();
+  private static final int ERROR_BUCKET = LatencyBoundary.values().length;
 
-  TracezSpanBuckets() {
-    for (LatencyBoundary bucket : LatencyBoundary.values()) {
-      latencyBuckets.put(bucket, new SpanBucket(/* isLatencyBucket= */ true));
-    }
-    for (StatusCode code : StatusCode.values()) {
-      if (code == StatusCode.ERROR) {
-        errorBuckets.put(code, new SpanBucket(/* isLatencyBucket= */ false));
-      }
-    }
-  }
+  // Latency buckets indexed by LatencyBoundary ordinal, followed by the error bucket.
+  private final AtomicReferenceArray<SpanBucket> buckets =
+      new AtomicReferenceArray<>(ERROR_BUCKET + 1);
+  private final SpanNameStats stats = new SpanNameStats();
+  private volatile boolean recentlyEnded;
 
   void addToBucket(ReadableSpan span) {
-    StatusData status = span.toSpanData().getStatus();
-    if (status.getStatusCode() != StatusCode.ERROR) {
-      latencyBuckets.get(LatencyBoundary.getBoundary(span.getLatencyNanos())).add(span);
+    SpanData spanData = span.toSpanData();
+    if (!recentlyEnded) {
+      recentlyEnded = true;
+    }
+    boolean error = spanData.getStatus().getStatusCode() == StatusCode.ERROR;
+    stats.record(spanData.getEndEpochNanos(), span.getLatencyNanos(), error);
+    if (!error) {
+      getOrCreateBucket(LatencyBoundary.getBoundary(span.getLatencyNanos()).ordinal()).add(span);
       return;
     }
-    errorBuckets.get(status.getStatusCode()).add(span);
+    getOrCreateBucket(ERROR_BUCKET).add(span);
+  }
+
+  /**
+   * Returns whether a span was added since the last call, to find the span names which did not end
+   * a span recently.
+   */
+  boolean clearRecentlyEnded() {
+    boolean ended = recentlyEnded;
+    recentlyEnded = false;
+    return ended;
+  }
+
+  SpanNameStats getStats() {
+    return stats;
   }
 
   Map<LatencyBoundary, Integer> getLatencyBoundaryToCountMap() {
     Map<LatencyBoundary, Integer> latencyCounts = new EnumMap<>(LatencyBoundary.class);
-    for (LatencyBoundary bucket : LatencyBoundary.values()) {
-      latencyCounts.put(bucket, latencyBuckets.get(bucket).size());
+    for (LatencyBoundary boundary : LatencyBoundary.values()) {
+      SpanBucket bucket = buckets.get(boundary.ordinal());
+      latencyCounts.put(boundary, bucket != null ? bucket.size() : 0);
     }
     return latencyCounts;
   }
 
   List<ReadableSpan> getOkSpans() {
     List<ReadableSpan> okSpans = new ArrayList<>();
-    for (SpanBucket latencyBucket : latencyBuckets.values()) {
-      latencyBucket.addTo(okSpans);
+    for (int i = 0; i < ERROR_BUCKET; i++) {
+      addTo(buckets.get(i), okSpans);
     }
     return okSpans;
   }
 
   List<ReadableSpan> getErrorSpans() {
     List<ReadableSpan> errorSpans = new ArrayList<>();
-    for (SpanBucket errorBucket : errorBuckets.values()) {
-      errorBucket.addTo(errorSpans);
-    }
+    addTo(buckets.get(ERROR_BUCKET), errorSpans);
     return errorSpans;
   }
 
@@ -68,4 +87,24 @@ final class TracezSpanBuckets {
     spans.addAll(getErrorSpans());
     return spans;
   }
+
+  private SpanBucket getOrCreateBucket(int index) {
+    SpanBucket bucket = buckets.get(index);
+    if (bucket != null) {
+      return bucket;
+    }
+    SpanBucket newBucket = new SpanBucket(/* isLatencyBucket= */ index != ERROR_BUCKET);
+    if (buckets.compareAndSet(index, null, newBucket)) {
+      return newBucket;
+    }
+    // Another thread created the bucket first.
+    bucket = buckets.get(index);
+    return bucket != null ? bucket : newBucket;
+  }
+
+  private static void addTo(@Nullable SpanBucket bucket, List<ReadableSpan> result) {
+    if (bucket != null) {
+      bucket.addTo(result);
+    }
+  }
 }
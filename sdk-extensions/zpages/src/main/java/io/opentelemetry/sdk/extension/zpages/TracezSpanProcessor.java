@@ -5,34 +5,58 @@
 
 package io.opentelemetry.sdk.extension.zpages;
 
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
 import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
-/** A {@link SpanProcessor} implementation for the traceZ zPage. */
+/**
+ * A {@link SpanProcessor} implementation for the traceZ zPage.
+ *
+ * <p>Completed spans are kept per span name, for at most {@code maxSpanNames} span names. When a
+ * span of a new name ends while the table is full, a span name which did not end a span recently
+ * is evicted: span names are queued in the order they were added, and the oldest one is evicted
+ * unless it ended a span since it was queued, in which case it is queued again. Ending a span of a
+ * known name only updates the buckets of that name, without locking.
+ */
 @ThreadSafe
 final class TracezSpanProcessor implements SpanProcessor {
   private final ConcurrentMap<String, ReadableSpan> runningSpanCache;
   private final ConcurrentMap<String, TracezSpanBuckets> completedSpanCache;
   private final boolean sampled;
+  private final int maxSpanNames;
+  private final Clock clock;
+  private final Object lock = new Object();
+
+  @GuardedBy("lock")
+  private final ArrayDeque<String> evictionQueue = new ArrayDeque<>();
 
   /**
    * Constructor for {@link TracezSpanProcessor}.
    *
    * @param sampled report only sampled spans.
+   * @param maxSpanNames the maximum number of span names to keep completed spans for.
+   * @param clock the clock which stamps the spans.
    */
-  TracezSpanProcessor(boolean sampled) {
+  TracezSpanProcessor(boolean sampled, int maxSpanNames, Clock clock) {
     runningSpanCache = new ConcurrentHashMap<>();
     completedSpanCache = new ConcurrentHashMap<>();
     this.sampled = sampled;
+    this.maxSpanNames = maxSpanNames;
+    this.clock = clock;
   }
 
   @Override
@@ -49,8 +73,51 @@ final class TracezSpanProcessor implements SpanProcessor {
   public void onEnd(ReadableSpan span) {
     runningSpanCache.remove(span.getSpanContext().getSpanId());
     if (!sampled || span.getSpanContext().isSampled()) {
-      completedSpanCache.putIfAbsent(span.getName(), new TracezSpanBuckets());
-      completedSpanCache.get(span.getName()).addToBucket(span);
+      TracezSpanBuckets buckets = completedSpanCache.get(span.getName());
+      if (buckets != null) {
+        buckets.addToBucket(span);
+      } else {
+        addSpanName(span);
+      }
+    }
+  }
+
+  private void addSpanName(ReadableSpan span) {
+    TracezSpanBuckets buckets;
+    synchronized (lock) {
+      buckets = completedSpanCache.get(span.getName());
+      if (buckets == null) {
+        if (completedSpanCache.size() >= maxSpanNames) {
+          evictLeastRecentlyEnded();
+        }
+        // Add the span before publishing the buckets, and only count spans ended from now on as
+        // recent, as the span name was just queued.
+        buckets = new TracezSpanBuckets();
+        buckets.addToBucket(span);
+        buckets.clearRecentlyEnded();
+        completedSpanCache.put(span.getName(), buckets);
+        evictionQueue.addLast(span.getName());
+        return;
+      }
+    }
+    buckets.addToBucket(span);
+  }
+
+  @GuardedBy("lock")
+  private void evictLeastRecentlyEnded() {
+    // Each span name is queued again at most once, unless spans keep ending concurrently, in which
+    // case the oldest span name is evicted anyway.
+    for (int i = evictionQueue.size(); i > 0; i--) {
+      String spanName = evictionQueue.peekFirst();
+      TracezSpanBuckets buckets = completedSpanCache.get(spanName);
+      if (buckets == null || !buckets.clearRecentlyEnded()) {
+        break;
+      }
+      evictionQueue.addLast(evictionQueue.removeFirst());
+    }
+    String evicted = evictionQueue.pollFirst();
+    if (evicted != null) {
+      completedSpanCache.remove(evicted);
     }
   }
 
@@ -102,6 +169,16 @@ final class TracezSpanProcessor implements SpanProcessor {
     return completedSpanCache;
   }
 
+  /**
+   * Returns the clock which stamps the spans, to read the statistics of the span names at the
+   * current time of the spans.
+   *
+   * @return the {@link Clock} of the spans.
+   */
+  Clock getClock() {
+    return clock;
+  }
+
   /**
    * Returns a new Builder for {@link TracezSpanProcessor}.
    *
@@ -115,7 +192,10 @@ final class TracezSpanProcessor implements SpanProcessor {
   public static final class Builder {
 
     private static final boolean DEFAULT_EXPORT_ONLY_SAMPLED = true;
+    private static final int DEFAULT_MAX_SPAN_NAMES = 1000;
     private boolean sampled = DEFAULT_EXPORT_ONLY_SAMPLED;
+    private int maxSpanNames = DEFAULT_MAX_SPAN_NAMES;
+    private Clock clock = Clock.getDefault();
 
     private Builder() {}
 
@@ -133,13 +213,45 @@ final class TracezSpanProcessor implements SpanProcessor {
       return this;
     }
 
+    /**
+     * Sets the maximum number of span names to keep completed spans for. When a span of a new name
+     * ends once this many span names are kept, a span name which did not end a span recently is
+     * evicted.
+     *
+     * <p>Default value is {@code 1000}.
+     *
+     * @see Builder#DEFAULT_MAX_SPAN_NAMES
+     * @param maxSpanNames the maximum number of span names, must be positive.
+     * @return this.
+     */
+    public Builder setMaxSpanNames(int maxSpanNames) {
+      checkArgument(maxSpanNames > 0, "maxSpanNames must be positive.");
+      this.maxSpanNames = maxSpanNames;
+      return this;
+    }
+
+    /**
+     * Sets the {@link Clock} which stamps the spans, the clock of the {@link
+     * io.opentelemetry.sdk.trace.SdkTracerProvider} the processor is added to. The statistics of
+     * each span name are read at the current time of this clock.
+     *
+     * <p>Default value is {@link Clock#getDefault()}.
+     *
+     * @param clock the {@link Clock} of the spans.
+     * @return this.
+     */
+    public Builder setClock(Clock clock) {
+      this.clock = requireNonNull(clock, "clock");
+      return this;
+    }
+
     /**
      * Returns a new {@link TracezSpanProcessor}.
      *
      * @return a new {@link TracezSpanProcessor}.
      */
     public TracezSpanProcessor build() {
-      return new TracezSpanProcessor(sampled);
+      return new TracezSpanProcessor(sampled, maxSpanNames, clock);
     }
   }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.StatsWindow;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.WindowStats;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An {@link HttpHandler} serving the rolling statistics of the traceZ zPage as JSON, for scripts.
+ *
+ * <p>The response maps each span name to its statistics over each window, for example:
+ *
+ * <pre>{@code
+ * {"spanNames":{"GET /users":{"1m":{"count":120,"errorCount":2,"ratePerSecond":2.000000,
+ * "errorRate":0.016667,"p50Nanos":1200000,"p90Nanos":4100000,"p99Nanos":9800000},
+ * "10m":{...},"1h":{...}}}}
+ * }</pre>
+ */
+final class TracezStatsHttpHandler implements HttpHandler {
+  static final String URL_PATH = "/tracez/stats";
+
+  private final TracezDataAggregator dataAggregator;
+
+  TracezStatsHttpHandler(TracezDataAggregator dataAggregator) {
+    this.dataAggregator = dataAggregator;
+  }
+
+  @Override
+  public void handle(HttpExchange httpExchange) throws IOException {
+    try {
+      httpExchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+      httpExchange.sendResponseHeaders(200, 0);
+      emitJson(httpExchange.getResponseBody());
+    } finally {
+      httpExchange.close();
+    }
+  }
+
+  // Visible for testing
+  void emitJson(OutputStream outputStream) throws IOException {
+    PrintStream out = new PrintStream(outputStream, /* autoFlush= */ false, "UTF-8");
+    out.print("{\"spanNames\":{");
+    boolean firstName = true;
+    for (Map.Entry<String, Map<StatsWindow, WindowStats>> entry :
+        dataAggregator.getSpanNameStats().entrySet()) {
+      if (!firstName) {
+        out.print(',');
+      }
+      firstName = false;
+      emitString(out, entry.getKey());
+      out.print(":{");
+      boolean firstWindow = true;
+      for (Map.Entry<StatsWindow, WindowStats> windowEntry : entry.getValue().entrySet()) {
+        if (!firstWindow) {
+          out.print(',');
+        }
+        firstWindow = false;
+        WindowStats stats = windowEntry.getValue();
+        emitString(out, windowEntry.getKey().getLabel());
+        out.print(":{\"count\":" + stats.getCount());
+        out.print(",\"errorCount\":" + stats.getErrorCount());
+        out.print(",\"ratePerSecond\":" + formatDouble(stats.getRatePerSecond()));
+        out.print(",\"errorRate\":" + formatDouble(stats.getErrorRate()));
+        out.print(",\"p50Nanos\":" + stats.getP50Nanos());
+        out.print(",\"p90Nanos\":" + stats.getP90Nanos());
+        out.print(",\"p99Nanos\":" + stats.getP99Nanos());
+        out.print('}');
+      }
+      out.print('}');
+    }
+    out.print("}}");
+    out.flush();
+  }
+
+  private static String formatDouble(double value) {
+    return String.format(Locale.US, "%.6f", value);
+  }
+
+  private static void emitString(PrintStream out, String value) {
+    out.print('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.print("\\\"");
+          break;
+        case '\\':
+          out.print("\\\\");
+          break;
+        default:
+          if (c < 0x20) {
+            out.print(String.format(Locale.US, "\\u%04x", (int) c));
+          } else {
+            out.print(c);
+          }
+      }
+    }
+    out.print('"');
+  }
+}
@@ -8,6 +8,8 @@ package io.opentelemetry.sdk.extension.zpages;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.StatsWindow;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.WindowStats;
 import io.opentelemetry.sdk.trace.data.EventData;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
@@ -85,6 +87,13 @@ final class TracezZPageHandler extends ZPageHandler {
   //   where 0 corresponds to the first boundary
   // * for error based sampled spans [0, 15], 0 means all, otherwise the error code
   private static final String PARAM_SAMPLE_SUB_TYPE = "zsubtype";
+  // Query string parameter name for the page of span details, starting at 0
+  private static final String PARAM_PAGE = "zpage";
+  // Number of spans displayed on a page of span details
+  // Visible for testing
+  static final int SPANS_PER_PAGE = 50;
+  // Column headers of the statistics of each window
+  private static final String[] STATS_HEADERS = {"Rate/s", "Errors", "p50", "p90", "p99"};
   // Map from LatencyBoundary to human readable string on the UI
   private static final Map<LatencyBoundary, String> LATENCY_BOUNDARIES_STRING_MAP =
       buildLatencyBoundaryStringMap();
@@ -242,6 +251,72 @@ final class TracezZPageHandler extends ZPageHandler {
     out.print("</table>");
   }
 
+  /**
+   * Emits the table of the rolling statistics of each span name to the {@link PrintStream} {@code
+   * out}. The statistics are kept as spans end, so the table is rendered without reading the
+   * sampled spans.
+   *
+   * @param out the {@link PrintStream} {@code out}.
+   */
+  private void emitStatsTable(PrintStream out) {
+    if (dataAggregator == null) {
+      return;
+    }
+    out.print("<table style=\"border-spacing: 0; border: 1px solid #363636;\">");
+    // First row
+    out.print("<tr class=\"bg-color\">");
+    out.print("<th colspan=1 class=\"header-text\"><b>Span Name</b></th>");
+    for (StatsWindow window : StatsWindow.values()) {
+      out.print(
+          "<th colspan=5 class=\"header-text border-left-white\"><b>Last "
+              + window.getLabel()
+              + "</b></th>");
+    }
+    out.print("</tr>");
+    // Second row
+    out.print("<tr class=\"bg-color\">");
+    out.print("<th colspan=1></th>");
+    for (int i = 0; i < StatsWindow.values().length; i++) {
+      for (String header : STATS_HEADERS) {
+        out.print(
+            "<th colspan=1 class=\"border-left-white align-center\""
+                + "style=\"color: #fff;\"><b>"
+                + header
+                + "</b></th>");
+      }
+    }
+    out.print("</tr>");
+
+    boolean zebraStripe = false;
+    for (Map.Entry<String, Map<StatsWindow, WindowStats>> entry :
+        dataAggregator.getSpanNameStats().entrySet()) {
+      if (zebraStripe) {
+        out.print("<tr style=\"background-color: " + ZEBRA_STRIPE_COLOR + "\">");
+      } else {
+        out.print("<tr>");
+      }
+      zebraStripe = !zebraStripe;
+      out.print("<td>" + escapeHtml(entry.getKey()) + "</td>");
+      for (WindowStats stats : entry.getValue().values()) {
+        emitStatsTableCell(out, String.format(Locale.US, "%.2f", stats.getRatePerSecond()));
+        emitStatsTableCell(out, String.format(Locale.US, "%.1f%%", stats.getErrorRate() * 100));
+        emitStatsTableCell(out, formatLatency(stats.getP50Nanos()));
+        emitStatsTableCell(out, formatLatency(stats.getP90Nanos()));
+        emitStatsTableCell(out, formatLatency(stats.getP99Nanos()));
+      }
+      out.print("</tr>");
+    }
+    out.print("</table>");
+  }
+
+  private static void emitStatsTableCell(PrintStream out, String value) {
+    out.print("<td class=\"align-center border-left-dark\">" + value + "</td>");
+  }
+
+  private static String formatLatency(long latencyNanos) {
+    return String.format(Locale.US, "%.3fms", latencyNanos / 1e6);
+  }
+
   private static void emitSpanNameAndCount(
       PrintStream out, String spanName, int count, SampleType type) {
     out.print("<p class=\"align-center\"><b> Span Name: " + escapeHtml(spanName) + "</b></p>");
@@ -252,6 +327,70 @@ final class TracezZPageHandler extends ZPageHandler {
     out.print("<p class=\"align-center\"><b> Number of " + typeString + ": " + count + "</b></p>");
   }
 
+  private static int parsePage(@Nullable String pageStr) {
+    if (pageStr == null) {
+      return 0;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(pageStr));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Emits the range of the displayed spans, and links to the previous and next pages of spans, to
+   * the {@link PrintStream} {@code out}.
+   */
+  private static void emitPageLinks(
+      PrintStream out,
+      String spanName,
+      String type,
+      @Nullable String subtype,
+      int count,
+      int fromIndex,
+      int toIndex,
+      int page,
+      int pageCount) {
+    if (pageCount == 1) {
+      return;
+    }
+    out.print("<p class=\"align-center\">");
+    if (page > 0) {
+      emitPageLink(out, spanName, type, subtype, page - 1, "&lt; Previous");
+      out.print(" | ");
+    }
+    out.print("Spans " + (fromIndex + 1) + " to " + toIndex + " of " + count);
+    if (page < pageCount - 1) {
+      out.print(" | ");
+      emitPageLink(out, spanName, type, subtype, page + 1, "Next &gt;");
+    }
+    out.print("</p>");
+  }
+
+  private static void emitPageLink(
+      PrintStream out,
+      String spanName,
+      String type,
+      @Nullable String subtype,
+      int page,
+      String text) {
+    out.print("<a href=\"?");
+    try {
+      out.print(
+          PARAM_SPAN_NAME
+              + "="
+              + URLEncoder.encode(spanName, StandardCharsets.UTF_8.toString()).replace(' ', '+'));
+    } catch (UnsupportedEncodingException e) {
+      // Can't happen
+    }
+    out.print("&" + PARAM_SAMPLE_TYPE + "=" + escapeHtml(type));
+    if (subtype != null) {
+      out.print("&" + PARAM_SAMPLE_SUB_TYPE + "=" + escapeHtml(subtype));
+    }
+    out.print("&" + PARAM_PAGE + "=" + page + "\">" + text + "</a>");
+  }
+
   private static void emitSpanDetails(
       PrintStream out, Formatter formatter, Collection<SpanData> spans) {
     out.print("<table style=\"border-spacing: 0; border: 1px solid #363636;\">");
@@ -433,6 +572,15 @@ final class TracezZPageHandler extends ZPageHandler {
             + "\" /></a>");
     out.print("<h1>TraceZ Summary</h1>");
     emitSummaryTable(out);
+    out.print("<h2>Span Statistics</h2>");
+    out.print(
+        "<p>Rate per second, error rate and latency percentiles of completed spans, also "
+            + "available as <a href=\""
+            + TracezStatsHttpHandler.URL_PATH
+            + "\">JSON</a>.</p>");
+    emitStatsTable(out);
+    // Send the summary before rendering span details.
+    out.flush();
     // spanName will be null if the query parameter doesn't exist in the URL
     String spanName = queryMap.get(PARAM_SPAN_NAME);
     if (spanName != null) {
@@ -484,7 +632,22 @@ final class TracezZPageHandler extends ZPageHandler {
               spans.stream()
                   .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
                   .collect(Collectors.toList());
-          emitSpanDetails(out, formatter, spans);
+          // Only render a page of spans, there may be thousands of running spans.
+          int pageCount = Math.max(1, (spans.size() + SPANS_PER_PAGE - 1) / SPANS_PER_PAGE);
+          int page = Math.min(parsePage(queryMap.get(PARAM_PAGE)), pageCount - 1);
+          int fromIndex = page * SPANS_PER_PAGE;
+          int toIndex = Math.min(fromIndex + SPANS_PER_PAGE, spans.size());
+          emitPageLinks(
+              out,
+              spanName,
+              typeStr,
+              queryMap.get(PARAM_SAMPLE_SUB_TYPE),
+              spans.size(),
+              fromIndex,
+              toIndex,
+              page,
+              pageCount);
+          emitSpanDetails(out, formatter, spans.subList(fromIndex, toIndex));
         }
       }
     }
@@ -556,7 +719,7 @@ final class TracezZPageHandler extends ZPageHandler {
     return latencyBoundaryMap;
   }
 
-  private static String escapeHtml(String html) {
+  static String escapeHtml(String html) {
     StringBuilder escaped = null;
     for (int i = 0; i < html.length(); i++) {
       char c = html.charAt(i);
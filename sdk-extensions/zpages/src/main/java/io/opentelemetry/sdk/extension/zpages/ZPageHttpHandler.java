@@ -7,9 +7,15 @@ package io.opentelemetry.sdk.extension.zpages;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import io.opentelemetry.api.metrics.BoundLongValueRecorder;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.Arrays;
@@ -17,18 +23,41 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-/** An {@link HttpHandler} that will be used to render HTML pages using any {@code ZPageHandler}. */
+/**
+ * An {@link HttpHandler} that will be used to render HTML pages using any {@code ZPageHandler}.
+ *
+ * <p>Pages are streamed to the client in chunks as they are rendered, through a buffer. The time
+ * to render each page is recorded as the {@code zpageRenderTime} metric, labeled with the {@code
+ * page} path.
+ */
 final class ZPageHttpHandler implements HttpHandler {
   // Query string parameter name for span name
   private static final String PARAM_SPAN_NAME = "zspanname";
+  // Size of the buffer of the response, each full buffer is sent as a chunk
+  private static final int RESPONSE_BUFFER_SIZE = 8192;
   // The corresponding ZPageHandler for the zPage (e.g. TracezZPageHandler)
   private final ZPageHandler zpageHandler;
+  private final BoundLongValueRecorder renderTime;
 
   /** Constructs a new {@code ZPageHttpHandler}. */
   ZPageHttpHandler(ZPageHandler zpageHandler) {
+    this(zpageHandler, GlobalMeterProvider.get());
+  }
+
+  // Visible for testing
+  ZPageHttpHandler(ZPageHandler zpageHandler, MeterProvider meterProvider) {
     this.zpageHandler = zpageHandler;
+    this.renderTime =
+        meterProvider
+            .get("io.opentelemetry.sdk.extension.zpages")
+            .longValueRecorderBuilder("zpageRenderTime")
+            .setDescription("The time to render a zPage")
+            .setUnit("ms")
+            .build()
+            .bind(Labels.of("page", zpageHandler.getUrlPath()));
   }
 
   /**
@@ -71,29 +100,63 @@ final class ZPageHttpHandler implements HttpHandler {
 
   @Override
   public final void handle(HttpExchange httpExchange) throws IOException {
+    long startNanos = System.nanoTime();
     try {
       String requestMethod = httpExchange.getRequestMethod();
+      httpExchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+      // A response length of 0 streams the response with chunked encoding.
       httpExchange.sendResponseHeaders(200, 0);
-      if (requestMethod.equalsIgnoreCase("GET")) {
-        zpageHandler.emitHtml(
-            parseQueryString(httpExchange.getRequestURI().getRawQuery()),
-            httpExchange.getResponseBody());
-      } else {
-        final String queryString;
-        try (BufferedReader reader =
-            new BufferedReader(new InputStreamReader(httpExchange.getRequestBody(), "utf-8"))) {
-          // Query strings can only have one line
-          queryString = reader.readLine();
-        }
-        boolean error =
-            zpageHandler.processRequest(
-                requestMethod, parseQueryString(queryString), httpExchange.getResponseBody());
-        if (!error) {
-          zpageHandler.emitHtml(parseQueryString(queryString), httpExchange.getResponseBody());
+      // Closing the stream flushes the buffer, whether or not a handler closed it already.
+      try (OutputStream responseBody = new ResponseBody(httpExchange.getResponseBody())) {
+        if (requestMethod.equalsIgnoreCase("GET")) {
+          zpageHandler.emitHtml(
+              parseQueryString(httpExchange.getRequestURI().getRawQuery()), responseBody);
+        } else {
+          final String queryString;
+          try (BufferedReader reader =
+              new BufferedReader(new InputStreamReader(httpExchange.getRequestBody(), "utf-8"))) {
+            // Query strings can only have one line
+            queryString = reader.readLine();
+          }
+          boolean error =
+              zpageHandler.processRequest(
+                  requestMethod, parseQueryString(queryString), responseBody);
+          if (!error) {
+            zpageHandler.emitHtml(parseQueryString(queryString), responseBody);
+          }
         }
       }
     } finally {
       httpExchange.close();
+      renderTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+  }
+
+  /**
+   * The buffered response body, which can be closed more than once: handlers close it once the page
+   * is emitted, and so does {@link #handle(HttpExchange)}, but the stream of the {@link
+   * HttpExchange} fails to flush once closed.
+   */
+  private static final class ResponseBody extends BufferedOutputStream {
+    private boolean closed;
+
+    private ResponseBody(OutputStream out) {
+      super(out, RESPONSE_BUFFER_SIZE);
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+      if (!closed) {
+        super.flush();
+      }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      if (!closed) {
+        super.close();
+        closed = true;
+      }
     }
   }
 }
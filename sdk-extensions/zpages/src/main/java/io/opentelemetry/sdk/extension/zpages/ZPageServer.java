@@ -7,12 +7,18 @@ package io.opentelemetry.sdk.extension.zpages;
 
 import com.sun.net.httpserver.HttpServer;
 import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.api.internal.Utils;
+import io.opentelemetry.api.metrics.GlobalMeterProvider;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
 import io.opentelemetry.sdk.trace.SpanLimits;
 import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.samplers.Sampler;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -44,6 +50,11 @@ import javax.annotation.concurrent.ThreadSafe;
  * }
  * }</pre>
  *
+ * <p>The private {@link HttpServer} renders pages on a small bounded pool of daemon threads, so
+ * that browsing zPages does not compete with the application for CPU. When all threads are busy and
+ * the queue of pending requests is full, requests are rendered on the thread accepting connections,
+ * which stops accepting new ones until it is done.
+ *
  * <p>Example usage with shared {@link HttpServer}
  *
  * <pre>{@code
@@ -71,6 +82,12 @@ public final class ZPageServer {
   private static final int HTTPSERVER_BACKLOG = 5;
   // Length of time to wait for the HttpServer to stop
   private static final int HTTPSERVER_STOP_DELAY = 1;
+  // The default maximum number of threads rendering zPages on the private HttpServer.
+  private static final int DEFAULT_MAX_THREADS = 2;
+  // The maximum number of requests waiting for a thread to render them.
+  private static final int MAX_QUEUED_REQUESTS = 16;
+  // Length of time idle threads are kept, in seconds
+  private static final long THREAD_KEEP_ALIVE = 60;
   // Tracez SpanProcessor and DataAggregator for constructing TracezZPageHandler
   private static final TracezSpanProcessor tracezSpanProcessor =
       TracezSpanProcessor.builder().build();
@@ -84,9 +101,13 @@ public final class ZPageServer {
   // Handler for /traceconfigz page
   private static final ZPageHandler traceConfigzZPageHandler =
       new TraceConfigzZPageHandler(tracezTraceConfigSupplier);
+  // Handler for /metricz page
+  private static final ZPageHandler metriczZPageHandler =
+      new MetriczZPageHandler(GlobalMeterProvider::get);
   // Handler for index page, **please include all available ZPageHandlers in the constructor**
   private static final ZPageHandler indexZPageHandler =
-      new IndexZPageHandler(Arrays.asList(tracezZPageHandler, traceConfigzZPageHandler));
+      new IndexZPageHandler(
+          Arrays.asList(tracezZPageHandler, traceConfigzZPageHandler, metriczZPageHandler));
 
   private static final Object mutex = new Object();
 
@@ -94,6 +115,10 @@ public final class ZPageServer {
   @Nullable
   private static HttpServer server;
 
+  @GuardedBy("mutex")
+  @Nullable
+  private static ThreadPoolExecutor executor;
+
   /** Returns a supplier of {@link SpanLimits} which can be reconfigured using zpages. */
   public static Supplier<SpanLimits> getTracezTraceConfigSupplier() {
     return tracezTraceConfigSupplier;
@@ -131,6 +156,10 @@ public final class ZPageServer {
    * <p>Clicking on a cell in the table with a number that is greater than zero will display
    * detailed information about that span.
    *
+   * <p>It also displays the rate, error rate and latency percentiles of each span name over the
+   * last minute, ten minutes and hour, which are also served as JSON under {@code
+   * /tracez/stats}.
+   *
    * <p>This method will add the TracezSpanProcessor to the tracerProvider, it should only be called
    * once.
    *
@@ -138,6 +167,8 @@ public final class ZPageServer {
    */
   static void registerTracezZPageHandler(HttpServer server) {
     server.createContext(tracezZPageHandler.getUrlPath(), new ZPageHttpHandler(tracezZPageHandler));
+    server.createContext(
+        TracezStatsHttpHandler.URL_PATH, new TracezStatsHttpHandler(tracezDataAggregator));
   }
 
   /**
@@ -157,6 +188,22 @@ public final class ZPageServer {
         traceConfigzZPageHandler.getUrlPath(), new ZPageHttpHandler(traceConfigzZPageHandler));
   }
 
+  /**
+   * Registers a {@code ZPageHandler} for metrics debug. The page displays, for each instrument of
+   * the {@link io.opentelemetry.sdk.metrics.SdkMeterProvider} registered with the {@link
+   * GlobalMeterProvider}, the number of label sets, the recording rate, the last collection time
+   * and an estimate of the memory used by the label sets.
+   *
+   * <p>Clicking on a column header sorts the instruments by that column, by default they are sorted
+   * by decreasing number of label sets to find the instruments with the highest cardinality.
+   *
+   * @param server the {@link HttpServer} for the page to register to.
+   */
+  static void registerMetriczZPageHandler(HttpServer server) {
+    server.createContext(
+        metriczZPageHandler.getUrlPath(), new ZPageHttpHandler(metriczZPageHandler));
+  }
+
   /**
    * Registers all zPages to the given {@link HttpServer} {@code server}.
    *
@@ -167,6 +214,7 @@ public final class ZPageServer {
     registerIndexZPageHandler(server);
     registerTracezZPageHandler(server);
     registerTraceConfigzZPageHandler(server);
+    registerMetriczZPageHandler(server);
   }
 
   /** Method for stopping the {@link HttpServer} {@code server}. */
@@ -177,6 +225,10 @@ public final class ZPageServer {
       }
       server.stop(HTTPSERVER_STOP_DELAY);
       server = null;
+      if (executor != null) {
+        executor.shutdown();
+        executor = null;
+      }
     }
   }
 
@@ -191,13 +243,35 @@ public final class ZPageServer {
    * @throws IOException if the server cannot bind to the specified port.
    */
   public static void startHttpServerAndRegisterAllPages(int port) throws IOException {
+    startHttpServerAndRegisterAllPages(port, DEFAULT_MAX_THREADS);
+  }
+
+  /**
+   * Starts a private {@link HttpServer} rendering zPages on at most {@code maxThreads} threads and
+   * registers all zPages to it. When the JVM shuts down the server is stopped.
+   *
+   * <p>Users can only call this function once per process.
+   *
+   * @param port the port used to bind the {@link HttpServer} {@code server}
+   * @param maxThreads the maximum number of threads rendering zPages concurrently
+   * @throws IllegalArgumentException if {@code maxThreads} is not positive.
+   * @throws IllegalStateException if the server is already started.
+   * @throws IOException if the server cannot bind to the specified port.
+   */
+  public static void startHttpServerAndRegisterAllPages(int port, int maxThreads)
+      throws IOException {
+    Utils.checkArgument(maxThreads > 0, "maxThreads must be positive.");
     synchronized (mutex) {
       if (server != null) {
         throw new IllegalStateException("The HttpServer is already started.");
       }
-      server = HttpServer.create(new InetSocketAddress(port), HTTPSERVER_BACKLOG);
-      ZPageServer.registerAllPagesToHttpServer(server);
-      server.start();
+      HttpServer newServer = HttpServer.create(new InetSocketAddress(port), HTTPSERVER_BACKLOG);
+      ThreadPoolExecutor newExecutor = newExecutor(maxThreads);
+      newServer.setExecutor(newExecutor);
+      ZPageServer.registerAllPagesToHttpServer(newServer);
+      newServer.start();
+      server = newServer;
+      executor = newExecutor;
     }
 
     Runtime.getRuntime()
@@ -210,5 +284,20 @@ public final class ZPageServer {
             });
   }
 
+  // Visible for testing
+  static ThreadPoolExecutor newExecutor(int maxThreads) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            THREAD_KEEP_ALIVE,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS),
+            new DaemonThreadFactory("zpages"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private ZPageServer() {}
 }
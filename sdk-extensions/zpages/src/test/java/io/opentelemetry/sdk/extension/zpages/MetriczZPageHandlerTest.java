@@ -0,0 +1,103 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongValueRecorder;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
+import io.opentelemetry.api.metrics.common.Labels;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link MetriczZPageHandler}. */
+class MetriczZPageHandlerTest {
+  private final TestClock testClock = TestClock.create();
+  private final SdkMeterProvider meterProvider = SdkMeterProvider.builder().build();
+  private final Meter meter = meterProvider.get("MetriczZPageHandlerTest");
+  private final MetriczZPageHandler metriczZPageHandler =
+      new MetriczZPageHandler(() -> meterProvider, testClock);
+  private final Map<String, String> emptyQueryMap = ImmutableMap.of();
+
+  @Test
+  void emitInstrumentTable() {
+    LongCounter counter = meter.longCounterBuilder("counter").build();
+    for (int i = 0; i < 10; i++) {
+      counter.add(1, Labels.of("key", "value" + i));
+    }
+    LongValueRecorder recorder = meter.longValueRecorderBuilder("recorder").build();
+    recorder.record(1, Labels.empty());
+    testClock.advance(Duration.ofSeconds(10));
+
+    String html = emitHtml(emptyQueryMap);
+
+    assertThat(html).contains("<h1>MetricZ Summary</h1>");
+    assertThat(html).contains("<td>MetriczZPageHandlerTest</td>");
+    // Instruments are sorted by decreasing number of label sets by default.
+    assertThat(html.indexOf(">counter</td>")).isLessThan(html.indexOf(">recorder</td>"));
+    assertThat(html)
+        .contains(
+            ">counter</td><td class=\"align-center border-left-dark\">COUNTER</td>"
+                + "<td class=\"align-center border-left-dark\">10</td>"
+                + "<td class=\"align-center border-left-dark\">1.00</td>");
+    // 10 label sets of 256 bytes.
+    assertThat(html).contains("<td class=\"align-center border-left-dark\">2.5 KiB</td>");
+  }
+
+  @Test
+  void emitInstrumentTable_sortByName() {
+    LongCounter counter = meter.longCounterBuilder("counter").build();
+    counter.add(1, Labels.of("key", "value1"));
+    counter.add(1, Labels.of("key", "value2"));
+    meter.longValueRecorderBuilder("a_recorder").build().record(1, Labels.empty());
+
+    String html = emitHtml(ImmutableMap.of("zsort", "name"));
+
+    assertThat(html.indexOf(">a_recorder</td>")).isLessThan(html.indexOf(">counter</td>"));
+    assertThat(html).contains("href=\"?zsort=series\"");
+    assertThat(html).doesNotContain("href=\"?zsort=name\"");
+  }
+
+  @Test
+  void recordingRateSincePreviousView() {
+    LongCounter counter = meter.longCounterBuilder("counter").build();
+    counter.add(1, Labels.empty());
+    testClock.advance(Duration.ofSeconds(10));
+    assertThat(emitHtml(emptyQueryMap))
+        .contains("<td class=\"align-center border-left-dark\">0.10</td>");
+
+    for (int i = 0; i < 50; i++) {
+      counter.add(1, Labels.empty());
+    }
+    testClock.advance(Duration.ofSeconds(10));
+    assertThat(emitHtml(emptyQueryMap))
+        .contains("<td class=\"align-center border-left-dark\">5.00</td>");
+  }
+
+  @Test
+  void noSdkMeterProvider() {
+    MetriczZPageHandler handler = new MetriczZPageHandler(MeterProvider::noop, testClock);
+    OutputStream output = new ByteArrayOutputStream();
+
+    handler.emitHtml(emptyQueryMap, output);
+
+    assertThat(output.toString()).contains("No SdkMeterProvider is registered");
+  }
+
+  private String emitHtml(Map<String, String> queryMap) {
+    OutputStream output = new ByteArrayOutputStream();
+    metriczZPageHandler.emitHtml(queryMap, output);
+    return output.toString();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.StatsWindow;
+import io.opentelemetry.sdk.extension.zpages.SpanNameStats.WindowStats;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link SpanNameStats}. */
+class SpanNameStatsTest {
+  // Aligned on an hour, so that windows start at the first slot.
+  private static final long START_EPOCH_NANOS = TimeUnit.HOURS.toNanos(450_000);
+
+  private final SpanNameStats stats = new SpanNameStats();
+
+  @Test
+  void latencyBuckets() {
+    assertThat(SpanNameStats.getLatencyBucket(0)).isEqualTo(0);
+    assertThat(SpanNameStats.getLatencyBucket(micros(1))).isEqualTo(1);
+    assertThat(SpanNameStats.getLatencyBucket(micros(3))).isEqualTo(3);
+    assertThat(SpanNameStats.getLatencyBucket(micros(5))).isEqualTo(4);
+    assertThat(SpanNameStats.getLatencyBucket(micros(6))).isEqualTo(5);
+    assertThat(SpanNameStats.getLatencyBucket(micros(1000))).isEqualTo(19);
+    assertThat(SpanNameStats.getBucketLowerBoundMicros(19)).isEqualTo(768);
+    assertThat(SpanNameStats.getBucketLowerBoundMicros(20)).isEqualTo(1024);
+    assertThat(SpanNameStats.getLatencyBucket(TimeUnit.DAYS.toNanos(1))).isEqualTo(63);
+  }
+
+  @Test
+  void countsAndPercentiles() {
+    // 100 spans over 10 seconds, with latencies from 1ms to 100ms, every tenth one an error.
+    for (int i = 1; i <= 100; i++) {
+      stats.record(START_EPOCH_NANOS + millis(100 * i), millis(i), i % 10 == 0);
+    }
+    long now = START_EPOCH_NANOS + TimeUnit.SECONDS.toNanos(10);
+    for (StatsWindow window : StatsWindow.values()) {
+      WindowStats windowStats = stats.getStats(window, now);
+      assertThat(windowStats.getCount()).isEqualTo(100);
+      assertThat(windowStats.getErrorCount()).isEqualTo(10);
+      assertThat(windowStats.getErrorRate()).isEqualTo(0.1);
+      // Percentiles are within the histogram bucket resolution.
+      assertThat(windowStats.getP50Nanos()).isCloseTo(millis(50), within(millis(10)));
+      assertThat(windowStats.getP90Nanos()).isCloseTo(millis(90), within(millis(20)));
+      assertThat(windowStats.getP99Nanos()).isCloseTo(millis(99), within(millis(30)));
+    }
+    // The current slot just started, so the rate is over the five previous slots.
+    assertThat(stats.getStats(StatsWindow.ONE_MINUTE, now).getRatePerSecond())
+        .isCloseTo(2.0, within(0.01));
+  }
+
+  @Test
+  void slotsExpire() {
+    stats.record(START_EPOCH_NANOS, millis(1), false);
+
+    long now = START_EPOCH_NANOS + TimeUnit.MINUTES.toNanos(5);
+    assertThat(stats.getStats(StatsWindow.ONE_MINUTE, now).getCount()).isEqualTo(0);
+    assertThat(stats.getStats(StatsWindow.TEN_MINUTES, now).getCount()).isEqualTo(1);
+    assertThat(stats.getStats(StatsWindow.ONE_HOUR, now).getCount()).isEqualTo(1);
+
+    // The slot of the first span is reused.
+    stats.record(START_EPOCH_NANOS + TimeUnit.MINUTES.toNanos(60), millis(1), false);
+    now = START_EPOCH_NANOS + TimeUnit.MINUTES.toNanos(60);
+    assertThat(stats.getStats(StatsWindow.ONE_MINUTE, now).getCount()).isEqualTo(1);
+    assertThat(stats.getStats(StatsWindow.TEN_MINUTES, now).getCount()).isEqualTo(1);
+    assertThat(stats.getStats(StatsWindow.ONE_HOUR, now).getCount()).isEqualTo(1);
+
+    // A span which ended before its slot was reused is not recorded.
+    stats.record(START_EPOCH_NANOS, millis(1), false);
+    assertThat(stats.getStats(StatsWindow.ONE_HOUR, now).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void noSpans() {
+    WindowStats windowStats = stats.getStats(StatsWindow.ONE_HOUR, START_EPOCH_NANOS);
+    assertThat(windowStats.getCount()).isEqualTo(0);
+    assertThat(windowStats.getRatePerSecond()).isEqualTo(0);
+    assertThat(windowStats.getErrorRate()).isEqualTo(0);
+    assertThat(windowStats.getP99Nanos()).isEqualTo(0);
+  }
+
+  private static long micros(long micros) {
+    return TimeUnit.MICROSECONDS.toNanos(micros);
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
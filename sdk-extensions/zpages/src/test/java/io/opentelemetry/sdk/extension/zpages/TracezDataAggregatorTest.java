@@ -25,7 +25,8 @@ public final class TracezDataAggregatorTest {
   private static final String SPAN_NAME_ONE = "one";
   private static final String SPAN_NAME_TWO = "two";
   private final TestClock testClock = TestClock.create();
-  private final TracezSpanProcessor spanProcessor = TracezSpanProcessor.builder().build();
+  private final TracezSpanProcessor spanProcessor =
+      TracezSpanProcessor.builder().setClock(testClock).build();
   private final SdkTracerProvider sdkTracerProvider =
       SdkTracerProvider.builder().setClock(testClock).addSpanProcessor(spanProcessor).build();
   private final Tracer tracer = sdkTracerProvider.get("TracezDataAggregatorTest");
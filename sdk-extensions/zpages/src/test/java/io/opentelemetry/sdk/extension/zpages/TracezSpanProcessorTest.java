@@ -6,19 +6,24 @@
 package io.opentelemetry.sdk.extension.zpages;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanId;
 import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceId;
 import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.sdk.trace.data.StatusData;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -96,4 +101,32 @@ class TracezSpanProcessorTest {
     spanProcessor.onEnd(readableSpan);
     assertSpanCacheSizes(spanProcessor, 0, 0);
   }
+
+  @Test
+  void onEnd_evictsLeastRecentlyEndedSpanName() {
+    TracezSpanProcessor spanProcessor = TracezSpanProcessor.builder().setMaxSpanNames(2).build();
+    Tracer tracer = SdkTracerProvider.builder().build().get("TracezSpanProcessorTest");
+
+    endSpan(spanProcessor, tracer, "one", 1);
+    endSpan(spanProcessor, tracer, "two", 2);
+    endSpan(spanProcessor, tracer, "one", 3);
+    /* "two" ended a span least recently, so it makes room for "three" */
+    endSpan(spanProcessor, tracer, "three", 4);
+    assertThat(spanProcessor.getCompletedSpanCache()).containsOnlyKeys("one", "three");
+    assertThat(spanProcessor.getCompletedSpanCache().get("one").getSpans()).hasSize(2);
+  }
+
+  @Test
+  void builder_invalidMaxSpanNames() {
+    assertThatThrownBy(() -> TracezSpanProcessor.builder().setMaxSpanNames(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSpanNames must be positive.");
+  }
+
+  private static void endSpan(
+      TracezSpanProcessor spanProcessor, Tracer tracer, String spanName, long endSeconds) {
+    Span span = tracer.spanBuilder(spanName).setStartTimestamp(0, TimeUnit.SECONDS).startSpan();
+    span.end(endSeconds, TimeUnit.SECONDS);
+    spanProcessor.onEnd((ReadableSpan) span);
+  }
 }
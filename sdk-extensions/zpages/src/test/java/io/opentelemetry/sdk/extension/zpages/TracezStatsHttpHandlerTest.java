@@ -0,0 +1,57 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.extension.zpages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.testing.time.TestClock;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link TracezStatsHttpHandler}. */
+class TracezStatsHttpHandlerTest {
+  private final TestClock testClock = TestClock.create();
+  private final TracezSpanProcessor spanProcessor =
+      TracezSpanProcessor.builder().setClock(testClock).build();
+  private final SdkTracerProvider sdkTracerProvider =
+      SdkTracerProvider.builder().setClock(testClock).addSpanProcessor(spanProcessor).build();
+  private final Tracer tracer = sdkTracerProvider.get("TracezStatsHttpHandlerTest");
+  private final TracezStatsHttpHandler handler =
+      new TracezStatsHttpHandler(new TracezDataAggregator(spanProcessor));
+
+  @Test
+  void emitJson_noSpans() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    handler.emitJson(output);
+    assertThat(output.toString("UTF-8")).isEqualTo("{\"spanNames\":{}}");
+  }
+
+  @Test
+  void emitJson() throws IOException {
+    Span span = tracer.spanBuilder("GET \"/users\"").startSpan();
+    testClock.advance(Duration.ofMillis(2));
+    span.end();
+    Span errorSpan = tracer.spanBuilder("GET \"/users\"").startSpan();
+    errorSpan.setStatus(StatusCode.ERROR);
+    errorSpan.end();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    handler.emitJson(output);
+    String json = output.toString("UTF-8");
+    assertThat(json)
+        .startsWith("{\"spanNames\":{\"GET \\\"/users\\\"\":{\"1m\":{\"count\":2,\"errorCount\":1,")
+        .contains("\"errorRate\":0.500000")
+        .contains("\"10m\":{\"count\":2")
+        .contains("\"1h\":{\"count\":2")
+        .endsWith("}}}}");
+  }
+}
@@ -37,7 +37,8 @@ class TracezZPageHandlerTest {
   private static final String LATENCY_SPAN = "LatencySpan";
   private static final String ERROR_SPAN = "ErrorSpan";
   private final TestClock testClock = TestClock.create();
-  private final TracezSpanProcessor spanProcessor = TracezSpanProcessor.builder().build();
+  private final TracezSpanProcessor spanProcessor =
+      TracezSpanProcessor.builder().setClock(testClock).build();
   private final SdkTracerProvider sdkTracerProvider =
       SdkTracerProvider.builder().setClock(testClock).addSpanProcessor(spanProcessor).build();
   private final Tracer tracer = sdkTracerProvider.get("TracezZPageHandlerTest");
@@ -99,6 +100,25 @@ class TracezZPageHandlerTest {
     runningSpan3.end();
   }
 
+  @Test
+  void statsTable_emitRowForEachCompletedSpanName() {
+    OutputStream output = new ByteArrayOutputStream();
+    Span finishedSpan = tracer.spanBuilder(FINISHED_SPAN_ONE).startSpan();
+    testClock.advance(5, TimeUnit.MILLISECONDS);
+    finishedSpan.end();
+
+    TracezZPageHandler tracezZPageHandler = new TracezZPageHandler(dataAggregator);
+    tracezZPageHandler.emitHtml(emptyQueryMap, output);
+
+    assertThat(output.toString()).contains("<h2>Span Statistics</h2>");
+    assertThat(output.toString()).contains("<b>Last 1m</b>");
+    assertThat(output.toString()).contains("href=\"/tracez/stats\"");
+    // The row of the span name starts with its rate and error rate over the last minute.
+    assertThat(output.toString())
+        .containsPattern(
+            "<td>" + FINISHED_SPAN_ONE + "</td><td[^>]*>[0-9.]+</td><td[^>]*>0\\.0%</td>");
+  }
+
   @Test
   void summaryTable_linkForLatencyBasedSpans_NoneForEmptyBoundary() {
     OutputStream output = new ByteArrayOutputStream();
@@ -276,6 +296,41 @@ class TracezZPageHandlerTest {
     runningSpan.end();
   }
 
+  @Test
+  void spanDetails_emitOnePageOfSpans() {
+    Span[] runningSpans = new Span[TracezZPageHandler.SPANS_PER_PAGE + 10];
+    for (int i = 0; i < runningSpans.length; i++) {
+      runningSpans[i] = tracer.spanBuilder(RUNNING_SPAN).startSpan();
+      testClock.advance(1, TimeUnit.MILLISECONDS);
+    }
+    TracezZPageHandler tracezZPageHandler = new TracezZPageHandler(dataAggregator);
+
+    OutputStream firstPage = new ByteArrayOutputStream();
+    tracezZPageHandler.emitHtml(
+        ImmutableMap.of("zspanname", RUNNING_SPAN, "ztype", "0", "zsubtype", "0"), firstPage);
+    assertThat(firstPage.toString()).contains("Spans 1 to 50 of 60");
+    assertThat(firstPage.toString())
+        .contains("href=\"?zspanname=" + RUNNING_SPAN + "&ztype=0&zsubtype=0&zpage=1\">Next");
+    assertThat(firstPage.toString()).contains(runningSpans[0].getSpanContext().getSpanId());
+    assertThat(firstPage.toString())
+        .doesNotContain(runningSpans[runningSpans.length - 1].getSpanContext().getSpanId());
+
+    OutputStream lastPage = new ByteArrayOutputStream();
+    tracezZPageHandler.emitHtml(
+        ImmutableMap.of("zspanname", RUNNING_SPAN, "ztype", "0", "zsubtype", "0", "zpage", "1"),
+        lastPage);
+    assertThat(lastPage.toString()).contains("Spans 51 to 60 of 60");
+    assertThat(lastPage.toString()).contains("&zpage=0\">&lt; Previous");
+    assertThat(lastPage.toString()).doesNotContain("Next &gt;");
+    assertThat(lastPage.toString()).doesNotContain(runningSpans[0].getSpanContext().getSpanId());
+    assertThat(lastPage.toString())
+        .contains(runningSpans[runningSpans.length - 1].getSpanContext().getSpanId());
+
+    for (Span runningSpan : runningSpans) {
+      runningSpan.end();
+    }
+  }
+
   @Test
   void spanDetails_emitLatencySpanDetailsCorrectly() {
     OutputStream output = new ByteArrayOutputStream();
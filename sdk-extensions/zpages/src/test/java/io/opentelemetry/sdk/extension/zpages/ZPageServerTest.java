@@ -6,7 +6,9 @@
 package io.opentelemetry.sdk.extension.zpages;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.concurrent.ThreadPoolExecutor;
 import org.junit.jupiter.api.Test;
 
 class ZPageServerTest {
@@ -26,4 +28,24 @@ class ZPageServerTest {
   void testSampler() {
     assertThat(ZPageServer.getTracezSampler()).isInstanceOf(TracezTraceConfigSupplier.class);
   }
+
+  @Test
+  void startHttpServer_invalidMaxThreads() {
+    assertThatThrownBy(() -> ZPageServer.startHttpServerAndRegisterAllPages(0, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxThreads must be positive.");
+  }
+
+  @Test
+  void executor_bounded() {
+    ThreadPoolExecutor executor = ZPageServer.newExecutor(3);
+    try {
+      assertThat(executor.getMaximumPoolSize()).isEqualTo(3);
+      assertThat(executor.getQueue().remainingCapacity()).isPositive();
+      assertThat(executor.getRejectedExecutionHandler())
+          .isInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class);
+    } finally {
+      executor.shutdown();
+    }
+  }
 }
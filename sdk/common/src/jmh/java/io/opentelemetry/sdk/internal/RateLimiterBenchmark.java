@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link RateLimiter} and {@link StripedRateLimiter} when many threads spend credits, with
+ * a rate allowing most calls and a rate denying most calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+  @Param({"RATE_LIMITER", "STRIPED_RATE_LIMITER"})
+  private String limiterType;
+
+  @Param({"1000", "1000000000"})
+  private double creditsPerSecond;
+
+  private RateLimiter rateLimiter;
+  private StripedRateLimiter stripedRateLimiter;
+  private boolean striped;
+
+  @Setup
+  public void setup() {
+    striped = limiterType.equals("STRIPED_RATE_LIMITER");
+    rateLimiter = new RateLimiter(creditsPerSecond, creditsPerSecond, Clock.getDefault());
+    stripedRateLimiter =
+        new StripedRateLimiter(creditsPerSecond, creditsPerSecond, Clock.getDefault());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean trySpend_01Thread() {
+    return trySpend();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean trySpend_04Threads() {
+    return trySpend();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public boolean trySpend_16Threads() {
+    return trySpend();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public boolean trySpend_64Threads() {
+    return trySpend();
+  }
+
+  private boolean trySpend() {
+    return striped ? stripedRateLimiter.trySpend(1.0) : rateLimiter.trySpend(1.0);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+
+/**
+ * Receives events from the export pipelines of the SDK, such as batch exports with the depth of the
+ * queue they are taken from, queue-full drops, metric collections and marshaling. The default
+ * instance ignores all events, an implementation recording them, e.g. as JFR events, can be
+ * installed with {@link #set(PipelineEvents)}.
+ *
+ * <p>Callers must check {@link #isEnabled()} before measuring anything for an event, so the
+ * pipelines only pay for a volatile read while no implementation records events.
+ */
+public class PipelineEvents {
+
+  /** The result of an export. */
+  public enum ExportResult {
+    SUCCESS,
+    FAILURE,
+    TIMEOUT;
+
+    /** Returns the result of an export which was waited for, timing out if it isn't done. */
+    public static ExportResult of(CompletableResultCode result) {
+      if (!result.isDone()) {
+        return TIMEOUT;
+      }
+      return result.isSuccess() ? SUCCESS : FAILURE;
+    }
+  }
+
+  private static final PipelineEvents NOOP = new PipelineEvents();
+
+  private static volatile PipelineEvents current = NOOP;
+
+  /** Returns the installed {@link PipelineEvents}, which ignores all events by default. */
+  public static PipelineEvents get() {
+    return current;
+  }
+
+  /** Installs the {@link PipelineEvents} which receives the events of all pipelines. */
+  public static void set(PipelineEvents pipelineEvents) {
+    current = requireNonNull(pipelineEvents, "pipelineEvents");
+  }
+
+  /** Restores the {@link PipelineEvents} which ignores all events. */
+  public static void reset() {
+    current = NOOP;
+  }
+
+  protected PipelineEvents() {}
+
+  /** Returns whether any event is currently recorded. */
+  public boolean isEnabled() {
+    return false;
+  }
+
+  /**
+   * Records the export of a batch by a processor, e.g. {@code BatchSpanProcessor}.
+   *
+   * @param component the simple class name of the processor.
+   * @param batchSize the number of items in the batch.
+   * @param queueSize the number of items left in the queue of the processor, waiting for a later
+   *     batch.
+   * @param durationNanos the time from calling the exporter to its result being known.
+   * @param result the result of the export.
+   */
+  public void batchExported(
+      String component, int batchSize, int queueSize, long durationNanos, ExportResult result) {}
+
+  /**
+   * Records items dropped by a processor because its queue was full.
+   *
+   * @param component the simple class name of the processor.
+   * @param count the number of dropped items.
+   */
+  public void queueFullDropped(String component, int count) {}
+
+  /**
+   * Records the collection of a single instrument.
+   *
+   * @param instrumentName the name of the instrument.
+   * @param metricCount the number of metrics collected from the instrument.
+   * @param durationNanos the time it took to collect the instrument.
+   */
+  public void instrumentCollected(String instrumentName, int metricCount, long durationNanos) {}
+
+  /**
+   * Records a collection and export cycle of a metric reader, e.g. {@code IntervalMetricReader}.
+   *
+   * @param component the simple class name of the reader.
+   * @param metricCount the number of metrics collected and exported.
+   * @param collectionNanos the time it took to collect all the metric producers.
+   * @param exportNanos the time from calling the exporter to its result being known.
+   * @param result the result of the export.
+   */
+  public void metricCycle(
+      String component,
+      int metricCount,
+      long collectionNanos,
+      long exportNanos,
+      ExportResult result) {}
+
+  /**
+   * Records the marshaling of an OTLP request by an exporter.
+   *
+   * @param component the simple class name of the exporter.
+   * @param itemCount the number of items in the request.
+   * @param serializedSize the size of the serialized request, in bytes.
+   * @param marshalNanos the time it took to convert the items to the request.
+   * @param serializeNanos the time it took to serialize the request, or {@code 0} if it is
+   *     serialized by the transport.
+   */
+  public void requestMarshaled(
+      String component,
+      int itemCount,
+      int serializedSize,
+      long marshalNanos,
+      long serializeNanos) {}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import io.opentelemetry.sdk.common.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A rate limiter with the semantics of {@link RateLimiter}, for limiters used concurrently by many
+ * threads.
+ *
+ * <p>Credits accrue in a global balance, as in {@link RateLimiter}. Threads withdraw them in
+ * batches into one of several stripes, and spend them from their stripe, so that most calls neither
+ * update the global balance nor read the clock. The clock is only read when a stripe runs out of
+ * credits.
+ *
+ * <p>All credits are accrued by the global balance, so the long term rate never exceeds {@code
+ * creditsPerSecond}. Credits parked in stripes can't be spent by threads using other stripes
+ * though. Each stripe parks about a batch of {@code maxBalance} divided by the number of stripes,
+ * unless threads sharing it withdraw concurrently, so about {@code maxBalance} credits are parked
+ * in total, in addition to the global balance which is also capped by {@code maxBalance}. The
+ * limiter can hence deny an item while up to {@code maxBalance} credits are parked in other
+ * stripes, and allow bursts of up to twice {@code maxBalance}.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class StripedRateLimiter {
+
+  // Each stripe uses its own 128 bytes of the array, so that stripes don't share a cache line.
+  private static final int STRIDE = 16;
+
+  private static final int MAX_STRIPES = 64;
+
+  private final Clock clock;
+  private final double creditsPerNanosecond;
+  private final long maxBalance; // max balance in nano ticks
+  private final AtomicLong currentBalance; // last refill nano time less remaining balance
+  private final AtomicLongArray stripes; // balance of each stripe in nano ticks
+  private final int stripeMask;
+  private final long batch; // credits withdrawn by a stripe at once in nano ticks
+
+  /**
+   * Create a new StripedRateLimiter with the provided parameters, with a stripe per available
+   * processor.
+   *
+   * @param creditsPerSecond How many credits to accrue per second.
+   * @param maxBalance The maximum balance that the limiter can hold, which corresponds to the rate
+   *     that is being limited to.
+   * @param clock An implementation of the {@link Clock} interface.
+   */
+  public StripedRateLimiter(double creditsPerSecond, double maxBalance, Clock clock) {
+    this(creditsPerSecond, maxBalance, clock, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a new StripedRateLimiter with the provided parameters.
+   *
+   * @param creditsPerSecond How many credits to accrue per second.
+   * @param maxBalance The maximum balance that the limiter can hold, which corresponds to the rate
+   *     that is being limited to.
+   * @param clock An implementation of the {@link Clock} interface.
+   * @param concurrency The expected number of threads spending credits concurrently, rounded up to
+   *     a power of two stripes, with at most {@value MAX_STRIPES} stripes.
+   */
+  public StripedRateLimiter(
+      double creditsPerSecond, double maxBalance, Clock clock, int concurrency) {
+    this.clock = clock;
+    this.creditsPerNanosecond = creditsPerSecond / 1.0e9;
+    this.maxBalance = (long) (maxBalance / creditsPerNanosecond);
+    this.currentBalance = new AtomicLong(clock.nanoTime() - this.maxBalance);
+    int stripeCount = 1;
+    while (stripeCount < concurrency && stripeCount < MAX_STRIPES) {
+      stripeCount <<= 1;
+    }
+    this.stripes = new AtomicLongArray(stripeCount * STRIDE);
+    this.stripeMask = stripeCount - 1;
+    this.batch = this.maxBalance / stripeCount;
+  }
+
+  /**
+   * Check to see if the provided cost can be spent within the current limits. Will deduct the cost
+   * from the current balance if it can be spent.
+   */
+  public boolean trySpend(double itemCost) {
+    long cost = (long) (itemCost / creditsPerNanosecond);
+    int index = ((int) Thread.currentThread().getId() & stripeMask) * STRIDE;
+    if (spendFromStripe(index, cost)) {
+      return true;
+    }
+    long credits = withdraw(Math.max(batch, cost), cost - Math.max(stripes.get(index), 0));
+    if (credits == 0) {
+      return false;
+    }
+    stripes.addAndGet(index, credits);
+    // Another thread of the stripe may spend the withdrawn credits first, they are not lost.
+    return spendFromStripe(index, cost);
+  }
+
+  // Visible for testing
+  double getParkedCredits() {
+    long parked = 0;
+    for (int i = 0; i < stripes.length(); i += STRIDE) {
+      parked += stripes.get(i);
+    }
+    return parked * creditsPerNanosecond;
+  }
+
+  private boolean spendFromStripe(int index, long cost) {
+    long balance;
+    do {
+      balance = stripes.get(index);
+      if (balance < cost) {
+        return false;
+      }
+    } while (!stripes.compareAndSet(index, balance, balance - cost));
+    return true;
+  }
+
+  /**
+   * Withdraws up to {@code wanted} credits from the global balance, if at least {@code needed}
+   * credits are available. Returns the number of credits withdrawn, {@code 0} if there weren't
+   * enough.
+   */
+  private long withdraw(long wanted, long needed) {
+    long currentNanos = clock.nanoTime();
+    long currentBalanceNanos;
+    long withdrawn;
+    long availableBalanceAfterWithdrawal;
+    do {
+      currentBalanceNanos = currentBalance.get();
+      long currentAvailableBalance = currentNanos - currentBalanceNanos;
+      if (currentAvailableBalance > maxBalance) {
+        currentAvailableBalance = maxBalance;
+      }
+      if (currentAvailableBalance < needed || currentAvailableBalance <= 0) {
+        return 0;
+      }
+      withdrawn = Math.min(wanted, currentAvailableBalance);
+      availableBalanceAfterWithdrawal = currentAvailableBalance - withdrawn;
+    } while (!currentBalance.compareAndSet(
+        currentBalanceNanos, currentNanos - availableBalanceAfterWithdrawal));
+    return withdrawn;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.opentelemetry.sdk.testing.time.TestClock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StripedRateLimiterTest {
+
+  @Test
+  void singleStripeMatchesRateLimiter() {
+    TestClock clock = TestClock.create();
+    StripedRateLimiter limiter = new StripedRateLimiter(2.0, 2.0, clock, 1);
+
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.trySpend(1.0)).isFalse();
+    // move time 250ms forward, not enough credits to pay for 1.0 item
+    clock.advance(Duration.ofMillis(250));
+    assertThat(limiter.trySpend(1.0)).isFalse();
+
+    // move time 500ms forward, now enough credits to pay for 1.0 item
+    clock.advance(Duration.ofMillis(500));
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.trySpend(1.0)).isFalse();
+
+    // move time 5s forward, the global balance is still capped at 2
+    clock.advance(Duration.ofSeconds(5));
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.trySpend(1.0)).isFalse();
+  }
+
+  @Test
+  void withdrawsBatches() {
+    TestClock clock = TestClock.create();
+    StripedRateLimiter limiter = new StripedRateLimiter(100, 100, clock, 4);
+
+    // Withdraws a batch of a quarter of the max balance.
+    assertThat(limiter.trySpend(1.0)).isTrue();
+    assertThat(limiter.getParkedCredits()).isCloseTo(24, within(1e-3));
+
+    for (int i = 0; i < 99; i++) {
+      assertThat(limiter.trySpend(1.0)).isTrue();
+    }
+    assertThat(limiter.trySpend(1.0)).isFalse();
+    assertThat(limiter.getParkedCredits()).isCloseTo(0, within(1e-3));
+  }
+
+  @Test
+  void costAboveBatch() {
+    TestClock clock = TestClock.create();
+    StripedRateLimiter limiter = new StripedRateLimiter(1000, 100, clock, 64);
+
+    assertThat(limiter.trySpend(100)).isTrue();
+    assertThat(limiter.trySpend(1)).isFalse();
+
+    clock.advance(Duration.ofMillis(49));
+    assertThat(limiter.trySpend(50)).isFalse();
+    clock.advance(Duration.ofMillis(1));
+    assertThat(limiter.trySpend(50)).isTrue();
+    assertThat(limiter.trySpend(1)).isFalse();
+  }
+
+  /** Validates that concurrent spending never spends a credit twice. */
+  @Test
+  void concurrency() throws InterruptedException, ExecutionException {
+    int numWorkers = 8;
+    ExecutorService executorService = Executors.newFixedThreadPool(numWorkers);
+    int creditsPerWorker = 1000;
+    TestClock clock = TestClock.create();
+    StripedRateLimiter limiter =
+        new StripedRateLimiter(1, numWorkers * creditsPerWorker, clock, numWorkers);
+    AtomicInteger count = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>(numWorkers);
+    for (int w = 0; w < numWorkers; ++w) {
+      Future<?> future =
+          executorService.submit(
+              () -> {
+                for (int i = 0; i < creditsPerWorker * 2; ++i) {
+                  if (limiter.trySpend(1)) {
+                    count.getAndIncrement(); // count allowed operations
+                  }
+                }
+              });
+      futures.add(future);
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executorService.shutdown();
+    executorService.awaitTermination(1, TimeUnit.SECONDS);
+
+    // Credits are either spent or parked in the stripe of a thread which stopped spending.
+    assertThat(count.get() + limiter.getParkedCredits())
+        .isCloseTo(numWorkers * creditsPerWorker, within(1e-3));
+  }
+}
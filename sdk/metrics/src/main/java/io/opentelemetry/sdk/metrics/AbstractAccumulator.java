@@ -10,8 +10,12 @@ import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 abstract class AbstractAccumulator {
+  private final AtomicLong collectionCount = new AtomicLong();
+  private volatile long lastCollectionNanos;
+
   /**
    * Returns the list of metrics collected.
    *
@@ -19,6 +23,26 @@ abstract class AbstractAccumulator {
    */
   abstract List<MetricData> collectAll(long epochNanos);
 
+  /** Returns the number of label sets currently held, without collecting. */
+  abstract long getSeriesCount();
+
+  /** Returns the number of values recorded since the creation of the accumulator. */
+  abstract long getRecordingCount();
+
+  /** Records the end of a collection cycle which took {@code durationNanos}. */
+  final void collectionCompleted(long durationNanos) {
+    lastCollectionNanos = durationNanos;
+    collectionCount.incrementAndGet();
+  }
+
+  final long getCollectionCount() {
+    return collectionCount.get();
+  }
+
+  final long getLastCollectionNanos() {
+    return lastCollectionNanos;
+  }
+
   static <T> Aggregator<T> getAggregator(
       MeterProviderSharedState meterProviderSharedState,
       MeterSharedState meterSharedState,
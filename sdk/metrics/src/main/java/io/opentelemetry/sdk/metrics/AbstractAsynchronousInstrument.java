@@ -22,4 +22,9 @@ abstract class AbstractAsynchronousInstrument extends AbstractInstrument {
   final List<MetricData> collectAll(long epochNanos) {
     return accumulator.collectAll(epochNanos);
   }
+
+  @Override
+  final AsynchronousInstrumentAccumulator getAccumulator() {
+    return accumulator;
+  }
 }
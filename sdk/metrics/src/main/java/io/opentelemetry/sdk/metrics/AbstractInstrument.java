@@ -34,6 +34,9 @@ abstract class AbstractInstrument implements Instrument {
    */
   abstract List<MetricData> collectAll(long epochNanos);
 
+  /** Returns the accumulator of this instrument, to read its statistics without collecting. */
+  abstract AbstractAccumulator getAccumulator();
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
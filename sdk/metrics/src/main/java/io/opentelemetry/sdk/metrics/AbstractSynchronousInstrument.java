@@ -25,6 +25,11 @@ abstract class AbstractSynchronousInstrument extends AbstractInstrument {
     return accumulator.collectAll(epochNanos);
   }
 
+  @Override
+  final SynchronousInstrumentAccumulator<?> getAccumulator() {
+    return accumulator;
+  }
+
   AggregatorHandle<?> acquireHandle(Labels labels) {
     return accumulator.bind(labels);
   }
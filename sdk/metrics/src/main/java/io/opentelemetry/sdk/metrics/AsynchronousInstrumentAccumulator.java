@@ -12,6 +12,7 @@ import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.processor.LabelsProcessor;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -20,6 +21,10 @@ final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
   private final ReentrantLock collectLock = new ReentrantLock();
   private final InstrumentProcessor<?> instrumentProcessor;
   private final Runnable metricUpdater;
+  private final LongAdder observations;
+  // Number of observations before the current collection cycle, only accessed under collectLock.
+  private long previousObservations;
+  private volatile long lastCycleObservations;
 
   static <T> AsynchronousInstrumentAccumulator doubleAsynchronousAccumulator(
       MeterProviderSharedState meterProviderSharedState,
@@ -31,20 +36,23 @@ final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
     InstrumentProcessor<T> instrumentProcessor =
         new InstrumentProcessor<>(aggregator, meterProviderSharedState.getStartEpochNanos());
     // TODO: Decide what to do with null updater.
+    LongAdder observations = new LongAdder();
     if (metricUpdater == null) {
-      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {});
+      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {}, observations);
     }
 
     LabelsProcessor labelsProcessor =
         getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor);
     AsynchronousInstrument.DoubleResult result =
-        (value, labels) ->
-            instrumentProcessor.batch(
-                labelsProcessor.onLabelsBound(Context.current(), labels),
-                aggregator.accumulateDouble(value));
+        (value, labels) -> {
+          observations.increment();
+          instrumentProcessor.batch(
+              labelsProcessor.onLabelsBound(Context.current(), labels),
+              aggregator.accumulateDouble(value));
+        };
 
     return new AsynchronousInstrumentAccumulator(
-        instrumentProcessor, () -> metricUpdater.accept(result));
+        instrumentProcessor, () -> metricUpdater.accept(result), observations);
   }
 
   static <T> AsynchronousInstrumentAccumulator longAsynchronousAccumulator(
@@ -57,35 +65,58 @@ final class AsynchronousInstrumentAccumulator extends AbstractAccumulator {
     InstrumentProcessor<T> instrumentProcessor =
         new InstrumentProcessor<>(aggregator, meterProviderSharedState.getStartEpochNanos());
     // TODO: Decide what to do with null updater.
+    LongAdder observations = new LongAdder();
     if (metricUpdater == null) {
-      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {});
+      return new AsynchronousInstrumentAccumulator(instrumentProcessor, () -> {}, observations);
     }
 
     LabelsProcessor labelsProcessor =
         getLabelsProcessor(meterProviderSharedState, meterSharedState, descriptor);
     AsynchronousInstrument.LongResult result =
-        (value, labels) ->
-            instrumentProcessor.batch(
-                labelsProcessor.onLabelsBound(Context.current(), labels),
-                aggregator.accumulateLong(value));
+        (value, labels) -> {
+          observations.increment();
+          instrumentProcessor.batch(
+              labelsProcessor.onLabelsBound(Context.current(), labels),
+              aggregator.accumulateLong(value));
+        };
 
     return new AsynchronousInstrumentAccumulator(
-        instrumentProcessor, () -> metricUpdater.accept(result));
+        instrumentProcessor, () -> metricUpdater.accept(result), observations);
   }
 
   private AsynchronousInstrumentAccumulator(
-      InstrumentProcessor<?> instrumentProcessor, Runnable metricUpdater) {
+      InstrumentProcessor<?> instrumentProcessor, Runnable metricUpdater, LongAdder observations) {
     this.instrumentProcessor = instrumentProcessor;
     this.metricUpdater = metricUpdater;
+    this.observations = observations;
+  }
+
+  /**
+   * Returns the number of values observed during the last collection cycle, the label sets of
+   * asynchronous instruments are only known while they are collected.
+   */
+  @Override
+  long getSeriesCount() {
+    return lastCycleObservations;
+  }
+
+  @Override
+  long getRecordingCount() {
+    return observations.sum();
   }
 
   @Override
   List<MetricData> collectAll(long epochNanos) {
     collectLock.lock();
+    long startNanos = System.nanoTime();
     try {
       metricUpdater.run();
+      long totalObservations = observations.sum();
+      lastCycleObservations = totalObservations - previousObservations;
+      previousObservations = totalObservations;
       return instrumentProcessor.completeCollectionCycle(epochNanos);
     } finally {
+      collectionCompleted(System.nanoTime() - startNanos);
       collectLock.unlock();
     }
   }
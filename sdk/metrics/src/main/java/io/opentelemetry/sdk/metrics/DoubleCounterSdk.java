@@ -29,6 +29,7 @@ final class DoubleCounterSdk extends AbstractSynchronousInstrument implements Do
         throw new IllegalArgumentException("Counters can only increase");
       }
       aggregatorHandle.recordDouble(increment);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -41,14 +42,17 @@ final class DoubleCounterSdk extends AbstractSynchronousInstrument implements Do
 
   @Override
   public BoundDoubleCounter bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundDoubleCounter {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
@@ -57,6 +61,7 @@ final class DoubleCounterSdk extends AbstractSynchronousInstrument implements Do
         throw new IllegalArgumentException("Counters can only increase");
       }
       aggregatorHandle.recordDouble(increment);
+      accumulator.countRecording();
     }
 
     @Override
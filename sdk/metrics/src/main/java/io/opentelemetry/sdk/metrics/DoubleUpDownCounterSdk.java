@@ -27,6 +27,7 @@ final class DoubleUpDownCounterSdk extends AbstractSynchronousInstrument
     AggregatorHandle<?> aggregatorHandle = acquireHandle(labels);
     try {
       aggregatorHandle.recordDouble(increment);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -39,19 +40,23 @@ final class DoubleUpDownCounterSdk extends AbstractSynchronousInstrument
 
   @Override
   public BoundDoubleUpDownCounter bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundDoubleUpDownCounter {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
     public void add(double increment) {
       aggregatorHandle.recordDouble(increment);
+      accumulator.countRecording();
     }
 
     @Override
@@ -27,6 +27,7 @@ final class DoubleValueRecorderSdk extends AbstractSynchronousInstrument
     AggregatorHandle<?> aggregatorHandle = acquireHandle(labels);
     try {
       aggregatorHandle.recordDouble(value);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -39,19 +40,23 @@ final class DoubleValueRecorderSdk extends AbstractSynchronousInstrument
 
   @Override
   public BoundDoubleValueRecorder bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundDoubleValueRecorder {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
     public void record(double value) {
       aggregatorHandle.recordDouble(value);
+      accumulator.countRecording();
     }
 
     @Override
@@ -0,0 +1,62 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.metrics;
+
+import com.google.auto.value.AutoValue;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.metrics.common.InstrumentDescriptor;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A snapshot of the counters kept by the SDK for an instrument, to diagnose the cost of its
+ * recordings. Reading them does not collect the instrument.
+ */
+@Immutable
+@AutoValue
+public abstract class InstrumentStats {
+
+  static InstrumentStats create(
+      InstrumentationLibraryInfo instrumentationLibraryInfo,
+      InstrumentDescriptor instrumentDescriptor,
+      long seriesCount,
+      long recordingCount,
+      long collectionCount,
+      long lastCollectionNanos) {
+    return new AutoValue_InstrumentStats(
+        instrumentationLibraryInfo,
+        instrumentDescriptor,
+        seriesCount,
+        recordingCount,
+        collectionCount,
+        lastCollectionNanos);
+  }
+
+  InstrumentStats() {}
+
+  /** Returns the instrumentation library of the {@code Meter} which created the instrument. */
+  public abstract InstrumentationLibraryInfo getInstrumentationLibraryInfo();
+
+  /** Returns the descriptor of the instrument. */
+  public abstract InstrumentDescriptor getInstrumentDescriptor();
+
+  /**
+   * Returns the number of label sets currently held by the instrument. For asynchronous
+   * instruments, this is the number of values observed during the last collection.
+   */
+  public abstract long getSeriesCount();
+
+  /**
+   * Returns the number of values recorded since the instrument was created. For asynchronous
+   * instruments, this is the number of values observed.
+   */
+  public abstract long getRecordingCount();
+
+  /** Returns the number of times the instrument was collected. */
+  public abstract long getCollectionCount();
+
+  /** Returns the duration of the last collection of the instrument, in nanoseconds. */
+  public abstract long getLastCollectionNanos();
+}
@@ -29,6 +29,7 @@ final class LongCounterSdk extends AbstractSynchronousInstrument implements Long
         throw new IllegalArgumentException("Counters can only increase");
       }
       aggregatorHandle.recordLong(increment);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -41,14 +42,17 @@ final class LongCounterSdk extends AbstractSynchronousInstrument implements Long
 
   @Override
   public BoundLongCounter bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundLongCounter {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
@@ -57,6 +61,7 @@ final class LongCounterSdk extends AbstractSynchronousInstrument implements Long
         throw new IllegalArgumentException("Counters can only increase");
       }
       aggregatorHandle.recordLong(increment);
+      accumulator.countRecording();
     }
 
     @Override
@@ -27,6 +27,7 @@ final class LongUpDownCounterSdk extends AbstractSynchronousInstrument
     AggregatorHandle<?> aggregatorHandle = acquireHandle(labels);
     try {
       aggregatorHandle.recordLong(increment);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -39,19 +40,23 @@ final class LongUpDownCounterSdk extends AbstractSynchronousInstrument
 
   @Override
   public BoundLongUpDownCounter bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundLongUpDownCounter {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
     public void add(long increment) {
       aggregatorHandle.recordLong(increment);
+      accumulator.countRecording();
     }
 
     @Override
@@ -27,6 +27,7 @@ final class LongValueRecorderSdk extends AbstractSynchronousInstrument
     AggregatorHandle<?> aggregatorHandle = acquireHandle(labels);
     try {
       aggregatorHandle.recordLong(value);
+      getAccumulator().countRecording();
     } finally {
       aggregatorHandle.release();
     }
@@ -39,19 +40,23 @@ final class LongValueRecorderSdk extends AbstractSynchronousInstrument
 
   @Override
   public BoundLongValueRecorder bind(Labels labels) {
-    return new BoundInstrument(acquireHandle(labels));
+    return new BoundInstrument(acquireHandle(labels), getAccumulator());
   }
 
   static final class BoundInstrument implements BoundLongValueRecorder {
     private final AggregatorHandle<?> aggregatorHandle;
+    private final SynchronousInstrumentAccumulator<?> accumulator;
 
-    BoundInstrument(AggregatorHandle<?> aggregatorHandle) {
+    BoundInstrument(
+        AggregatorHandle<?> aggregatorHandle, SynchronousInstrumentAccumulator<?> accumulator) {
       this.aggregatorHandle = aggregatorHandle;
+      this.accumulator = accumulator;
     }
 
     @Override
     public void record(long value) {
       aggregatorHandle.recordLong(value);
+      accumulator.countRecording();
     }
 
     @Override
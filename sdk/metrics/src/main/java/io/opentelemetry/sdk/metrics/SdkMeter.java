@@ -7,6 +7,7 @@ package io.opentelemetry.sdk.metrics;
 
 import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -93,13 +94,43 @@ final class SdkMeter implements Meter {
     return new BatchRecorderSdk(keyValuePairs);
   }
 
+  /** Returns the statistics of the instruments of this meter, without collecting them. */
+  Collection<InstrumentStats> getInstrumentStats() {
+    Collection<AbstractInstrument> instruments =
+        meterSharedState.getInstrumentRegistry().getInstruments();
+    List<InstrumentStats> result = new ArrayList<>(instruments.size());
+    for (AbstractInstrument instrument : instruments) {
+      AbstractAccumulator accumulator = instrument.getAccumulator();
+      result.add(
+          InstrumentStats.create(
+              meterSharedState.getInstrumentationLibraryInfo(),
+              instrument.getDescriptor(),
+              accumulator.getSeriesCount(),
+              accumulator.getRecordingCount(),
+              accumulator.getCollectionCount(),
+              accumulator.getLastCollectionNanos()));
+    }
+    return result;
+  }
+
   /** Collects all the metric recordings that changed since the previous call. */
   Collection<MetricData> collectAll(long epochNanos) {
     InstrumentRegistry instrumentRegistry = meterSharedState.getInstrumentRegistry();
     Collection<AbstractInstrument> instruments = instrumentRegistry.getInstruments();
     List<MetricData> result = new ArrayList<>(instruments.size());
+    PipelineEvents pipelineEvents = PipelineEvents.get();
+    if (!pipelineEvents.isEnabled()) {
+      for (AbstractInstrument instrument : instruments) {
+        result.addAll(instrument.collectAll(epochNanos));
+      }
+      return result;
+    }
     for (AbstractInstrument instrument : instruments) {
-      result.addAll(instrument.collectAll(epochNanos));
+      long startNanos = System.nanoTime();
+      List<MetricData> metrics = instrument.collectAll(epochNanos);
+      pipelineEvents.instrumentCollected(
+          instrument.getDescriptor().getName(), metrics.size(), System.nanoTime() - startNanos);
+      result.addAll(metrics);
     }
     return result;
   }
@@ -77,6 +77,21 @@ public final class SdkMeterProvider implements MeterProvider, MetricProducer {
     return Collections.unmodifiableCollection(result);
   }
 
+  /**
+   * Returns the statistics of all the instruments created by this provider, such as their number
+   * of label sets, for diagnostics. The instruments are not collected.
+   *
+   * @return the statistics of all the instruments created by this provider.
+   */
+  public Collection<InstrumentStats> getInstrumentStats() {
+    Collection<SdkMeter> meters = registry.getComponents();
+    List<InstrumentStats> result = new ArrayList<>();
+    for (SdkMeter meter : meters) {
+      result.addAll(meter.getInstrumentStats());
+    }
+    return Collections.unmodifiableCollection(result);
+  }
+
   /**
    * Returns a new {@link SdkMeterProviderBuilder} for {@link SdkMeterProvider}.
    *
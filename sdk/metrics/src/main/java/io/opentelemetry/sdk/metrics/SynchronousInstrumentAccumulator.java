@@ -16,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
@@ -24,6 +25,7 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
   private final Aggregator<T> aggregator;
   private final InstrumentProcessor<T> instrumentProcessor;
   private final LabelsProcessor labelsProcessor;
+  private final LongAdder recordings = new LongAdder();
 
   static <T> SynchronousInstrumentAccumulator<T> create(
       MeterProviderSharedState meterProviderSharedState,
@@ -76,9 +78,25 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
     }
   }
 
+  /** Counts a value recorded to one of the handles of this accumulator. */
+  void countRecording() {
+    recordings.increment();
+  }
+
+  @Override
+  long getSeriesCount() {
+    return aggregatorLabels.size();
+  }
+
+  @Override
+  long getRecordingCount() {
+    return recordings.sum();
+  }
+
   @Override
   List<MetricData> collectAll(long epochNanos) {
     collectLock.lock();
+    long startNanos = System.nanoTime();
     try {
       for (Map.Entry<Labels, AggregatorHandle<T>> entry : aggregatorLabels.entrySet()) {
         boolean unmappedEntry = entry.getValue().tryUnmap();
@@ -95,6 +113,7 @@ final class SynchronousInstrumentAccumulator<T> extends AbstractAccumulator {
       }
       return instrumentProcessor.completeCollectionCycle(epochNanos);
     } finally {
+      collectionCompleted(System.nanoTime() - startNanos);
       collectLock.unlock();
     }
   }
@@ -8,6 +8,7 @@ package io.opentelemetry.sdk.metrics.export;
 import com.google.auto.value.AutoValue;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -30,6 +31,7 @@ import javax.annotation.concurrent.Immutable;
  */
 public final class IntervalMetricReader {
   private static final Logger logger = Logger.getLogger(IntervalMetricReader.class.getName());
+  private static final String COMPONENT_NAME = IntervalMetricReader.class.getSimpleName();
 
   private static final AtomicReference<IntervalMetricReader> globalIntervalMetricReader =
       new AtomicReference<>();
@@ -162,10 +164,14 @@ public final class IntervalMetricReader {
       final CompletableResultCode flushResult = new CompletableResultCode();
       if (exportAvailable.compareAndSet(true, false)) {
         try {
+          PipelineEvents pipelineEvents = PipelineEvents.get();
+          boolean recordEvent = pipelineEvents.isEnabled();
+          long startNanos = recordEvent ? System.nanoTime() : 0;
           List<MetricData> metricsList = new ArrayList<>();
           for (MetricProducer metricProducer : internalState.getMetricProducers()) {
             metricsList.addAll(metricProducer.collectAllMetrics());
           }
+          long collectedNanos = recordEvent ? System.nanoTime() : 0;
           final CompletableResultCode result =
               internalState.getMetricExporter().export(Collections.unmodifiableList(metricsList));
           result.whenComplete(
@@ -173,6 +179,16 @@ public final class IntervalMetricReader {
                 if (!result.isSuccess()) {
                   logger.log(Level.FINE, "Exporter failed");
                 }
+                if (recordEvent) {
+                  pipelineEvents.metricCycle(
+                      COMPONENT_NAME,
+                      metricsList.size(),
+                      collectedNanos - startNanos,
+                      System.nanoTime() - collectedNanos,
+                      result.isSuccess()
+                          ? PipelineEvents.ExportResult.SUCCESS
+                          : PipelineEvents.ExportResult.FAILURE);
+                }
                 flushResult.succeed();
                 exportAvailable.set(true);
               });
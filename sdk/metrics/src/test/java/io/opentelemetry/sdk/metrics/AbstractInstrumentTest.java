@@ -36,5 +36,10 @@ class AbstractInstrumentTest {
     List<MetricData> collectAll(long epochNanos) {
       return Collections.emptyList();
     }
+
+    @Override
+    AbstractAccumulator getAccumulator() {
+      throw new UnsupportedOperationException();
+    }
   }
 }
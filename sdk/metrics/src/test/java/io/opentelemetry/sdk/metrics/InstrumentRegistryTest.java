@@ -82,6 +82,11 @@ class InstrumentRegistryTest {
     List<MetricData> collectAll(long epochNanos) {
       return Collections.emptyList();
     }
+
+    @Override
+    AbstractAccumulator getAccumulator() {
+      throw new UnsupportedOperationException();
+    }
   }
 
   private static final class OtherTestInstrument extends AbstractInstrument {
@@ -93,5 +98,10 @@ class InstrumentRegistryTest {
     List<MetricData> collectAll(long epochNanos) {
       return Collections.emptyList();
     }
+
+    @Override
+    AbstractAccumulator getAccumulator() {
+      throw new UnsupportedOperationException();
+    }
   }
 }
@@ -49,6 +49,57 @@ public class SdkMeterProviderTest {
     assertThat(sdkMeterProvider.get(null)).isSameAs(sdkMeterProvider.get("unknown"));
   }
 
+  @Test
+  void instrumentStats() {
+    SdkMeterProvider sdkMeterProvider = sdkMeterProviderBuilder.build();
+    Meter sdkMeter = sdkMeterProvider.get(SdkMeterProviderTest.class.getName());
+    LongCounter longCounter = sdkMeter.longCounterBuilder("testLongCounter").build();
+    longCounter.add(10, Labels.of("k", "v1"));
+    longCounter.add(10, Labels.of("k", "v2"));
+    longCounter.bind(Labels.of("k", "v1")).add(10);
+    sdkMeter
+        .longSumObserverBuilder("testLongSumObserver")
+        .setUpdater(
+            longResult -> {
+              longResult.observe(10, Labels.of("k", "v1"));
+              longResult.observe(10, Labels.of("k", "v2"));
+            })
+        .build();
+
+    assertThat(sdkMeterProvider.getInstrumentStats())
+        .hasSize(2)
+        .allSatisfy(
+            stats -> {
+              assertThat(stats.getInstrumentationLibraryInfo())
+                  .isEqualTo(INSTRUMENTATION_LIBRARY_INFO);
+              assertThat(stats.getCollectionCount()).isZero();
+            })
+        .anySatisfy(
+            stats -> {
+              assertThat(stats.getInstrumentDescriptor().getName()).isEqualTo("testLongCounter");
+              assertThat(stats.getSeriesCount()).isEqualTo(2);
+              assertThat(stats.getRecordingCount()).isEqualTo(3);
+            })
+        .anySatisfy(
+            stats -> {
+              assertThat(stats.getInstrumentDescriptor().getName())
+                  .isEqualTo("testLongSumObserver");
+              assertThat(stats.getSeriesCount()).isZero();
+              assertThat(stats.getRecordingCount()).isZero();
+            });
+
+    sdkMeterProvider.collectAllMetrics();
+    assertThat(sdkMeterProvider.getInstrumentStats())
+        .allSatisfy(stats -> assertThat(stats.getCollectionCount()).isEqualTo(1))
+        .anySatisfy(
+            stats -> {
+              assertThat(stats.getInstrumentDescriptor().getName())
+                  .isEqualTo("testLongSumObserver");
+              assertThat(stats.getSeriesCount()).isEqualTo(2);
+              assertThat(stats.getRecordingCount()).isEqualTo(2);
+            });
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   void collectAllSyncInstruments() {
@@ -26,6 +26,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 @State(Scope.Benchmark)
@@ -49,9 +50,50 @@ public class MultiSpanExporterBenchmark {
     }
   }
 
+  /**
+   * Makes an asynchronous exporter block its caller until the export completes, the way a
+   * synchronous exporter talking to a slow backend does.
+   */
+  private static class BlockingSpanExporter implements SpanExporter {
+    private final SpanExporter delegate;
+
+    private BlockingSpanExporter(SpanExporter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      return delegate.export(spans).join(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return delegate.shutdown();
+    }
+  }
+
+  /** How the exporters are combined. */
+  public enum Mode {
+    SEQUENTIAL,
+    CONCURRENT,
+    ISOLATED
+  }
+
   @Param({"1", "3"})
   private int exporterCount;
 
+  /** The number of exporters, out of {@link #exporterCount}, that block for a millisecond. */
+  @Param({"0", "1"})
+  private int delayingExporterCount;
+
+  @Param
+  private Mode mode;
+
   private SpanExporter exporter;
 
   @Param({"1000"})
@@ -63,7 +105,23 @@ public class MultiSpanExporterBenchmark {
   public final void setup() {
     SpanExporter[] exporter = new SpanExporter[exporterCount];
     Arrays.fill(exporter, new NoopSpanExporter());
-    this.exporter = SpanExporter.composite(Arrays.asList(exporter));
+    for (int i = 0; i < Math.min(delayingExporterCount, exporterCount); i++) {
+      exporter[i] = new BlockingSpanExporter(new DelayingSpanExporter(1));
+    }
+    switch (mode) {
+      case SEQUENTIAL:
+        this.exporter = SpanExporter.composite(Arrays.asList(exporter));
+        break;
+      case CONCURRENT:
+      case ISOLATED:
+        CompositeSpanExporterBuilder builder =
+            SpanExporter.compositeBuilder().setIsolated(mode == Mode.ISOLATED);
+        for (SpanExporter spanExporter : exporter) {
+          builder.addSpanExporter(spanExporter);
+        }
+        this.exporter = builder.build();
+        break;
+    }
 
     TestSpanData[] spans = new TestSpanData[spanCount];
     for (int i = 0; i < spans.length; i++) {
@@ -86,12 +144,17 @@ public class MultiSpanExporterBenchmark {
     this.spans = Arrays.asList(spans);
   }
 
+  @TearDown(Level.Trial)
+  public final void tearDown() {
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
   @Benchmark
   @Fork(1)
   @Warmup(iterations = 5, time = 1)
   @Measurement(iterations = 10, time = 1)
   @OutputTimeUnit(TimeUnit.MILLISECONDS)
   public CompletableResultCode export() {
-    return exporter.export(spans);
+    return exporter.export(spans).join(10, TimeUnit.SECONDS);
   }
 }
@@ -5,11 +5,14 @@
 
 package io.opentelemetry.sdk.trace;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
 import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import javax.annotation.Nullable;
 
 /** The extend Span interface used by the SDK. */
 public interface ReadableSpan {
@@ -23,6 +26,16 @@ public interface ReadableSpan {
    */
   SpanContext getSpanContext();
 
+  /**
+   * Returns the parent {@link SpanContext} of the {@code Span}, or {@link SpanContext#getInvalid()}
+   * if this is a root span.
+   *
+   * @return the parent {@link SpanContext} of the {@code Span}.
+   */
+  default SpanContext getParentSpanContext() {
+    return toSpanData().getParentSpanContext();
+  }
+
   /**
    * Returns the name of the {@code Span}.
    *
@@ -70,4 +83,24 @@ public interface ReadableSpan {
    * @return the kind of the span.
    */
   SpanKind getKind();
+
+  /**
+   * Returns the value of the attribute {@code key} of the span, without converting it with {@link
+   * #toSpanData()}.
+   *
+   * @return the value of the attribute, or {@code null} if it is not set.
+   */
+  @Nullable
+  default <T> T getAttribute(AttributeKey<T> key) {
+    return toSpanData().getAttributes().get(key);
+  }
+
+  /**
+   * Returns the status of the span, without converting it with {@link #toSpanData()}.
+   *
+   * @return the status of the span.
+   */
+  default StatusData getStatus() {
+    return toSpanData().getStatus();
+  }
 }
@@ -451,7 +451,8 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     }
   }
 
-  SpanContext getParentSpanContext() {
+  @Override
+  public SpanContext getParentSpanContext() {
     return parentSpanContext;
   }
 
@@ -464,6 +465,21 @@ final class RecordEventsReadableSpan implements ReadWriteSpan {
     return kind;
   }
 
+  @Override
+  @Nullable
+  public <T> T getAttribute(AttributeKey<T> key) {
+    synchronized (lock) {
+      return attributes == null ? null : attributes.get(key);
+    }
+  }
+
+  @Override
+  public StatusData getStatus() {
+    synchronized (lock) {
+      return status;
+    }
+  }
+
   long getStartEpochNanos() {
     return startEpochNanos;
   }
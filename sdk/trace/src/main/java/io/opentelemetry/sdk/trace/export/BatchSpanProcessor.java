@@ -13,6 +13,7 @@ import io.opentelemetry.api.metrics.common.Labels;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.trace.ReadWriteSpan;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SpanProcessor;
@@ -188,6 +189,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
     private void addSpan(ReadableSpan span) {
       if (!queue.offer(span)) {
         droppedSpans.add(1);
+        PipelineEvents pipelineEvents = PipelineEvents.get();
+        if (pipelineEvents.isEnabled()) {
+          pipelineEvents.queueFullDropped(SPAN_PROCESSOR_TYPE_VALUE, 1);
+        }
       } else {
         if (queue.size() >= spansNeeded.get()) {
           signal.offer(true);
@@ -285,6 +290,10 @@ public final class BatchSpanProcessor implements SpanProcessor {
         return;
       }
 
+      PipelineEvents pipelineEvents = PipelineEvents.get();
+      boolean recordEvent = pipelineEvents.isEnabled();
+      int queueSize = recordEvent ? queue.size() : 0;
+      long startNanos = recordEvent ? System.nanoTime() : 0;
       try {
         final CompletableResultCode result =
             spanExporter.export(Collections.unmodifiableList(batch));
@@ -294,8 +303,24 @@ public final class BatchSpanProcessor implements SpanProcessor {
         } else {
           logger.log(Level.FINE, "Exporter failed");
         }
+        if (recordEvent) {
+          pipelineEvents.batchExported(
+              SPAN_PROCESSOR_TYPE_VALUE,
+              batch.size(),
+              queueSize,
+              System.nanoTime() - startNanos,
+              PipelineEvents.ExportResult.of(result));
+        }
       } catch (RuntimeException e) {
         logger.log(Level.WARNING, "Exporter threw an Exception", e);
+        if (recordEvent) {
+          pipelineEvents.batchExported(
+              SPAN_PROCESSOR_TYPE_VALUE,
+              batch.size(),
+              queueSize,
+              System.nanoTime() - startNanos,
+              PipelineEvents.ExportResult.FAILURE);
+        }
       } finally {
         batch.clear();
       }
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static io.opentelemetry.api.internal.Utils.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder class for a {@link SpanExporter} that exports to several {@link SpanExporter}s
+ * concurrently. Unlike {@link SpanExporter#composite(Iterable)}, which calls every exporter in turn
+ * on the caller's thread, each exporter is driven by its own worker thread and bounded by its own
+ * timeout.
+ */
+public final class CompositeSpanExporterBuilder {
+
+  // Visible for testing
+  static final int DEFAULT_EXPORT_TIMEOUT_MILLIS = 30_000;
+  // Visible for testing
+  static final int DEFAULT_MAX_QUEUE_SIZE = 16;
+
+  private final List<SpanExporter> spanExporters = new ArrayList<>();
+  private long exporterTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EXPORT_TIMEOUT_MILLIS);
+  private boolean isolated;
+  private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+
+  CompositeSpanExporterBuilder() {}
+
+  /** Adds a {@link SpanExporter} that every export is forwarded to. */
+  public CompositeSpanExporterBuilder addSpanExporter(SpanExporter spanExporter) {
+    requireNonNull(spanExporter, "spanExporter");
+    spanExporters.add(spanExporter);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time each exporter is given to complete an export, flush or shutdown before
+   * its part of the result is failed. {@code 0} waits indefinitely. If unset, defaults to {@value
+   * DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public CompositeSpanExporterBuilder setExporterTimeout(long timeout, TimeUnit unit) {
+    requireNonNull(unit, "unit");
+    checkArgument(timeout >= 0, "timeout must be non-negative");
+    exporterTimeoutNanos = unit.toNanos(timeout);
+    return this;
+  }
+
+  /**
+   * Sets the maximum time each exporter is given to complete an export, flush or shutdown before
+   * its part of the result is failed. {@code 0} waits indefinitely. If unset, defaults to {@value
+   * DEFAULT_EXPORT_TIMEOUT_MILLIS}ms.
+   */
+  public CompositeSpanExporterBuilder setExporterTimeout(Duration timeout) {
+    requireNonNull(timeout, "timeout");
+    return setExporterTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  // Visible for testing
+  long getExporterTimeoutNanos() {
+    return exporterTimeoutNanos;
+  }
+
+  /**
+   * Sets whether each exporter is isolated behind its own queue. When isolated, an export completes
+   * as soon as the spans are queued for every exporter, and an exporter that cannot keep up only
+   * drops batches from its own queue instead of delaying the caller, and with it the other
+   * exporters. When not isolated, an export completes once every exporter has completed or timed
+   * out.
+   *
+   * <p>Default value is {@code false}.
+   */
+  public CompositeSpanExporterBuilder setIsolated(boolean isolated) {
+    this.isolated = isolated;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of batches queued for each isolated exporter before further batches
+   * are dropped for that exporter. Only used when {@link #setIsolated(boolean)} is enabled.
+   *
+   * <p>Default value is {@code 16}.
+   *
+   * @param maxQueueSize the maximum number of batches queued per exporter.
+   * @return this.
+   * @see CompositeSpanExporterBuilder#DEFAULT_MAX_QUEUE_SIZE
+   */
+  public CompositeSpanExporterBuilder setMaxQueueSize(int maxQueueSize) {
+    checkArgument(maxQueueSize > 0, "maxQueueSize must be positive.");
+    this.maxQueueSize = maxQueueSize;
+    return this;
+  }
+
+  // Visible for testing
+  int getMaxQueueSize() {
+    return maxQueueSize;
+  }
+
+  /**
+   * Returns a new {@link SpanExporter} forwarding to all the added exporters. Worker threads are
+   * started immediately and stopped by {@link SpanExporter#shutdown()}.
+   *
+   * @return a new {@link SpanExporter}.
+   */
+  public SpanExporter build() {
+    if (spanExporters.isEmpty()) {
+      return NoopSpanExporter.getInstance();
+    }
+    return new ConcurrentMultiSpanExporter(
+        new ArrayList<>(spanExporters), exporterTimeoutNanos, isolated, maxQueueSize);
+  }
+}
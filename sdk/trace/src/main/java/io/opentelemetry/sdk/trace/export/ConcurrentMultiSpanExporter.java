@@ -0,0 +1,262 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import io.opentelemetry.api.internal.GuardedBy;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.DaemonThreadFactory;
+import io.opentelemetry.sdk.internal.ThrottlingLogger;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Implementation of the {@code SpanExporter} that forwards all received spans to a list of {@code
+ * SpanExporter}s concurrently, each one driven by its own worker thread.
+ *
+ * <p>Every delegate has its own timeout, so a slow delegate only delays the result by at most that
+ * timeout and never holds back the other delegates. When isolated, {@link #export(Collection)}
+ * returns as soon as the batch is queued for every delegate, and a delegate that falls behind only
+ * drops batches from its own bounded queue.
+ */
+final class ConcurrentMultiSpanExporter implements SpanExporter {
+  private static final String WORKER_THREAD_NAME =
+      ConcurrentMultiSpanExporter.class.getSimpleName() + "_WorkerThread";
+  private static final String TIMEOUT_THREAD_NAME =
+      ConcurrentMultiSpanExporter.class.getSimpleName() + "_TimeoutThread";
+
+  private static final ThrottlingLogger logger =
+      new ThrottlingLogger(Logger.getLogger(ConcurrentMultiSpanExporter.class.getName()));
+
+  private final Lane[] lanes;
+  private final long exporterTimeoutNanos;
+  private final boolean isolated;
+  @Nullable private final ScheduledThreadPoolExecutor timeoutExecutor;
+  private final AtomicBoolean isShutdown = new AtomicBoolean(false);
+
+  ConcurrentMultiSpanExporter(
+      List<SpanExporter> spanExporters,
+      long exporterTimeoutNanos,
+      boolean isolated,
+      int maxQueueSize) {
+    this.exporterTimeoutNanos = exporterTimeoutNanos;
+    this.isolated = isolated;
+    if (exporterTimeoutNanos > 0) {
+      timeoutExecutor =
+          new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory(TIMEOUT_THREAD_NAME));
+      timeoutExecutor.setRemoveOnCancelPolicy(true);
+    } else {
+      timeoutExecutor = null;
+    }
+    // When not isolated the caller waits for every export, so at most one batch is ever waiting
+    // behind a delegate that is still busy with a timed out export.
+    int maxPendingBatches = isolated ? maxQueueSize : 1;
+    DaemonThreadFactory threadFactory = new DaemonThreadFactory(WORKER_THREAD_NAME);
+    lanes = new Lane[spanExporters.size()];
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = new Lane(spanExporters.get(i), maxPendingBatches, exporterTimeoutNanos);
+      threadFactory.newThread(lanes[i]).start();
+    }
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (isShutdown.get()) {
+      return CompletableResultCode.ofFailure();
+    }
+    if (isolated) {
+      boolean allQueued = true;
+      for (Lane lane : lanes) {
+        allQueued &= lane.submit(Task.Kind.EXPORT, spans) != null;
+      }
+      return allQueued ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(lanes.length);
+    for (Lane lane : lanes) {
+      CompletableResultCode result = lane.submit(Task.Kind.EXPORT, spans);
+      results.add(result != null ? withTimeout(result) : CompletableResultCode.ofFailure());
+    }
+    return CompletableResultCode.ofAll(results);
+  }
+
+  /**
+   * Flushes all registered {@link SpanExporter}s, after the batches already queued for them.
+   *
+   * @return the result of the operation
+   */
+  @Override
+  public CompletableResultCode flush() {
+    if (isShutdown.get()) {
+      return CompletableResultCode.ofFailure();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(lanes.length);
+    for (Lane lane : lanes) {
+      results.add(withTimeout(lane.submit(Task.Kind.FLUSH, null)));
+    }
+    return CompletableResultCode.ofAll(results);
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    if (!isShutdown.compareAndSet(false, true)) {
+      return CompletableResultCode.ofSuccess();
+    }
+    List<CompletableResultCode> results = new ArrayList<>(lanes.length);
+    for (Lane lane : lanes) {
+      results.add(withTimeout(lane.submit(Task.Kind.SHUTDOWN, null)));
+    }
+    CompletableResultCode result = CompletableResultCode.ofAll(results);
+    if (timeoutExecutor != null) {
+      result.whenComplete(timeoutExecutor::shutdown);
+    }
+    return result;
+  }
+
+  /** Fails {@code result} if it has not completed within the exporter timeout. */
+  private CompletableResultCode withTimeout(@Nullable CompletableResultCode result) {
+    if (result == null) {
+      return CompletableResultCode.ofFailure();
+    }
+    if (timeoutExecutor == null || result.isDone()) {
+      return result;
+    }
+    ScheduledFuture<?> timeout =
+        timeoutExecutor.schedule(result::fail, exporterTimeoutNanos, TimeUnit.NANOSECONDS);
+    result.whenComplete(() -> timeout.cancel(false));
+    return result;
+  }
+
+  private static final class Task {
+    enum Kind {
+      EXPORT,
+      FLUSH,
+      SHUTDOWN
+    }
+
+    private final Kind kind;
+    @Nullable private final Collection<SpanData> spans;
+    private final CompletableResultCode result = new CompletableResultCode();
+
+    private Task(Kind kind, @Nullable Collection<SpanData> spans) {
+      this.kind = kind;
+      this.spans = spans;
+    }
+  }
+
+  /**
+   * Drives a single delegate. Operations are run one at a time and in order, so the delegate sees
+   * the same sequence of calls it would see from a {@link BatchSpanProcessor}.
+   */
+  private static final class Lane implements Runnable {
+    private final SpanExporter spanExporter;
+    private final int maxPendingBatches;
+    private final long exporterTimeoutNanos;
+    // Flush and shutdown requests are never dropped, only export batches count towards the bound.
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingBatches = new AtomicInteger();
+
+    // Set once the shutdown is queued, the worker stops after it so later operations would never
+    // run.
+    @GuardedBy("this")
+    private boolean shutdownQueued;
+
+    private Lane(SpanExporter spanExporter, int maxPendingBatches, long exporterTimeoutNanos) {
+      this.spanExporter = spanExporter;
+      this.maxPendingBatches = maxPendingBatches;
+      this.exporterTimeoutNanos = exporterTimeoutNanos;
+    }
+
+    /**
+     * Returns the result of the queued operation, or {@code null} if the batch was dropped or the
+     * lane is shut down.
+     */
+    @Nullable
+    private synchronized CompletableResultCode submit(
+        Task.Kind kind, @Nullable Collection<SpanData> spans) {
+      if (shutdownQueued) {
+        return null;
+      }
+      if (kind == Task.Kind.EXPORT && pendingBatches.incrementAndGet() > maxPendingBatches) {
+        pendingBatches.decrementAndGet();
+        logger.log(
+            Level.WARNING,
+            "Dropping a batch of "
+                + (spans == null ? 0 : spans.size())
+                + " spans, "
+                + spanExporter.getClass().getSimpleName()
+                + " has fallen behind.");
+        return null;
+      }
+      if (kind == Task.Kind.SHUTDOWN) {
+        shutdownQueued = true;
+      }
+      Task task = new Task(kind, spans);
+      queue.add(task);
+      return task.result;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        Task task;
+        try {
+          task = queue.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        CompletableResultCode result;
+        try {
+          switch (task.kind) {
+            case EXPORT:
+              pendingBatches.decrementAndGet();
+              result = spanExporter.export(task.spans);
+              break;
+            case FLUSH:
+              result = spanExporter.flush();
+              break;
+            default:
+              result = spanExporter.shutdown();
+              break;
+          }
+        } catch (RuntimeException e) {
+          // If an exception was thrown by the exporter
+          logger.log(Level.WARNING, "Exception thrown by the " + task.kind + ".", e);
+          result = CompletableResultCode.ofFailure();
+        }
+        CompletableResultCode taskResult = task.result;
+        CompletableResultCode exporterResult = result;
+        exporterResult.whenComplete(
+            () -> {
+              if (exporterResult.isSuccess()) {
+                taskResult.succeed();
+              } else {
+                taskResult.fail();
+              }
+            });
+        exporterResult.join(
+            exporterTimeoutNanos > 0 ? exporterTimeoutNanos : Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        if (!exporterResult.isDone()) {
+          taskResult.fail();
+        }
+        if (task.kind == Task.Kind.SHUTDOWN) {
+          return;
+        }
+      }
+    }
+  }
+}
@@ -56,6 +56,15 @@ public interface SpanExporter extends Closeable {
     return MultiSpanExporter.create(exportersList);
   }
 
+  /**
+   * Returns a new builder for a {@link SpanExporter} which delegates all exports to several
+   * exporters concurrently, each with its own timeout and optionally its own bounded queue, so that
+   * one slow exporter does not hold back the others.
+   */
+  static CompositeSpanExporterBuilder compositeBuilder() {
+    return new CompositeSpanExporterBuilder();
+  }
+
   /**
    * Called to export sampled {@code Span}s. Note that export operations can be performed
    * simultaneously depending on the type of span processor being used. However, the {@link
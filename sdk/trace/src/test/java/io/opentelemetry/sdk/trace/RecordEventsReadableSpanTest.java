@@ -271,6 +271,7 @@ class RecordEventsReadableSpanTest {
       span.setStatus(StatusCode.ERROR, "CANCELLED");
       assertThat(span.toSpanData().getStatus())
           .isEqualTo(StatusData.create(StatusCode.ERROR, "CANCELLED"));
+      assertThat(span.getStatus()).isEqualTo(StatusData.create(StatusCode.ERROR, "CANCELLED"));
     } finally {
       span.end();
     }
@@ -398,6 +399,18 @@ class RecordEventsReadableSpanTest {
         .isEqualTo(4);
   }
 
+  @Test
+  void getAttribute() {
+    RecordEventsReadableSpan span = createTestRootSpan();
+    assertThat(span.getAttribute(stringKey("StringKey"))).isNull();
+    span.setAttribute("StringKey", "StringVal");
+    span.setAttribute("LongKey", 1000L);
+    span.end();
+    assertThat(span.getAttribute(stringKey("StringKey"))).isEqualTo("StringVal");
+    assertThat(span.getAttribute(longKey("LongKey"))).isEqualTo(1000L);
+    assertThat(span.getAttribute(stringKey("LongKey"))).isNull();
+  }
+
   @Test
   void setAttribute_emptyKeys() {
     RecordEventsReadableSpan span = createTestRootSpan();
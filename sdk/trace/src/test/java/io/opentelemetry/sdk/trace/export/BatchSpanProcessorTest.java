@@ -20,6 +20,7 @@ import io.opentelemetry.api.internal.GuardedBy;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.internal.PipelineEvents;
 import io.opentelemetry.sdk.trace.ReadableSpan;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.data.SpanData;
@@ -30,6 +31,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -129,6 +131,55 @@ class BatchSpanProcessorTest {
     assertThat(spansProcessor.isEndRequired()).isTrue();
   }
 
+  @Test
+  void exportRecordsPipelineEvent() {
+    List<String> components = new CopyOnWriteArrayList<>();
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    List<PipelineEvents.ExportResult> results = new CopyOnWriteArrayList<>();
+    PipelineEvents.set(
+        new PipelineEvents() {
+          @Override
+          public boolean isEnabled() {
+            return true;
+          }
+
+          @Override
+          public void batchExported(
+              String component,
+              int batchSize,
+              int queueSize,
+              long durationNanos,
+              ExportResult result) {
+            components.add(component);
+            results.add(result);
+            // Added last, the test waits for the batch sizes.
+            batchSizes.add(batchSize);
+          }
+        });
+    try {
+      WaitingSpanExporter waitingSpanExporter =
+          new WaitingSpanExporter(2, CompletableResultCode.ofSuccess());
+      sdkTracerProvider =
+          SdkTracerProvider.builder()
+              .addSpanProcessor(
+                  BatchSpanProcessor.builder(waitingSpanExporter)
+                      .setScheduleDelay(MAX_SCHEDULE_DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                      .build())
+              .build();
+
+      createEndedSpan(SPAN_NAME_1);
+      createEndedSpan(SPAN_NAME_2);
+      waitingSpanExporter.waitForExport();
+      await()
+          .untilAsserted(
+              () -> assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2));
+      assertThat(components).containsOnly("BatchSpanProcessor");
+      assertThat(results).containsOnly(PipelineEvents.ExportResult.SUCCESS);
+    } finally {
+      PipelineEvents.reset();
+    }
+  }
+
   @Test
   void exportDifferentSampledSpans() {
     WaitingSpanExporter waitingSpanExporter =
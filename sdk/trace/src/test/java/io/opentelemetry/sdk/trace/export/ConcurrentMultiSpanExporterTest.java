@@ -0,0 +1,195 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.sdk.trace.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.TestUtils;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ConcurrentMultiSpanExporter}. */
+class ConcurrentMultiSpanExporterTest {
+  private static final List<SpanData> SPAN_LIST =
+      Collections.singletonList(TestUtils.makeBasicSpan());
+
+  @Test
+  void empty() {
+    SpanExporter exporter = SpanExporter.compositeBuilder().build();
+    assertThat(exporter).isSameAs(NoopSpanExporter.getInstance());
+  }
+
+  @Test
+  void exportsToAll() {
+    RecordingSpanExporter first = new RecordingSpanExporter();
+    RecordingSpanExporter second = new RecordingSpanExporter();
+    SpanExporter exporter =
+        SpanExporter.compositeBuilder().addSpanExporter(first).addSpanExporter(second).build();
+
+    assertThat(exporter.export(SPAN_LIST).join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+    assertThat(first.exported).containsExactly(SPAN_LIST);
+    assertThat(second.exported).containsExactly(SPAN_LIST);
+    assertThat(first.flushed).isTrue();
+    assertThat(second.shutdown).isTrue();
+    assertThat(exporter.export(SPAN_LIST).isSuccess()).isFalse();
+  }
+
+  @Test
+  void slowExporterTimesOut() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingSpanExporter fast = new RecordingSpanExporter();
+    RecordingSpanExporter blocked = new RecordingSpanExporter(release);
+    SpanExporter exporter =
+        SpanExporter.compositeBuilder()
+            .addSpanExporter(blocked)
+            .addSpanExporter(fast)
+            .setExporterTimeout(100, TimeUnit.MILLISECONDS)
+            .build();
+
+    CompletableResultCode result = exporter.export(SPAN_LIST).join(10, TimeUnit.SECONDS);
+    assertThat(result.isDone()).isTrue();
+    assertThat(result.isSuccess()).isFalse();
+    // The fast exporter did not wait for the blocked one.
+    assertThat(fast.exported).containsExactly(SPAN_LIST);
+
+    release.countDown();
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void exceptionIsolated() {
+    RecordingSpanExporter good = new RecordingSpanExporter();
+    SpanExporter exporter =
+        SpanExporter.compositeBuilder()
+            .addSpanExporter(new ThrowingSpanExporter())
+            .addSpanExporter(good)
+            .build();
+
+    assertThat(exporter.export(SPAN_LIST).join(10, TimeUnit.SECONDS).isSuccess()).isFalse();
+    assertThat(good.exported).containsExactly(SPAN_LIST);
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void isolatedDropsOnlyForStalledExporter() {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingSpanExporter fast = new RecordingSpanExporter();
+    RecordingSpanExporter blocked = new RecordingSpanExporter(release);
+    SpanExporter exporter =
+        SpanExporter.compositeBuilder()
+            .addSpanExporter(blocked)
+            .addSpanExporter(fast)
+            .setExporterTimeout(0, TimeUnit.MILLISECONDS)
+            .setIsolated(true)
+            .setMaxQueueSize(2)
+            .build();
+
+    int failures = 0;
+    for (int i = 0; i < 10; i++) {
+      if (!exporter.export(SPAN_LIST).isSuccess()) {
+        failures++;
+      }
+      int exported = i + 1;
+      // Waiting for each batch keeps the queue of the fast exporter from filling up, and makes sure
+      // the first batch is in flight in the blocked exporter.
+      await().untilAsserted(() -> assertThat(fast.exported).hasSize(exported));
+      await().untilAsserted(() -> assertThat(blocked.exportCalls.get()).isEqualTo(1));
+    }
+    // One batch in flight and two queued for the blocked exporter, everything else is dropped.
+    assertThat(failures).isEqualTo(7);
+
+    // Flush is queued behind the pending batches of each exporter.
+    CompletableResultCode flush = exporter.flush();
+    assertThat(flush.join(100, TimeUnit.MILLISECONDS).isDone()).isFalse();
+    release.countDown();
+    assertThat(flush.join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+    assertThat(fast.exported).hasSize(10);
+    assertThat(blocked.exported).hasSize(3);
+    exporter.shutdown().join(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void invalidConfig() {
+    assertThatThrownBy(() -> SpanExporter.compositeBuilder().setMaxQueueSize(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> SpanExporter.compositeBuilder().setExporterTimeout(-1, TimeUnit.SECONDS))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> SpanExporter.compositeBuilder().addSpanExporter(null))
+        .isInstanceOf(NullPointerException.class);
+  }
+
+  private static final class RecordingSpanExporter implements SpanExporter {
+    private final List<Collection<SpanData>> exported = new CopyOnWriteArrayList<>();
+    private final AtomicInteger exportCalls = new AtomicInteger();
+    private final CountDownLatch release;
+    private volatile boolean flushed;
+    private volatile boolean shutdown;
+
+    private RecordingSpanExporter() {
+      this(new CountDownLatch(0));
+    }
+
+    private RecordingSpanExporter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      exportCalls.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return CompletableResultCode.ofFailure();
+      }
+      exported.add(spans);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      flushed = true;
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      shutdown = true;
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+
+  private static final class ThrowingSpanExporter implements SpanExporter {
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+      throw new IllegalStateException("No export for you.");
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+      return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+      return CompletableResultCode.ofSuccess();
+    }
+  }
+}